@@ -70,8 +70,8 @@ public interface EntityBean extends WritableBean, Entity {
   /**
    * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Meta-key} to {@link io.github.mmm.base.metainfo.MetaInfos
    * annotate} {@link EntityBean} interface with the {@link Id#getPkClass() type of the primary key}. Possible values
-   * are "long", "string", or "uuid". If not defined via annotation, the type defaults to "long". The value of this
-   * constant will never change. You do not have to use this constant to build your annotated key-value pairs.<br>
+   * are "long", "int", "string", or "uuid". If not defined via annotation, the type defaults to "long". The value of
+   * this constant will never change. You do not have to use this constant to build your annotated key-value pairs.<br>
    * Example:
    *
    * <pre>
@@ -86,8 +86,8 @@ public interface EntityBean extends WritableBean, Entity {
   /**
    * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Meta-key} to {@link io.github.mmm.base.metainfo.MetaInfos
    * annotate} {@link EntityBean} interface with the {@link Id#getRevisionType() type of the revision}. Possible values
-   * are "long" or "instant". If not defined via annotation, the type defaults to "long". The value of this constant
-   * will never change. You do not have to use this constant to build your annotated key-value pairs.<br>
+   * are "long", "instant" or "hybrid". If not defined via annotation, the type defaults to "long". The value of this
+   * constant will never change. You do not have to use this constant to build your annotated key-value pairs.<br>
    * Example:
    *
    * <pre>
@@ -100,7 +100,10 @@ public interface EntityBean extends WritableBean, Entity {
   public static final String META_KEY_REVISION = "revision";
 
   /**
-   * @return the {@link IdProperty property} with the {@link Id} (primary key) of this entity.
+   * @return the {@link IdProperty property} with the {@link Id} (primary key) of this entity. For interface based
+   *         {@link EntityBean}s this default implementation is only invoked once to create the {@link PkProperty}
+   *         that is then held by the bean. The initial {@link Id#isEmpty() empty} {@link Id} resolved from
+   *         {@link #META_KEY_PK} and {@link #META_KEY_REVISION} is a shared instance cached per entity class.
    */
   default PkProperty Id() {
 
@@ -0,0 +1,36 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.bean;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.bean.example.Target;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.property.id.PkProperty;
+
+/**
+ * Test of {@link EntityBean}.
+ */
+class EntityBeanTest extends Assertions {
+
+  /** Test of {@link EntityBean#Id()} for an interface based {@link EntityBean}. */
+  @Test
+  void testId() {
+
+    // arrange
+    Target target1 = Target.of();
+    Target target2 = Target.of();
+    Id<Target> id = PkIdLong.of(4711L, Target.class);
+    // act
+    PkProperty pk = target1.Id();
+    target1.setId(id);
+    // assert
+    assertThat(target1.Id()).isSameAs(pk);
+    assertThat(target1.getId()).isSameAs(id);
+    assertThat(target2.getId()).isNotSameAs(id).isSameAs(Target.of().getId());
+    assertThat(target2.Id().get()).isSameAs(Id.ofEmpty(Target.class, null, null));
+  }
+
+}
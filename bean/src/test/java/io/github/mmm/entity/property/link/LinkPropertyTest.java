@@ -17,6 +17,10 @@ import io.github.mmm.entity.id.PkIdLong;
 import io.github.mmm.entity.id.PkIdString;
 import io.github.mmm.entity.id.PkIdUuid;
 import io.github.mmm.entity.id.RevisionedIdInstant;
+import io.github.mmm.entity.id.RevisionedIdLongInstant;
+import io.github.mmm.entity.id.RevisionedIdLongVersion;
+import io.github.mmm.entity.id.RevisionedIdUuidInstant;
+import io.github.mmm.entity.id.RevisionedIdUuidVersion;
 import io.github.mmm.entity.id.RevisionedIdVersion;
 import io.github.mmm.entity.link.Link;
 import io.github.mmm.marshall.MarshallingConfig;
@@ -76,15 +80,16 @@ class LinkPropertyTest extends PropertyTest<Link<Target>, LinkProperty<Target>>
     Instant instant = Instant.parse(TEST_INSTANT);
     // LongId variants
     checkMapJson("4711", 4711L, null, PkIdLong.class);
-    checkMapJson("{\"id\":{\"l\":4711,\"v\":42}}", 4711L, 42L, RevisionedIdVersion.class);
-    checkMapJson("{\"id\":{\"l\":4711,\"t\":\"" + TEST_INSTANT + "\"}}", 4711L, instant, RevisionedIdInstant.class);
+    checkMapJson("{\"id\":{\"l\":4711,\"v\":42}}", 4711L, 42L, RevisionedIdLongVersion.class);
+    checkMapJson("{\"id\":{\"l\":4711,\"t\":\"" + TEST_INSTANT + "\"}}", 4711L, instant,
+        RevisionedIdLongInstant.class);
     // UuidId variants
     UUID uuid = UUID.randomUUID();
     String uuidString = uuid.toString();
     checkMapJson("\"" + uuidString + "\"", uuid, null, PkIdUuid.class);
-    checkMapJson("{\"id\":{\"u\":\"" + uuidString + "\",\"v\":43}}", uuid, 43L, RevisionedIdVersion.class);
+    checkMapJson("{\"id\":{\"u\":\"" + uuidString + "\",\"v\":43}}", uuid, 43L, RevisionedIdUuidVersion.class);
     checkMapJson("{\"id\":{\"u\":\"" + uuidString + "\",\"t\":\"" + TEST_INSTANT + "\"}}", uuid, instant,
-        RevisionedIdInstant.class);
+        RevisionedIdUuidInstant.class);
     // String variants
     String pk = "primary-key";
     checkMapJson("\"" + pk + "\"", pk, null, PkIdString.class);
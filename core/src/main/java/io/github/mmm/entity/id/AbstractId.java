@@ -36,7 +36,38 @@ public abstract class AbstractId<E, P, R extends Comparable<?>, SELF extends Abs
   @Override
   public final int hashCode() {
 
-    return ~getPk().hashCode();
+    return ~hashCodePk();
+  }
+
+  /**
+   * @return the {@link Object#hashCode() hash code} of the {@link #getPk() primary key}. May be overridden by
+   *         implementations with a primitive {@link #getPk() primary key} to avoid boxing.
+   */
+  protected int hashCodePk() {
+
+    return getPk().hashCode();
+  }
+
+  /**
+   * @param other the {@link AbstractId} to compare with.
+   * @return {@code true} if the {@link #getPk() primary key} of this and the given {@link AbstractId} are equal,
+   *         {@code false} otherwise. May be overridden by implementations with a primitive {@link #getPk() primary key}
+   *         to avoid boxing.
+   */
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    return Objects.equals(getPk(), other.getPk());
+  }
+
+  /**
+   * @param other the {@link AbstractId} to compare with.
+   * @return {@code true} if the {@link #getRevision() revision} of this and the given {@link AbstractId} are equal,
+   *         {@code false} otherwise. May be overridden by implementations with a primitive {@link #getRevision()
+   *         revision} to avoid boxing.
+   */
+  protected boolean isEqualRevision(AbstractId<?, ?, ?, ?> other) {
+
+    return Objects.equals(getRevision(), other.getRevision());
   }
 
   @Override
@@ -49,9 +80,9 @@ public abstract class AbstractId<E, P, R extends Comparable<?>, SELF extends Abs
       return false;
     }
     AbstractId<?, ?, ?, ?> other = (AbstractId<?, ?, ?, ?>) obj;
-    if (!Objects.equals(getPk(), other.getPk())) {
+    if (!isEqualPk(other)) {
       return false;
-    } else if (!Objects.equals(getRevision(), other.getRevision())) {
+    } else if (!isEqualRevision(other)) {
       return false;
     }
     Class<E> entityClass = getEntityClass();
@@ -77,15 +108,26 @@ public abstract class AbstractId<E, P, R extends Comparable<?>, SELF extends Abs
    */
   protected void toString(StringBuilder buffer) {
 
+    IdEncoder.appendTo(this, buffer);
+  }
+
+  /**
+   * Writes the {@link #toString() string representation} of this {@link Id} to the given {@link IdEncoder}. May be
+   * overridden to write primitive fields directly.
+   *
+   * @param encoder the {@link IdEncoder} to write to.
+   */
+  void encode(IdEncoder encoder) {
+
     P id = getPk();
     if (id == null) {
       return;
     }
-    buffer.append(id);
+    encoder.putValue(id);
     R revision = getRevision();
     if (revision != null) {
-      buffer.append(REVISION_SEPARATOR);
-      buffer.append(revision);
+      encoder.put(REVISION_SEPARATOR);
+      encoder.putValue(revision);
     }
   }
 
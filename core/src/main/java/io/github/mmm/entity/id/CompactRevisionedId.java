@@ -0,0 +1,164 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.Objects;
+
+/**
+ * Abstract base implementation of {@link AbstractId} that has a {@link #getRevisionType() typed}
+ * {@link #getRevision() revision}. Unlike {@link RevisionedId} it does not wrap a {@link PkId} but stores
+ * {@link #getPk() primary key} and {@link #getRevision() revision} directly in primitive fields of the final
+ * implementation class. This way a revisioned {@link Id} is a single flat object what saves a lot of memory if many
+ * {@link Id}s are hold in caches. The {@link PkId} for {@link #withoutRevision()} is created lazily on demand and then
+ * cached. This costs one reference field per instance but {@link #withoutRevision()} has to return the same instance
+ * on every call (like {@link RevisionedId#withoutRevision()} does), e.g. for {@link io.github.mmm.entity.link.Link}.
+ *
+ * @param <E> type of the identified entity.
+ * @param <P> type of the {@link #getPk() primary key}.
+ * @param <R> type of the {@link #getRevision() revision}.
+ * @param <SELF> type of this class itself for fluent API calls.
+ * @since 1.0.0
+ */
+public abstract class CompactRevisionedId<E, P, R extends Comparable<?>,
+    SELF extends CompactRevisionedId<E, P, R, SELF>> extends AbstractId<E, P, R, SELF> {
+
+  /** The primitive {@code long} value that represents a {@link #getRevision() revision} of {@code null}. */
+  public static final long NULL_REVISION = Long.MIN_VALUE;
+
+  /** @see #getEntityClass() */
+  protected final Class<E> entityClass;
+
+  /** @see #withoutRevision() */
+  private PkId<E, P, ?> pkId;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass - see {@link #getEntityClass()}.
+   */
+  protected CompactRevisionedId(Class<E> entityClass) {
+
+    super();
+    this.entityClass = entityClass;
+  }
+
+  @Override
+  public final Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  @Override
+  public final boolean hasRevisionField() {
+
+    return true;
+  }
+
+  /**
+   * Internal factory method.
+   *
+   * @param newEntityClass the new {@link #getEntityClass() entity class}.
+   * @param newPk the new {@link #getPk() primary key}.
+   * @param newRevision the new {@link #getRevision() revision}.
+   * @return a new instance of this type with the given arguments.
+   */
+  protected abstract SELF newId(Class<E> newEntityClass, P newPk, R newRevision);
+
+  /**
+   * @return a new {@link PkId} with the {@link #getEntityClass() entity class} and {@link #getPk() primary key} of
+   *         this {@link Id}.
+   * @see #withoutRevision()
+   */
+  protected abstract PkId<E, P, ?> newPkId();
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Override
+  public <T> GenericId<T, P, R, ?> create(Class<T> entityType, P pk, R revision) {
+
+    return (GenericId) newId((Class) entityType, pk, revision);
+  }
+
+  @Override
+  public SELF withPk(P newPk) {
+
+    if (Objects.equals(getPk(), newPk)) {
+      return self();
+    }
+    return newId(this.entityClass, newPk, getRevision());
+  }
+
+  @Override
+  public SELF withPkAndRevision(P newPk, R newRevision) {
+
+    if (Objects.equals(getPk(), newPk) && Objects.equals(getRevision(), newRevision)) {
+      return self();
+    }
+    return newId(this.entityClass, newPk, newRevision);
+  }
+
+  @Override
+  public SELF withRevision(R newRevision) {
+
+    if (Objects.equals(getRevision(), newRevision)) {
+      return self();
+    }
+    return newId(this.entityClass, getPk(), newRevision);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Override
+  public <T> CompactRevisionedId<T, P, R, ?> withEntityTypeGeneric(Class<T> newEntityType) {
+
+    return withEntityType((Class) newEntityType);
+  }
+
+  @Override
+  public SELF withEntityType(Class<E> newEntityType) {
+
+    if (this.entityClass == newEntityType) {
+      return self();
+    } else if (this.entityClass == null) {
+      if (isEmpty()) {
+        SELF empty = EmptyIdCache.get(newEntityType, self());
+        if (empty == null) {
+          empty = EmptyIdCache.put(newId(newEntityType, null, null));
+        }
+        return empty;
+      }
+      return newId(newEntityType, getPk(), getRevision());
+    } else {
+      throw new IllegalArgumentException("Illegal type " + newEntityType.getName() + " - already typed to "
+          + this.entityClass.getName() + " at " + toString());
+    }
+  }
+
+  /**
+   * @param revision the {@link #getRevision() revision} as {@link Long} or {@code null}.
+   * @return the given {@code revision} as primitive {@code long} value or {@link #NULL_REVISION} for {@code null}.
+   * @throws IllegalArgumentException if the given {@code revision} has the reserved value {@link #NULL_REVISION}.
+   */
+  static long toPrimitive(Long revision) {
+
+    if (revision == null) {
+      return NULL_REVISION;
+    }
+    long value = revision.longValue();
+    if (value == NULL_REVISION) {
+      throw new IllegalArgumentException("The revision " + value + " is reserved to represent null.");
+    }
+    return value;
+  }
+
+  @Override
+  public final PkId<E, P, ?> withoutRevision() {
+
+    PkId<E, P, ?> result = this.pkId;
+    if (result == null) {
+      // race-condition is harmless as PkId is immutable
+      result = newPkId();
+      this.pkId = result;
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,388 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+
+/**
+ * Immutable value of a composite {@link PkIdComposite#getPk() primary key} consisting of a fixed tuple of components
+ * (e.g. {@code (tenantId, localId)} or the {@code (in, out)} IDs of an edge). Each component is either a primitive
+ * {@code long} (integral values like {@link Integer} are widened) or a {@link UUID}. All components are stored
+ * unboxed in a single {@code long} array and the {@link #hashCode() hash code} is computed once on creation. The
+ * {@link #toString() string representation} is the components separated by {@link #SEPARATOR} (e.g.
+ * {@code 42,4711}).
+ *
+ * @since 1.0.0
+ * @see PkIdComposite
+ */
+public final class CompositePk implements Comparable<CompositePk> {
+
+  /** The separator of the components in the {@link #toString() string representation}. */
+  public static final char SEPARATOR = ',';
+
+  /** The maximum number of components. */
+  public static final int MAX_SIZE = 16;
+
+  /** The {@code long} values of the components where a {@link UUID} occupies two subsequent slots. */
+  private final long[] slots;
+
+  /** Bit {@code i} is set if the component at index {@code i} is a {@link UUID}. */
+  private final int uuidMask;
+
+  private final int size;
+
+  private final int hash;
+
+  private CompositePk(long[] slots, int uuidMask, int size) {
+
+    super();
+    this.slots = slots;
+    this.uuidMask = uuidMask;
+    this.size = size;
+    this.hash = (31 * Arrays.hashCode(slots)) + uuidMask;
+  }
+
+  /**
+   * @return the number of components.
+   */
+  public int size() {
+
+    return this.size;
+  }
+
+  /**
+   * @param index the index of the requested component.
+   * @return the {@link Class} of the component at the given index ({@link Long} or {@link UUID}).
+   */
+  public Class<?> getType(int index) {
+
+    return isUuid(index) ? UUID.class : Long.class;
+  }
+
+  /**
+   * @param index the index of the requested component.
+   * @return {@code true} if the component at the given index is a {@link UUID}, {@code false} if it is a
+   *         {@code long}.
+   */
+  public boolean isUuid(int index) {
+
+    if ((index < 0) || (index >= this.size)) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return (this.uuidMask & (1 << index)) != 0;
+  }
+
+  private int slot(int index) {
+
+    // each UUID before the given index occupies an additional slot
+    return index + Integer.bitCount(this.uuidMask & ((1 << index) - 1));
+  }
+
+  /**
+   * @param index the index of the requested component.
+   * @return the component at the given index as {@code long}.
+   * @throws IllegalArgumentException if the component is a {@link UUID}.
+   */
+  public long getLong(int index) {
+
+    if (isUuid(index)) {
+      throw new IllegalArgumentException("Component " + index + " of " + this + " is a UUID.");
+    }
+    return this.slots[slot(index)];
+  }
+
+  /**
+   * @param index the index of the requested component.
+   * @return the component at the given index as {@link UUID}.
+   * @throws IllegalArgumentException if the component is a {@code long}.
+   */
+  public UUID getUuid(int index) {
+
+    if (!isUuid(index)) {
+      throw new IllegalArgumentException("Component " + index + " of " + this + " is not a UUID.");
+    }
+    int slot = slot(index);
+    return new UUID(this.slots[slot], this.slots[slot + 1]);
+  }
+
+  /**
+   * @param index the index of the requested component.
+   * @return the component at the given index as {@link Long} or {@link UUID}.
+   */
+  public Object get(int index) {
+
+    if (isUuid(index)) {
+      return getUuid(index);
+    }
+    return Long.valueOf(this.slots[slot(index)]);
+  }
+
+  @Override
+  public int compareTo(CompositePk other) {
+
+    int length = Math.min(this.size, other.size);
+    for (int i = 0; i < length; i++) {
+      boolean uuid = isUuid(i);
+      if (uuid != other.isUuid(i)) {
+        return uuid ? 1 : -1;
+      }
+      int slot = slot(i);
+      int otherSlot = other.slot(i);
+      int delta;
+      if (uuid) {
+        // unsigned like the string representation
+        delta = Long.compareUnsigned(this.slots[slot], other.slots[otherSlot]);
+        if (delta == 0) {
+          delta = Long.compareUnsigned(this.slots[slot + 1], other.slots[otherSlot + 1]);
+        }
+      } else {
+        delta = Long.compare(this.slots[slot], other.slots[otherSlot]);
+      }
+      if (delta != 0) {
+        return delta;
+      }
+    }
+    return Integer.compare(this.size, other.size);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (obj == this) {
+      return true;
+    } else if (obj instanceof CompositePk other) {
+      return (this.hash == other.hash) && (this.uuidMask == other.uuidMask) && (this.size == other.size)
+          && Arrays.equals(this.slots, other.slots);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+
+    return this.hash;
+  }
+
+  @Override
+  public String toString() {
+
+    StringBuilder sb = new StringBuilder(this.slots.length * 12);
+    for (int i = 0; i < this.size; i++) {
+      if (i > 0) {
+        sb.append(SEPARATOR);
+      }
+      sb.append(get(i));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @param encoder the {@link IdEncoder} to write the {@link #toString() string representation} to.
+   */
+  void encode(IdEncoder encoder) {
+
+    int slot = 0;
+    for (int i = 0; i < this.size; i++) {
+      if (i > 0) {
+        encoder.put(SEPARATOR);
+      }
+      if ((this.uuidMask & (1 << i)) != 0) {
+        encoder.putUuid(this.slots[slot], this.slots[slot + 1]);
+        slot += 2;
+      } else {
+        encoder.putLong(this.slots[slot++]);
+      }
+    }
+  }
+
+  /**
+   * Writes this composite primary key as compact array of its components ({@link UUID}s as {@link String}s).
+   *
+   * @param writer the {@link StructuredWriter} to write to.
+   */
+  void write(StructuredWriter writer) {
+
+    writer.writeStartArray();
+    int slot = 0;
+    for (int i = 0; i < this.size; i++) {
+      if ((this.uuidMask & (1 << i)) != 0) {
+        writer.writeValueAsString(new UUID(this.slots[slot], this.slots[slot + 1]).toString());
+        slot += 2;
+      } else {
+        writer.writeValueAsLong(Long.valueOf(this.slots[slot++]));
+      }
+    }
+    writer.writeEnd();
+  }
+
+  /**
+   * @param reader the {@link StructuredReader} pointing to an array {@link #write(StructuredWriter) written} before.
+   * @return the {@link CompositePk} read from the given {@link StructuredReader} or {@code null} for {@code null}.
+   */
+  static CompositePk read(StructuredReader reader) {
+
+    if (reader.readStartArray()) {
+      return readComponents(reader);
+    } else if (reader.isStringValue()) {
+      String string = reader.readValueAsString();
+      return (string == null) ? null : parse(string, 0, string.length());
+    }
+    reader.skipValue();
+    return null;
+  }
+
+  /**
+   * @param reader the {@link StructuredReader} pointing to the first component after the start of the array.
+   * @return the {@link CompositePk} read from the given {@link StructuredReader}.
+   */
+  static CompositePk readComponents(StructuredReader reader) {
+
+    Builder builder = new Builder();
+    while (!reader.readEnd()) {
+      if (reader.isStringValue()) {
+        String uuid = reader.readValueAsString();
+        builder.add(IdParser.parseUuid(uuid, 0, uuid.length()));
+      } else {
+        builder.add(reader.readValueAsLong().longValue());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param components the components as {@link Number}s or {@link UUID}s.
+   * @return the according {@link CompositePk}.
+   */
+  public static CompositePk of(Object... components) {
+
+    Builder builder = new Builder();
+    for (Object component : components) {
+      if (component instanceof UUID uuid) {
+        builder.add(uuid);
+      } else if (component instanceof Number number) {
+        builder.add(number.longValue());
+      } else {
+        throw new IllegalArgumentException("Unsupported component " + component);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param components the {@code long} components.
+   * @return the according {@link CompositePk}.
+   */
+  public static CompositePk ofLongs(long... components) {
+
+    verifySize(components.length);
+    return new CompositePk(components.clone(), 0, components.length);
+  }
+
+  /**
+   * @param string the {@link #toString() string representation} of the {@link CompositePk}.
+   * @return the parsed {@link CompositePk}.
+   * @throws IllegalArgumentException if the given {@link String} is not a valid {@link CompositePk}.
+   */
+  public static CompositePk parse(String string) {
+
+    return parse(string, 0, string.length());
+  }
+
+  /**
+   * @param chars the {@link CharSequence} containing the {@link #toString() string representation}.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link CompositePk}. Components in {@link UUID#toString() UUID format} are parsed as
+   *         {@link UUID} and all others as {@code long}.
+   * @throws IllegalArgumentException if the given range is not a valid {@link CompositePk}.
+   */
+  public static CompositePk parse(CharSequence chars, int start, int end) {
+
+    Builder builder = new Builder();
+    int componentStart = start;
+    for (int i = start; i <= end; i++) {
+      if ((i == end) || (chars.charAt(i) == SEPARATOR)) {
+        UUID uuid = IdParser.parseUuid(chars, componentStart, i);
+        if (uuid != null) {
+          builder.add(uuid);
+        } else {
+          Long value = IdParser.parseLong(chars, componentStart, i);
+          if (value == null) {
+            throw new IllegalArgumentException("Invalid composite primary key " + chars.subSequence(start, end));
+          }
+          builder.add(value.longValue());
+        }
+        componentStart = i + 1;
+      }
+    }
+    return builder.build();
+  }
+
+  private static void verifySize(int size) {
+
+    if ((size < 2) || (size > MAX_SIZE)) {
+      throw new IllegalArgumentException(
+          "Composite primary key must have 2 to " + MAX_SIZE + " components but has " + size);
+    }
+  }
+
+  /**
+   * Builder to collect the components of a {@link CompositePk}.
+   */
+  static final class Builder {
+
+    private long[] slots;
+
+    private int slotCount;
+
+    private int uuidMask;
+
+    private int size;
+
+    Builder() {
+
+      super();
+      this.slots = new long[4];
+    }
+
+    private void ensureCapacity(int count) {
+
+      if (this.size >= MAX_SIZE) {
+        throw new IllegalArgumentException("Composite primary key can not have more than " + MAX_SIZE + " components.");
+      }
+      if (this.slotCount + count > this.slots.length) {
+        this.slots = Arrays.copyOf(this.slots, this.slots.length * 2);
+      }
+    }
+
+    void add(long value) {
+
+      ensureCapacity(1);
+      this.slots[this.slotCount++] = value;
+      this.size++;
+    }
+
+    void add(UUID uuid) {
+
+      if (uuid == null) {
+        throw new IllegalArgumentException("Invalid UUID component.");
+      }
+      ensureCapacity(2);
+      this.slots[this.slotCount++] = uuid.getMostSignificantBits();
+      this.slots[this.slotCount++] = uuid.getLeastSignificantBits();
+      this.uuidMask |= (1 << this.size);
+      this.size++;
+    }
+
+    CompositePk build() {
+
+      verifySize(this.size);
+      return new CompositePk(Arrays.copyOf(this.slots, this.slotCount), this.uuidMask, this.size);
+    }
+  }
+
+}
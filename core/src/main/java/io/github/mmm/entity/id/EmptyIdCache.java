@@ -0,0 +1,106 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+/**
+ * Cache for {@link Id#isEmpty() empty} {@link GenericId} templates that have been
+ * {@link GenericId#withEntityType(Class) typed} to a specific {@link Id#getEntityClass() entity class}. Such templates
+ * are created very frequently (e.g. for every entity bean or property that is created) but are immutable and can
+ * therefore be shared. The cache is based on {@link ClassValue} per {@link Id#getEntityClass() entity class} and holds
+ * one template per combination of {@link Object#getClass() id class}, {@link Id#getPkClass() primary key class} and
+ * {@link Id#getRevisionType() revision type}.
+ *
+ * @since 1.0.0
+ */
+final class EmptyIdCache extends ClassValue<EmptyIdCache.Templates> {
+
+  private static final EmptyIdCache INSTANCE = new EmptyIdCache();
+
+  private EmptyIdCache() {
+
+    super();
+  }
+
+  @Override
+  protected Templates computeValue(Class<?> type) {
+
+    return new Templates();
+  }
+
+  /**
+   * @param <I> type of the {@link GenericId}.
+   * @param entityClass the {@link Id#getEntityClass() entity class}. Must not be {@code null}.
+   * @param template the untyped {@link Id#isEmpty() empty} template.
+   * @return the cached {@link Id#isEmpty() empty} template of the same type as the given {@code template} typed to the
+   *         given {@code entityClass} or {@code null} if not yet cached.
+   */
+  static <I extends GenericId<?, ?, ?, ?>> I get(Class<?> entityClass, I template) {
+
+    if (template.getPkClass() == CompositePk.class) {
+      return null; // templates differ by their component types
+    }
+    return INSTANCE.get(entityClass).get(template);
+  }
+
+  /**
+   * @param <I> type of the {@link GenericId}.
+   * @param typedTemplate the {@link Id#isEmpty() empty} template {@link GenericId#withEntityType(Class) typed} to its
+   *        {@link Id#getEntityClass() entity class} to cache.
+   * @return the cached template. Typically the given {@code typedTemplate} but may also be an equivalent instance in
+   *         case of a race-condition.
+   */
+  static <I extends GenericId<?, ?, ?, ?>> I put(I typedTemplate) {
+
+    assert (typedTemplate.isEmpty());
+    if (typedTemplate.getPkClass() == CompositePk.class) {
+      return typedTemplate;
+    }
+    return INSTANCE.get(typedTemplate.getEntityClass()).put(typedTemplate);
+  }
+
+  /**
+   * The cached templates for a single {@link Id#getEntityClass() entity class}. As there are only very few templates
+   * per entity class we use a copy-on-write array.
+   */
+  static final class Templates {
+
+    private volatile GenericId<?, ?, ?, ?>[] templates;
+
+    private Templates() {
+
+      super();
+      this.templates = new GenericId<?, ?, ?, ?>[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I extends GenericId<?, ?, ?, ?>> I get(I template) {
+
+      Class<?> idClass = template.getClass();
+      Class<?> pkClass = template.getPkClass();
+      Class<?> revisionType = template.getRevisionType();
+      for (GenericId<?, ?, ?, ?> cached : this.templates) {
+        if ((cached.getClass() == idClass) && (cached.getPkClass() == pkClass)
+            && (cached.getRevisionType() == revisionType)) {
+          return (I) cached;
+        }
+      }
+      return null;
+    }
+
+    private synchronized <I extends GenericId<?, ?, ?, ?>> I put(I typedTemplate) {
+
+      I cached = get(typedTemplate);
+      if (cached != null) {
+        return cached;
+      }
+      GenericId<?, ?, ?, ?>[] oldTemplates = this.templates;
+      int length = oldTemplates.length;
+      GenericId<?, ?, ?, ?>[] newTemplates = new GenericId<?, ?, ?, ?>[length + 1];
+      System.arraycopy(oldTemplates, 0, newTemplates, 0, length);
+      newTemplates[length] = typedTemplate;
+      this.templates = newTemplates;
+      return typedTemplate;
+    }
+  }
+
+}
@@ -11,14 +11,17 @@ import io.github.mmm.value.converter.ValueMapper;
 @SuppressWarnings({ "unchecked", "rawtypes" })
 public class FkMapper extends AtomicTypeMapper<Id, Object> {
 
-  private static final FkMapper DEFAULT = new FkMapper(PkIdEmpty.getEmpty());
+  private static final FkMapper DEFAULT = new FkMapper(PkIdEmpty.getEmpty(), null);
 
   private final GenericId idTemplate;
 
-  private FkMapper(GenericId idTemplate) {
+  private final IdInterner interner;
+
+  private FkMapper(GenericId idTemplate, IdInterner interner) {
 
     super();
     this.idTemplate = idTemplate;
+    this.interner = interner;
   }
 
   @Override
@@ -42,7 +45,12 @@ public class FkMapper extends AtomicTypeMapper<Id, Object> {
   @Override
   public Id toSource(Object id) {
 
-    return this.idTemplate.withPk(id);
+    Object pk = PkTypes.convert(this.idTemplate.getPkClass(), id);
+    Id result = this.idTemplate.withPk(pk);
+    if (this.interner != null) {
+      result = this.interner.intern(result);
+    }
+    return result;
   }
 
   /**
@@ -59,11 +67,25 @@ public class FkMapper extends AtomicTypeMapper<Id, Object> {
    */
   public static FkMapper of(Id id) {
 
+    return of(id, null);
+  }
+
+  /**
+   * @param id the {@link Id} to use as template.
+   * @param interner the {@link IdInterner} used to {@link IdInterner#intern(Id) intern} the {@link Id}s created by
+   *        {@link #toSource(Object)}. May be {@code null} to disable interning.
+   * @return the {@link FkMapper}.
+   */
+  public static FkMapper of(Id id, IdInterner interner) {
+
     if (id == null) {
-      return get();
+      if (interner == null) {
+        return get();
+      }
+      return new FkMapper(PkIdEmpty.getEmpty(), interner);
     }
     GenericId genericId = (GenericId) id;
-    return new FkMapper(genericId.withPk(null));
+    return new FkMapper(genericId.withPk(null), interner);
   }
 
 }
@@ -42,6 +42,21 @@ public interface GenericId<E, P, R extends Comparable<?>, SELF extends GenericId
    */
   String PROPERTY_PK_UUID = "u";
 
+  /**
+   * Name of the {@link #getPk() ID} property (e.g. for JSON or XML) in case of an {@link Integer}.
+   *
+   * @see PkIdInt
+   */
+  String PROPERTY_PK_INT = "i";
+
+  /**
+   * Name of the {@link #getPk() ID} property (e.g. for JSON or XML) in case of a {@link CompositePk}. The value is
+   * written as array of the components.
+   *
+   * @see PkIdComposite
+   */
+  String PROPERTY_PK_COMPOSITE = "c";
+
   /**
    * Name of the {@link #getRevision() revision} property (e.g. for JSON or XML) in case of a {@link Long}.
    *
@@ -57,6 +72,14 @@ public interface GenericId<E, P, R extends Comparable<?>, SELF extends GenericId
    */
   String PROPERTY_REVISION_INSTANT = "t";
 
+  /**
+   * Name of the {@link #getRevision() revision} property (e.g. for JSON or XML) in case of a {@link HybridTimestamp}
+   * ("h" for "hybrid"). The value is the {@link HybridTimestamp#getValue() packed long value}.
+   *
+   * @see RevisionedIdHybrid
+   */
+  String PROPERTY_REVISION_HYBRID = "h";
+
   @Override
   P getPk();
 
@@ -139,6 +162,8 @@ public interface GenericId<E, P, R extends Comparable<?>, SELF extends GenericId
    * @see #PROPERTY_PK_LONG
    * @see #PROPERTY_PK_UUID
    * @see #PROPERTY_PK_STRING
+   * @see #PROPERTY_PK_INT
+   * @see #PROPERTY_PK_COMPOSITE
    */
   String getMarshalPropertyId();
 
@@ -146,6 +171,7 @@ public interface GenericId<E, P, R extends Comparable<?>, SELF extends GenericId
    * @return the property name of the {@link #getRevision() revision} for marshalling.
    * @see #PROPERTY_REVISION_VERSION
    * @see #PROPERTY_REVISION_INSTANT
+   * @see #PROPERTY_REVISION_HYBRID
    */
   String getMarshalPropertyRevision();
 
@@ -160,10 +186,23 @@ public interface GenericId<E, P, R extends Comparable<?>, SELF extends GenericId
       writer.writeStartObject(this);
       writer.writeName(getMarshalPropertyId());
       assert (pk != null);
-      writer.writeValue(pk);
+      writePk(writer, pk);
       writer.writeName(getMarshalPropertyRevision());
-      writer.writeValue(revision);
+      if (revision instanceof HybridTimestamp hybrid) {
+        writer.writeValueAsLong(Long.valueOf(hybrid.getValue()));
+      } else {
+        writer.writeValue(revision);
+      }
       writer.writeEnd();
+    } else {
+      writePk(writer, pk);
+    }
+  }
+
+  private static void writePk(StructuredWriter writer, Object pk) {
+
+    if (pk instanceof CompositePk composite) {
+      composite.write(writer);
     } else {
       writer.writeValue(pk);
     }
@@ -189,14 +228,17 @@ public interface GenericId<E, P, R extends Comparable<?>, SELF extends GenericId
   @Override
   default StructuredIdMapping defineIdMapping() {
 
-    StructuredIdMappingMap map = StructuredIdMappingMap.of(10);
+    StructuredIdMappingMap map = StructuredIdMappingMap.of(11);
     // primary keys
-    map.put(1, PROPERTY_PK_LONG);
-    map.put(2, PROPERTY_PK_UUID);
-    map.put(3, PROPERTY_PK_STRING);
+    map.put(IdMarshallingImpl.ID_PK_LONG, PROPERTY_PK_LONG);
+    map.put(IdMarshallingImpl.ID_PK_UUID, PROPERTY_PK_UUID);
+    map.put(IdMarshallingImpl.ID_PK_STRING, PROPERTY_PK_STRING);
+    map.put(IdMarshallingImpl.ID_PK_INT, PROPERTY_PK_INT);
+    map.put(IdMarshallingImpl.ID_PK_COMPOSITE, PROPERTY_PK_COMPOSITE);
     // revisions
-    map.put(8, PROPERTY_REVISION_VERSION);
-    map.put(9, PROPERTY_REVISION_INSTANT);
+    map.put(IdMarshallingImpl.ID_REVISION_VERSION, PROPERTY_REVISION_VERSION);
+    map.put(IdMarshallingImpl.ID_REVISION_INSTANT, PROPERTY_REVISION_INSTANT);
+    map.put(IdMarshallingImpl.ID_REVISION_HYBRID, PROPERTY_REVISION_HYBRID);
     return map;
   }
 
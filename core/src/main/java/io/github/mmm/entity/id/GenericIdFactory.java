@@ -1,13 +1,8 @@
 package io.github.mmm.entity.id;
 
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
 
-import io.github.mmm.base.number.LongParser;
 import io.github.mmm.base.temporal.InstantParser;
-import io.github.mmm.base.uuid.UuidParser;
 
 /**
  * Generic implementation of {@link IdFactory}.
@@ -16,21 +11,6 @@ import io.github.mmm.base.uuid.UuidParser;
  */
 final class GenericIdFactory implements IdFactory<Object, Comparable<?>> {
 
-  @SuppressWarnings("rawtypes")
-  private static final Map<Class<? extends Id>, GenericId> EMPTY_ID_MAP = new HashMap<>();
-
-  static {
-    EMPTY_ID_MAP.put(null, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(Id.class, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(GenericId.class, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(AbstractId.class, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(PkIdLong.class, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(PkId.class, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(PkIdLong.class, PkIdLong.getEmpty());
-    EMPTY_ID_MAP.put(PkIdString.class, PkIdString.getEmpty());
-    EMPTY_ID_MAP.put(PkIdUuid.class, PkIdUuid.getEmpty());
-  }
-
   static final GenericIdFactory INSTANCE = new GenericIdFactory();
 
   private GenericIdFactory() {
@@ -55,34 +35,46 @@ final class GenericIdFactory implements IdFactory<Object, Comparable<?>> {
   @Override
   public Object parsePk(String pkString) {
 
-    Long idLong = LongParser.get().parse(pkString);
-    if (idLong != null) {
-      return idLong;
-    }
-    UUID uuid = UuidParser.get().parse(pkString);
-    if (uuid != null) {
-      return uuid;
+    if (pkString == null) {
+      return null;
     }
-    return pkString;
+    return PkTypes.parsePk(pkString, 0, pkString.length());
+  }
+
+  @Override
+  public Object parsePk(CharSequence chars, int start, int end) {
+
+    return PkTypes.parsePk(chars, start, end);
   }
 
   @Override
   public Comparable<?> parseRevision(String revisionString) {
 
-    Instant instant = InstantParser.get().parse(revisionString);
+    return parseRevision(revisionString, 0, revisionString.length());
+  }
+
+  @Override
+  public Comparable<?> parseRevision(CharSequence chars, int start, int end) {
+
+    Instant instant = InstantParser.get().parse(chars.subSequence(start, end).toString());
     if (instant != null) {
       return instant;
     }
-    return Long.valueOf(revisionString);
+    HybridTimestamp hybrid = IdParser.parseHybridTimestamp(chars, start, end);
+    if (hybrid != null) {
+      return hybrid;
+    }
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
   }
 
-  @SuppressWarnings("rawtypes")
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   static <E, I extends Id> GenericId<E, ?, ?, ?> empty(Class<E> entityType, Class<I> idClass) {
 
-    GenericId<E, ?, ?, ?> empty = EMPTY_ID_MAP.get(idClass);
-    if (empty == null) {
+    PkType<?> pkType = PkTypes.getByIdClass(idClass);
+    if (pkType == null) {
       throw new IllegalStateException(idClass.getName());
     }
+    GenericId<E, ?, ?, ?> empty = (GenericId<E, ?, ?, ?>) pkType.getEmpty();
     return empty.withEntityType(entityType);
   }
 
@@ -0,0 +1,236 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Timestamp of a hybrid logical clock (HLC) used as {@link Id#getRevision() revision}. It is packed into a single
+ * {@code long} {@link #getValue() value} with the physical time in milliseconds since the Unix epoch in the upper 48
+ * bits and a logical counter in the lower 16 bits. Unlike {@link Instant#now()} the {@link #now() current timestamp}
+ * is strictly increasing within the JVM even if it is requested multiple times within the same clock tick or the
+ * system clock goes backwards. By {@link #receive(HybridTimestamp) receiving} timestamps from other nodes, the clock
+ * also tolerates skew between nodes: all timestamps generated afterwards are greater than the received one. A received
+ * timestamp that is ahead of the local system clock by more than a {@link #DEFAULT_MAX_OFFSET maximum offset} is
+ * rejected so a single bogus timestamp can not push the clock of this JVM into the future. If the logical counter
+ * overflows, it carries into the physical time.<br>
+ * The {@link #toString() string representation} is the physical time in milliseconds and the logical counter
+ * separated by a dot (e.g. {@code 1715949296789.3}).
+ *
+ * @since 1.0.0
+ * @see RevisionedIdHybrid
+ */
+public final class HybridTimestamp implements Comparable<HybridTimestamp> {
+
+  /**
+   * The default maximum offset in milliseconds that a {@link #receive(HybridTimestamp) received} timestamp may be ahead
+   * of the local system clock.
+   */
+  public static final long DEFAULT_MAX_OFFSET = 10_000;
+
+  private static final int COUNTER_BITS = 16;
+
+  private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+
+  private static final long MAX_PHYSICAL_TIME = (1L << (Long.SIZE - 1 - COUNTER_BITS)) - 1;
+
+  /** The last timestamp generated or received by this JVM. */
+  private static final AtomicLong CLOCK = new AtomicLong();
+
+  private final long value;
+
+  private HybridTimestamp(long value) {
+
+    super();
+    this.value = value;
+  }
+
+  /**
+   * @return the packed {@code long} value of this timestamp. Has the same order as this timestamp and can be used to
+   *         store this timestamp e.g. in a database column.
+   */
+  public long getValue() {
+
+    return this.value;
+  }
+
+  /**
+   * @return the physical time in milliseconds since the Unix epoch.
+   */
+  public long getPhysicalTime() {
+
+    return this.value >>> COUNTER_BITS;
+  }
+
+  /**
+   * @return the logical counter to distinguish timestamps with the same {@link #getPhysicalTime() physical time}.
+   */
+  public int getLogicalCounter() {
+
+    return (int) (this.value & MAX_COUNTER);
+  }
+
+  /**
+   * @return this timestamp as {@link Instant}. The {@link #getLogicalCounter() logical counter} gets lost.
+   */
+  public Instant toInstant() {
+
+    return Instant.ofEpochMilli(getPhysicalTime());
+  }
+
+  @Override
+  public int compareTo(HybridTimestamp other) {
+
+    return Long.compare(this.value, other.value);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (obj == this) {
+      return true;
+    } else if (obj instanceof HybridTimestamp other) {
+      return (this.value == other.value);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+
+    return Long.hashCode(this.value);
+  }
+
+  @Override
+  public String toString() {
+
+    return getPhysicalTime() + "." + getLogicalCounter();
+  }
+
+  /**
+   * @return a new {@link HybridTimestamp} that is greater than any other {@link HybridTimestamp} previously
+   *         {@link #now() generated} or {@link #receive(HybridTimestamp) received} in this JVM.
+   */
+  public static HybridTimestamp now() {
+
+    return new HybridTimestamp(tick(System.currentTimeMillis(), 0));
+  }
+
+  /**
+   * Updates the clock of this JVM with a {@link HybridTimestamp} received from another node (e.g. as
+   * {@link Id#getRevision() revision} of an entity modified on that node).
+   *
+   * @param remote the {@link HybridTimestamp} received from another node.
+   * @return a new {@link HybridTimestamp} that is greater than the given {@code remote} timestamp and any other
+   *         {@link HybridTimestamp} previously {@link #now() generated} or received in this JVM.
+   * @throws IllegalArgumentException if the given {@code remote} timestamp is ahead of the local system clock by more
+   *         than {@link #DEFAULT_MAX_OFFSET}.
+   */
+  public static HybridTimestamp receive(HybridTimestamp remote) {
+
+    return receive(remote, DEFAULT_MAX_OFFSET);
+  }
+
+  /**
+   * @param remote the {@link HybridTimestamp} received from another node.
+   * @param maxOffset the maximum offset in milliseconds that the given {@code remote} timestamp may be ahead of the
+   *        local system clock.
+   * @return a new {@link HybridTimestamp} that is greater than the given {@code remote} timestamp and any other
+   *         {@link HybridTimestamp} previously {@link #now() generated} or received in this JVM.
+   * @throws IllegalArgumentException if the given {@code remote} timestamp is ahead of the local system clock by more
+   *         than the given {@code maxOffset}.
+   * @see #receive(HybridTimestamp)
+   */
+  public static HybridTimestamp receive(HybridTimestamp remote, long maxOffset) {
+
+    if (maxOffset < 0) {
+      throw new IllegalArgumentException("Invalid maximum offset " + maxOffset);
+    }
+    long millis = System.currentTimeMillis();
+    if (remote.getPhysicalTime() - millis > maxOffset) {
+      throw new IllegalArgumentException("Hybrid timestamp " + remote + " is more than " + maxOffset
+          + "ms ahead of the local clock " + millis + ".");
+    }
+    return new HybridTimestamp(tick(millis, remote.value));
+  }
+
+  private static long tick(long millis, long remote) {
+
+    long physical = millis << COUNTER_BITS;
+    while (true) {
+      long last = CLOCK.get();
+      long max = Math.max(last, remote);
+      if (max == Long.MAX_VALUE) {
+        throw new IllegalStateException("Hybrid clock overflow beyond physical time " + MAX_PHYSICAL_TIME + ".");
+      }
+      long next = Math.max(physical, max + 1);
+      if (CLOCK.compareAndSet(last, next)) {
+        return next;
+      }
+    }
+  }
+
+  /**
+   * @param value the {@link #getValue() packed value}.
+   * @return the according {@link HybridTimestamp}.
+   */
+  public static HybridTimestamp ofValue(long value) {
+
+    if (value < 0) {
+      throw new IllegalArgumentException("Invalid hybrid timestamp " + value);
+    }
+    return new HybridTimestamp(value);
+  }
+
+  /**
+   * @param physicalTime the {@link #getPhysicalTime() physical time}.
+   * @param logicalCounter the {@link #getLogicalCounter() logical counter}.
+   * @return the according {@link HybridTimestamp}.
+   */
+  public static HybridTimestamp of(long physicalTime, int logicalCounter) {
+
+    if ((physicalTime < 0) || (physicalTime > MAX_PHYSICAL_TIME) || (logicalCounter < 0)
+        || (logicalCounter > MAX_COUNTER)) {
+      throw new IllegalArgumentException("Invalid hybrid timestamp " + physicalTime + "." + logicalCounter);
+    }
+    return new HybridTimestamp((physicalTime << COUNTER_BITS) | logicalCounter);
+  }
+
+  /**
+   * @param instant the {@link Instant} to convert.
+   * @return the according {@link HybridTimestamp} with {@link #getLogicalCounter() logical counter} {@code 0}.
+   */
+  public static HybridTimestamp of(Instant instant) {
+
+    return of(instant.toEpochMilli(), 0);
+  }
+
+  /**
+   * @param string the {@link #toString() string representation} of the {@link HybridTimestamp}.
+   * @return the parsed {@link HybridTimestamp}.
+   * @throws IllegalArgumentException if the given {@link String} is not a valid {@link HybridTimestamp}.
+   */
+  public static HybridTimestamp parse(String string) {
+
+    return parse(string, 0, string.length());
+  }
+
+  /**
+   * @param chars the {@link CharSequence} containing the {@link #toString() string representation} of the
+   *        {@link HybridTimestamp}.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link HybridTimestamp}.
+   * @throws IllegalArgumentException if the given range is not a valid {@link HybridTimestamp}.
+   */
+  public static HybridTimestamp parse(CharSequence chars, int start, int end) {
+
+    HybridTimestamp timestamp = IdParser.parseHybridTimestamp(chars, start, end);
+    if (timestamp == null) {
+      throw new IllegalArgumentException("Invalid hybrid timestamp " + chars.subSequence(start, end));
+    }
+    return timestamp;
+  }
+
+}
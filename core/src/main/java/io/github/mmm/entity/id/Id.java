@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.function.Supplier;
 
@@ -212,6 +214,47 @@ public interface Id<E> extends Supplier<Object> {
   @Override
   String toString();
 
+  /**
+   * Appends the {@link #toString() string representation} of this {@link Id} to the given {@link Appendable} without
+   * creating intermediate {@link String}s.
+   *
+   * @param appendable the {@link Appendable} (e.g. {@link StringBuilder} or {@link java.io.Writer}) where to append
+   *        to.
+   * @throws IOException if thrown by the given {@link Appendable}.
+   */
+  default void appendTo(Appendable appendable) throws IOException {
+
+    IdEncoder.appendTo(this, appendable);
+  }
+
+  /**
+   * Writes the {@link #toString() string representation} of this {@link Id} as ASCII (UTF-8 for non-ASCII
+   * {@link String} {@link #getPk() primary keys}) to the given {@code byte[]}.
+   *
+   * @param buffer the {@code byte[]} where to write to.
+   * @param offset the index in {@code buffer} where to start writing.
+   * @return the index in {@code buffer} after the last byte that has been written.
+   * @throws ArrayIndexOutOfBoundsException if the {@code buffer} is too small.
+   */
+  default int writeTo(byte[] buffer, int offset) {
+
+    return IdEncoder.writeTo(this, buffer, offset);
+  }
+
+  /**
+   * Writes the {@link #toString() string representation} of this {@link Id} as ASCII (UTF-8 for non-ASCII
+   * {@link String} {@link #getPk() primary keys}) to the given {@link ByteBuffer} at its current
+   * {@link ByteBuffer#position() position}.
+   *
+   * @param buffer the {@link ByteBuffer} where to write to.
+   * @throws java.nio.BufferOverflowException if the {@code buffer} has not enough {@link ByteBuffer#remaining()
+   *         remaining} space.
+   */
+  default void writeTo(ByteBuffer buffer) {
+
+    IdEncoder.writeTo(this, buffer);
+  }
+
   /**
    * Type-safe and {@code null}-safe variant of {@link Entity#getId()}.
    *
@@ -266,27 +309,28 @@ public interface Id<E> extends Supplier<Object> {
    * @param <E> type of {@link Entity}.
    * @param type the {@link #getEntityClass() entityClass}
    * @param pkType the {@link #getPkClass() type} of the {@link #getPk() primary key} as short {@link String} ("long",
-   *        "uuid", or "string").
+   *        "int", "uuid", "string" or any other {@link PkType#getName() registered name}).
    * @param revisionType the {@link #getRevisionType() type} of the {@link #getRevision() revision} as short
-   *        {@link String} ("long" or "instant").
+   *        {@link String} ("long", "instant" or "hybrid").
    * @return the {@link Id} for the given arguments.
    */
+  @SuppressWarnings("unchecked")
   static <E> Id<E> ofEmpty(Class<E> type, String pkType, String revisionType) {
 
-    PkId<E, ?, ?> pkId = switch (pkType) {
-      case null -> PkIdLong.getEmpty();
-      case "long" -> PkIdLong.getEmpty();
-      case "uuid" -> PkIdUuid.getEmpty();
-      case "string" -> PkIdString.getEmpty();
-      default -> throw new IllegalStateException(pkType);
-    };
-    pkId = pkId.withEntityType(type);
-    return switch (revisionType) {
-      case null -> new RevisionedIdVersion<>(pkId, null);
-      case "long" -> new RevisionedIdVersion<>(pkId, null);
-      case "instant" -> new RevisionedIdInstant<>(pkId, null);
+    PkType<?> pk = (pkType == null) ? PkTypes.LONG : PkTypes.getByName(pkType);
+    if (pk == null) {
+      throw new IllegalStateException(pkType);
+    }
+    PkId<E, ?, ?> pkId = (PkId<E, ?, ?>) pk.getEmpty();
+    GenericId<E, ?, ?, ?> template = switch (revisionType) {
+      case null -> pkId.withRevisionVersion(null);
+      case "long" -> pkId.withRevisionVersion(null);
+      case "instant" -> pkId.withRevisionInstant(null);
+      case "hybrid" -> pkId.withRevisionHybrid(null);
       default -> throw new IllegalStateException(revisionType);
     };
+    // typing the untyped template last makes use of EmptyIdCache
+    return template.withEntityType(type);
   }
 
 }
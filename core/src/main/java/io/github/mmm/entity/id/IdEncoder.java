@@ -0,0 +1,347 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Encoder for the {@link Id#toString() string representation} of an {@link Id}. It writes {@link Long}, {@link UUID}
+ * and {@link Instant} values directly as ASCII characters without creating intermediate {@link String}s or other
+ * objects. The output is identical to {@link Long#toString()}, {@link UUID#toString()} and {@link Instant#toString()}.
+ * {@link String} values are written as is to {@link Appendable}s and UTF-8 encoded to bytes.
+ *
+ * @since 1.0.0
+ */
+abstract class IdEncoder {
+
+  private static final int SECONDS_PER_DAY = 86400;
+
+  private static final int DAYS_PER_400_YEARS = 146097;
+
+  /** Days from 0000-03-01 to 1970-01-01. */
+  private static final int DAYS_0000_TO_1970 = 719468;
+
+  /**
+   * @param c the ASCII character to write.
+   */
+  abstract void put(char c);
+
+  /**
+   * @param id the {@link Id} to encode.
+   */
+  void putId(Id<?> id) {
+
+    if (id instanceof AbstractId<?, ?, ?, ?> abstractId) {
+      abstractId.encode(this);
+    } else {
+      Object pk = id.getPk();
+      if (pk == null) {
+        return;
+      }
+      putValue(pk);
+      Object revision = id.getRevision();
+      if (revision != null) {
+        put(Id.REVISION_SEPARATOR);
+        putValue(revision);
+      }
+    }
+  }
+
+  /**
+   * @param value the {@link Id#getPk() primary key} or {@link Id#getRevision() revision} to write.
+   */
+  void putValue(Object value) {
+
+    if (value instanceof Long l) {
+      putLong(l.longValue());
+    } else if (value instanceof UUID uuid) {
+      putUuid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    } else if (value instanceof Instant instant) {
+      putInstant(instant.getEpochSecond(), instant.getNano());
+    } else if (value instanceof HybridTimestamp hybrid) {
+      putLong(hybrid.getPhysicalTime());
+      put('.');
+      putLong(hybrid.getLogicalCounter());
+    } else if (value instanceof CompositePk composite) {
+      composite.encode(this);
+    } else if (value instanceof CharSequence string) {
+      putString(string);
+    } else {
+      putString(value.toString());
+    }
+  }
+
+  /**
+   * @param value the {@code long} value to write in decimal representation.
+   */
+  void putLong(long value) {
+
+    if (value < 0) {
+      put('-');
+      if (value == Long.MIN_VALUE) {
+        putString("9223372036854775808");
+        return;
+      }
+      value = -value;
+    }
+    long divisor = 1;
+    while (divisor <= (value / 10)) {
+      divisor = divisor * 10;
+    }
+    while (divisor > 0) {
+      put((char) ('0' + ((value / divisor) % 10)));
+      divisor = divisor / 10;
+    }
+  }
+
+  /**
+   * @param mostSigBits the {@link UUID#getMostSignificantBits() most significant bits}.
+   * @param leastSigBits the {@link UUID#getLeastSignificantBits() least significant bits}.
+   */
+  void putUuid(long mostSigBits, long leastSigBits) {
+
+    putHex(mostSigBits >>> 32, 8);
+    put('-');
+    putHex(mostSigBits >>> 16, 4);
+    put('-');
+    putHex(mostSigBits, 4);
+    put('-');
+    putHex(leastSigBits >>> 48, 4);
+    put('-');
+    putHex(leastSigBits, 12);
+  }
+
+  private void putHex(long value, int digits) {
+
+    for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+      int nibble = (int) ((value >>> shift) & 0xF);
+      if (nibble < 10) {
+        put((char) ('0' + nibble));
+      } else {
+        put((char) ('a' + nibble - 10));
+      }
+    }
+  }
+
+  /**
+   * @param epochSecond the {@link Instant#getEpochSecond() epoch seconds}.
+   * @param nanos the {@link Instant#getNano() nanoseconds}.
+   */
+  void putInstant(long epochSecond, int nanos) {
+
+    long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+    // civil date from epoch day (proleptic gregorian calendar)
+    long z = epochDay + DAYS_0000_TO_1970;
+    long era = Math.floorDiv(z, DAYS_PER_400_YEARS);
+    int dayOfEra = (int) (z - (era * DAYS_PER_400_YEARS));
+    int yearOfEra = (dayOfEra - (dayOfEra / 1460) + (dayOfEra / 36524) - (dayOfEra / 146096)) / 365;
+    int dayOfYear = dayOfEra - ((365 * yearOfEra) + (yearOfEra / 4) - (yearOfEra / 100));
+    int mp = ((5 * dayOfYear) + 2) / 153;
+    int day = dayOfYear - (((153 * mp) + 2) / 5) + 1;
+    int month = (mp < 10) ? mp + 3 : mp - 9;
+    long year = yearOfEra + (era * 400);
+    if (month <= 2) {
+      year++;
+    }
+    if ((year < 0) || (year > 9999)) {
+      // rare case with sign and variable number of digits
+      putString(Instant.ofEpochSecond(epochSecond, nanos).toString());
+      return;
+    }
+    putDigits((int) year, 4);
+    put('-');
+    putDigits(month, 2);
+    put('-');
+    putDigits(day, 2);
+    put('T');
+    putDigits(secondOfDay / 3600, 2);
+    put(':');
+    putDigits((secondOfDay / 60) % 60, 2);
+    put(':');
+    putDigits(secondOfDay % 60, 2);
+    if (nanos > 0) {
+      put('.');
+      if ((nanos % 1_000_000) == 0) {
+        putDigits(nanos / 1_000_000, 3);
+      } else if ((nanos % 1000) == 0) {
+        putDigits(nanos / 1000, 6);
+      } else {
+        putDigits(nanos, 9);
+      }
+    }
+    put('Z');
+  }
+
+  private void putDigits(int value, int digits) {
+
+    int divisor = 1;
+    for (int i = 1; i < digits; i++) {
+      divisor = divisor * 10;
+    }
+    while (divisor > 0) {
+      put((char) ('0' + ((value / divisor) % 10)));
+      divisor = divisor / 10;
+    }
+  }
+
+  /**
+   * @param string the {@link CharSequence} to write.
+   */
+  void putString(CharSequence string) {
+
+    int length = string.length();
+    for (int i = 0; i < length; i++) {
+      put(string.charAt(i));
+    }
+  }
+
+  /**
+   * @param id the {@link Id} to append.
+   * @param appendable the {@link Appendable} where to append the {@link Id#toString() string representation}.
+   * @throws IOException if thrown by the given {@link Appendable}.
+   */
+  static void appendTo(Id<?> id, Appendable appendable) throws IOException {
+
+    try {
+      new AppendableEncoder(appendable).putId(id);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  /**
+   * @param id the {@link Id} to append.
+   * @param buffer the {@link StringBuilder} where to append the {@link Id#toString() string representation}.
+   */
+  static void appendTo(Id<?> id, StringBuilder buffer) {
+
+    new AppendableEncoder(buffer).putId(id);
+  }
+
+  /**
+   * @param id the {@link Id} to write.
+   * @param buffer the {@code byte[]} where to write the {@link Id#toString() string representation}.
+   * @param offset the index in {@code buffer} where to start writing.
+   * @return the index in {@code buffer} after the last byte that has been written.
+   */
+  static int writeTo(Id<?> id, byte[] buffer, int offset) {
+
+    ArrayEncoder encoder = new ArrayEncoder(buffer, offset);
+    encoder.putId(id);
+    return encoder.position;
+  }
+
+  /**
+   * @param id the {@link Id} to write.
+   * @param buffer the {@link ByteBuffer} where to {@link ByteBuffer#put(byte) put} the {@link Id#toString() string
+   *        representation}.
+   */
+  static void writeTo(Id<?> id, ByteBuffer buffer) {
+
+    new ByteBufferEncoder(buffer).putId(id);
+  }
+
+  private static final class AppendableEncoder extends IdEncoder {
+
+    private final Appendable appendable;
+
+    private AppendableEncoder(Appendable appendable) {
+
+      super();
+      this.appendable = appendable;
+    }
+
+    @Override
+    void put(char c) {
+
+      try {
+        this.appendable.append(c);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    void putString(CharSequence string) {
+
+      try {
+        this.appendable.append(string);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private abstract static class ByteEncoder extends IdEncoder {
+
+    abstract void putByte(byte b);
+
+    @Override
+    void put(char c) {
+
+      putByte((byte) c);
+    }
+
+    @Override
+    void putString(CharSequence string) {
+
+      int length = string.length();
+      for (int i = 0; i < length; i++) {
+        char c = string.charAt(i);
+        if (c >= 0x80) {
+          // non-ASCII characters are rare in IDs
+          byte[] utf8 = string.subSequence(i, length).toString().getBytes(StandardCharsets.UTF_8);
+          for (byte b : utf8) {
+            putByte(b);
+          }
+          return;
+        }
+        putByte((byte) c);
+      }
+    }
+  }
+
+  private static final class ArrayEncoder extends ByteEncoder {
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private ArrayEncoder(byte[] buffer, int position) {
+
+      super();
+      this.buffer = buffer;
+      this.position = position;
+    }
+
+    @Override
+    void putByte(byte b) {
+
+      this.buffer[this.position++] = b;
+    }
+  }
+
+  private static final class ByteBufferEncoder extends ByteEncoder {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferEncoder(ByteBuffer buffer) {
+
+      super();
+      this.buffer = buffer;
+    }
+
+    @Override
+    void putByte(byte b) {
+
+      this.buffer.put(b);
+    }
+  }
+
+}
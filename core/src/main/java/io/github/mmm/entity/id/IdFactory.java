@@ -29,18 +29,38 @@ public interface IdFactory<P, R extends Comparable<?>> {
    */
   default <E> GenericId<E, P, R, ?> create(Class<E> entityType, String pkString) {
 
-    String id = null;
-    String revision = null;
-    if ((pkString != null) && !pkString.isEmpty()) {
-      int i = pkString.indexOf(Id.REVISION_SEPARATOR);
+    if (pkString == null) {
+      return createGeneric(entityType, null, null);
+    }
+    return create(entityType, pkString, 0, pkString.length());
+  }
+
+  /**
+   * Parses an {@link Id} from a range of the given {@link CharSequence} (e.g. a segment of an URL or a column of a CSV
+   * line) without creating intermediate {@link String}s.
+   *
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link Id#getEntityClass() entity type}.
+   * @param chars the {@link CharSequence} containing the {@link Id#getAsString() primary key as string}.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link Id}.
+   * @see #create(Class, String)
+   */
+  default <E> GenericId<E, P, R, ?> create(Class<E> entityType, CharSequence chars, int start, int end) {
+
+    P pk = null;
+    R revision = null;
+    if (start < end) {
+      int i = IdParser.indexOfRevisionSeparator(chars, start, end);
       if (i > 0) {
-        id = pkString.substring(0, i);
-        revision = pkString.substring(i + 1);
+        pk = parsePk(chars, start, i);
+        revision = parseRevision(chars, i + 1, end);
       } else {
-        id = pkString;
+        pk = parsePk(chars, start, end);
       }
     }
-    return createGeneric(entityType, id, revision);
+    return create(entityType, pk, revision);
   }
 
   /**
@@ -68,12 +88,36 @@ public interface IdFactory<P, R extends Comparable<?>> {
    */
   P parsePk(String idString);
 
+  /**
+   * @param chars the {@link CharSequence} containing the {@link Id#getAsString() ID as string}.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link Id#getPk() ID}.
+   * @see #parsePk(String)
+   */
+  default P parsePk(CharSequence chars, int start, int end) {
+
+    return parsePk(chars.subSequence(start, end).toString());
+  }
+
   /**
    * @param revisionString the {@link Id#getRevisionAsString() revision as string}.
    * @return the parsed {@link Id#getRevision() revision}.
    */
   R parseRevision(String revisionString);
 
+  /**
+   * @param chars the {@link CharSequence} containing the {@link Id#getRevisionAsString() revision as string}.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link Id#getRevision() revision}.
+   * @see #parseRevision(String)
+   */
+  default R parseRevision(CharSequence chars, int start, int end) {
+
+    return parseRevision(chars.subSequence(start, end).toString());
+  }
+
   /**
    * @param <E> type of the identified {@link io.github.mmm.entity.Entity entity}.
    * @param <ID> type of {@code idClass}.
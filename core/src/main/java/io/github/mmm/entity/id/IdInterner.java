@@ -0,0 +1,130 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional canonicalizing cache for {@link Id}s. If the same {@link Id}s are created many times (e.g. when reading from
+ * JSON or mapping foreign keys from a database) each occurrence is a new instance. An {@link IdInterner} is passed
+ * explicitly where such duplicates occur (see {@link #wrap(IdFactory)},
+ * {@link IdMarshalling#readObject(io.github.mmm.marshall.StructuredReader, IdFactory, Class, IdInterner)} and
+ * {@link FkMapper#of(Id, IdInterner)}) so that duplicate {@link Id}s collapse to a single instance. There is no global
+ * state: callers that do not pass an {@link IdInterner} are not affected.<br>
+ * The cache is keyed by {@link Id#getEntityClass() entity class}, {@link Id#getPk() primary key} and
+ * {@link Id#getRevision() revision}. It is bounded to a fixed {@link #getCapacity() capacity} and lock-free: each
+ * {@link Id} maps to a single slot and a miss simply replaces the previous entry of that slot. Therefore it never grows
+ * and never blocks but hot {@link Id}s stay canonical. Use {@link #getHitCount()} and {@link #getMissCount()} to
+ * verify the effectiveness.
+ *
+ * @since 1.0.0
+ */
+public final class IdInterner {
+
+  private final AtomicReferenceArray<Id<?>> slots;
+
+  private final int mask;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  /**
+   * The constructor.
+   *
+   * @param capacity the {@link #getCapacity() capacity}. Will be rounded up to the next power of two.
+   */
+  public IdInterner(int capacity) {
+
+    super();
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size = size << 1;
+    }
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * @param <I> type of the {@link Id}.
+   * @param id the {@link Id} to intern. May be {@code null}.
+   * @return the canonical {@link Id} that is {@link Object#equals(Object) equal} to the given {@link Id} and has the
+   *         same {@link Id#getEntityClass() entity class} or the given {@link Id} itself if not yet cached.
+   */
+  @SuppressWarnings("unchecked")
+  public <I extends Id<?>> I intern(I id) {
+
+    if (id == null) {
+      return null;
+    }
+    Class<?> entityClass = id.getEntityClass();
+    int hash = id.hashCode() ^ System.identityHashCode(entityClass);
+    hash = hash * 0x9E3779B9;
+    int index = (hash ^ (hash >>> 16)) & this.mask;
+    Id<?> cached = this.slots.get(index);
+    if ((cached != null) && (cached.getEntityClass() == entityClass) && (cached.getClass() == id.getClass())
+        && cached.equals(id)) {
+      this.hits.increment();
+      return (I) cached;
+    }
+    this.misses.increment();
+    this.slots.set(index, id);
+    return id;
+  }
+
+  /**
+   * @return the maximum number of {@link Id}s that can be cached.
+   */
+  public int getCapacity() {
+
+    return this.slots.length();
+  }
+
+  /**
+   * @return the number of {@link #intern(Id) intern} calls that returned a cached {@link Id}.
+   */
+  public long getHitCount() {
+
+    return this.hits.sum();
+  }
+
+  /**
+   * @return the number of {@link #intern(Id) intern} calls that did not find a cached {@link Id}.
+   */
+  public long getMissCount() {
+
+    return this.misses.sum();
+  }
+
+  /**
+   * Removes all cached {@link Id}s and resets the {@link #getHitCount() hit} and {@link #getMissCount() miss}
+   * counters.
+   */
+  public void clear() {
+
+    for (int i = this.slots.length() - 1; i >= 0; i--) {
+      this.slots.set(i, null);
+    }
+    this.hits.reset();
+    this.misses.reset();
+  }
+
+  /**
+   * @param <P> type of the {@link Id#getPk() primary key}.
+   * @param <R> type of the {@link Id#getRevision() revision}.
+   * @param factory the {@link IdFactory} to decorate.
+   * @return an {@link IdFactory} that delegates to the given {@link IdFactory} and {@link #intern(Id) interns} the
+   *         created {@link Id}s with this {@link IdInterner}.
+   */
+  public <P, R extends Comparable<?>> IdFactory<P, R> wrap(IdFactory<P, R> factory) {
+
+    return new InterningIdFactory<>(factory, this);
+  }
+
+}
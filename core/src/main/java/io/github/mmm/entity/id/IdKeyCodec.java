@@ -0,0 +1,527 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Codec to encode {@link GenericId}s as binary keys (e.g. for B-tree or LSM storage) and decode them back. The
+ * unsigned lexicographic order of the encoded keys (e.g. via {@link Arrays#compareUnsigned(byte[], byte[])} or
+ * {@code memcmp}) is the same as the order of the {@link Id#getPk() primary keys} and then the
+ * {@link Id#getRevision() revisions}. Therefore range scans can be done directly on the binary keys. The encoding has
+ * no header as an instance of this codec is created for a specific {@link #of(GenericId) template} that defines the
+ * {@link Id#getPkClass() primary key type}, the {@link Id#getRevisionType() revision type} and the
+ * {@link Id#getEntityClass() entity class}:
+ * <ul>
+ * <li>{@link Long} primary key or revision: 8 bytes big-endian with the sign bit flipped</li>
+ * <li>{@link Integer} primary key: 4 bytes big-endian with the sign bit flipped</li>
+ * <li>{@link UUID} primary key: 16 bytes big-endian as is. Hence {@link UUID}s are ordered unsigned like their
+ * {@link UUID#toString() string representation} and the UUID type of typical databases (unlike the signed order of
+ * {@link UUID#compareTo(UUID)}).</li>
+ * <li>{@link String} primary key: UTF-8 bytes where {@code 0x00} is escaped as {@code 0x00 0x01} terminated by
+ * {@code 0x00 0x00}. Unlike a length prefix this preserves the order of the {@link String}s by unicode code-point
+ * (only differs from {@link String#compareTo(String)} for surrogate pairs). As the terminator is never followed by
+ * another byte of the same {@link String} it is unambiguous whatever bytes (e.g. a revision) follow.</li>
+ * <li>{@link CompositePk} primary key: the components in the order of the {@link PkIdComposite} template each
+ * encoded with fixed width like a {@link Long} or {@link UUID} primary key. Hence the order is the same as
+ * {@link CompositePk#compareTo(CompositePk)}.</li>
+ * <li>{@link Instant} revision: 8 bytes epoch seconds (like {@link Long}) and 4 bytes nanoseconds big-endian</li>
+ * <li>{@link HybridTimestamp} revision: 8 bytes {@link HybridTimestamp#getValue() value} (like {@link Long})</li>
+ * </ul>
+ * A {@code null} revision is encoded as the minimum value (all bits zero) and therefore sorts first.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ */
+public final class IdKeyCodec<E> {
+
+  private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+  private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+  private static final int PK_LONG = 1;
+
+  private static final int PK_UUID = 2;
+
+  private static final int PK_STRING = 3;
+
+  private static final int PK_INT = 4;
+
+  private static final int PK_COMPOSITE = 5;
+
+  private static final int REVISION_NONE = 0;
+
+  private static final int REVISION_LONG = 1;
+
+  private static final int REVISION_INSTANT = 2;
+
+  private static final int REVISION_HYBRID = 3;
+
+  private static final byte ESCAPE = 0;
+
+  private static final byte ESCAPED_ZERO = 1;
+
+  private static final byte TERMINATOR = 0;
+
+  private static final int TERMINATOR_LENGTH = 2;
+
+  private final Class<E> entityClass;
+
+  private final PkIdComposite<E> compositeTemplate;
+
+  private final int pkType;
+
+  private final int revisionType;
+
+  private final int pkLength;
+
+  private final int revisionLength;
+
+  private IdKeyCodec(Class<E> entityClass, int pkType, int revisionType, PkIdComposite<E> compositeTemplate) {
+
+    super();
+    this.entityClass = entityClass;
+    this.compositeTemplate = compositeTemplate;
+    this.pkType = pkType;
+    this.revisionType = revisionType;
+    this.pkLength = switch (pkType) {
+      case PK_LONG -> 8;
+      case PK_UUID -> 16;
+      case PK_INT -> 4;
+      case PK_COMPOSITE -> getCompositeLength(compositeTemplate);
+      default -> -1;
+    };
+    this.revisionLength = switch (revisionType) {
+      case REVISION_LONG, REVISION_HYBRID -> 8;
+      case REVISION_INSTANT -> 12;
+      default -> 0;
+    };
+  }
+
+  private static int getCompositeLength(PkIdComposite<?> template) {
+
+    int length = 0;
+    int count = template.getComponentCount();
+    for (int i = 0; i < count; i++) {
+      length += (template.getComponentType(i) == UUID.class) ? 16 : 8;
+    }
+    return length;
+  }
+
+  /**
+   * @return the fixed length of the encoded keys in bytes or {@code -1} if variable (for {@link String}
+   *         {@link Id#getPk() primary keys}).
+   */
+  public int getKeyLength() {
+
+    if (this.pkLength < 0) {
+      return -1;
+    }
+    return this.pkLength + this.revisionLength;
+  }
+
+  /**
+   * @param id the {@link Id} to encode.
+   * @return the length of the encoded key in bytes.
+   */
+  public int getKeyLength(Id<E> id) {
+
+    if (this.pkLength >= 0) {
+      return this.pkLength + this.revisionLength;
+    }
+    String pk = (String) requirePk(id);
+    int length = TERMINATOR_LENGTH;
+    int len = pk.length();
+    for (int i = 0; i < len; i++) {
+      char c = pk.charAt(i);
+      if (c == 0) {
+        length += 2;
+      } else if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && (i + 1 < len) && Character.isLowSurrogate(pk.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else {
+        length += 3;
+      }
+    }
+    return length + this.revisionLength;
+  }
+
+  /**
+   * @param id the {@link Id} to encode.
+   * @return the encoded key.
+   */
+  public byte[] encode(Id<E> id) {
+
+    byte[] key = new byte[getKeyLength(id)];
+    encode(id, MemorySegment.ofArray(key), 0);
+    return key;
+  }
+
+  /**
+   * @param id the {@link Id} to encode.
+   * @param buffer the {@code byte[]} where to write the encoded key.
+   * @param offset the index in {@code buffer} where to start writing.
+   * @return the index in {@code buffer} after the encoded key.
+   */
+  public int encode(Id<E> id, byte[] buffer, int offset) {
+
+    return (int) encode(id, MemorySegment.ofArray(buffer), offset);
+  }
+
+  /**
+   * @param id the {@link Id} to encode.
+   * @param buffer the {@link ByteBuffer} where to write the encoded key at its current {@link ByteBuffer#position()
+   *        position} that is advanced accordingly.
+   */
+  public void encode(Id<E> id, ByteBuffer buffer) {
+
+    long length = encode(id, MemorySegment.ofBuffer(buffer), 0);
+    buffer.position(buffer.position() + (int) length);
+  }
+
+  /**
+   * @param id the {@link Id} to encode.
+   * @param segment the {@link MemorySegment} where to write the encoded key.
+   * @param offset the offset in {@code segment} where to start writing.
+   * @return the offset in {@code segment} after the encoded key.
+   */
+  public long encode(Id<E> id, MemorySegment segment, long offset) {
+
+    Object pk = requirePk(id);
+    switch (this.pkType) {
+      case PK_LONG -> {
+        segment.set(LONG, offset, getPkAsLong(id, pk) ^ Long.MIN_VALUE);
+        offset += 8;
+      }
+      case PK_UUID -> {
+        UUID uuid = (UUID) pk;
+        segment.set(LONG, offset, uuid.getMostSignificantBits());
+        segment.set(LONG, offset + 8, uuid.getLeastSignificantBits());
+        offset += 16;
+      }
+      case PK_INT -> {
+        int value = (id instanceof PkIdInt<?> pkId) ? pkId.getPkAsInt() : ((Integer) pk).intValue();
+        segment.set(INT, offset, value ^ Integer.MIN_VALUE);
+        offset += 4;
+      }
+      case PK_COMPOSITE -> offset = encodeComposite((CompositePk) pk, segment, offset);
+      default -> offset = encodeString((String) pk, segment, offset);
+    }
+    switch (this.revisionType) {
+      case REVISION_LONG -> {
+        Long revision = (Long) id.getRevision();
+        long value = (revision == null) ? CompactRevisionedId.NULL_REVISION : revision.longValue();
+        segment.set(LONG, offset, value ^ Long.MIN_VALUE);
+        offset += 8;
+      }
+      case REVISION_INSTANT -> {
+        Instant revision = (Instant) id.getRevision();
+        if (revision == null) {
+          segment.set(LONG, offset, 0);
+          segment.set(INT, offset + 8, 0);
+        } else {
+          segment.set(LONG, offset, revision.getEpochSecond() ^ Long.MIN_VALUE);
+          segment.set(INT, offset + 8, revision.getNano());
+        }
+        offset += 12;
+      }
+      case REVISION_HYBRID -> {
+        HybridTimestamp revision = (HybridTimestamp) id.getRevision();
+        long value = (revision == null) ? CompactRevisionedId.NULL_REVISION : revision.getValue();
+        segment.set(LONG, offset, value ^ Long.MIN_VALUE);
+        offset += 8;
+      }
+      default -> {
+        // no revision
+      }
+    }
+    return offset;
+  }
+
+  private static long getPkAsLong(Id<?> id, Object pk) {
+
+    if (id instanceof PkIdLong<?> pkId) {
+      return pkId.getPkAsLong();
+    }
+    return ((Long) pk).longValue();
+  }
+
+  private long encodeComposite(CompositePk pk, MemorySegment segment, long offset) {
+
+    int size = pk.size();
+    if (size != this.compositeTemplate.getComponentCount()) {
+      throw new IllegalArgumentException("Cannot encode composite primary key " + pk + " with " + size
+          + " components instead of " + this.compositeTemplate.getComponentCount() + ".");
+    }
+    for (int i = 0; i < size; i++) {
+      if (this.compositeTemplate.getComponentType(i) == UUID.class) {
+        UUID uuid = pk.getUuid(i);
+        segment.set(LONG, offset, uuid.getMostSignificantBits());
+        segment.set(LONG, offset + 8, uuid.getLeastSignificantBits());
+        offset += 16;
+      } else {
+        segment.set(LONG, offset, pk.getLong(i) ^ Long.MIN_VALUE);
+        offset += 8;
+      }
+    }
+    return offset;
+  }
+
+  private static long encodeString(String pk, MemorySegment segment, long offset) {
+
+    int len = pk.length();
+    for (int i = 0; i < len; i++) {
+      char c = pk.charAt(i);
+      if (c == 0) {
+        segment.set(ValueLayout.JAVA_BYTE, offset++, ESCAPE);
+        segment.set(ValueLayout.JAVA_BYTE, offset++, ESCAPED_ZERO);
+      } else if (c < 0x80) {
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) c);
+      } else if (c < 0x800) {
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0xC0 | (c >> 6)));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | (c & 0x3F)));
+      } else if (Character.isHighSurrogate(c) && (i + 1 < len) && Character.isLowSurrogate(pk.charAt(i + 1))) {
+        int cp = Character.toCodePoint(c, pk.charAt(++i));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0xF0 | (cp >> 18)));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | ((cp >> 12) & 0x3F)));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | ((cp >> 6) & 0x3F)));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | (cp & 0x3F)));
+      } else {
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0xE0 | (c >> 12)));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+        segment.set(ValueLayout.JAVA_BYTE, offset++, (byte) (0x80 | (c & 0x3F)));
+      }
+    }
+    segment.set(ValueLayout.JAVA_BYTE, offset++, ESCAPE);
+    segment.set(ValueLayout.JAVA_BYTE, offset++, TERMINATOR);
+    return offset;
+  }
+
+  private static Object requirePk(Id<?> id) {
+
+    Object pk = id.getPk();
+    if (pk == null) {
+      throw new IllegalArgumentException("Cannot encode Id without primary key.");
+    }
+    return pk;
+  }
+
+  /**
+   * @param key the encoded key.
+   * @return the decoded {@link GenericId}.
+   */
+  public GenericId<E, ?, ?, ?> decode(byte[] key) {
+
+    return decode(key, 0);
+  }
+
+  /**
+   * @param buffer the {@code byte[]} containing the encoded key.
+   * @param offset the index in {@code buffer} where the encoded key starts.
+   * @return the decoded {@link GenericId}.
+   */
+  public GenericId<E, ?, ?, ?> decode(byte[] buffer, int offset) {
+
+    return decode(MemorySegment.ofArray(buffer), offset);
+  }
+
+  /**
+   * @param buffer the {@link ByteBuffer} containing the encoded key at its current {@link ByteBuffer#position()
+   *        position} that is advanced accordingly.
+   * @return the decoded {@link GenericId}.
+   */
+  public GenericId<E, ?, ?, ?> decode(ByteBuffer buffer) {
+
+    MemorySegment segment = MemorySegment.ofBuffer(buffer);
+    GenericId<E, ?, ?, ?> id = decode(segment, 0);
+    int length;
+    if (this.pkLength >= 0) {
+      length = this.pkLength + this.revisionLength;
+    } else {
+      length = (int) (indexOfTerminator(segment, 0) + TERMINATOR_LENGTH + this.revisionLength);
+    }
+    buffer.position(buffer.position() + length);
+    return id;
+  }
+
+  /**
+   * @param segment the {@link MemorySegment} containing the encoded key.
+   * @param offset the offset in {@code segment} where the encoded key starts.
+   * @return the decoded {@link GenericId}.
+   */
+  public GenericId<E, ?, ?, ?> decode(MemorySegment segment, long offset) {
+
+    switch (this.pkType) {
+      case PK_LONG -> {
+        long pk = segment.get(LONG, offset) ^ Long.MIN_VALUE;
+        offset += 8;
+        return switch (this.revisionType) {
+          case REVISION_LONG -> new RevisionedIdLongVersion<>(this.entityClass, pk,
+              segment.get(LONG, offset) ^ Long.MIN_VALUE);
+          case REVISION_INSTANT -> new RevisionedIdLongInstant<>(this.entityClass, pk, decodeInstant(segment, offset));
+          default -> decodeRevision(new PkIdLong<>(this.entityClass, pk), segment, offset);
+        };
+      }
+      case PK_UUID -> {
+        UUID pk = new UUID(segment.get(LONG, offset), segment.get(LONG, offset + 8));
+        offset += 16;
+        return switch (this.revisionType) {
+          case REVISION_LONG -> new RevisionedIdUuidVersion<>(this.entityClass, pk,
+              segment.get(LONG, offset) ^ Long.MIN_VALUE);
+          case REVISION_INSTANT -> new RevisionedIdUuidInstant<>(this.entityClass, pk, decodeInstant(segment, offset));
+          default -> decodeRevision(new PkIdUuid<>(this.entityClass, pk), segment, offset);
+        };
+      }
+      case PK_INT -> {
+        PkIdInt<E> pkId = PkIdInt.of(segment.get(INT, offset) ^ Integer.MIN_VALUE, this.entityClass);
+        return decodeRevision(pkId, segment, offset + 4);
+      }
+      case PK_COMPOSITE -> {
+        CompositePk.Builder builder = new CompositePk.Builder();
+        int count = this.compositeTemplate.getComponentCount();
+        for (int i = 0; i < count; i++) {
+          if (this.compositeTemplate.getComponentType(i) == UUID.class) {
+            builder.add(new UUID(segment.get(LONG, offset), segment.get(LONG, offset + 8)));
+            offset += 16;
+          } else {
+            builder.add(segment.get(LONG, offset) ^ Long.MIN_VALUE);
+            offset += 8;
+          }
+        }
+        return decodeRevision(this.compositeTemplate.withPk(builder.build()), segment, offset);
+      }
+      default -> {
+        long end = indexOfTerminator(segment, offset);
+        PkIdString<E> pkId = new PkIdString<>(this.entityClass, decodeString(segment, offset, end));
+        return decodeRevision(pkId, segment, end + TERMINATOR_LENGTH);
+      }
+    }
+  }
+
+  private GenericId<E, ?, ?, ?> decodeRevision(PkId<E, ?, ?> pkId, MemorySegment segment, long offset) {
+
+    return switch (this.revisionType) {
+      case REVISION_LONG -> {
+        long revision = segment.get(LONG, offset) ^ Long.MIN_VALUE;
+        yield new RevisionedIdVersion<>(pkId,
+            (revision == CompactRevisionedId.NULL_REVISION) ? null : Long.valueOf(revision));
+      }
+      case REVISION_INSTANT -> new RevisionedIdInstant<>(pkId, decodeInstant(segment, offset));
+      case REVISION_HYBRID -> {
+        long revision = segment.get(LONG, offset) ^ Long.MIN_VALUE;
+        yield new RevisionedIdHybrid<>(pkId,
+            (revision == CompactRevisionedId.NULL_REVISION) ? null : HybridTimestamp.ofValue(revision));
+      }
+      default -> pkId;
+    };
+  }
+
+  private static Instant decodeInstant(MemorySegment segment, long offset) {
+
+    long seconds = segment.get(LONG, offset) ^ Long.MIN_VALUE;
+    if (seconds == CompactRevisionedId.NULL_REVISION) {
+      return null;
+    }
+    return Instant.ofEpochSecond(seconds, segment.get(INT, offset + 8));
+  }
+
+  private static long indexOfTerminator(MemorySegment segment, long offset) {
+
+    long last = segment.byteSize() - 1;
+    for (long i = offset; i < last; i++) {
+      if (segment.get(ValueLayout.JAVA_BYTE, i) == ESCAPE) {
+        byte next = segment.get(ValueLayout.JAVA_BYTE, ++i);
+        if (next == TERMINATOR) {
+          return i - 1;
+        } else if (next != ESCAPED_ZERO) {
+          throw new IllegalArgumentException("Invalid escape sequence in string key at " + (i - 1) + ".");
+        }
+      }
+    }
+    throw new IllegalArgumentException("Missing terminator of string key.");
+  }
+
+  private static String decodeString(MemorySegment segment, long start, long end) {
+
+    byte[] bytes = segment.asSlice(start, end - start).toArray(ValueLayout.JAVA_BYTE);
+    int length = bytes.length;
+    int j = 0;
+    for (int i = 0; i < length; i++) {
+      byte b = bytes[i];
+      bytes[j++] = b;
+      if (b == ESCAPE) {
+        i++; // skip ESCAPED_ZERO
+      }
+    }
+    return new String(bytes, 0, j, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param key1 the first encoded key.
+   * @param key2 the second encoded key.
+   * @return the result of the comparison of the given keys according to {@link java.util.Comparator#compare(Object,
+   *         Object)}.
+   */
+  public static int compare(byte[] key1, byte[] key2) {
+
+    return Arrays.compareUnsigned(key1, key2);
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param template the {@link GenericId} template (e.g. {@link PkIdLong#getEmpty(Class)}) defining the
+   *        {@link Id#getEntityClass() entity class}, {@link Id#getPkClass() primary key type} and
+   *        {@link Id#getRevisionType() revision type}.
+   * @return the according {@link IdKeyCodec}.
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> IdKeyCodec<E> of(GenericId<E, ?, ?, ?> template) {
+
+    Class<?> pkClass = template.getPkClass();
+    PkIdComposite<E> compositeTemplate = null;
+    int pkType;
+    if (pkClass == Long.class) {
+      pkType = PK_LONG;
+    } else if (pkClass == UUID.class) {
+      pkType = PK_UUID;
+    } else if (pkClass == String.class) {
+      pkType = PK_STRING;
+    } else if (pkClass == Integer.class) {
+      pkType = PK_INT;
+    } else if (pkClass == CompositePk.class) {
+      pkType = PK_COMPOSITE;
+      compositeTemplate = (PkIdComposite<E>) template.withoutRevision();
+      if (compositeTemplate.getComponentCount() == 0) {
+        throw new IllegalArgumentException("Template for composite primary key requires component types.");
+      }
+    } else {
+      throw new IllegalArgumentException("Unsupported primary key type " + pkClass.getName());
+    }
+    Class<?> revisionType = template.getRevisionType();
+    int revision;
+    if (!template.hasRevisionField()) {
+      revision = REVISION_NONE;
+    } else if (revisionType == Long.class) {
+      revision = REVISION_LONG;
+    } else if (revisionType == Instant.class) {
+      revision = REVISION_INSTANT;
+    } else if (revisionType == HybridTimestamp.class) {
+      revision = REVISION_HYBRID;
+    } else {
+      throw new IllegalArgumentException("Unsupported revision type " + revisionType.getName());
+    }
+    return new IdKeyCodec<>(template.getEntityClass(), pkType, revision, compositeTemplate);
+  }
+
+}
@@ -52,30 +52,61 @@ public interface IdMarshalling extends Marshalling<Id<?>> {
    * @param entityType the {@link GenericId#getEntityClass() entity type}.
    * @return the unmarshalled {@link GenericId}.
    */
-  @SuppressWarnings("unchecked")
   static <E, P, R extends Comparable<?>> GenericId<E, P, R, ?> readObject(StructuredReader reader,
       IdFactory<P, R> factory, Class<E> entityType) {
 
+    return readObject(reader, factory, entityType, null);
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param <P> type of the {@link GenericId#getPk() ID}.
+   * @param <R> type of the {@link GenericId#getRevision() revision}.
+   * @param reader the {@link StructuredReader} to read from.
+   * @param factory the {@link IdFactory} to create {@link Id} instances.
+   * @param entityType the {@link GenericId#getEntityClass() entity type}.
+   * @param interner the {@link IdInterner} used to {@link IdInterner#intern(Id) intern} the unmarshalled {@link Id}.
+   *        May be {@code null} to disable interning.
+   * @return the unmarshalled {@link GenericId}.
+   */
+  @SuppressWarnings("unchecked")
+  static <E, P, R extends Comparable<?>> GenericId<E, P, R, ?> readObject(StructuredReader reader,
+      IdFactory<P, R> factory, Class<E> entityType, IdInterner interner) {
+
     Object pk = null;
     Object revision = null;
     try {
       if (reader.readStartObject(PkIdEmpty.getEmpty())) {
         while (!reader.readEnd()) {
           String name = reader.readName();
-          if (GenericId.PROPERTY_PK_LONG.equals(name)) {
-            pk = update(pk, reader.readValueAsLong(), Id.PROPERTY_PK);
-          } else if (GenericId.PROPERTY_PK_UUID.equals(name)) {
-            pk = update(pk, UuidParser.get().parse(reader.readValueAsString()), Id.PROPERTY_PK);
-          } else if (GenericId.PROPERTY_PK_STRING.equals(name)) {
-            pk = update(pk, reader.readValueAsString(), Id.PROPERTY_PK);
-          } else if (GenericId.PROPERTY_REVISION_VERSION.equals(name)) {
-            revision = update(revision, reader.readValueAsLong(), Id.PROPERTY_REVISION);
-          } else if (GenericId.PROPERTY_REVISION_INSTANT.equals(name)) {
-            revision = update(revision, reader.readValueAsInstant(), Id.PROPERTY_REVISION);
-          } else {
-            reader.skipValue(); // ignore unknown property for compatibility and future extensions...
+          switch (IdMarshallingImpl.getPropertyId(name)) {
+            case IdMarshallingImpl.ID_PK_LONG -> pk = update(pk, reader.readValueAsLong(), Id.PROPERTY_PK);
+            case IdMarshallingImpl.ID_PK_UUID -> pk = update(pk, PkTypes.UUID.readPk(reader), Id.PROPERTY_PK);
+            case IdMarshallingImpl.ID_PK_STRING -> pk = update(pk, reader.readValueAsString(), Id.PROPERTY_PK);
+            case IdMarshallingImpl.ID_PK_INT -> pk = update(pk, reader.readValueAsInteger(), Id.PROPERTY_PK);
+            case IdMarshallingImpl.ID_PK_COMPOSITE -> pk = update(pk, CompositePk.read(reader), Id.PROPERTY_PK);
+            case IdMarshallingImpl.ID_REVISION_VERSION -> revision = update(revision, reader.readValueAsLong(),
+                Id.PROPERTY_REVISION);
+            case IdMarshallingImpl.ID_REVISION_INSTANT -> revision = update(revision, reader.readValueAsInstant(),
+                Id.PROPERTY_REVISION);
+            case IdMarshallingImpl.ID_REVISION_HYBRID -> {
+              Long hybrid = reader.readValueAsLong();
+              if (hybrid != null) {
+                revision = update(revision, HybridTimestamp.ofValue(hybrid.longValue()), Id.PROPERTY_REVISION);
+              }
+            }
+            default -> {
+              PkType<?> pkType = PkTypes.getByMarshalProperty(name);
+              if (pkType != null) {
+                pk = update(pk, pkType.readPk(reader), Id.PROPERTY_PK);
+              } else {
+                reader.skipValue(); // ignore unknown property for compatibility and future extensions...
+              }
+            }
           }
         }
+      } else if (reader.readStartArray()) {
+        pk = CompositePk.readComponents(reader);
       } else {
         if (reader.isStringValue()) {
           String string = reader.readValueAsString();
@@ -92,7 +123,17 @@ public interface IdMarshalling extends Marshalling<Id<?>> {
     } catch (Exception e) {
       throw new IllegalArgumentException("Failed to parse Id.", e);
     }
-    return factory.create(entityType, (P) pk, (R) revision);
+    if (factory instanceof GenericId<?, ?, ?, ?> template) {
+      pk = PkTypes.convert(template.getPkClass(), pk); // e.g. number read as Long for PkIdInt
+    } else if (pk instanceof Integer) {
+      // explicit int property but the generic factory would create a PkIdLong as Integer is an alias for long
+      factory = (IdFactory<P, R>) PkIdInt.getEmpty();
+    }
+    GenericId<E, P, R, ?> id = factory.create(entityType, (P) pk, (R) revision);
+    if (interner != null) {
+      id = interner.intern(id);
+    }
+    return id;
   }
 
   private static Object update(Object oldValue, Object newValue, String key) {
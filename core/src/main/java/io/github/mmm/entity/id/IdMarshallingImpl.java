@@ -10,8 +10,61 @@ final class IdMarshallingImpl implements IdMarshalling {
   /** The signleton instance. */
   static final IdMarshallingImpl INSTANCE = new IdMarshallingImpl();
 
+  /** Numeric id of an unknown property (e.g. of a custom {@link PkType}). */
+  static final int ID_UNKNOWN = 0;
+
+  /** Numeric id of {@link GenericId#PROPERTY_PK_LONG}. */
+  static final int ID_PK_LONG = 1;
+
+  /** Numeric id of {@link GenericId#PROPERTY_PK_UUID}. */
+  static final int ID_PK_UUID = 2;
+
+  /** Numeric id of {@link GenericId#PROPERTY_PK_STRING}. */
+  static final int ID_PK_STRING = 3;
+
+  /** Numeric id of {@link GenericId#PROPERTY_PK_INT}. */
+  static final int ID_PK_INT = 4;
+
+  /** Numeric id of {@link GenericId#PROPERTY_PK_COMPOSITE}. */
+  static final int ID_PK_COMPOSITE = 5;
+
+  /** Numeric id of {@link GenericId#PROPERTY_REVISION_VERSION}. */
+  static final int ID_REVISION_VERSION = 8;
+
+  /** Numeric id of {@link GenericId#PROPERTY_REVISION_INSTANT}. */
+  static final int ID_REVISION_INSTANT = 9;
+
+  /** Numeric id of {@link GenericId#PROPERTY_REVISION_HYBRID}. */
+  static final int ID_REVISION_HYBRID = 10;
+
   private IdMarshallingImpl() {
 
   }
 
+  /**
+   * All built-in property names are a single character so they are resolved by a switch on that character without
+   * hashing or comparing {@link String}s.
+   *
+   * @param name the property name as returned by {@link io.github.mmm.marshall.StructuredReader#readName()}.
+   * @return the numeric id of the given property as defined by {@link GenericId#defineIdMapping()} or
+   *         {@link #ID_UNKNOWN}.
+   */
+  static int getPropertyId(String name) {
+
+    if ((name == null) || (name.length() != 1)) {
+      return ID_UNKNOWN;
+    }
+    return switch (name.charAt(0)) {
+      case 'l' -> ID_PK_LONG;
+      case 'u' -> ID_PK_UUID;
+      case 's' -> ID_PK_STRING;
+      case 'i' -> ID_PK_INT;
+      case 'c' -> ID_PK_COMPOSITE;
+      case 'v' -> ID_REVISION_VERSION;
+      case 't' -> ID_REVISION_INSTANT;
+      case 'h' -> ID_REVISION_HYBRID;
+      default -> ID_UNKNOWN;
+    };
+  }
+
 }
@@ -0,0 +1,166 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.UUID;
+
+/**
+ * Helper to parse {@link Id}s from a range of a {@link CharSequence} without creating intermediate {@link String}s.
+ *
+ * @since 1.0.0
+ */
+final class IdParser {
+
+  private static final int UUID_LENGTH = 36;
+
+  private static final int MAX_LONG_DIGITS = 19;
+
+  private IdParser() {
+
+  }
+
+  /**
+   * @param chars the {@link CharSequence} to search.
+   * @param start the index of the first character of the {@link Id#getAsString() id as string}.
+   * @param end the index after the last character of the {@link Id#getAsString() id as string}.
+   * @return the index of the {@link Id#REVISION_SEPARATOR} after {@code start} or {@code -1} if not found.
+   */
+  static int indexOfRevisionSeparator(CharSequence chars, int start, int end) {
+
+    for (int i = start + 1; i < end; i++) {
+      if (chars.charAt(i) == Id.REVISION_SEPARATOR) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param chars the {@link CharSequence} to check.
+   * @param start the index of the first character to check.
+   * @param end the index after the last character to check.
+   * @return {@code true} if the given range consists of an optional sign followed by up to 19 decimal digits and is
+   *         therefore a candidate for {@link Long#parseLong(CharSequence, int, int, int)}, {@code false} otherwise.
+   */
+  static boolean isLong(CharSequence chars, int start, int end) {
+
+    int i = start;
+    if (i < end) {
+      char c = chars.charAt(i);
+      if ((c == '-') || (c == '+')) {
+        i++;
+      }
+    }
+    int digits = end - i;
+    if ((digits <= 0) || (digits > MAX_LONG_DIGITS)) {
+      return false;
+    }
+    while (i < end) {
+      char c = chars.charAt(i++);
+      if ((c < '0') || (c > '9')) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param chars the {@link CharSequence} to parse.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link Long} or {@code null} if the given range is not a valid {@code long} value.
+   */
+  static Long parseLong(CharSequence chars, int start, int end) {
+
+    if (isLong(chars, start, end)) {
+      try {
+        return Long.valueOf(Long.parseLong(chars, start, end, 10));
+      } catch (NumberFormatException e) {
+        // overflow
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param chars the {@link CharSequence} to parse.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link UUID} or {@code null} if the given range is not a {@link UUID} in canonical form
+   *         ({@code xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx}).
+   */
+  static UUID parseUuid(CharSequence chars, int start, int end) {
+
+    if (((end - start) != UUID_LENGTH) || (chars.charAt(start + 8) != '-') || (chars.charAt(start + 13) != '-')
+        || (chars.charAt(start + 18) != '-') || (chars.charAt(start + 23) != '-')) {
+      return null;
+    }
+    long s1 = parseHex(chars, start, start + 8);
+    long s2 = parseHex(chars, start + 9, start + 13);
+    long s3 = parseHex(chars, start + 14, start + 18);
+    long s4 = parseHex(chars, start + 19, start + 23);
+    long s5 = parseHex(chars, start + 24, end);
+    if ((s1 | s2 | s3 | s4 | s5) < 0) {
+      return null;
+    }
+    return new UUID((s1 << 32) | (s2 << 16) | s3, (s4 << 48) | s5);
+  }
+
+  /**
+   * @param chars the {@link CharSequence} to parse.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link HybridTimestamp} or {@code null} if the given range is not in the form
+   *         {@code «physical-time».«logical-counter»}.
+   */
+  static HybridTimestamp parseHybridTimestamp(CharSequence chars, int start, int end) {
+
+    int dot = -1;
+    for (int i = start; i < end; i++) {
+      if (chars.charAt(i) == '.') {
+        dot = i;
+        break;
+      }
+    }
+    if ((dot <= start) || (chars.charAt(start) == '-') || (chars.charAt(start) == '+')) {
+      return null;
+    }
+    Long physical = parseLong(chars, start, dot);
+    if ((physical == null) || ((end - dot - 1) > 5)) {
+      return null;
+    }
+    Long counter = parseLong(chars, dot + 1, end);
+    if ((counter == null) || (chars.charAt(dot + 1) == '-') || (chars.charAt(dot + 1) == '+')) {
+      return null;
+    }
+    try {
+      return HybridTimestamp.of(physical.longValue(), counter.intValue());
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the parsed hex value or {@code -1} if an invalid character was found.
+   */
+  private static long parseHex(CharSequence chars, int start, int end) {
+
+    long value = 0;
+    for (int i = start; i < end; i++) {
+      char c = chars.charAt(i);
+      int digit;
+      if ((c >= '0') && (c <= '9')) {
+        digit = c - '0';
+      } else if ((c >= 'a') && (c <= 'f')) {
+        digit = c - 'a' + 10;
+      } else if ((c >= 'A') && (c <= 'F')) {
+        digit = c - 'A' + 10;
+      } else {
+        return -1L;
+      }
+      value = (value << 4) | digit;
+    }
+    return value;
+  }
+
+}
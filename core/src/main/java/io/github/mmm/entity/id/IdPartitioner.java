@@ -0,0 +1,238 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Assigns {@link Id}s to a fixed number of {@link #getPartitions() partitions} (e.g. shards of a cache, worker queues
+ * or nodes). The {@link Id#getPk() primary key} is first mixed into a well distributed 64-bit
+ * {@link #hash64(Id) hash} so also sequential primary keys are spread evenly (unlike {@link Id#hashCode()} that is
+ * designed for hash tables that do their own spreading). The hash is then mapped to a partition via
+ * {@link #jumpConsistentHash(long, int) jump consistent hash} so when the number of partitions grows from {@code n} to
+ * {@code n+1} only {@code 1/(n+1)} of the {@link Id}s move to another partition. The same {@link Id} is always
+ * assigned to the same partition on every node and JVM.
+ *
+ * @since 1.0.0
+ */
+public final class IdPartitioner {
+
+  private static final long GOLDEN_GAMMA = 0x9E37_79B9_7F4A_7C15L;
+
+  private static final long FNV_OFFSET = 0xCBF2_9CE4_8422_2325L;
+
+  private static final long FNV_PRIME = 0x0100_0000_01B3L;
+
+  private final int partitions;
+
+  private IdPartitioner(int partitions) {
+
+    super();
+    this.partitions = partitions;
+  }
+
+  /**
+   * @return the number of partitions. Each partition is identified by an index from {@code 0} to
+   *         {@code partitions - 1}.
+   */
+  public int getPartitions() {
+
+    return this.partitions;
+  }
+
+  /**
+   * @param id the {@link Id} with {@link Id#getPk() primary key}.
+   * @return the index of the partition for the given {@link Id}.
+   */
+  public int partition(Id<?> id) {
+
+    return jumpConsistentHash(hash64(id), this.partitions);
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key}.
+   * @return the index of the partition for the given primary key.
+   */
+  public int partition(long pk) {
+
+    return jumpConsistentHash(hash64(pk), this.partitions);
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key}.
+   * @return the index of the partition for the given primary key.
+   */
+  public int partition(UUID pk) {
+
+    return jumpConsistentHash(hash64(pk), this.partitions);
+  }
+
+  /**
+   * @param pks the {@link PkIdLong#getPkAsLong() primary keys} to split.
+   * @return an array with one array per {@link #getPartitions() partition} containing the given primary keys
+   *         assigned to that partition in their original order.
+   */
+  public long[][] split(long[] pks) {
+
+    int[] assignment = new int[pks.length];
+    int[] counts = new int[this.partitions];
+    for (int i = 0; i < pks.length; i++) {
+      int partition = partition(pks[i]);
+      assignment[i] = partition;
+      counts[partition]++;
+    }
+    long[][] result = new long[this.partitions][];
+    for (int p = 0; p < this.partitions; p++) {
+      result[p] = new long[counts[p]];
+      counts[p] = 0;
+    }
+    for (int i = 0; i < pks.length; i++) {
+      int partition = assignment[i];
+      result[partition][counts[partition]++] = pks[i];
+    }
+    return result;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param ids the {@link Id}s to split.
+   * @return a {@link List} with one {@link List} per {@link #getPartitions() partition} containing the given
+   *         {@link Id}s assigned to that partition in their original order. The {@link Id}s are reused as is.
+   */
+  @SuppressWarnings("unchecked")
+  public <E> List<List<Id<E>>> split(Collection<? extends Id<E>> ids) {
+
+    Id<E>[] array = ids.toArray(new Id[ids.size()]);
+    int[] assignment = new int[array.length];
+    int[] counts = new int[this.partitions];
+    for (int i = 0; i < array.length; i++) {
+      int partition = partition(array[i]);
+      assignment[i] = partition;
+      counts[partition]++;
+    }
+    List<List<Id<E>>> result = new ArrayList<>(this.partitions);
+    for (int p = 0; p < this.partitions; p++) {
+      result.add(new ArrayList<>(counts[p]));
+    }
+    for (int i = 0; i < array.length; i++) {
+      result.get(assignment[i]).add(array[i]);
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+
+    return "IdPartitioner[" + this.partitions + "]";
+  }
+
+  /**
+   * @param partitions the {@link #getPartitions() number of partitions}.
+   * @return the {@link IdPartitioner} for the given number of partitions.
+   */
+  public static IdPartitioner of(int partitions) {
+
+    if (partitions <= 0) {
+      throw new IllegalArgumentException("Number of partitions must be positive but was " + partitions);
+    }
+    return new IdPartitioner(partitions);
+  }
+
+  /**
+   * @param id the {@link Id} with {@link Id#getPk() primary key}. The {@link Id#getRevision() revision} and
+   *        {@link Id#getEntityClass() entity class} are ignored.
+   * @return the well mixed 64-bit hash of the {@link Id#getPk() primary key}.
+   * @throws IllegalArgumentException if the given {@link Id} has no {@link Id#getPk() primary key}.
+   */
+  public static long hash64(Id<?> id) {
+
+    Id<?> pkId = id;
+    if (pkId instanceof RevisionedId<?, ?, ?, ?> revisionedId) {
+      pkId = revisionedId.withoutRevision();
+    }
+    if (pkId instanceof PkIdLong<?> pkIdLong) {
+      if (pkIdLong.hasPk()) {
+        return hash64(pkIdLong.getPkAsLong());
+      }
+    } else if (pkId instanceof PkIdInt<?> pkIdInt) {
+      if (pkIdInt.hasPk()) {
+        return hash64(pkIdInt.getPkAsInt());
+      }
+    } else {
+      Object pk = pkId.getPk();
+      if (pk instanceof Long longPk) {
+        return hash64(longPk.longValue());
+      } else if (pk instanceof UUID uuid) {
+        return hash64(uuid);
+      } else if (pk instanceof CharSequence string) {
+        return hash64(string);
+      } else if (pk != null) {
+        return hash64((long) pk.hashCode());
+      }
+    }
+    throw new IllegalArgumentException("Can not hash ID without primary key: " + id);
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key}.
+   * @return the well mixed 64-bit hash of the given primary key (finalizer of SplitMix64).
+   */
+  public static long hash64(long pk) {
+
+    long z = pk + GOLDEN_GAMMA;
+    z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key}.
+   * @return the well mixed 64-bit hash of the given primary key.
+   */
+  public static long hash64(UUID pk) {
+
+    return hash64(hash64(pk.getMostSignificantBits()) ^ pk.getLeastSignificantBits());
+  }
+
+  /**
+   * @param pk the {@link PkIdString#getPk() primary key}.
+   * @return the well mixed 64-bit hash of the given primary key (FNV-1a of the characters with final mixing).
+   */
+  public static long hash64(CharSequence pk) {
+
+    long hash = FNV_OFFSET;
+    int length = pk.length();
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ pk.charAt(i)) * FNV_PRIME;
+    }
+    return hash64(hash);
+  }
+
+  /**
+   * Jump consistent hash (Lamping and Veach) mapping a 64-bit key to a bucket with minimal movement if the number of
+   * buckets changes.
+   *
+   * @param key the well mixed 64-bit key (e.g. from {@link #hash64(Id)}).
+   * @param buckets the number of buckets.
+   * @return the index of the bucket from {@code 0} to {@code buckets - 1}.
+   */
+  public static int jumpConsistentHash(long key, int buckets) {
+
+    if (buckets <= 0) {
+      throw new IllegalArgumentException("Number of buckets must be positive but was " + buckets);
+    }
+    long k = key;
+    long b = -1;
+    long j = 0;
+    while (j < buckets) {
+      b = j;
+      k = k * 2862933555777941757L + 1;
+      j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((k >>> 33) + 1)));
+    }
+    return (int) b;
+  }
+
+}
@@ -0,0 +1,56 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+/**
+ * {@link IdFactory} that delegates to another {@link IdFactory} and {@link IdInterner#intern(Id) interns} the created
+ * {@link Id}s.
+ *
+ * @param <P> type of the {@link Id#getPk() primary key}.
+ * @param <R> type of the {@link Id#getRevision() revision}.
+ * @see IdInterner#wrap(IdFactory)
+ */
+final class InterningIdFactory<P, R extends Comparable<?>> implements IdFactory<P, R> {
+
+  private final IdFactory<P, R> delegate;
+
+  private final IdInterner interner;
+
+  InterningIdFactory(IdFactory<P, R> delegate, IdInterner interner) {
+
+    super();
+    this.delegate = delegate;
+    this.interner = interner;
+  }
+
+  @Override
+  public <E> GenericId<E, P, R, ?> create(Class<E> entityType, P pk, R revision) {
+
+    return this.interner.intern(this.delegate.create(entityType, pk, revision));
+  }
+
+  @Override
+  public P parsePk(String idString) {
+
+    return this.delegate.parsePk(idString);
+  }
+
+  @Override
+  public P parsePk(CharSequence chars, int start, int end) {
+
+    return this.delegate.parsePk(chars, start, end);
+  }
+
+  @Override
+  public R parseRevision(String revisionString) {
+
+    return this.delegate.parseRevision(revisionString);
+  }
+
+  @Override
+  public R parseRevision(CharSequence chars, int start, int end) {
+
+    return this.delegate.parseRevision(chars, start, end);
+  }
+
+}
@@ -4,7 +4,6 @@ package io.github.mmm.entity.id;
 
 import java.time.Instant;
 import java.util.Objects;
-import java.util.UUID;
 
 import io.github.mmm.entity.Entity;
 
@@ -111,6 +110,13 @@ public abstract class PkId<E, P, SELF extends PkId<E, P, SELF>> extends Abstract
     if (this.entityClass == newEntityClass) {
       return self();
     } else if (this.entityClass == null) {
+      if (isEmpty()) {
+        SELF empty = EmptyIdCache.get(newEntityClass, self());
+        if (empty == null) {
+          empty = EmptyIdCache.put(newId(newEntityClass, null));
+        }
+        return empty;
+      }
       return newId(newEntityClass, getPk());
     } else {
       throw new IllegalArgumentException("Illegal type " + newEntityClass.getName() + " - already typed to "
@@ -169,17 +175,52 @@ public abstract class PkId<E, P, SELF extends PkId<E, P, SELF>> extends Abstract
     if (newRevision == null) {
       result = this;
     } else if (newRevision instanceof Long rev) {
-      result = new RevisionedIdVersion<>(this, rev);
+      result = withRevisionVersion(rev);
     } else if (newRevision instanceof Instant rev) {
-      result = new RevisionedIdInstant<>(this, rev);
+      result = withRevisionInstant(rev);
+    } else if (newRevision instanceof HybridTimestamp rev) {
+      result = withRevisionHybrid(rev);
     } else if (newRevision instanceof Integer rev) {
-      result = new RevisionedIdVersion<>(this, Long.valueOf(rev.longValue()));
+      result = withRevisionVersion(Long.valueOf(rev.longValue()));
     } else {
       throw new IllegalArgumentException("Unsupported revision type " + newRevision.getClass().getName() + "!");
     }
     return result;
   }
 
+  /**
+   * @param newRevision the new {@link #getRevision() revision}. May be {@code null} to create an {@link #isEmpty()
+   *        empty} template with a revision field.
+   * @return a {@link GenericId} with the given {@link Long} {@link #getRevision() revision} and the other attributes
+   *         from this {@link PkId}. May be overridden to return a {@link CompactRevisionedId}.
+   */
+  protected GenericId<E, P, Long, ?> withRevisionVersion(Long newRevision) {
+
+    return new RevisionedIdVersion<>(this, newRevision);
+  }
+
+  /**
+   * @param newRevision the new {@link #getRevision() revision}. May be {@code null} to create an {@link #isEmpty()
+   *        empty} template with a revision field.
+   * @return a {@link GenericId} with the given {@link Instant} {@link #getRevision() revision} and the other attributes
+   *         from this {@link PkId}. May be overridden to return a {@link CompactRevisionedId}.
+   */
+  protected GenericId<E, P, Instant, ?> withRevisionInstant(Instant newRevision) {
+
+    return new RevisionedIdInstant<>(this, newRevision);
+  }
+
+  /**
+   * @param newRevision the new {@link #getRevision() revision}. May be {@code null} to create an {@link #isEmpty()
+   *        empty} template with a revision field.
+   * @return a {@link GenericId} with the given {@link HybridTimestamp} {@link #getRevision() revision} and the other
+   *         attributes from this {@link PkId}.
+   */
+  protected GenericId<E, P, HybridTimestamp, ?> withRevisionHybrid(HybridTimestamp newRevision) {
+
+    return new RevisionedIdHybrid<>(this, newRevision);
+  }
+
   /**
    * This is a generic convenience method to create a {@link Id#withoutRevision() revision-less} {@link Id} back from
    * its {@link #getPk() primary key}.
@@ -189,22 +230,17 @@ public abstract class PkId<E, P, SELF extends PkId<E, P, SELF>> extends Abstract
    * @param pk the {@link #getPk() primary key}.
    * @return the {@link Id#withoutRevision() revision-less} {@link Id} for the given arguments.
    */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   public static <E> PkId<E, ?, ?> of(Class<E> type, Object pk) {
 
     if (pk == null) {
       return null;
     }
-    if (pk instanceof Long l) {
-      return new PkIdLong<>(type, l);
-    } else if (pk instanceof UUID u) {
-      return new PkIdUuid<>(type, u);
-    } else if (pk instanceof String s) {
-      return new PkIdString<>(type, s);
-    } else if (pk instanceof Integer i) {
-      return new PkIdLong<>(type, Long.valueOf(i.longValue()));
-    } else {
+    PkType pkType = PkTypes.get(pk.getClass());
+    if (pkType == null) {
       throw new IllegalArgumentException("Unsupported primary key type " + pk.getClass().getName());
     }
+    return pkType.create(type, pkType.convert(pk));
   }
 
 }
@@ -0,0 +1,204 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link PkId} using a {@link CompositePk} as {@link #getPk() primary key} for tables with composite
+ * keys (e.g. {@code (tenantId, localId)} or edges keyed by {@code (in, out)}). This avoids concatenating the key
+ * columns into a {@link PkIdString} that has to be parsed again and wastes memory. The {@link CompositePk} stores its
+ * components unboxed and has a precomputed hash so {@link PkIdComposite}s are cheap keys for hash-based collections.
+ * An {@link #isEmpty() empty} template created via {@link #getEmpty(Class, Class...)} defines the types of the
+ * components so {@link PkMapper} can map each component to its own column.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ */
+public final class PkIdComposite<E> extends PkId<E, CompositePk, PkIdComposite<E>> {
+
+  @SuppressWarnings("rawtypes")
+  private static final PkIdComposite EMPTY = new PkIdComposite<>(null, null, null);
+
+  private final CompositePk pk;
+
+  /** The {@link #getComponentType(int) component types} or {@code null} if undefined. */
+  private final Class<?>[] componentTypes;
+
+  /**
+   * The constructor.
+   *
+   * @param type the {@link #getEntityClass() type}.
+   * @param pk the {@link #getPk() primary key}.
+   */
+  public PkIdComposite(Class<E> type, CompositePk pk) {
+
+    this(type, pk, null);
+  }
+
+  private PkIdComposite(Class<E> type, CompositePk pk, Class<?>[] componentTypes) {
+
+    super(type);
+    this.pk = pk;
+    this.componentTypes = componentTypes;
+    if ((pk != null) && (componentTypes != null)) {
+      verifyComponents(pk);
+    }
+  }
+
+  private void verifyComponents(CompositePk newPk) {
+
+    boolean valid = (newPk.size() == this.componentTypes.length);
+    for (int i = 0; valid && (i < this.componentTypes.length); i++) {
+      valid = (newPk.getType(i) == this.componentTypes[i]);
+    }
+    if (!valid) {
+      throw new IllegalArgumentException("Composite primary key " + newPk + " does not match component types "
+          + Arrays.toString(this.componentTypes));
+    }
+  }
+
+  @Override
+  public CompositePk getPk() {
+
+    return this.pk;
+  }
+
+  @Override
+  protected PkIdComposite<E> newId(Class<E> newEntityClass, CompositePk newPk) {
+
+    return new PkIdComposite<>(newEntityClass, newPk, this.componentTypes);
+  }
+
+  @Override
+  public Class<CompositePk> getPkClass() {
+
+    return CompositePk.class;
+  }
+
+  /**
+   * @return the number of components of the {@link #getPk() primary key} or {@code 0} if undefined (untyped
+   *         {@link #isEmpty() empty} template).
+   */
+  public int getComponentCount() {
+
+    if (this.componentTypes != null) {
+      return this.componentTypes.length;
+    } else if (this.pk != null) {
+      return this.pk.size();
+    }
+    return 0;
+  }
+
+  /**
+   * @param index the index of the requested component.
+   * @return the {@link Class} of the component ({@link Long} or {@link UUID}).
+   */
+  public Class<?> getComponentType(int index) {
+
+    if (this.componentTypes != null) {
+      return this.componentTypes[index];
+    } else if (this.pk != null) {
+      return this.pk.getType(index);
+    }
+    throw new IllegalStateException("Component types undefined.");
+  }
+
+  @Override
+  public CompositePk parsePk(String idString) {
+
+    if (idString == null) {
+      return null;
+    }
+    return CompositePk.parse(idString);
+  }
+
+  @Override
+  public CompositePk parsePk(CharSequence chars, int start, int end) {
+
+    return CompositePk.parse(chars, start, end);
+  }
+
+  @Override
+  public String getMarshalPropertyId() {
+
+    return PROPERTY_PK_COMPOSITE;
+  }
+
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pk != null) {
+      this.pk.encode(encoder);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @return the untyped {@link #isEmpty() empty} template of this class without component types.
+   */
+  public static <E> PkIdComposite<E> getEmpty() {
+
+    return EMPTY;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link #getEntityClass() entity type}.
+   * @param componentTypes the {@link #getComponentType(int) component types} ({@link Long} or {@link UUID}).
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> PkIdComposite<E> getEmpty(Class<E> entityType, Class<?>... componentTypes) {
+
+    if ((componentTypes.length < 2) || (componentTypes.length > CompositePk.MAX_SIZE)) {
+      throw new IllegalArgumentException("Invalid number of components: " + componentTypes.length);
+    }
+    Class<?>[] types = componentTypes.clone();
+    for (Class<?> type : types) {
+      if ((type != Long.class) && (type != UUID.class)) {
+        throw new IllegalArgumentException("Unsupported component type " + type);
+      }
+    }
+    return new PkIdComposite<>(entityType, null, types);
+  }
+
+  /**
+   * @param <E> type of the referenced entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param components the components of the {@link CompositePk} as {@link Number}s or {@link UUID}s.
+   * @return the {@link PkIdComposite}.
+   * @see CompositePk#of(Object...)
+   */
+  public static <E> PkIdComposite<E> of(Class<E> entityClass, Object... components) {
+
+    return new PkIdComposite<>(entityClass, CompositePk.of(components));
+  }
+
+  /**
+   * @param <E> type of the referenced entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param components the {@code long} components of the {@link CompositePk}.
+   * @return the {@link PkIdComposite}.
+   * @see CompositePk#ofLongs(long...)
+   */
+  public static <E> PkIdComposite<E> ofLongs(Class<E> entityClass, long... components) {
+
+    return new PkIdComposite<>(entityClass, CompositePk.ofLongs(components));
+  }
+
+  /**
+   * @param <E> type of the referenced entity.
+   * @param pk the {@link #getPk() primary key}.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @return the {@link PkIdComposite} or {@code null} if {@code pk} is {@code null}.
+   */
+  public static <E> PkIdComposite<E> of(CompositePk pk, Class<E> entityClass) {
+
+    if (pk == null) {
+      return null;
+    }
+    return new PkIdComposite<>(entityClass, pk);
+  }
+
+}
@@ -49,12 +49,24 @@ public final class PkIdEmpty<E, SELF extends PkId<E, Object, SELF>> extends PkId
     return IdFactory.get().parsePk(idString);
   }
 
+  @Override
+  public Object parsePk(CharSequence chars, int start, int end) {
+
+    return IdFactory.get().parsePk(chars, start, end);
+  }
+
   @Override
   public Comparable<?> parseRevision(String revisionString) {
 
     return IdFactory.get().parseRevision(revisionString);
   }
 
+  @Override
+  public Comparable<?> parseRevision(CharSequence chars, int start, int end) {
+
+    return IdFactory.get().parseRevision(chars, start, end);
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   protected SELF newId(Class<E> newEntityClass, Object newPk) {
@@ -0,0 +1,266 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+/**
+ * Implementation of {@link PkId} using {@link Integer} as type for the {@link #getPk() primary key}. Intended for
+ * small tables (e.g. master data or reference tables) that will never exceed the range of {@code int} and are mapped
+ * to an {@code INTEGER} column. Internally the {@link #getPk() primary key} is stored as primitive {@code int} value.
+ * Therefore the value {@link #NULL_PK} is reserved to represent {@code null} and can not be used as actual primary
+ * key. Similar to {@link Integer#valueOf(int)}, the instances for the low range of primary keys are cached per
+ * {@link #getEntityClass() entity class} by {@link #of(int, Class)} so the many {@link Id}s referencing such tables
+ * (e.g. as foreign keys) share the same few instances.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ */
+public final class PkIdInt<E> extends PkId<E, Integer, PkIdInt<E>> {
+
+  /** The primitive {@link #getPkAsInt() primary key} value that represents {@code null} (no primary key). */
+  public static final int NULL_PK = Integer.MIN_VALUE;
+
+  /** The number of {@link #of(int, Class) cached} instances per {@link #getEntityClass() entity class}. */
+  static final int CACHE_SIZE = 1024;
+
+  @SuppressWarnings("rawtypes")
+  private static final PkIdInt EMPTY = new PkIdInt<>(null, NULL_PK);
+
+  /**
+   * The cached instances per {@link #getEntityClass() entity class}. The cached {@link PkIdInt}s reference their
+   * entity class and hence the {@link ClassLoader} of it. As {@link ClassValue} stores the array in the entity class
+   * itself, this only forms a cycle that does not prevent the entity class from being unloaded. However, the cache is
+   * filled lazily, never cleared and can retain up to {@link #CACHE_SIZE} instances per entity class as long as that
+   * class is loaded.
+   */
+  private static final ClassValue<PkIdInt<?>[]> CACHE = new ClassValue<>() {
+    @Override
+    protected PkIdInt<?>[] computeValue(Class<?> type) {
+
+      return new PkIdInt<?>[CACHE_SIZE];
+    }
+  };
+
+  private final int pk;
+
+  /**
+   * The constructor.
+   *
+   * @param type the {@link #getEntityClass() type}.
+   * @param pk the {@link #getPk() primary key}. See {@link #getPkAsInt()}.
+   * @throws IllegalArgumentException if the given {@code pk} has the reserved value {@link #NULL_PK}.
+   */
+  public PkIdInt(Class<E> type, Integer pk) {
+
+    this(type, toPrimitive(pk));
+  }
+
+  /**
+   * @param pk the {@link #getPk() primary key} as {@link Integer} or {@code null}.
+   * @return the given {@code pk} as primitive {@code int} value or {@link #NULL_PK} for {@code null}.
+   * @throws IllegalArgumentException if the given {@code pk} has the reserved value {@link #NULL_PK}.
+   */
+  static int toPrimitive(Integer pk) {
+
+    if (pk == null) {
+      return NULL_PK;
+    }
+    int value = pk.intValue();
+    if (value == NULL_PK) {
+      throw new IllegalArgumentException("The primary key " + value + " is reserved to represent null.");
+    }
+    return value;
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param type the {@link #getEntityClass() type}.
+   * @param pk the {@link #getPkAsInt() primary key} as primitive {@code int} value or {@link #NULL_PK} for none.
+   */
+  public PkIdInt(Class<E> type, int pk) {
+
+    super(type);
+    this.pk = pk;
+  }
+
+  @Override
+  public Integer getPk() {
+
+    if (this.pk == NULL_PK) {
+      return null;
+    }
+    return Integer.valueOf(this.pk);
+  }
+
+  @Override
+  protected PkIdInt<E> newId(Class<E> newEntityClass, Integer newPk) {
+
+    if (newPk == null) {
+      return new PkIdInt<>(newEntityClass, NULL_PK);
+    }
+    return of(newPk.intValue(), newEntityClass);
+  }
+
+  @Override
+  public Class<Integer> getPkClass() {
+
+    return Integer.class;
+  }
+
+  /**
+   * @return the {@link #getPk() primary key} as primitive {@code int} value or {@code -1} if {@link #getPk() primary
+   *         key} is {@code null}.
+   */
+  public int getPkAsInt() {
+
+    if (this.pk == NULL_PK) {
+      return -1;
+    }
+    return this.pk;
+  }
+
+  /**
+   * @return {@code true} if the {@link #getPk() primary key} is present, {@code false} otherwise (if {@code null}).
+   */
+  public boolean hasPk() {
+
+    return (this.pk != NULL_PK);
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return (this.pk == NULL_PK);
+  }
+
+  @Override
+  public boolean isTransient() {
+
+    return (this.pk == NULL_PK);
+  }
+
+  @Override
+  public PkIdInt<E> withPk(Integer newPk) {
+
+    return withPk(toPrimitive(newPk));
+  }
+
+  /**
+   * @param newPk the new {@link #getPkAsInt() primary key} as primitive {@code int} value.
+   * @return a copy of this {@link Id} with the given {@link #getPk() primary key} or this {@link Id} itself if already
+   *         satisfying.
+   * @see #withPk(Integer)
+   */
+  public PkIdInt<E> withPk(int newPk) {
+
+    if (this.pk == newPk) {
+      return this;
+    } else if (newPk == NULL_PK) {
+      return new PkIdInt<>(this.entityClass, NULL_PK);
+    }
+    return of(newPk, this.entityClass);
+  }
+
+  @Override
+  protected int hashCodePk() {
+
+    return Integer.hashCode(this.pk);
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof PkIdInt<?> otherId) {
+      return (this.pk == otherId.pk);
+    } else if (other instanceof RevisionedId<?, ?, ?, ?> otherId) {
+      return isEqualPk(otherId.id);
+    }
+    return super.isEqualPk(other);
+  }
+
+  @Override
+  public Integer parsePk(String idString) {
+
+    return Integer.valueOf(idString);
+  }
+
+  @Override
+  public Integer parsePk(CharSequence chars, int start, int end) {
+
+    return Integer.valueOf(Integer.parseInt(chars, start, end, 10));
+  }
+
+  @Override
+  public String getMarshalPropertyId() {
+
+    return PROPERTY_PK_INT;
+  }
+
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pk != NULL_PK) {
+      encoder.putLong(this.pk);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> PkIdInt<E> getEmpty() {
+
+    return EMPTY;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link #getEntityClass() entity type}.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> PkIdInt<E> getEmpty(Class<E> entityType) {
+
+    PkIdInt<E> empty = getEmpty();
+    return empty.withEntityType(entityType);
+  }
+
+  /**
+   * @param <E> type of the referenced entity.
+   * @param pk the actual {@link #getPk() primary key}.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @return the {@link PkIdInt}.
+   */
+  public static <E> PkIdInt<E> of(Integer pk, Class<E> entityClass) {
+
+    if (pk == null) {
+      return null;
+    }
+    return of(toPrimitive(pk), entityClass);
+  }
+
+  /**
+   * @param <E> type of the referenced entity.
+   * @param pk the actual {@link #getPkAsInt() primary key} as primitive {@code int} value.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @return the {@link PkIdInt} or {@code null} if the given {@code pk} is {@link #NULL_PK}. For {@code pk} values
+   *         from {@code 0} to {@code 1023} a cached instance is returned.
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> PkIdInt<E> of(int pk, Class<E> entityClass) {
+
+    if (pk == NULL_PK) {
+      return null;
+    } else if ((pk < 0) || (pk >= CACHE_SIZE) || (entityClass == null)) {
+      return new PkIdInt<>(entityClass, pk);
+    }
+    PkIdInt<E>[] cache = (PkIdInt<E>[]) CACHE.get(entityClass);
+    PkIdInt<E> id = cache[pk];
+    if (id == null) {
+      // benign race: PkIdInt is immutable with final fields so concurrent threads may only create duplicates
+      id = new PkIdInt<>(entityClass, pk);
+      cache[pk] = id;
+    }
+    return id;
+  }
+
+}
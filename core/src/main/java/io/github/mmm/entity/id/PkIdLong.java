@@ -2,27 +2,46 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id;
 
+import java.time.Instant;
+
 /**
- * Implementation of {@link PkId} using {@link Long} as type for the {@link #getPk() primary key}.
+ * Implementation of {@link PkId} using {@link Long} as type for the {@link #getPk() primary key}. Internally the
+ * {@link #getPk() primary key} is stored as primitive {@code long} value to avoid the overhead of a boxed {@link Long}.
+ * Therefore the value {@link #NULL_PK} is reserved to represent {@code null} and can not be used as actual primary key.
  *
  * @param <E> type of the identified entity.
  * @since 1.0.0
  */
 public final class PkIdLong<E> extends PkId<E, Long, PkIdLong<E>> {
 
+  /** The primitive {@link #getPkAsLong() primary key} value that represents {@code null} (no primary key). */
+  public static final long NULL_PK = Long.MIN_VALUE;
+
   @SuppressWarnings("rawtypes")
-  private static final PkIdLong EMPTY = new PkIdLong<>(null, null);
+  private static final PkIdLong EMPTY = new PkIdLong<>(null, NULL_PK);
 
-  private final Long pk;
+  private final long pk;
 
   /**
    * The constructor.
    *
    * @param type the {@link #getEntityClass() type}.
    * @param pk the {@link #getPk() primary key}. See {@link #getPkAsLong()}.
+   * @throws IllegalArgumentException if the given {@code pk} has the reserved value {@link #NULL_PK}.
    */
   public PkIdLong(Class<E> type, Long pk) {
 
+    this(type, toPrimitive(pk));
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param type the {@link #getEntityClass() type}.
+   * @param pk the {@link #getPkAsLong() primary key} as primitive {@code long} value or {@link #NULL_PK} for none.
+   */
+  public PkIdLong(Class<E> type, long pk) {
+
     super(type);
     this.pk = pk;
   }
@@ -30,7 +49,10 @@ public final class PkIdLong<E> extends PkId<E, Long, PkIdLong<E>> {
   @Override
   public Long getPk() {
 
-    return this.pk;
+    if (this.pk == NULL_PK) {
+      return null;
+    }
+    return Long.valueOf(this.pk);
   }
 
   @Override
@@ -46,23 +68,91 @@ public final class PkIdLong<E> extends PkId<E, Long, PkIdLong<E>> {
   }
 
   /**
-   * @return the {@link #getPk() primary key} as primitive {@code long} value.
+   * @return the {@link #getPk() primary key} as primitive {@code long} value or {@code -1} if {@link #getPk() primary
+   *         key} is {@code null}.
    */
   public long getPkAsLong() {
 
-    if (this.pk == null) {
+    if (this.pk == NULL_PK) {
       return -1;
     }
-    return this.pk.longValue();
+    return this.pk;
+  }
+
+  /**
+   * @return {@code true} if the {@link #getPk() primary key} is present, {@code false} otherwise (if {@code null}).
+   */
+  public boolean hasPk() {
+
+    return (this.pk != NULL_PK);
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return (this.pk == NULL_PK);
   }
 
   @Override
   public boolean isTransient() {
 
-    if (this.pk != null) {
-      return false;
+    return (this.pk == NULL_PK);
+  }
+
+  @Override
+  public PkIdLong<E> withPk(Long newPk) {
+
+    return withPk(toPrimitive(newPk));
+  }
+
+  /**
+   * @param newPk the new {@link #getPkAsLong() primary key} as primitive {@code long} value.
+   * @return a copy of this {@link Id} with the given {@link #getPk() primary key} or this {@link Id} itself if already
+   *         satisfying.
+   * @see #withPk(Long)
+   */
+  public PkIdLong<E> withPk(long newPk) {
+
+    if (this.pk == newPk) {
+      return this;
     }
-    return super.isTransient();
+    return new PkIdLong<>(this.entityClass, newPk);
+  }
+
+  @Override
+  protected int hashCodePk() {
+
+    return Long.hashCode(this.pk);
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof PkIdLong<?> otherId) {
+      return (this.pk == otherId.pk);
+    } else if (other instanceof RevisionedId<?, ?, ?, ?> otherId) {
+      return isEqualPk(otherId.id);
+    }
+    return super.isEqualPk(other);
+  }
+
+  @Override
+  protected RevisionedIdLongVersion<E> withRevisionVersion(Long newRevision) {
+
+    if ((newRevision == null) && (this.pk == NULL_PK)) {
+      return RevisionedIdLongVersion.getEmpty(this.entityClass);
+    }
+    long revision = CompactRevisionedId.toPrimitive(newRevision);
+    return new RevisionedIdLongVersion<>(this.entityClass, this.pk, revision);
+  }
+
+  @Override
+  protected RevisionedIdLongInstant<E> withRevisionInstant(Instant newRevision) {
+
+    if ((newRevision == null) && (this.pk == NULL_PK)) {
+      return RevisionedIdLongInstant.getEmpty(this.entityClass);
+    }
+    return new RevisionedIdLongInstant<>(this.entityClass, this.pk, newRevision);
   }
 
   @Override
@@ -71,12 +161,26 @@ public final class PkIdLong<E> extends PkId<E, Long, PkIdLong<E>> {
     return Long.valueOf(idString);
   }
 
+  @Override
+  public Long parsePk(CharSequence chars, int start, int end) {
+
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
+  }
+
   @Override
   public String getMarshalPropertyId() {
 
     return PROPERTY_PK_LONG;
   }
 
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pk != NULL_PK) {
+      encoder.putLong(this.pk);
+    }
+  }
+
   /**
    * @param <E> type of the identified entity.
    * @return the {@link #isEmpty() empty} template of this class.
@@ -118,6 +222,37 @@ public final class PkIdLong<E> extends PkId<E, Long, PkIdLong<E>> {
     if (pk == null) {
       return null;
     }
+    return new PkIdLong<>(entityClass, toPrimitive(pk));
+  }
+
+  /**
+   * @param pk the {@link #getPk() primary key} as {@link Long} or {@code null}.
+   * @return the given {@code pk} as primitive {@code long} value or {@link #NULL_PK} for {@code null}.
+   * @throws IllegalArgumentException if the given {@code pk} has the reserved value {@link #NULL_PK}.
+   */
+  static long toPrimitive(Long pk) {
+
+    if (pk == null) {
+      return NULL_PK;
+    }
+    long value = pk.longValue();
+    if (value == NULL_PK) {
+      throw new IllegalArgumentException("The primary key " + value + " is reserved to represent null.");
+    }
+    return value;
+  }
+
+  /**
+   * @param <E> type of the referenced entity.
+   * @param pk the actual {@link #getPkAsLong() primary key} as primitive {@code long} value.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @return the {@link PkIdLong} or {@code null} if the given {@code pk} is {@link #NULL_PK}.
+   */
+  public static <E> PkIdLong<E> of(long pk, Class<E> entityClass) {
+
+    if (pk == NULL_PK) {
+      return null;
+    }
     return new PkIdLong<>(entityClass, pk);
   }
 
@@ -2,6 +2,7 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import io.github.mmm.base.uuid.UuidParser;
@@ -17,6 +18,9 @@ public final class PkIdUuid<E> extends PkId<E, UUID, PkIdUuid<E>> {
   @SuppressWarnings("rawtypes")
   private static final PkIdUuid EMPTY = new PkIdUuid<>(null, null);
 
+  /** Number of 100 nanosecond intervals from 1582-10-15 (start of version 1 {@link UUID}s) to 1970-01-01. */
+  private static final long GREGORIAN_TO_UNIX_INTERVALS = 0x01B2_1DD2_1381_4000L;
+
   private final UUID pk;
 
   /**
@@ -49,6 +53,24 @@ public final class PkIdUuid<E> extends PkId<E, UUID, PkIdUuid<E>> {
     return UUID.class;
   }
 
+  @Override
+  protected RevisionedIdUuidVersion<E> withRevisionVersion(Long newRevision) {
+
+    if ((newRevision == null) && (this.pk == null)) {
+      return RevisionedIdUuidVersion.getEmpty(this.entityClass);
+    }
+    return new RevisionedIdUuidVersion<>(this.entityClass, this.pk, newRevision);
+  }
+
+  @Override
+  protected RevisionedIdUuidInstant<E> withRevisionInstant(Instant newRevision) {
+
+    if ((newRevision == null) && (this.pk == null)) {
+      return RevisionedIdUuidInstant.getEmpty(this.entityClass);
+    }
+    return new RevisionedIdUuidInstant<>(this.entityClass, this.pk, newRevision);
+  }
+
   @Override
   public UUID parsePk(String idString) {
 
@@ -62,12 +84,55 @@ public final class PkIdUuid<E> extends PkId<E, UUID, PkIdUuid<E>> {
     return uuid;
   }
 
+  @Override
+  public UUID parsePk(CharSequence chars, int start, int end) {
+
+    UUID uuid = IdParser.parseUuid(chars, start, end);
+    if (uuid == null) {
+      return parsePk(chars.subSequence(start, end).toString());
+    }
+    return uuid;
+  }
+
   @Override
   public String getMarshalPropertyId() {
 
     return PROPERTY_PK_UUID;
   }
 
+  /**
+   * @return the timestamp embedded in the {@link #getPk() primary key} or {@code null} if the {@link #getPk() primary
+   *         key} is {@code null} or does not contain a timestamp.
+   * @see #getTimestamp(UUID)
+   */
+  public Instant getTimestamp() {
+
+    return getTimestamp(this.pk);
+  }
+
+  /**
+   * @param uuid the {@link UUID} such as a {@link #getPk() primary key}.
+   * @return the timestamp embedded in the given {@link UUID} or {@code null} if {@code null} or not a time-based
+   *         {@link UUID}. Supports {@link UUID#version() version} 7 (Unix epoch milliseconds as created by
+   *         {@link io.github.mmm.entity.id.generator.UuidV7IdGenerator}) and version 1 (100 nanosecond intervals since
+   *         1582-10-15).
+   */
+  public static Instant getTimestamp(UUID uuid) {
+
+    if ((uuid == null) || (uuid.variant() != 2)) {
+      return null;
+    }
+    int version = uuid.version();
+    if (version == 7) {
+      return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    } else if (version == 1) {
+      long intervals = uuid.timestamp() - GREGORIAN_TO_UNIX_INTERVALS;
+      return Instant.ofEpochSecond(Math.floorDiv(intervals, 10_000_000L),
+          Math.floorMod(intervals, 10_000_000L) * 100L);
+    }
+    return null;
+  }
+
   /**
    * @param <E> type of the identified entity.
    * @return the {@link #isEmpty() empty} template of this class.
@@ -7,7 +7,8 @@ import io.github.mmm.value.converter.CompositeTypeMapper;
 import io.github.mmm.value.converter.ValueMapper;
 
 /**
- * {@link ValueMapper} to convert from {@link Id} to {@link Id#getPk() primary key} and vice versa.
+ * {@link ValueMapper} to convert from {@link Id} to {@link Id#getPk() primary key} and vice versa. A
+ * {@link PkIdComposite} is mapped to one column per {@link CompositePk} component.
  *
  * @since 1.0.0
  */
@@ -49,6 +50,9 @@ public abstract class PkMapper extends CompositeTypeMapper<Id, Object> {
 
     private GenericId id;
 
+    /** The collected components in case of {@link PkIdComposite}. */
+    private Object[] components;
+
     private IdBuilder(GenericId id) {
 
       super();
@@ -60,6 +64,14 @@ public abstract class PkMapper extends CompositeTypeMapper<Id, Object> {
       this.id = this.id.withPk(newId);
     }
 
+    private void withComponent(int index, int count, Object component) {
+
+      if (this.components == null) {
+        this.components = new Object[count];
+      }
+      this.components[index] = component;
+    }
+
     private void withRevision(Object newRevision) {
 
       this.id = this.id.withRevision((Comparable) newRevision);
@@ -68,34 +80,60 @@ public abstract class PkMapper extends CompositeTypeMapper<Id, Object> {
     @Override
     public GenericId build() {
 
+      if (this.components != null) {
+        CompositePk pk = null;
+        for (Object component : this.components) {
+          if (component != null) {
+            pk = CompositePk.of(this.components);
+            break;
+          }
+        }
+        this.id = this.id.withPk(pk);
+        this.components = null;
+      }
       return this.id;
     }
   }
 
   private static class PkMapperRevision extends PkMapper {
 
+    /** {@code true} if the revision is a {@link HybridTimestamp} that is mapped to its {@code long} value. */
+    private final boolean hybrid;
+
     private PkMapperRevision(GenericId idTemplate) {
 
       super(idTemplate, Id.COLUMN_REVISION, null);
+      this.hybrid = (idTemplate.getRevisionType() == HybridTimestamp.class);
     }
 
     @Override
     public Class<? extends Object> getTargetType() {
 
+      if (this.hybrid) {
+        return Long.class;
+      }
       return this.idTemplate.getRevisionType();
     }
 
     @Override
     public Object toTarget(Id id) {
 
-      return id.getRevision();
+      Object revision = id.getRevision();
+      if (this.hybrid && (revision != null)) {
+        return Long.valueOf(((HybridTimestamp) revision).getValue());
+      }
+      return revision;
     }
 
     @Override
     public void with(Builder<Id> builder, Object revision) {
 
       IdBuilder idBuilder = (IdBuilder) builder;
-      idBuilder.withRevision(revision);
+      if (this.hybrid && (revision instanceof Long value)) {
+        idBuilder.withRevision(HybridTimestamp.ofValue(value.longValue()));
+      } else {
+        idBuilder.withRevision(revision);
+      }
     }
 
   }
@@ -140,7 +178,7 @@ public abstract class PkMapper extends CompositeTypeMapper<Id, Object> {
 
       assert (next() == null); // no revision field
       assert (!this.idTemplate.hasRevisionField());
-      return this.idTemplate.withPkAndRevision(target, null);
+      return this.idTemplate.withPkAndRevision(PkTypes.convert(this.idTemplate.getPkClass(), target), null);
     }
 
     @Override
@@ -153,7 +191,50 @@ public abstract class PkMapper extends CompositeTypeMapper<Id, Object> {
     public void with(Builder<Id> builder, Object id) {
 
       IdBuilder idBuilder = (IdBuilder) builder;
-      idBuilder.withId(id);
+      idBuilder.withId(PkTypes.convert(this.idTemplate.getPkClass(), id));
+    }
+  }
+
+  /**
+   * {@link PkMapper} for a single component of a {@link CompositePk} mapped to its own column.
+   */
+  private static class PkMapperComponent extends PkMapper {
+
+    private final int index;
+
+    private final int count;
+
+    private final Class<?> componentType;
+
+    private PkMapperComponent(GenericId idTemplate, PkIdComposite<?> pkTemplate, int index, PkMapper next) {
+
+      super(idTemplate, Integer.toString(index + 1), next);
+      this.index = index;
+      this.count = pkTemplate.getComponentCount();
+      this.componentType = pkTemplate.getComponentType(index);
+    }
+
+    @Override
+    public Class<? extends Object> getTargetType() {
+
+      return this.componentType;
+    }
+
+    @Override
+    public Object toTarget(Id id) {
+
+      CompositePk pk = (CompositePk) id.getPk();
+      if (pk == null) {
+        return null;
+      }
+      return pk.get(this.index);
+    }
+
+    @Override
+    public void with(Builder<Id> builder, Object component) {
+
+      IdBuilder idBuilder = (IdBuilder) builder;
+      idBuilder.withComponent(this.index, this.count, component);
     }
   }
 
@@ -169,7 +250,24 @@ public abstract class PkMapper extends CompositeTypeMapper<Id, Object> {
     if (genericId.hasRevisionField()) {
       revMapper = new PkMapperRevision(genericId.withPkAndRevision(null, null));
     }
+    if (genericId.withoutRevision() instanceof PkIdComposite pkTemplate) {
+      return ofComposite(genericId, pkTemplate, revMapper);
+    }
     return new PkMapperId(genericId, revMapper);
   }
 
+  private static PkMapper ofComposite(GenericId idTemplate, PkIdComposite<?> pkTemplate, PkMapper revMapper) {
+
+    int count = pkTemplate.getComponentCount();
+    if (count == 0) {
+      throw new IllegalArgumentException("Template for composite primary key requires component types.");
+    }
+    // one column per component followed by the optional revision column
+    PkMapper mapper = revMapper;
+    for (int i = count - 1; i >= 0; i--) {
+      mapper = new PkMapperComponent(idTemplate, pkTemplate, i, mapper);
+    }
+    return mapper;
+  }
+
 }
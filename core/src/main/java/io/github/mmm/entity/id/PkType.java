@@ -0,0 +1,81 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import io.github.mmm.marshall.StructuredReader;
+
+/**
+ * Service provider interface for a type of {@link Id#getPk() primary key}. It bundles everything the generic parts of
+ * this library need to know about a primary key type: its {@link #getPkClass() Java class}, the {@link #getEmpty()
+ * empty template}, the {@link #getName() name} used by {@link Id#ofEmpty(Class, String, String)}, the
+ * {@link #getMarshalProperty() marshalling property} and how to {@link #parsePk(CharSequence, int, int) parse} and
+ * {@link #readPk(StructuredReader) read} it. Implementations are registered in {@link PkTypes} either via
+ * {@link java.util.ServiceLoader} or {@link PkTypes#register(PkType, Class...) programmatically}.
+ *
+ * @param <P> type of the {@link Id#getPk() primary key}.
+ * @since 1.0.0
+ */
+public interface PkType<P> {
+
+  /**
+   * @return the short name of this type (e.g. "long", "uuid", or "string").
+   * @see Id#ofEmpty(Class, String, String)
+   */
+  String getName();
+
+  /**
+   * @return the {@link Id#getPkClass() primary key class}.
+   */
+  default Class<P> getPkClass() {
+
+    return getEmpty().getPkClass();
+  }
+
+  /**
+   * @return the untyped {@link Id#isEmpty() empty} {@link PkId} template for this primary key type.
+   */
+  PkId<?, P, ?> getEmpty();
+
+  /**
+   * @return the {@link GenericId#getMarshalPropertyId() marshalling property} of the {@link Id#getPk() primary key}.
+   */
+  default String getMarshalProperty() {
+
+    return getEmpty().getMarshalPropertyId();
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link Id#getEntityClass() entity class}.
+   * @param pk the {@link Id#getPk() primary key}. Must not be {@code null}.
+   * @return the according {@link PkId}.
+   */
+  <E> PkId<E, P, ?> create(Class<E> entityClass, P pk);
+
+  /**
+   * @param value the primary key value of the {@link #getPkClass() primary key class} or an
+   *        {@link PkTypes#register(PkType, Class...) alias class}.
+   * @return the given {@code value} converted to the {@link #getPkClass() primary key class}.
+   */
+  default P convert(Object value) {
+
+    return getPkClass().cast(value);
+  }
+
+  /**
+   * @param chars the {@link CharSequence} containing the {@link Id#getPk() primary key} as string.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the parsed {@link Id#getPk() primary key} or {@code null} if the given range is not a valid primary key of
+   *         this type.
+   */
+  P parsePk(CharSequence chars, int start, int end);
+
+  /**
+   * @param reader the {@link StructuredReader} pointing to the value of the {@link #getMarshalProperty() marshalling
+   *        property}.
+   * @return the unmarshalled {@link Id#getPk() primary key}.
+   */
+  P readPk(StructuredReader reader);
+
+}
@@ -0,0 +1,372 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.mmm.base.uuid.UuidParser;
+import io.github.mmm.marshall.StructuredReader;
+
+/**
+ * Registry of all supported {@link PkType}s. Besides the built-in types for {@link Long} ({@link PkIdLong}),
+ * {@link Integer} ({@link PkIdInt}), {@link UUID} ({@link PkIdUuid}), {@link String} ({@link PkIdString}) and
+ * {@link CompositePk} ({@link PkIdComposite}) further types are discovered via
+ * {@link ServiceLoader} or can be {@link #register(PkType, Class...) registered} programmatically. The lookup by
+ * {@link PkType#getPkClass() primary key class} is backed by {@link ClassValue} so dispatching a primary key to its
+ * {@link PkType} costs a single lookup no matter how many types are registered. The final built-in primary key
+ * classes are checked by identity first, which is even cheaper, and all built-in types share one implementation class
+ * so call-sites like {@link PkId#of(Class, Object)} stay monomorphic even for mixed primary keys.<br>
+ * <b>ATTENTION:</b> Custom types should be registered at startup before any {@link Id} of that type is created, as a
+ * failed lookup of a subclass of a registered primary key class is cached.<br>
+ * <b>NOTE:</b> For compatibility a boxed {@link Integer} primary key passed to generic factory methods like
+ * {@link PkId#of(Class, Object)} is an alias for {@link #LONG}. A {@link PkIdInt} is only created from a
+ * {@link PkIdInt} template or explicitly via {@link PkIdInt#of(int, Class)}.
+ *
+ * @since 1.0.0
+ */
+public final class PkTypes {
+
+  /** {@link PkType} for {@link PkIdLong}. */
+  public static final PkType<Long> LONG = new StandardType<>(StandardType.KIND_LONG, "long", Long.class,
+      PkIdLong.getEmpty());
+
+  /** {@link PkType} for {@link PkIdInt}. */
+  public static final PkType<Integer> INT = new StandardType<>(StandardType.KIND_INT, "int", Integer.class,
+      PkIdInt.getEmpty());
+
+  /** {@link PkType} for {@link PkIdUuid}. */
+  public static final PkType<UUID> UUID = new StandardType<>(StandardType.KIND_UUID, "uuid", UUID.class,
+      PkIdUuid.getEmpty());
+
+  /** {@link PkType} for {@link PkIdString}. */
+  public static final PkType<String> STRING = new StandardType<>(StandardType.KIND_STRING, "string", String.class,
+      PkIdString.getEmpty());
+
+  /** {@link PkType} for {@link PkIdComposite}. */
+  public static final PkType<CompositePk> COMPOSITE = new StandardType<>(StandardType.KIND_COMPOSITE, "composite",
+      CompositePk.class, PkIdComposite.getEmpty());
+
+  private static final Map<Class<?>, PkType<?>> BY_CLASS = new ConcurrentHashMap<>();
+
+  private static final Map<String, PkType<?>> BY_NAME = new ConcurrentHashMap<>();
+
+  private static final Map<String, PkType<?>> BY_PROPERTY = new ConcurrentHashMap<>();
+
+  private static final ClassValue<PkType<?>> BY_PK_CLASS = new ClassValue<>() {
+    @Override
+    protected PkType<?> computeValue(Class<?> pkClass) {
+
+      Class<?> type = pkClass;
+      while (type != null) {
+        PkType<?> pkType = BY_CLASS.get(type);
+        if (pkType != null) {
+          return pkType;
+        }
+        type = type.getSuperclass();
+      }
+      return null;
+    }
+  };
+
+  private static final ClassValue<PkType<?>> BY_ID_CLASS = new ClassValue<>() {
+    @Override
+    protected PkType<?> computeValue(Class<?> idClass) {
+
+      if ((idClass == Id.class) || (idClass == GenericId.class) || (idClass == AbstractId.class)
+          || (idClass == PkId.class)) {
+        return LONG;
+      }
+      for (PkType<?> pkType : types) {
+        if (pkType.getEmpty().getClass() == idClass) {
+          return pkType;
+        }
+      }
+      return null;
+    }
+  };
+
+  /** All registered types in the order to {@link #parsePk(CharSequence, int, int) try for parsing}. */
+  private static volatile PkType<?>[] types = new PkType<?>[0];
+
+  static {
+    register(LONG);
+    register(INT);
+    register(UUID);
+    register(COMPOSITE);
+    for (PkType<?> pkType : ServiceLoader.load(PkType.class)) {
+      register(pkType);
+    }
+    // as fallback the catch-all string type has to be last
+    register(STRING);
+  }
+
+  private PkTypes() {
+
+  }
+
+  /**
+   * @param pkType the {@link PkType} to register. If already registered, only the given {@code aliases} are added.
+   * @param aliases additional {@link Class}es of primary key values that shall be {@link PkType#convert(Object)
+   *        converted} to the given {@link PkType} (e.g. {@link Short} for {@link #LONG}).
+   * @throws IllegalStateException if the {@link PkType#getPkClass() primary key class}, {@link PkType#getName() name}
+   *         or {@link PkType#getMarshalProperty() marshalling property} is already registered for a different type.
+   */
+  public static synchronized void register(PkType<?> pkType, Class<?>... aliases) {
+
+    verifyUnique(BY_NAME, pkType.getName(), pkType);
+    verifyUnique(BY_PROPERTY, pkType.getMarshalProperty(), pkType);
+    verifyUnique(BY_CLASS, pkType.getPkClass(), pkType);
+    for (Class<?> alias : aliases) {
+      verifyUnique(BY_CLASS, alias, pkType);
+    }
+    BY_NAME.put(pkType.getName(), pkType);
+    BY_PROPERTY.put(pkType.getMarshalProperty(), pkType);
+    BY_CLASS.put(pkType.getPkClass(), pkType);
+    BY_PK_CLASS.remove(pkType.getPkClass());
+    for (Class<?> alias : aliases) {
+      BY_CLASS.put(alias, pkType);
+      BY_PK_CLASS.remove(alias);
+    }
+    BY_ID_CLASS.remove(pkType.getEmpty().getClass());
+    if (Arrays.asList(types).contains(pkType)) {
+      return;
+    }
+    PkType<?>[] newTypes = Arrays.copyOf(types, types.length + 1);
+    int last = types.length;
+    if ((last > 0) && (newTypes[last - 1] == STRING)) {
+      // keep the catch-all string type last
+      newTypes[last] = STRING;
+      last--;
+    }
+    newTypes[last] = pkType;
+    types = newTypes;
+  }
+
+  /**
+   * Removes aliases {@link #register(PkType, Class...) registered} before. Only intended for tests to restore the
+   * global registry.
+   *
+   * @param aliases the alias {@link Class}es to remove. Must not be the {@link PkType#getPkClass() primary key class}
+   *        of a registered {@link PkType}.
+   */
+  static synchronized void unregisterAliases(Class<?>... aliases) {
+
+    for (Class<?> alias : aliases) {
+      PkType<?> pkType = BY_CLASS.get(alias);
+      if ((pkType != null) && (pkType.getPkClass() == alias)) {
+        throw new IllegalArgumentException("Primary key class " + alias.getName() + " is not an alias.");
+      }
+    }
+    for (Class<?> alias : aliases) {
+      BY_CLASS.remove(alias);
+      BY_PK_CLASS.remove(alias);
+    }
+  }
+
+  private static <K> void verifyUnique(Map<K, PkType<?>> map, K key, PkType<?> pkType) {
+
+    PkType<?> existing = map.get(key);
+    if ((existing != null) && (existing != pkType)) {
+      throw new IllegalStateException("Primary key type " + key + " is already registered as " + existing.getName());
+    }
+  }
+
+  /**
+   * @param pkClass the {@link Class} of a {@link Id#getPk() primary key} value. May be a registered alias.
+   * @return the {@link PkType} to create an {@link Id} for such primary key or {@code null} if not supported.
+   *         {@link Integer} maps to {@link #LONG} (see class javadoc).
+   */
+  public static PkType<?> get(Class<?> pkClass) {
+
+    // identity checks for the final built-in classes are cheaper than the ClassValue lookup for the common case
+    if (pkClass == Long.class) {
+      return LONG;
+    } else if (pkClass == Integer.class) {
+      return LONG; // Integer is an alias for long, see class javadoc
+    } else if (pkClass == String.class) {
+      return STRING;
+    } else if (pkClass == java.util.UUID.class) {
+      return UUID;
+    }
+    return BY_PK_CLASS.get(pkClass);
+  }
+
+  /**
+   * @param pkClass the expected {@link Id#getPkClass() primary key class}.
+   * @param pk the {@link Id#getPk() primary key} value (e.g. from a database driver that returns {@link Long} for an
+   *        {@code INTEGER} column).
+   * @return the given {@code pk} {@link PkType#convert(Object) converted} to the given {@code pkClass}.
+   */
+  static Object convert(Class<?> pkClass, Object pk) {
+
+    if ((pk == null) || (pk.getClass() == pkClass)) {
+      return pk;
+    }
+    PkType<?> pkType = BY_CLASS.get(pkClass); // exact type of template (e.g. INT for Integer)
+    if (pkType == null) {
+      pkType = get(pkClass);
+      if (pkType == null) {
+        return pk;
+      }
+    }
+    return pkType.convert(pk);
+  }
+
+  /**
+   * @param name the {@link PkType#getName() name}.
+   * @return the according {@link PkType} or {@code null} if not registered.
+   */
+  public static PkType<?> getByName(String name) {
+
+    return BY_NAME.get(name);
+  }
+
+  /**
+   * @param property the {@link PkType#getMarshalProperty() marshalling property}.
+   * @return the according {@link PkType} or {@code null} if not registered.
+   */
+  public static PkType<?> getByMarshalProperty(String property) {
+
+    return BY_PROPERTY.get(property);
+  }
+
+  /**
+   * @param idClass the {@link Class} reflecting the {@link Id} implementation. May be abstract.
+   * @return the according {@link PkType} or {@code null} if not registered. Abstract {@link Id} classes map to
+   *         {@link #LONG} as default.
+   */
+  static PkType<?> getByIdClass(Class<?> idClass) {
+
+    if (idClass == null) {
+      return LONG;
+    }
+    return BY_ID_CLASS.get(idClass);
+  }
+
+  /**
+   * @param chars the {@link CharSequence} containing the {@link Id#getPk() primary key} as string.
+   * @param start the index of the first character to parse.
+   * @param end the index after the last character to parse.
+   * @return the {@link Id#getPk() primary key} parsed by the first registered {@link PkType} that accepts the given
+   *         range. Falls back to a {@link String} if no other type matches.
+   */
+  public static Object parsePk(CharSequence chars, int start, int end) {
+
+    for (PkType<?> pkType : types) {
+      Object pk = pkType.parsePk(chars, start, end);
+      if (pk != null) {
+        return pk;
+      }
+    }
+    return chars.subSequence(start, end).toString();
+  }
+
+  /**
+   * Implementation of the built-in {@link PkType}s. As a single class for all of them, call-sites dispatching mixed
+   * built-in primary keys only see one receiver type and stay monomorphic.
+   */
+  @SuppressWarnings("unchecked")
+  private static final class StandardType<P> implements PkType<P> {
+
+    private static final int KIND_LONG = 0;
+
+    private static final int KIND_INT = 1;
+
+    private static final int KIND_UUID = 2;
+
+    private static final int KIND_STRING = 3;
+
+    private static final int KIND_COMPOSITE = 4;
+
+    private final int kind;
+
+    private final String name;
+
+    private final Class<P> pkClass;
+
+    private final PkId<?, P, ?> empty;
+
+    private StandardType(int kind, String name, Class<P> pkClass, PkId<?, P, ?> empty) {
+
+      super();
+      this.kind = kind;
+      this.name = name;
+      this.pkClass = pkClass;
+      this.empty = empty;
+    }
+
+    @Override
+    public String getName() {
+
+      return this.name;
+    }
+
+    @Override
+    public Class<P> getPkClass() {
+
+      return this.pkClass;
+    }
+
+    @Override
+    public PkId<?, P, ?> getEmpty() {
+
+      return this.empty;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public <E> PkId<E, P, ?> create(Class<E> entityClass, P pk) {
+
+      PkId id = switch (this.kind) {
+        case KIND_LONG -> new PkIdLong<>(entityClass, (Long) pk);
+        case KIND_INT -> PkIdInt.of((Integer) pk, entityClass);
+        case KIND_UUID -> new PkIdUuid<>(entityClass, (java.util.UUID) pk);
+        case KIND_COMPOSITE -> new PkIdComposite<>(entityClass, (CompositePk) pk);
+        default -> new PkIdString<>(entityClass, (String) pk);
+      };
+      return id;
+    }
+
+    @Override
+    public P convert(Object value) {
+
+      if ((this.kind == KIND_LONG) && !(value instanceof Long)) {
+        return (P) Long.valueOf(((Number) value).longValue());
+      } else if ((this.kind == KIND_INT) && !(value instanceof Integer)) {
+        return (P) Integer.valueOf(Math.toIntExact(((Number) value).longValue()));
+      }
+      return this.pkClass.cast(value);
+    }
+
+    @Override
+    public P parsePk(CharSequence chars, int start, int end) {
+
+      Object pk = switch (this.kind) {
+        case KIND_LONG -> IdParser.parseLong(chars, start, end);
+        case KIND_INT -> null; // ambiguous with long that takes precedence
+        case KIND_COMPOSITE -> null; // ambiguous with string that may contain separators
+        case KIND_UUID -> IdParser.parseUuid(chars, start, end);
+        default -> chars.subSequence(start, end).toString();
+      };
+      return (P) pk;
+    }
+
+    @Override
+    public P readPk(StructuredReader reader) {
+
+      Object pk = switch (this.kind) {
+        case KIND_LONG -> reader.readValueAsLong();
+        case KIND_INT -> reader.readValueAsInteger();
+        case KIND_UUID -> UuidParser.get().parse(reader.readValueAsString());
+        case KIND_COMPOSITE -> CompositePk.read(reader);
+        default -> reader.readValueAsString();
+      };
+      return (P) pk;
+    }
+  }
+
+}
@@ -44,6 +44,21 @@ public abstract class RevisionedId<E, P, R extends Comparable<?>, SELF extends R
     return this.id.getPk();
   }
 
+  @Override
+  protected int hashCodePk() {
+
+    return this.id.hashCodePk();
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedId<?, ?, ?, ?> otherId) {
+      return this.id.isEqualPk(otherId.id);
+    }
+    return this.id.isEqualPk(other);
+  }
+
   @Override
   public final Class<P> getPkClass() {
 
@@ -56,6 +71,12 @@ public abstract class RevisionedId<E, P, R extends Comparable<?>, SELF extends R
     return this.id.parsePk(idString);
   }
 
+  @Override
+  public P parsePk(CharSequence chars, int start, int end) {
+
+    return this.id.parsePk(chars, start, end);
+  }
+
   @Override
   public final Class<E> getEntityClass() {
 
@@ -127,6 +148,12 @@ public abstract class RevisionedId<E, P, R extends Comparable<?>, SELF extends R
     PkId<E, P, ?> newId = this.id.withEntityType(newEntityType);
     if (newId == this.id) {
       return self();
+    } else if (isEmpty()) {
+      SELF empty = EmptyIdCache.get(newEntityType, self());
+      if (empty == null) {
+        empty = EmptyIdCache.put(newId(newId, null));
+      }
+      return empty;
     }
     return newId(newId, getRevision());
   }
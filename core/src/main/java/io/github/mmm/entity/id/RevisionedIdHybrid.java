@@ -0,0 +1,77 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+/**
+ * Implementation of {@link RevisionedId} with {@link HybridTimestamp} as {@link #getRevisionType() revision type}. On
+ * {@link #updateRevision() update} a new {@link HybridTimestamp} is used as {@link #getRevision() revision} that is
+ * strictly greater than the current {@link #getRevision() revision} (even if created on a different node with clock
+ * skew) and unlike {@link RevisionedIdInstant} never collides for updates within the same clock tick.
+ *
+ * @param <E> type of the identified entity.
+ * @param <P> type of the {@link #getPk() primary key}.
+ * @since 1.0.0
+ */
+public final class RevisionedIdHybrid<E, P> extends RevisionedId<E, P, HybridTimestamp, RevisionedIdHybrid<E, P>> {
+
+  private final HybridTimestamp revision;
+
+  /**
+   * The constructor.
+   *
+   * @param id the wrapped {@link PkId} containing {@link #getEntityClass() entity class} and {@link #getPk() primary
+   *        key}.
+   * @param revision the {@link #getRevision() revision}.
+   */
+  public RevisionedIdHybrid(PkId<E, P, ?> id, HybridTimestamp revision) {
+
+    super(id);
+    this.revision = revision;
+  }
+
+  @Override
+  public HybridTimestamp getRevision() {
+
+    return this.revision;
+  }
+
+  @Override
+  public Class<HybridTimestamp> getRevisionType() {
+
+    return HybridTimestamp.class;
+  }
+
+  @Override
+  public String getMarshalPropertyRevision() {
+
+    return PROPERTY_REVISION_HYBRID;
+  }
+
+  @Override
+  protected RevisionedIdHybrid<E, P> newId(PkId<E, P, ?> newId, HybridTimestamp newRevision) {
+
+    return new RevisionedIdHybrid<>(newId, newRevision);
+  }
+
+  @Override
+  public HybridTimestamp parseRevision(String revisionString) {
+
+    return HybridTimestamp.parse(revisionString);
+  }
+
+  @Override
+  public HybridTimestamp parseRevision(CharSequence chars, int start, int end) {
+
+    return HybridTimestamp.parse(chars, start, end);
+  }
+
+  @Override
+  public HybridTimestamp updateRevision(HybridTimestamp currentRevision) {
+
+    if (currentRevision == null) {
+      return HybridTimestamp.now();
+    }
+    return HybridTimestamp.receive(currentRevision);
+  }
+
+}
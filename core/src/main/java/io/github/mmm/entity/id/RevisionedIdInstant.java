@@ -2,6 +2,7 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id;
 
+import java.nio.CharBuffer;
 import java.time.Instant;
 
 /**
@@ -60,6 +61,12 @@ public final class RevisionedIdInstant<E, P> extends RevisionedId<E, P, Instant,
     return Instant.parse(revisionString);
   }
 
+  @Override
+  public Instant parseRevision(CharSequence chars, int start, int end) {
+
+    return Instant.parse(CharBuffer.wrap(chars, start, end));
+  }
+
   @Override
   public Instant updateRevision(Instant currentRevision) {
 
@@ -0,0 +1,237 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.nio.CharBuffer;
+import java.time.Instant;
+
+/**
+ * Implementation of {@link CompactRevisionedId} with {@link Long} as {@link #getPkClass() primary key type} and
+ * {@link Instant} as {@link #getRevisionType() revision type}. The {@link #getPk() primary key} is stored as primitive
+ * {@code long} and the {@link #getRevision() revision} as epoch seconds and nanoseconds. On {@link #updateRevision()
+ * update} the {@link Instant#now() current timestamp} is used as {@link #getRevision() revision}.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see RevisionedIdInstant
+ */
+public final class RevisionedIdLongInstant<E>
+    extends CompactRevisionedId<E, Long, Instant, RevisionedIdLongInstant<E>> {
+
+  @SuppressWarnings("rawtypes")
+  private static final RevisionedIdLongInstant EMPTY = new RevisionedIdLongInstant<>(null, PkIdLong.NULL_PK, null);
+
+  private final long pk;
+
+  private final long revisionSeconds;
+
+  private final int revisionNanos;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key} or {@link PkIdLong#NULL_PK} for {@code null}.
+   * @param revision the {@link #getRevision() revision}.
+   */
+  public RevisionedIdLongInstant(Class<E> entityClass, long pk, Instant revision) {
+
+    this(entityClass, pk, (revision == null) ? NULL_REVISION : revision.getEpochSecond(),
+        (revision == null) ? 0 : revision.getNano());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key} or {@link PkIdLong#NULL_PK} for {@code null}.
+   * @param revisionSeconds the {@link Instant#getEpochSecond() epoch seconds} of the {@link #getRevision() revision} or
+   *        {@link #NULL_REVISION} for {@code null}.
+   * @param revisionNanos the {@link Instant#getNano() nanoseconds} of the {@link #getRevision() revision}.
+   */
+  public RevisionedIdLongInstant(Class<E> entityClass, long pk, long revisionSeconds, int revisionNanos) {
+
+    super(entityClass);
+    this.pk = pk;
+    this.revisionSeconds = revisionSeconds;
+    this.revisionNanos = revisionNanos;
+  }
+
+  @Override
+  public Long getPk() {
+
+    if (this.pk == PkIdLong.NULL_PK) {
+      return null;
+    }
+    return Long.valueOf(this.pk);
+  }
+
+  /**
+   * @return the {@link #getPk() primary key} as primitive {@code long} value or {@code -1} if {@link #getPk() primary
+   *         key} is {@code null}.
+   * @see PkIdLong#getPkAsLong()
+   */
+  public long getPkAsLong() {
+
+    if (this.pk == PkIdLong.NULL_PK) {
+      return -1;
+    }
+    return this.pk;
+  }
+
+  @Override
+  public Class<Long> getPkClass() {
+
+    return Long.class;
+  }
+
+  @Override
+  public Instant getRevision() {
+
+    if (this.revisionSeconds == NULL_REVISION) {
+      return null;
+    }
+    return Instant.ofEpochSecond(this.revisionSeconds, this.revisionNanos);
+  }
+
+  @Override
+  public Class<Instant> getRevisionType() {
+
+    return Instant.class;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return (this.pk == PkIdLong.NULL_PK) && (this.revisionSeconds == NULL_REVISION);
+  }
+
+  @Override
+  public boolean isTransient() {
+
+    return (this.revisionSeconds == NULL_REVISION);
+  }
+
+  @Override
+  public Long parsePk(String idString) {
+
+    return Long.valueOf(idString);
+  }
+
+  @Override
+  public Instant parseRevision(String revisionString) {
+
+    return Instant.parse(revisionString);
+  }
+
+  @Override
+  public Long parsePk(CharSequence chars, int start, int end) {
+
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
+  }
+
+  @Override
+  public Instant parseRevision(CharSequence chars, int start, int end) {
+
+    return Instant.parse(CharBuffer.wrap(chars, start, end));
+  }
+
+  @Override
+  public Instant updateRevision(Instant currentRevision) {
+
+    return Instant.now();
+  }
+
+  @Override
+  public String getMarshalPropertyId() {
+
+    return PROPERTY_PK_LONG;
+  }
+
+  @Override
+  public String getMarshalPropertyRevision() {
+
+    return PROPERTY_REVISION_INSTANT;
+  }
+
+  @Override
+  protected RevisionedIdLongInstant<E> newId(Class<E> newEntityClass, Long newPk, Instant newRevision) {
+
+    long newPkValue = PkIdLong.toPrimitive(newPk);
+    return new RevisionedIdLongInstant<>(newEntityClass, newPkValue, newRevision);
+  }
+
+  @Override
+  protected PkIdLong<E> newPkId() {
+
+    return new PkIdLong<>(this.entityClass, this.pk);
+  }
+
+  @Override
+  public RevisionedIdLongInstant<E> withPk(Long newPk) {
+
+    long newPkValue = PkIdLong.toPrimitive(newPk);
+    if (this.pk == newPkValue) {
+      return this;
+    }
+    return new RevisionedIdLongInstant<>(this.entityClass, newPkValue, this.revisionSeconds, this.revisionNanos);
+  }
+
+  @Override
+  protected int hashCodePk() {
+
+    return Long.hashCode(this.pk);
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdLongInstant<?> otherId) {
+      return (this.pk == otherId.pk);
+    }
+    return super.isEqualPk(other);
+  }
+
+  @Override
+  protected boolean isEqualRevision(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdLongInstant<?> otherId) {
+      return (this.revisionSeconds == otherId.revisionSeconds) && (this.revisionNanos == otherId.revisionNanos);
+    }
+    return super.isEqualRevision(other);
+  }
+
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pk == PkIdLong.NULL_PK) {
+      return;
+    }
+    encoder.putLong(this.pk);
+    if (this.revisionSeconds != NULL_REVISION) {
+      encoder.put(REVISION_SEPARATOR);
+      encoder.putInstant(this.revisionSeconds, this.revisionNanos);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdLongInstant<E> getEmpty() {
+
+    return EMPTY;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link #getEntityClass() entity type}.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdLongInstant<E> getEmpty(Class<E> entityType) {
+
+    RevisionedIdLongInstant<E> empty = getEmpty();
+    return empty.withEntityType(entityType);
+  }
+
+}
@@ -0,0 +1,260 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+/**
+ * Implementation of {@link CompactRevisionedId} with {@link Long} as {@link #getPkClass() primary key type} and
+ * {@link Long} as {@link #getRevisionType() revision type}. Both are stored as primitive {@code long} values. With
+ * every {@link #updateRevision() update} the revision is incremented.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see RevisionedIdVersion
+ */
+public final class RevisionedIdLongVersion<E> extends CompactRevisionedId<E, Long, Long, RevisionedIdLongVersion<E>> {
+
+  @SuppressWarnings("rawtypes")
+  private static final RevisionedIdLongVersion EMPTY = new RevisionedIdLongVersion<>(null, PkIdLong.NULL_PK,
+      NULL_REVISION);
+
+  private final long pk;
+
+  private final long revision;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key} or {@link PkIdLong#NULL_PK} for {@code null}.
+   * @param revision the {@link #getRevision() revision} or {@link #NULL_REVISION} for {@code null}.
+   */
+  public RevisionedIdLongVersion(Class<E> entityClass, long pk, long revision) {
+
+    super(entityClass);
+    this.pk = pk;
+    this.revision = revision;
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key}.
+   * @param revision the {@link #getRevision() revision}.
+   * @throws IllegalArgumentException if the given {@code revision} has the reserved value {@link #NULL_REVISION}.
+   */
+  public RevisionedIdLongVersion(Class<E> entityClass, Long pk, Long revision) {
+
+    this(entityClass, PkIdLong.toPrimitive(pk), toPrimitive(revision));
+  }
+
+  @Override
+  public Long getPk() {
+
+    if (this.pk == PkIdLong.NULL_PK) {
+      return null;
+    }
+    return Long.valueOf(this.pk);
+  }
+
+  /**
+   * @return the {@link #getPk() primary key} as primitive {@code long} value or {@code -1} if {@link #getPk() primary
+   *         key} is {@code null}.
+   * @see PkIdLong#getPkAsLong()
+   */
+  public long getPkAsLong() {
+
+    if (this.pk == PkIdLong.NULL_PK) {
+      return -1;
+    }
+    return this.pk;
+  }
+
+  @Override
+  public Class<Long> getPkClass() {
+
+    return Long.class;
+  }
+
+  @Override
+  public Long getRevision() {
+
+    if (this.revision == NULL_REVISION) {
+      return null;
+    }
+    return Long.valueOf(this.revision);
+  }
+
+  /**
+   * @return the {@link #getRevision() revision} as primitive {@code long} value or {@link #NULL_REVISION} if
+   *         {@code null}.
+   */
+  public long getRevisionAsLong() {
+
+    return this.revision;
+  }
+
+  @Override
+  public Class<Long> getRevisionType() {
+
+    return Long.class;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return (this.pk == PkIdLong.NULL_PK) && (this.revision == NULL_REVISION);
+  }
+
+  @Override
+  public boolean isTransient() {
+
+    return (this.revision == NULL_REVISION);
+  }
+
+  @Override
+  public Long parsePk(String idString) {
+
+    return Long.valueOf(idString);
+  }
+
+  @Override
+  public Long parseRevision(String revisionString) {
+
+    return Long.valueOf(revisionString);
+  }
+
+  @Override
+  public Long parsePk(CharSequence chars, int start, int end) {
+
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
+  }
+
+  @Override
+  public Long parseRevision(CharSequence chars, int start, int end) {
+
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
+  }
+
+  @Override
+  public Long updateRevision(Long currentRevision) {
+
+    long r = 0;
+    if (currentRevision != null) {
+      r = currentRevision.longValue();
+    }
+    return Long.valueOf(r + 1);
+  }
+
+  @Override
+  public RevisionedIdLongVersion<E> updateRevision() {
+
+    long r = 0;
+    if (this.revision != NULL_REVISION) {
+      r = this.revision;
+    }
+    return new RevisionedIdLongVersion<>(this.entityClass, this.pk, r + 1);
+  }
+
+  @Override
+  public String getMarshalPropertyId() {
+
+    return PROPERTY_PK_LONG;
+  }
+
+  @Override
+  public String getMarshalPropertyRevision() {
+
+    return PROPERTY_REVISION_VERSION;
+  }
+
+  @Override
+  protected RevisionedIdLongVersion<E> newId(Class<E> newEntityClass, Long newPk, Long newRevision) {
+
+    return new RevisionedIdLongVersion<>(newEntityClass, newPk, newRevision);
+  }
+
+  @Override
+  protected PkIdLong<E> newPkId() {
+
+    return new PkIdLong<>(this.entityClass, this.pk);
+  }
+
+  @Override
+  public RevisionedIdLongVersion<E> withPk(Long newPk) {
+
+    long newPkValue = PkIdLong.toPrimitive(newPk);
+    if (this.pk == newPkValue) {
+      return this;
+    }
+    return new RevisionedIdLongVersion<>(this.entityClass, newPkValue, this.revision);
+  }
+
+  @Override
+  public RevisionedIdLongVersion<E> withRevision(Long newRevision) {
+
+    long newRevisionValue = toPrimitive(newRevision);
+    if (this.revision == newRevisionValue) {
+      return this;
+    }
+    return new RevisionedIdLongVersion<>(this.entityClass, this.pk, newRevisionValue);
+  }
+
+  @Override
+  protected int hashCodePk() {
+
+    return Long.hashCode(this.pk);
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdLongVersion<?> otherId) {
+      return (this.pk == otherId.pk);
+    }
+    return super.isEqualPk(other);
+  }
+
+  @Override
+  protected boolean isEqualRevision(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdLongVersion<?> otherId) {
+      return (this.revision == otherId.revision);
+    }
+    return super.isEqualRevision(other);
+  }
+
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pk == PkIdLong.NULL_PK) {
+      return;
+    }
+    encoder.putLong(this.pk);
+    if (this.revision != NULL_REVISION) {
+      encoder.put(REVISION_SEPARATOR);
+      encoder.putLong(this.revision);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdLongVersion<E> getEmpty() {
+
+    return EMPTY;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link #getEntityClass() entity type}.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdLongVersion<E> getEmpty(Class<E> entityType) {
+
+    RevisionedIdLongVersion<E> empty = getEmpty();
+    return empty.withEntityType(entityType);
+  }
+
+}
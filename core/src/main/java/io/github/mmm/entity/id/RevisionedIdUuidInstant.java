@@ -0,0 +1,223 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.nio.CharBuffer;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link CompactRevisionedId} with {@link UUID} as {@link #getPkClass() primary key type} and
+ * {@link Instant} as {@link #getRevisionType() revision type}. The {@link #getPk() primary key} is stored as two
+ * primitive {@code long} values and the {@link #getRevision() revision} as epoch seconds and nanoseconds. On
+ * {@link #updateRevision() update} the {@link Instant#now() current timestamp} is used as {@link #getRevision()
+ * revision}.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see RevisionedIdInstant
+ */
+public final class RevisionedIdUuidInstant<E>
+    extends CompactRevisionedId<E, UUID, Instant, RevisionedIdUuidInstant<E>> {
+
+  @SuppressWarnings("rawtypes")
+  private static final RevisionedIdUuidInstant EMPTY = new RevisionedIdUuidInstant<>(null, null, null);
+
+  private final long pkMostSigBits;
+
+  private final long pkLeastSigBits;
+
+  private final boolean pkNull;
+
+  private final long revisionSeconds;
+
+  private final int revisionNanos;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key}.
+   * @param revision the {@link #getRevision() revision}.
+   */
+  public RevisionedIdUuidInstant(Class<E> entityClass, UUID pk, Instant revision) {
+
+    super(entityClass);
+    if (pk == null) {
+      this.pkMostSigBits = 0;
+      this.pkLeastSigBits = 0;
+      this.pkNull = true;
+    } else {
+      this.pkMostSigBits = pk.getMostSignificantBits();
+      this.pkLeastSigBits = pk.getLeastSignificantBits();
+      this.pkNull = false;
+    }
+    if (revision == null) {
+      this.revisionSeconds = NULL_REVISION;
+      this.revisionNanos = 0;
+    } else {
+      this.revisionSeconds = revision.getEpochSecond();
+      this.revisionNanos = revision.getNano();
+    }
+  }
+
+  @Override
+  public UUID getPk() {
+
+    if (this.pkNull) {
+      return null;
+    }
+    return new UUID(this.pkMostSigBits, this.pkLeastSigBits);
+  }
+
+  @Override
+  public Class<UUID> getPkClass() {
+
+    return UUID.class;
+  }
+
+  @Override
+  public Instant getRevision() {
+
+    if (this.revisionSeconds == NULL_REVISION) {
+      return null;
+    }
+    return Instant.ofEpochSecond(this.revisionSeconds, this.revisionNanos);
+  }
+
+  @Override
+  public Class<Instant> getRevisionType() {
+
+    return Instant.class;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.pkNull && (this.revisionSeconds == NULL_REVISION);
+  }
+
+  @Override
+  public boolean isTransient() {
+
+    return (this.revisionSeconds == NULL_REVISION);
+  }
+
+  @Override
+  public UUID parsePk(String idString) {
+
+    return PkIdUuid.getEmpty().parsePk(idString);
+  }
+
+  @Override
+  public Instant parseRevision(String revisionString) {
+
+    return Instant.parse(revisionString);
+  }
+
+  @Override
+  public UUID parsePk(CharSequence chars, int start, int end) {
+
+    return PkIdUuid.getEmpty().parsePk(chars, start, end);
+  }
+
+  @Override
+  public Instant parseRevision(CharSequence chars, int start, int end) {
+
+    return Instant.parse(CharBuffer.wrap(chars, start, end));
+  }
+
+  @Override
+  public Instant updateRevision(Instant currentRevision) {
+
+    return Instant.now();
+  }
+
+  @Override
+  public String getMarshalPropertyId() {
+
+    return PROPERTY_PK_UUID;
+  }
+
+  @Override
+  public String getMarshalPropertyRevision() {
+
+    return PROPERTY_REVISION_INSTANT;
+  }
+
+  @Override
+  protected RevisionedIdUuidInstant<E> newId(Class<E> newEntityClass, UUID newPk, Instant newRevision) {
+
+    return new RevisionedIdUuidInstant<>(newEntityClass, newPk, newRevision);
+  }
+
+  @Override
+  protected PkIdUuid<E> newPkId() {
+
+    return new PkIdUuid<>(this.entityClass, getPk());
+  }
+
+  @Override
+  protected int hashCodePk() {
+
+    if (this.pkNull) {
+      return 0;
+    }
+    // same as UUID.hashCode()
+    long hilo = this.pkMostSigBits ^ this.pkLeastSigBits;
+    return ((int) (hilo >> 32)) ^ (int) hilo;
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdUuidInstant<?> otherId) {
+      return (this.pkNull == otherId.pkNull) && (this.pkMostSigBits == otherId.pkMostSigBits)
+          && (this.pkLeastSigBits == otherId.pkLeastSigBits);
+    }
+    return super.isEqualPk(other);
+  }
+
+  @Override
+  protected boolean isEqualRevision(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdUuidInstant<?> otherId) {
+      return (this.revisionSeconds == otherId.revisionSeconds) && (this.revisionNanos == otherId.revisionNanos);
+    }
+    return super.isEqualRevision(other);
+  }
+
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pkNull) {
+      return;
+    }
+    encoder.putUuid(this.pkMostSigBits, this.pkLeastSigBits);
+    if (this.revisionSeconds != NULL_REVISION) {
+      encoder.put(REVISION_SEPARATOR);
+      encoder.putInstant(this.revisionSeconds, this.revisionNanos);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdUuidInstant<E> getEmpty() {
+
+    return EMPTY;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link #getEntityClass() entity type}.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdUuidInstant<E> getEmpty(Class<E> entityType) {
+
+    RevisionedIdUuidInstant<E> empty = getEmpty();
+    return empty.withEntityType(entityType);
+  }
+
+}
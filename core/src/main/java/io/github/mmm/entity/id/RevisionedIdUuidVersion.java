@@ -0,0 +1,266 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.UUID;
+
+/**
+ * Implementation of {@link CompactRevisionedId} with {@link UUID} as {@link #getPkClass() primary key type} and
+ * {@link Long} as {@link #getRevisionType() revision type}. The {@link #getPk() primary key} is stored as two primitive
+ * {@code long} values and the {@link #getRevision() revision} as primitive {@code long}. With every
+ * {@link #updateRevision() update} the revision is incremented.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see RevisionedIdVersion
+ */
+public final class RevisionedIdUuidVersion<E> extends CompactRevisionedId<E, UUID, Long, RevisionedIdUuidVersion<E>> {
+
+  @SuppressWarnings("rawtypes")
+  private static final RevisionedIdUuidVersion EMPTY = new RevisionedIdUuidVersion<>(null, null, NULL_REVISION);
+
+  private final long pkMostSigBits;
+
+  private final long pkLeastSigBits;
+
+  private final boolean pkNull;
+
+  private final long revision;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key}.
+   * @param revision the {@link #getRevision() revision} or {@link #NULL_REVISION} for {@code null}.
+   */
+  public RevisionedIdUuidVersion(Class<E> entityClass, UUID pk, long revision) {
+
+    super(entityClass);
+    if (pk == null) {
+      this.pkMostSigBits = 0;
+      this.pkLeastSigBits = 0;
+      this.pkNull = true;
+    } else {
+      this.pkMostSigBits = pk.getMostSignificantBits();
+      this.pkLeastSigBits = pk.getLeastSignificantBits();
+      this.pkNull = false;
+    }
+    this.revision = revision;
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pk the {@link #getPk() primary key}.
+   * @param revision the {@link #getRevision() revision}.
+   * @throws IllegalArgumentException if the given {@code revision} has the reserved value {@link #NULL_REVISION}.
+   */
+  public RevisionedIdUuidVersion(Class<E> entityClass, UUID pk, Long revision) {
+
+    this(entityClass, pk, toPrimitive(revision));
+  }
+
+  private RevisionedIdUuidVersion(RevisionedIdUuidVersion<E> template, long revision) {
+
+    super(template.entityClass);
+    this.pkMostSigBits = template.pkMostSigBits;
+    this.pkLeastSigBits = template.pkLeastSigBits;
+    this.pkNull = template.pkNull;
+    this.revision = revision;
+  }
+
+  @Override
+  public UUID getPk() {
+
+    if (this.pkNull) {
+      return null;
+    }
+    return new UUID(this.pkMostSigBits, this.pkLeastSigBits);
+  }
+
+  @Override
+  public Class<UUID> getPkClass() {
+
+    return UUID.class;
+  }
+
+  @Override
+  public Long getRevision() {
+
+    if (this.revision == NULL_REVISION) {
+      return null;
+    }
+    return Long.valueOf(this.revision);
+  }
+
+  /**
+   * @return the {@link #getRevision() revision} as primitive {@code long} value or {@link #NULL_REVISION} if
+   *         {@code null}.
+   */
+  public long getRevisionAsLong() {
+
+    return this.revision;
+  }
+
+  @Override
+  public Class<Long> getRevisionType() {
+
+    return Long.class;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.pkNull && (this.revision == NULL_REVISION);
+  }
+
+  @Override
+  public boolean isTransient() {
+
+    return (this.revision == NULL_REVISION);
+  }
+
+  @Override
+  public UUID parsePk(String idString) {
+
+    return PkIdUuid.getEmpty().parsePk(idString);
+  }
+
+  @Override
+  public Long parseRevision(String revisionString) {
+
+    return Long.valueOf(revisionString);
+  }
+
+  @Override
+  public UUID parsePk(CharSequence chars, int start, int end) {
+
+    return PkIdUuid.getEmpty().parsePk(chars, start, end);
+  }
+
+  @Override
+  public Long parseRevision(CharSequence chars, int start, int end) {
+
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
+  }
+
+  @Override
+  public Long updateRevision(Long currentRevision) {
+
+    long r = 0;
+    if (currentRevision != null) {
+      r = currentRevision.longValue();
+    }
+    return Long.valueOf(r + 1);
+  }
+
+  @Override
+  public RevisionedIdUuidVersion<E> updateRevision() {
+
+    long r = 0;
+    if (this.revision != NULL_REVISION) {
+      r = this.revision;
+    }
+    return new RevisionedIdUuidVersion<>(this, r + 1);
+  }
+
+  @Override
+  public String getMarshalPropertyId() {
+
+    return PROPERTY_PK_UUID;
+  }
+
+  @Override
+  public String getMarshalPropertyRevision() {
+
+    return PROPERTY_REVISION_VERSION;
+  }
+
+  @Override
+  protected RevisionedIdUuidVersion<E> newId(Class<E> newEntityClass, UUID newPk, Long newRevision) {
+
+    return new RevisionedIdUuidVersion<>(newEntityClass, newPk, newRevision);
+  }
+
+  @Override
+  protected PkIdUuid<E> newPkId() {
+
+    return new PkIdUuid<>(this.entityClass, getPk());
+  }
+
+  @Override
+  public RevisionedIdUuidVersion<E> withRevision(Long newRevision) {
+
+    long newRevisionValue = toPrimitive(newRevision);
+    if (this.revision == newRevisionValue) {
+      return this;
+    }
+    return new RevisionedIdUuidVersion<>(this, newRevisionValue);
+  }
+
+  @Override
+  protected int hashCodePk() {
+
+    if (this.pkNull) {
+      return 0;
+    }
+    // same as UUID.hashCode()
+    long hilo = this.pkMostSigBits ^ this.pkLeastSigBits;
+    return ((int) (hilo >> 32)) ^ (int) hilo;
+  }
+
+  @Override
+  protected boolean isEqualPk(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdUuidVersion<?> otherId) {
+      return (this.pkNull == otherId.pkNull) && (this.pkMostSigBits == otherId.pkMostSigBits)
+          && (this.pkLeastSigBits == otherId.pkLeastSigBits);
+    }
+    return super.isEqualPk(other);
+  }
+
+  @Override
+  protected boolean isEqualRevision(AbstractId<?, ?, ?, ?> other) {
+
+    if (other instanceof RevisionedIdUuidVersion<?> otherId) {
+      return (this.revision == otherId.revision);
+    }
+    return super.isEqualRevision(other);
+  }
+
+  @Override
+  void encode(IdEncoder encoder) {
+
+    if (this.pkNull) {
+      return;
+    }
+    encoder.putUuid(this.pkMostSigBits, this.pkLeastSigBits);
+    if (this.revision != NULL_REVISION) {
+      encoder.put(REVISION_SEPARATOR);
+      encoder.putLong(this.revision);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdUuidVersion<E> getEmpty() {
+
+    return EMPTY;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityType the {@link #getEntityClass() entity type}.
+   * @return the {@link #isEmpty() empty} template of this class.
+   */
+  public static <E> RevisionedIdUuidVersion<E> getEmpty(Class<E> entityType) {
+
+    RevisionedIdUuidVersion<E> empty = getEmpty();
+    return empty.withEntityType(entityType);
+  }
+
+}
@@ -54,6 +54,12 @@ public final class RevisionedIdVersion<E, P> extends RevisionedId<E, P, Long, Re
     return Long.valueOf(revisionString);
   }
 
+  @Override
+  public Long parseRevision(CharSequence chars, int start, int end) {
+
+    return Long.valueOf(Long.parseLong(chars, start, end, 10));
+  }
+
   @Override
   public Long updateRevision(Long currentRevision) {
 
@@ -0,0 +1,549 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.link.Link;
+import io.github.mmm.marshall.MarshallableObject;
+import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.StructuredWriter;
+import io.github.mmm.marshall.Unmarshaller;
+
+/**
+ * Compressed bitmap {@link java.util.Set} of {@link Id}s with {@link Long} {@link Id#getPk() primary keys} for a
+ * single {@link #getEntityClass() entity class} (similar to a Roaring bitmap). The primary keys are partitioned by
+ * their upper 48 bits into containers holding the lower 16 bits. A container with up to 4096 values is stored as sorted
+ * array (2 bytes per value), a denser one as bitmap of 8 KiB. Hence dense ranges of primary keys as typically
+ * generated by a {@link io.github.mmm.entity.id.sequence.IdSequence} take about one bit per {@link Id}: ten million
+ * consecutive {@link Id}s need about 1.25 MiB instead of several hundred MiB for a {@link java.util.HashSet}.<br>
+ * {@link #union(IdBitmap) Union}, {@link #intersection(IdBitmap) intersection} and {@link #difference(IdBitmap)
+ * difference} operate container by container on whole words. {@link #iterator() Iteration} is in ascending order of
+ * the primary keys and creates the {@link PkIdLong}s lazily. {@link #links() Links} are available as well. For
+ * marshalling the bitmap is {@link #encode() encoded} into a compact binary form written as Base64 {@link String}.<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are ignored
+ * and {@link PkIdLong#NULL_PK} can not be added. This set is not thread-safe.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see LongIdSet
+ */
+public class IdBitmap<E> extends AbstractSet<Id<E>> implements MarshallableObject, Unmarshaller<IdBitmap<E>> {
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private static final int LOW_BITS = 16;
+
+  private static final int LOW_MASK = 0xFFFF;
+
+  private final Class<E> entityClass;
+
+  /** Sorted upper 48 bits of the primary keys of the {@link #containers}. */
+  private long[] highs;
+
+  private IdBitmapContainer[] containers;
+
+  private int count;
+
+  private long cardinality;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   */
+  public IdBitmap(Class<E> entityClass) {
+
+    this(entityClass, 4);
+  }
+
+  private IdBitmap(Class<E> entityClass, int capacity) {
+
+    super();
+    Objects.requireNonNull(entityClass, "entityClass");
+    this.entityClass = entityClass;
+    this.highs = new long[Math.max(capacity, 1)];
+    this.containers = new IdBitmapContainer[this.highs.length];
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s in this set.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @return the number of {@link Id}s in this set. Unlike {@link #size()} it is not limited to
+   *         {@link Integer#MAX_VALUE}.
+   */
+  public long getCardinality() {
+
+    return this.cardinality;
+  }
+
+  private int indexOf(long high) {
+
+    return Arrays.binarySearch(this.highs, 0, this.count, high);
+  }
+
+  private int getOrCreate(long high) {
+
+    int index = indexOf(high);
+    if (index < 0) {
+      index = ~index;
+      ensureCapacity();
+      System.arraycopy(this.highs, index, this.highs, index + 1, this.count - index);
+      System.arraycopy(this.containers, index, this.containers, index + 1, this.count - index);
+      this.highs[index] = high;
+      this.containers[index] = new IdBitmapArray();
+      this.count++;
+    }
+    return index;
+  }
+
+  private void ensureCapacity() {
+
+    if (this.count == this.highs.length) {
+      int capacity = this.count * 2;
+      this.highs = Arrays.copyOf(this.highs, capacity);
+      this.containers = Arrays.copyOf(this.containers, capacity);
+    }
+  }
+
+  private void append(long high, IdBitmapContainer container) {
+
+    int size = container.cardinality();
+    if (size > 0) {
+      ensureCapacity();
+      this.highs[this.count] = high;
+      this.containers[this.count++] = container;
+      this.cardinality += size;
+    }
+  }
+
+  private void removeContainer(int index) {
+
+    this.count--;
+    System.arraycopy(this.highs, index + 1, this.highs, index, this.count - index);
+    System.arraycopy(this.containers, index + 1, this.containers, index, this.count - index);
+    this.containers[this.count] = null;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to add.
+   * @return {@code true} if added, {@code false} if already contained.
+   */
+  public boolean add(long pk) {
+
+    IdKeys.verifyLong(pk);
+    int index = getOrCreate(pk >> LOW_BITS);
+    IdBitmapContainer container = this.containers[index];
+    int size = container.cardinality();
+    container = container.add((int) pk & LOW_MASK);
+    this.containers[index] = container;
+    if (container.cardinality() == size) {
+      return false;
+    }
+    this.cardinality++;
+    return true;
+  }
+
+  /**
+   * Adds all primary keys of the given range what is much faster than adding them one by one.
+   *
+   * @param start the first {@link PkIdLong#getPkAsLong() primary key} to add.
+   * @param end the {@link PkIdLong#getPkAsLong() primary key} after the last one to add.
+   */
+  public void addRange(long start, long end) {
+
+    if (start > end) {
+      throw new IllegalArgumentException("Invalid range from " + start + " to " + end);
+    } else if (start == end) {
+      return;
+    }
+    IdKeys.verifyLong(start);
+    long firstHigh = start >> LOW_BITS;
+    long lastHigh = (end - 1) >> LOW_BITS;
+    for (long high = firstHigh; high <= lastHigh; high++) {
+      int low = (high == firstHigh) ? (int) start & LOW_MASK : 0;
+      int lowEnd = (high == lastHigh) ? ((int) (end - 1) & LOW_MASK) + 1 : IdBitmapContainer.CAPACITY;
+      int index = getOrCreate(high);
+      IdBitmapContainer container = this.containers[index];
+      int size = container.cardinality();
+      container = container.addRange(low, lowEnd);
+      this.containers[index] = container;
+      this.cardinality += container.cardinality() - size;
+    }
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to check.
+   * @return {@code true} if contained, {@code false} otherwise.
+   */
+  public boolean contains(long pk) {
+
+    if (pk == PkIdLong.NULL_PK) {
+      return false;
+    }
+    int index = indexOf(pk >> LOW_BITS);
+    return (index >= 0) && this.containers[index].contains((int) pk & LOW_MASK);
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to remove.
+   * @return {@code true} if removed, {@code false} if not contained.
+   */
+  public boolean remove(long pk) {
+
+    if (pk == PkIdLong.NULL_PK) {
+      return false;
+    }
+    int index = indexOf(pk >> LOW_BITS);
+    if (index < 0) {
+      return false;
+    }
+    IdBitmapContainer container = this.containers[index];
+    int size = container.cardinality();
+    container = container.remove((int) pk & LOW_MASK);
+    int newSize = container.cardinality();
+    if (newSize == size) {
+      return false;
+    } else if (newSize == 0) {
+      removeContainer(index);
+    } else {
+      this.containers[index] = container;
+    }
+    this.cardinality--;
+    return true;
+  }
+
+  /**
+   * @param other the {@link IdBitmap} to unite with.
+   * @return a new {@link IdBitmap} with all {@link Id}s contained in this or the given {@link IdBitmap}.
+   */
+  public IdBitmap<E> union(IdBitmap<E> other) {
+
+    verifyCompatible(other);
+    IdBitmap<E> result = new IdBitmap<>(this.entityClass, this.count + other.count);
+    int i = 0;
+    int j = 0;
+    while ((i < this.count) && (j < other.count)) {
+      long high1 = this.highs[i];
+      long high2 = other.highs[j];
+      if (high1 < high2) {
+        result.append(high1, this.containers[i++].copy());
+      } else if (high1 > high2) {
+        result.append(high2, other.containers[j++].copy());
+      } else {
+        result.append(high1, this.containers[i++].or(other.containers[j++]));
+      }
+    }
+    while (i < this.count) {
+      result.append(this.highs[i], this.containers[i++].copy());
+    }
+    while (j < other.count) {
+      result.append(other.highs[j], other.containers[j++].copy());
+    }
+    return result;
+  }
+
+  /**
+   * @param other the {@link IdBitmap} to intersect with.
+   * @return a new {@link IdBitmap} with the {@link Id}s contained in both this and the given {@link IdBitmap}.
+   */
+  public IdBitmap<E> intersection(IdBitmap<E> other) {
+
+    verifyCompatible(other);
+    IdBitmap<E> result = new IdBitmap<>(this.entityClass, Math.min(this.count, other.count));
+    int i = 0;
+    int j = 0;
+    while ((i < this.count) && (j < other.count)) {
+      long high1 = this.highs[i];
+      long high2 = other.highs[j];
+      if (high1 < high2) {
+        i++;
+      } else if (high1 > high2) {
+        j++;
+      } else {
+        result.append(high1, this.containers[i++].and(other.containers[j++]));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param other the {@link IdBitmap} to subtract.
+   * @return a new {@link IdBitmap} with the {@link Id}s contained in this but not in the given {@link IdBitmap}.
+   */
+  public IdBitmap<E> difference(IdBitmap<E> other) {
+
+    verifyCompatible(other);
+    IdBitmap<E> result = new IdBitmap<>(this.entityClass, this.count);
+    int i = 0;
+    int j = 0;
+    while (i < this.count) {
+      long high = this.highs[i];
+      while ((j < other.count) && (other.highs[j] < high)) {
+        j++;
+      }
+      if ((j < other.count) && (other.highs[j] == high)) {
+        result.append(high, this.containers[i].andNot(other.containers[j]));
+      } else {
+        result.append(high, this.containers[i].copy());
+      }
+      i++;
+    }
+    return result;
+  }
+
+  private void verifyCompatible(IdBitmap<?> other) {
+
+    if (!this.entityClass.equals(other.entityClass)) {
+      throw new IllegalArgumentException(
+          "Can not combine bitmap for " + this.entityClass.getName() + " with " + other.entityClass.getName());
+    }
+  }
+
+  /**
+   * @param action the {@link LongConsumer} called for each contained {@link PkIdLong#getPkAsLong() primary key} in
+   *        ascending order.
+   */
+  public void forEachPk(LongConsumer action) {
+
+    for (int i = 0; i < this.count; i++) {
+      this.containers[i].forEach(this.highs[i], action);
+    }
+  }
+
+  /**
+   * @return an {@link Iterable} of the {@link Link}s to all {@link Id}s of this set in ascending order.
+   */
+  public Iterable<Link<E>> links() {
+
+    return () -> new LinkIterator<>(iterator());
+  }
+
+  @Override
+  public boolean add(Id<E> id) {
+
+    return add(IdKeys.requireLong(id, this.entityClass));
+  }
+
+  @Override
+  public boolean contains(Object o) {
+
+    return contains(IdKeys.toLong(o, this.entityClass));
+  }
+
+  @Override
+  public boolean remove(Object o) {
+
+    return remove(IdKeys.toLong(o, this.entityClass));
+  }
+
+  @Override
+  public int size() {
+
+    return (int) Math.min(this.cardinality, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.cardinality == 0;
+  }
+
+  @Override
+  public void clear() {
+
+    Arrays.fill(this.containers, 0, this.count, null);
+    this.count = 0;
+    this.cardinality = 0;
+  }
+
+  @Override
+  public Iterator<Id<E>> iterator() {
+
+    return new IdIterator();
+  }
+
+  @Override
+  public int hashCode() {
+
+    // same as sum of PkIdLong.hashCode() without creating the IDs
+    int[] hash = new int[1];
+    forEachPk(pk -> hash[0] += ~Long.hashCode(pk));
+    return hash[0];
+  }
+
+  /**
+   * @return the compact binary representation of this bitmap.
+   * @see #decode(Class, byte[])
+   */
+  public byte[] encode() {
+
+    int size = 5;
+    for (int i = 0; i < this.count; i++) {
+      size += 8 + this.containers[i].getEncodedSize();
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.put(FORMAT_VERSION);
+    buffer.putInt(this.count);
+    for (int i = 0; i < this.count; i++) {
+      buffer.putLong(this.highs[i]);
+      this.containers[i].encode(buffer);
+    }
+    return buffer.array();
+  }
+
+  @Override
+  public void write(StructuredWriter writer) {
+
+    writer.writeValueAsString(Base64.getEncoder().encodeToString(encode()));
+  }
+
+  @Override
+  public IdBitmap<E> readObject(StructuredReader reader) {
+
+    String data = reader.readValueAsString();
+    if (data == null) {
+      return null;
+    }
+    return decode(this.entityClass, Base64.getDecoder().decode(data));
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param data the {@link #encode() encoded} bitmap.
+   * @return the decoded {@link IdBitmap}.
+   * @throws IllegalArgumentException if the given data is not a valid {@link #encode() encoded} bitmap.
+   */
+  public static <E> IdBitmap<E> decode(Class<E> entityClass, byte[] data) {
+
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    try {
+      byte version = buffer.get();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalArgumentException("Unsupported bitmap format version " + version);
+      }
+      int containerCount = buffer.getInt();
+      if ((containerCount < 0) || (containerCount > (buffer.remaining() / 10))) {
+        throw new IllegalArgumentException("Invalid bitmap container count " + containerCount);
+      }
+      IdBitmap<E> bitmap = new IdBitmap<>(entityClass, containerCount);
+      for (int i = 0; i < containerCount; i++) {
+        long high = buffer.getLong();
+        if ((i > 0) && (high <= bitmap.highs[i - 1])) {
+          throw new IllegalArgumentException("Bitmap containers are not strictly ascending.");
+        }
+        bitmap.append(high, IdBitmapContainer.decode(buffer));
+      }
+      if (buffer.hasRemaining()) {
+        throw new IllegalArgumentException("Bitmap has " + buffer.remaining() + " trailing bytes.");
+      }
+      return bitmap;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Truncated bitmap.", e);
+    }
+  }
+
+  private final class IdIterator implements Iterator<Id<E>> {
+
+    private static final char[] NONE = new char[0];
+
+    private boolean started;
+
+    private long high;
+
+    private char[] lows;
+
+    private int lowIndex;
+
+    private long last;
+
+    private IdIterator() {
+
+      super();
+      this.lows = NONE;
+      this.last = PkIdLong.NULL_PK;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      while (this.lowIndex >= this.lows.length) {
+        // find next container by its high bits so removal of containers does not disturb the iteration
+        int index = 0;
+        if (this.started) {
+          index = indexOf(this.high);
+          index = (index >= 0) ? index + 1 : ~index;
+        }
+        if (index >= IdBitmap.this.count) {
+          return false;
+        }
+        this.started = true;
+        this.high = IdBitmap.this.highs[index];
+        this.lows = IdBitmap.this.containers[index].toArray();
+        this.lowIndex = 0;
+      }
+      return true;
+    }
+
+    @Override
+    public Id<E> next() {
+
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      this.last = (this.high << LOW_BITS) | this.lows[this.lowIndex++];
+      return new PkIdLong<>(IdBitmap.this.entityClass, this.last);
+    }
+
+    @Override
+    public void remove() {
+
+      if (this.last == PkIdLong.NULL_PK) {
+        throw new IllegalStateException();
+      }
+      IdBitmap.this.remove(this.last);
+      this.last = PkIdLong.NULL_PK;
+    }
+  }
+
+  private static final class LinkIterator<E> implements Iterator<Link<E>> {
+
+    private final Iterator<Id<E>> ids;
+
+    private LinkIterator(Iterator<Id<E>> ids) {
+
+      super();
+      this.ids = ids;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      return this.ids.hasNext();
+    }
+
+    @Override
+    public Link<E> next() {
+
+      return Link.of(this.ids.next());
+    }
+  }
+
+}
@@ -0,0 +1,242 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link IdBitmapContainer} for sparse values stored as sorted {@code char} array.
+ *
+ * @since 1.0.0
+ */
+final class IdBitmapArray extends IdBitmapContainer {
+
+  private char[] values;
+
+  private int size;
+
+  /**
+   * The constructor for an empty container.
+   */
+  IdBitmapArray() {
+
+    this(new char[4], 0);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param values the sorted values.
+   * @param size the number of values used from the given array.
+   */
+  IdBitmapArray(char[] values, int size) {
+
+    super();
+    this.values = values;
+    this.size = size;
+  }
+
+  @Override
+  int cardinality() {
+
+    return this.size;
+  }
+
+  @Override
+  boolean contains(int low) {
+
+    return Arrays.binarySearch(this.values, 0, this.size, (char) low) >= 0;
+  }
+
+  @Override
+  IdBitmapContainer add(int low) {
+
+    int index = Arrays.binarySearch(this.values, 0, this.size, (char) low);
+    if (index >= 0) {
+      return this;
+    }
+    if (this.size >= MAX_ARRAY_SIZE) {
+      return toBits().add(low);
+    }
+    index = ~index;
+    if (this.size == this.values.length) {
+      this.values = Arrays.copyOf(this.values, Math.min(this.size * 2, MAX_ARRAY_SIZE));
+    }
+    System.arraycopy(this.values, index, this.values, index + 1, this.size - index);
+    this.values[index] = (char) low;
+    this.size++;
+    return this;
+  }
+
+  @Override
+  IdBitmapContainer addRange(int start, int end) {
+
+    if (this.size + (end - start) > MAX_ARRAY_SIZE) {
+      return toBits().addRange(start, end);
+    }
+    char[] result = new char[this.size + (end - start)];
+    int i = 0;
+    int count = 0;
+    while ((i < this.size) && (this.values[i] < start)) {
+      result[count++] = this.values[i++];
+    }
+    for (int value = start; value < end; value++) {
+      result[count++] = (char) value;
+    }
+    while ((i < this.size) && (this.values[i] < end)) {
+      i++;
+    }
+    while (i < this.size) {
+      result[count++] = this.values[i++];
+    }
+    this.values = result;
+    this.size = count;
+    return this;
+  }
+
+  @Override
+  IdBitmapContainer remove(int low) {
+
+    int index = Arrays.binarySearch(this.values, 0, this.size, (char) low);
+    if (index >= 0) {
+      this.size--;
+      System.arraycopy(this.values, index + 1, this.values, index, this.size - index);
+    }
+    return this;
+  }
+
+  @Override
+  IdBitmapContainer or(IdBitmapContainer other) {
+
+    if (!(other instanceof IdBitmapArray array)) {
+      return other.or(this);
+    }
+    char[] result = new char[this.size + array.size];
+    int i = 0;
+    int j = 0;
+    int count = 0;
+    while ((i < this.size) && (j < array.size)) {
+      char v1 = this.values[i];
+      char v2 = array.values[j];
+      if (v1 < v2) {
+        result[count++] = v1;
+        i++;
+      } else if (v1 > v2) {
+        result[count++] = v2;
+        j++;
+      } else {
+        result[count++] = v1;
+        i++;
+        j++;
+      }
+    }
+    while (i < this.size) {
+      result[count++] = this.values[i++];
+    }
+    while (j < array.size) {
+      result[count++] = array.values[j++];
+    }
+    IdBitmapArray union = new IdBitmapArray(result, count);
+    if (count > MAX_ARRAY_SIZE) {
+      return union.toBits();
+    }
+    return union;
+  }
+
+  @Override
+  IdBitmapContainer and(IdBitmapContainer other) {
+
+    char[] result = new char[Math.min(this.size, other.cardinality())];
+    int count = 0;
+    if (other instanceof IdBitmapArray array) {
+      int i = 0;
+      int j = 0;
+      while ((i < this.size) && (j < array.size)) {
+        char v1 = this.values[i];
+        char v2 = array.values[j];
+        if (v1 < v2) {
+          i++;
+        } else if (v1 > v2) {
+          j++;
+        } else {
+          result[count++] = v1;
+          i++;
+          j++;
+        }
+      }
+    } else {
+      for (int i = 0; i < this.size; i++) {
+        if (other.contains(this.values[i])) {
+          result[count++] = this.values[i];
+        }
+      }
+    }
+    return new IdBitmapArray(result, count);
+  }
+
+  @Override
+  IdBitmapContainer andNot(IdBitmapContainer other) {
+
+    char[] result = new char[this.size];
+    int count = 0;
+    for (int i = 0; i < this.size; i++) {
+      if (!other.contains(this.values[i])) {
+        result[count++] = this.values[i];
+      }
+    }
+    return new IdBitmapArray(result, count);
+  }
+
+  @Override
+  IdBitmapContainer copy() {
+
+    return new IdBitmapArray(Arrays.copyOf(this.values, this.size), this.size);
+  }
+
+  @Override
+  char[] toArray() {
+
+    return Arrays.copyOf(this.values, this.size);
+  }
+
+  @Override
+  void forEach(long high, LongConsumer action) {
+
+    long base = high << 16;
+    for (int i = 0; i < this.size; i++) {
+      action.accept(base | this.values[i]);
+    }
+  }
+
+  /**
+   * @return this container converted to {@link IdBitmapBits}.
+   */
+  IdBitmapBits toBits() {
+
+    IdBitmapBits bits = new IdBitmapBits();
+    for (int i = 0; i < this.size; i++) {
+      char value = this.values[i];
+      bits.words[value >>> 6] |= 1L << value;
+    }
+    bits.cardinality = this.size;
+    return bits;
+  }
+
+  @Override
+  int getEncodedSize() {
+
+    return 2 + this.size * 2;
+  }
+
+  @Override
+  void encode(ByteBuffer buffer) {
+
+    buffer.putChar((char) (this.size - 1));
+    for (int i = 0; i < this.size; i++) {
+      buffer.putChar(this.values[i]);
+    }
+  }
+
+}
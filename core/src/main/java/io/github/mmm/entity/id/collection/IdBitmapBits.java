@@ -0,0 +1,214 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link IdBitmapContainer} for dense values stored as bitmap of {@value #WORDS} {@code long} words (8 KiB).
+ *
+ * @since 1.0.0
+ */
+final class IdBitmapBits extends IdBitmapContainer {
+
+  /** The number of {@code long} words of the bitmap. */
+  static final int WORDS = CAPACITY / Long.SIZE;
+
+  final long[] words;
+
+  int cardinality;
+
+  /**
+   * The constructor for an empty container.
+   */
+  IdBitmapBits() {
+
+    super();
+    this.words = new long[WORDS];
+  }
+
+  @Override
+  int cardinality() {
+
+    return this.cardinality;
+  }
+
+  @Override
+  boolean contains(int low) {
+
+    return (this.words[low >>> 6] & (1L << low)) != 0;
+  }
+
+  @Override
+  IdBitmapContainer add(int low) {
+
+    int index = low >>> 6;
+    long bit = 1L << low;
+    if ((this.words[index] & bit) == 0) {
+      this.words[index] |= bit;
+      this.cardinality++;
+    }
+    return this;
+  }
+
+  @Override
+  IdBitmapContainer addRange(int start, int end) {
+
+    int first = start >>> 6;
+    int last = (end - 1) >>> 6;
+    long firstMask = -1L << start;
+    long lastMask = -1L >>> -end;
+    if (first == last) {
+      this.words[first] |= firstMask & lastMask;
+    } else {
+      this.words[first] |= firstMask;
+      for (int i = first + 1; i < last; i++) {
+        this.words[i] = -1L;
+      }
+      this.words[last] |= lastMask;
+    }
+    this.cardinality = count();
+    return optimize();
+  }
+
+  @Override
+  IdBitmapContainer remove(int low) {
+
+    int index = low >>> 6;
+    long bit = 1L << low;
+    if ((this.words[index] & bit) != 0) {
+      this.words[index] &= ~bit;
+      this.cardinality--;
+      return optimize();
+    }
+    return this;
+  }
+
+  @Override
+  IdBitmapContainer or(IdBitmapContainer other) {
+
+    IdBitmapBits result = copy();
+    if (other instanceof IdBitmapBits bits) {
+      for (int i = 0; i < WORDS; i++) {
+        result.words[i] |= bits.words[i];
+      }
+      result.cardinality = result.count();
+    } else {
+      for (char value : other.toArray()) {
+        result.add(value);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  IdBitmapContainer and(IdBitmapContainer other) {
+
+    if (!(other instanceof IdBitmapBits bits)) {
+      return other.and(this);
+    }
+    IdBitmapBits result = new IdBitmapBits();
+    for (int i = 0; i < WORDS; i++) {
+      result.words[i] = this.words[i] & bits.words[i];
+    }
+    result.cardinality = result.count();
+    return result.optimize();
+  }
+
+  @Override
+  IdBitmapContainer andNot(IdBitmapContainer other) {
+
+    IdBitmapBits result = copy();
+    if (other instanceof IdBitmapBits bits) {
+      for (int i = 0; i < WORDS; i++) {
+        result.words[i] &= ~bits.words[i];
+      }
+      result.cardinality = result.count();
+    } else {
+      for (char value : other.toArray()) {
+        int index = value >>> 6;
+        long bit = 1L << value;
+        if ((result.words[index] & bit) != 0) {
+          result.words[index] &= ~bit;
+          result.cardinality--;
+        }
+      }
+    }
+    return result.optimize();
+  }
+
+  @Override
+  IdBitmapBits copy() {
+
+    IdBitmapBits copy = new IdBitmapBits();
+    System.arraycopy(this.words, 0, copy.words, 0, WORDS);
+    copy.cardinality = this.cardinality;
+    return copy;
+  }
+
+  @Override
+  char[] toArray() {
+
+    char[] result = new char[this.cardinality];
+    int count = 0;
+    for (int i = 0; i < WORDS; i++) {
+      long word = this.words[i];
+      while (word != 0) {
+        result[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  void forEach(long high, LongConsumer action) {
+
+    long base = high << 16;
+    for (int i = 0; i < WORDS; i++) {
+      long word = this.words[i];
+      while (word != 0) {
+        action.accept(base | ((i << 6) + Long.numberOfTrailingZeros(word)));
+        word &= word - 1;
+      }
+    }
+  }
+
+  /**
+   * @return the number of set bits.
+   */
+  int count() {
+
+    int count = 0;
+    for (long word : this.words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  private IdBitmapContainer optimize() {
+
+    if (this.cardinality <= MAX_ARRAY_SIZE) {
+      char[] values = toArray();
+      return new IdBitmapArray(values, values.length);
+    }
+    return this;
+  }
+
+  @Override
+  int getEncodedSize() {
+
+    return 2 + WORDS * 8;
+  }
+
+  @Override
+  void encode(ByteBuffer buffer) {
+
+    buffer.putChar((char) (this.cardinality - 1));
+    for (long word : this.words) {
+      buffer.putLong(word);
+    }
+  }
+
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongConsumer;
+
+/**
+ * Container of an {@link IdBitmap} holding the lower 16 bits of all primary keys that share the same upper 48 bits.
+ * Sparse containers ({@link #cardinality()} up to {@link #MAX_ARRAY_SIZE}) are stored as sorted array, dense ones as
+ * bitmap. All operations with a container as parameter create a new container and never modify their arguments.
+ *
+ * @since 1.0.0
+ */
+abstract class IdBitmapContainer {
+
+  /** The maximum {@link #cardinality()} of an {@link IdBitmapArray}. Beyond that {@link IdBitmapBits} are smaller. */
+  static final int MAX_ARRAY_SIZE = 4096;
+
+  /** The number of values a container can hold. */
+  static final int CAPACITY = 1 << 16;
+
+  /**
+   * @return the number of values in this container.
+   */
+  abstract int cardinality();
+
+  /**
+   * @param low the lower 16 bits of the primary key.
+   * @return {@code true} if contained, {@code false} otherwise.
+   */
+  abstract boolean contains(int low);
+
+  /**
+   * @param low the lower 16 bits of the primary key to add.
+   * @return this container or a new container if the representation had to change.
+   */
+  abstract IdBitmapContainer add(int low);
+
+  /**
+   * @param start the first value to add.
+   * @param end the value after the last value to add.
+   * @return this container or a new container if the representation had to change.
+   */
+  abstract IdBitmapContainer addRange(int start, int end);
+
+  /**
+   * @param low the lower 16 bits of the primary key to remove.
+   * @return this container or a new container if the representation had to change.
+   */
+  abstract IdBitmapContainer remove(int low);
+
+  /**
+   * @param other the container to unite with.
+   * @return a new container with the union of this and the given container.
+   */
+  abstract IdBitmapContainer or(IdBitmapContainer other);
+
+  /**
+   * @param other the container to intersect with.
+   * @return a new container with the intersection of this and the given container. May be empty.
+   */
+  abstract IdBitmapContainer and(IdBitmapContainer other);
+
+  /**
+   * @param other the container to subtract.
+   * @return a new container with the values of this container that are not in the given container. May be empty.
+   */
+  abstract IdBitmapContainer andNot(IdBitmapContainer other);
+
+  /**
+   * @return a copy of this container.
+   */
+  abstract IdBitmapContainer copy();
+
+  /**
+   * @return the sorted values of this container.
+   */
+  abstract char[] toArray();
+
+  /**
+   * @param high the upper 48 bits shared by all values of this container.
+   * @param action the {@link LongConsumer} to call for each primary key.
+   */
+  abstract void forEach(long high, LongConsumer action);
+
+  /**
+   * @return the number of bytes required to {@link #encode(ByteBuffer) encode} this container.
+   */
+  abstract int getEncodedSize();
+
+  /**
+   * @param buffer the {@link ByteBuffer} to write this container to.
+   */
+  abstract void encode(ByteBuffer buffer);
+
+  /**
+   * @param buffer the {@link ByteBuffer} to read from.
+   * @return the decoded container.
+   */
+  static IdBitmapContainer decode(ByteBuffer buffer) {
+
+    int cardinality = buffer.getChar() + 1;
+    if (cardinality <= MAX_ARRAY_SIZE) {
+      char[] values = new char[cardinality];
+      buffer.asCharBuffer().get(values);
+      buffer.position(buffer.position() + cardinality * 2);
+      for (int i = 1; i < cardinality; i++) {
+        if (values[i - 1] >= values[i]) {
+          throw new IllegalArgumentException("Values of bitmap container are not strictly ascending.");
+        }
+      }
+      return new IdBitmapArray(values, cardinality);
+    }
+    IdBitmapBits bits = new IdBitmapBits();
+    buffer.asLongBuffer().get(bits.words);
+    buffer.position(buffer.position() + IdBitmapBits.WORDS * 8);
+    bits.cardinality = bits.count();
+    if (bits.cardinality != cardinality) {
+      throw new IllegalArgumentException("Cardinality of bitmap container is " + bits.cardinality
+          + " but expected " + cardinality);
+    }
+    return bits;
+  }
+
+}
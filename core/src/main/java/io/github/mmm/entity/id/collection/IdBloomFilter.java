@@ -0,0 +1,404 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.IdPartitioner;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Scalable Bloom filter over the {@link Id}s of a single {@link #getEntityClass() entity class} for cheap existence
+ * pre-checks. If {@link #mightContain(Id)} returns {@code false}, the {@link Id} has definitely never been
+ * {@link #add(Id) added}. If it returns {@code true}, the {@link Id} has been added or is a false positive with a
+ * probability of at most {@link #getFalsePositiveProbability()}. Use {@link #guard(Function)} to put the filter in
+ * front of the resolver of an {@link io.github.mmm.entity.link.IdLink} so resolving links to {@link Id}s that do not
+ * exist (e.g. stale references or deleted entities) returns immediately without a database call.<br>
+ * The {@link Id#getPk() primary keys} are hashed via {@link IdPartitioner#hash64(Id)} without boxing and mapped to
+ * multiple bits by double hashing. The filter can be updated concurrently without locks. Once the expected number of
+ * insertions is exceeded, it grows by adding a new slice with twice the capacity and half the false positive
+ * probability so the overall false positive probability stays bounded. Removal is not supported: when entities are
+ * deleted, the filter should be rebuilt from time to time. The filter can be {@link #writeTo(OutputStream) written}
+ * to disk and {@link #readFrom(Class, InputStream) read} back on restart.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ */
+public final class IdBloomFilter<E> {
+
+  /** The default {@link #getFalsePositiveProbability() false positive probability}. */
+  public static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  /** The default number of expected insertions. */
+  public static final int DEFAULT_EXPECTED_INSERTIONS = 65536;
+
+  private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private static final int MAGIC = 0x49444246; // "IDBF"
+
+  private static final byte FORMAT_VERSION = 1;
+
+  private static final long MAX_BITS = 1L << 36;
+
+  private static final double LN2 = Math.log(2);
+
+  private final Class<E> entityClass;
+
+  private final double falsePositiveProbability;
+
+  private volatile Slice[] slices;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   */
+  public IdBloomFilter(Class<E> entityClass) {
+
+    this(entityClass, DEFAULT_EXPECTED_INSERTIONS, DEFAULT_FALSE_POSITIVE_PROBABILITY);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedInsertions the number of expected insertions. The filter grows if exceeded.
+   * @param falsePositiveProbability the {@link #getFalsePositiveProbability() false positive probability}.
+   */
+  public IdBloomFilter(Class<E> entityClass, long expectedInsertions, double falsePositiveProbability) {
+
+    this(entityClass, falsePositiveProbability, createSlices(expectedInsertions, falsePositiveProbability));
+  }
+
+  private IdBloomFilter(Class<E> entityClass, double falsePositiveProbability, Slice[] slices) {
+
+    super();
+    Objects.requireNonNull(entityClass, "entityClass");
+    if (!(falsePositiveProbability > 0) || !(falsePositiveProbability < 1)) {
+      throw new IllegalArgumentException(
+          "False positive probability must be between 0 and 1 but was " + falsePositiveProbability);
+    }
+    this.entityClass = entityClass;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.slices = slices;
+  }
+
+  private static Slice[] createSlices(long expectedInsertions, double falsePositiveProbability) {
+
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be positive but was " + expectedInsertions);
+    }
+    // first slice only gets half of the error budget as the probabilities of the following slices halve
+    return new Slice[] { Slice.create(expectedInsertions, falsePositiveProbability / 2) };
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s in this filter.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @return the upper bound of the probability that {@link #mightContain(Id)} returns {@code true} for an {@link Id}
+   *         that has never been {@link #add(Id) added}.
+   */
+  public double getFalsePositiveProbability() {
+
+    return this.falsePositiveProbability;
+  }
+
+  /**
+   * @return the approximate number of distinct {@link Id}s {@link #add(Id) added} to this filter.
+   */
+  public long getApproximateCount() {
+
+    long count = 0;
+    for (Slice slice : this.slices) {
+      count += slice.count.get();
+    }
+    return count;
+  }
+
+  /**
+   * @param id the {@link Id} to add.
+   * @return {@code true} if the {@link Id} was definitely not contained before, {@code false} if it might have been.
+   */
+  public boolean add(Id<E> id) {
+
+    if (!IdKeys.isCompatible(id, this.entityClass) || !hasPk(id)) {
+      throw new IllegalArgumentException("Can not add ID " + id + " to filter for " + this.entityClass.getName());
+    }
+    return addHash(IdPartitioner.hash64(id));
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to add.
+   * @return {@code true} if the primary key was definitely not contained before, {@code false} if it might have been.
+   */
+  public boolean add(long pk) {
+
+    IdKeys.verifyLong(pk);
+    return addHash(IdPartitioner.hash64(pk));
+  }
+
+  /**
+   * @param pk the {@link io.github.mmm.entity.id.PkIdUuid#getPk() primary key} to add.
+   * @return {@code true} if the primary key was definitely not contained before, {@code false} if it might have been.
+   */
+  public boolean add(UUID pk) {
+
+    return addHash(IdPartitioner.hash64(pk));
+  }
+
+  private boolean addHash(long hash) {
+
+    long hash2 = IdPartitioner.hash64(hash);
+    Slice[] current = this.slices;
+    for (Slice slice : current) {
+      if (slice.mightContain(hash, hash2)) {
+        return false;
+      }
+    }
+    Slice last = current[current.length - 1];
+    if (last.count.get() >= last.capacity) {
+      last = grow(last);
+    }
+    if (last.put(hash, hash2)) {
+      last.count.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private synchronized Slice grow(Slice last) {
+
+    Slice[] current = this.slices;
+    Slice newest = current[current.length - 1];
+    if (newest == last) {
+      newest = Slice.create(last.capacity * 2, last.falsePositiveProbability / 2);
+      Slice[] newSlices = Arrays.copyOf(current, current.length + 1);
+      newSlices[current.length] = newest;
+      this.slices = newSlices;
+    }
+    return newest;
+  }
+
+  /**
+   * @param id the {@link Id} to check.
+   * @return {@code false} if the given {@link Id} has definitely not been {@link #add(Id) added}, {@code true} if it
+   *         might have been added.
+   */
+  public boolean mightContain(Id<?> id) {
+
+    if ((id == null) || !IdKeys.isCompatible(id, this.entityClass) || !hasPk(id)) {
+      return false;
+    }
+    return mightContainHash(IdPartitioner.hash64(id));
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to check.
+   * @return {@code false} if the given primary key has definitely not been added, {@code true} if it might have been.
+   */
+  public boolean mightContain(long pk) {
+
+    return mightContainHash(IdPartitioner.hash64(pk));
+  }
+
+  /**
+   * @param pk the {@link io.github.mmm.entity.id.PkIdUuid#getPk() primary key} to check.
+   * @return {@code false} if the given primary key has definitely not been added, {@code true} if it might have been.
+   */
+  public boolean mightContain(UUID pk) {
+
+    return mightContainHash(IdPartitioner.hash64(pk));
+  }
+
+  private boolean mightContainHash(long hash) {
+
+    long hash2 = IdPartitioner.hash64(hash);
+    for (Slice slice : this.slices) {
+      if (slice.mightContain(hash, hash2)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasPk(Id<?> id) {
+
+    if (id instanceof PkIdLong<?> pkIdLong) {
+      return pkIdLong.hasPk();
+    }
+    return id.getPk() != null;
+  }
+
+  /**
+   * @param resolver the resolver {@link Function} to guard (e.g. for {@link io.github.mmm.entity.link.IdLink#of(Id,
+   *        Function)}).
+   * @return a new resolver {@link Function} that returns {@code null} immediately for {@link Id}s that are definitely
+   *         not contained in this filter and delegates to the given {@code resolver} otherwise.
+   */
+  public Function<Id<E>, E> guard(Function<Id<E>, E> resolver) {
+
+    Objects.requireNonNull(resolver, "resolver");
+    return id -> mightContain(id) ? resolver.apply(id) : null;
+  }
+
+  /**
+   * @param out the {@link OutputStream} to write this filter to. Will not be closed.
+   * @see #readFrom(Class, InputStream)
+   */
+  public void writeTo(OutputStream out) {
+
+    try {
+      DataOutputStream data = new DataOutputStream(out);
+      Slice[] current = this.slices;
+      data.writeInt(MAGIC);
+      data.writeByte(FORMAT_VERSION);
+      data.writeDouble(this.falsePositiveProbability);
+      data.writeInt(current.length);
+      for (Slice slice : current) {
+        data.writeLong(slice.capacity);
+        data.writeDouble(slice.falsePositiveProbability);
+        data.writeInt(slice.hashes);
+        data.writeLong(slice.count.get());
+        data.writeInt(slice.words.length);
+        for (int i = 0; i < slice.words.length; i++) {
+          data.writeLong((long) WORDS.getAcquire(slice.words, i));
+        }
+      }
+      data.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param in the {@link InputStream} to read the filter from that has been {@link #writeTo(OutputStream) written}
+   *        before. Will not be closed.
+   * @return the {@link IdBloomFilter} read from the given {@link InputStream}.
+   */
+  public static <E> IdBloomFilter<E> readFrom(Class<E> entityClass, InputStream in) {
+
+    try {
+      DataInputStream data = new DataInputStream(in);
+      if (data.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Not an ID bloom filter.");
+      }
+      byte version = data.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IllegalArgumentException("Unsupported bloom filter format version " + version);
+      }
+      double falsePositiveProbability = data.readDouble();
+      int sliceCount = data.readInt();
+      if ((sliceCount <= 0) || (sliceCount > 64)) {
+        throw new IllegalArgumentException("Invalid bloom filter slice count " + sliceCount);
+      }
+      Slice[] slices = new Slice[sliceCount];
+      for (int s = 0; s < sliceCount; s++) {
+        long capacity = data.readLong();
+        double sliceProbability = data.readDouble();
+        int hashes = data.readInt();
+        long count = data.readLong();
+        int wordCount = data.readInt();
+        if ((wordCount <= 0) || (Integer.bitCount(wordCount) != 1) || (hashes <= 0)) {
+          throw new IllegalArgumentException("Invalid bloom filter slice.");
+        }
+        long[] words = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+          words[i] = data.readLong();
+        }
+        slices[s] = new Slice(capacity, sliceProbability, hashes, words, count);
+      }
+      return new IdBloomFilter<>(entityClass, falsePositiveProbability, slices);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static final class Slice {
+
+    private final long capacity;
+
+    private final double falsePositiveProbability;
+
+    private final int hashes;
+
+    private final long[] words;
+
+    private final long bitMask;
+
+    private final AtomicLong count;
+
+    private Slice(long capacity, double falsePositiveProbability, int hashes, long[] words, long count) {
+
+      super();
+      this.capacity = capacity;
+      this.falsePositiveProbability = falsePositiveProbability;
+      this.hashes = hashes;
+      this.words = words;
+      this.bitMask = ((long) words.length << 6) - 1;
+      this.count = new AtomicLong(count);
+    }
+
+    private boolean mightContain(long hash, long hash2) {
+
+      long h = hash;
+      for (int i = 0; i < this.hashes; i++) {
+        long bit = h & this.bitMask;
+        long word = (long) WORDS.getAcquire(this.words, (int) (bit >>> 6));
+        if ((word & (1L << bit)) == 0) {
+          return false;
+        }
+        h += hash2;
+      }
+      return true;
+    }
+
+    private boolean put(long hash, long hash2) {
+
+      boolean changed = false;
+      long h = hash;
+      for (int i = 0; i < this.hashes; i++) {
+        long bit = h & this.bitMask;
+        long mask = 1L << bit;
+        long old = (long) WORDS.getAndBitwiseOr(this.words, (int) (bit >>> 6), mask);
+        if ((old & mask) == 0) {
+          changed = true;
+        }
+        h += hash2;
+      }
+      return changed;
+    }
+
+    private static Slice create(long capacity, double falsePositiveProbability) {
+
+      double optimalBits = -capacity * Math.log(falsePositiveProbability) / (LN2 * LN2);
+      long bits = Long.SIZE;
+      while ((bits < optimalBits) && (bits < MAX_BITS)) {
+        bits <<= 1;
+      }
+      int hashes = Math.max(1, (int) Math.round(-Math.log(falsePositiveProbability) / LN2));
+      return new Slice(capacity, falsePositiveProbability, hashes, new long[(int) (bits >>> 6)], 0);
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+/**
+ * Hash functions and sizing for the open-addressing hash tables of this package.
+ *
+ * @since 1.0.0
+ */
+final class IdHash {
+
+  private static final long PHI = 0x9E37_79B9_7F4A_7C15L;
+
+  private static final int MIN_CAPACITY = 16;
+
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  private IdHash() {
+
+  }
+
+  /**
+   * @param key the {@code long} key to hash.
+   * @return the mixed hash of the given {@code key}. Sequential keys (e.g. from an
+   *         {@link io.github.mmm.entity.id.sequence.IdSequence}) are spread evenly across the table.
+   */
+  static int hash(long key) {
+
+    long h = key * PHI;
+    h ^= h >>> 32;
+    return (int) (h ^ (h >>> 16));
+  }
+
+  /**
+   * @param mostSigBits the {@link java.util.UUID#getMostSignificantBits() most significant bits}.
+   * @param leastSigBits the {@link java.util.UUID#getLeastSignificantBits() least significant bits}.
+   * @return the mixed hash of the given {@link java.util.UUID}.
+   */
+  static int hash(long mostSigBits, long leastSigBits) {
+
+    return hash((mostSigBits * PHI) ^ leastSigBits);
+  }
+
+  /**
+   * @param expectedSize the expected number of entries.
+   * @return the power of two capacity to hold the given number of entries without rehashing.
+   */
+  static int capacity(int expectedSize) {
+
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+    }
+    long required = ((long) expectedSize * 4 + 2) / 3;
+    if (required > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+    }
+    int capacity = MIN_CAPACITY;
+    while (capacity < required) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  /**
+   * @param capacity the current capacity.
+   * @return the capacity to grow to.
+   */
+  static int grow(int capacity) {
+
+    if (capacity >= MAX_CAPACITY) {
+      throw new IllegalStateException("Maximum capacity of " + MAX_CAPACITY + " exceeded.");
+    }
+    return capacity << 1;
+  }
+
+  /**
+   * @param capacity the capacity of the table.
+   * @return the maximum number of entries before the table has to grow (load factor of 0.75).
+   */
+  static int maxFill(int capacity) {
+
+    return capacity - (capacity >>> 2);
+  }
+
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.UUID;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * Helper to extract the primitive {@link Id#getPk() primary keys} from {@link Id}s used as keys in the collections of
+ * this package.
+ *
+ * @since 1.0.0
+ */
+final class IdKeys {
+
+  private IdKeys() {
+
+  }
+
+  /**
+   * @param id the {@link Id}.
+   * @param entityClass the {@link Id#getEntityClass() entity class} of the collection.
+   * @return {@code true} if the given {@link Id} has no or the given {@link Id#getEntityClass() entity class}.
+   */
+  static boolean isCompatible(Id<?> id, Class<?> entityClass) {
+
+    Class<?> idEntityClass = id.getEntityClass();
+    return (idEntityClass == null) || (idEntityClass == entityClass) || idEntityClass.equals(entityClass);
+  }
+
+  /**
+   * @param object the potential {@link Id}.
+   * @param entityClass the {@link Id#getEntityClass() entity class} of the collection.
+   * @return the {@link Long} {@link Id#getPk() primary key} of the given {@link Id} or {@link PkIdLong#NULL_PK} if
+   *         not an {@link Id} with a {@link Long} {@link Id#getPk() primary key} for the given {@code entityClass}.
+   */
+  static long toLong(Object object, Class<?> entityClass) {
+
+    if ((object instanceof Id<?> id) && isCompatible(id, entityClass)) {
+      if (id instanceof PkIdLong<?> pkIdLong) {
+        if (pkIdLong.hasPk()) {
+          return pkIdLong.getPkAsLong();
+        }
+      } else if (id.getPk() instanceof Long pk) {
+        return pk.longValue();
+      }
+    }
+    return PkIdLong.NULL_PK;
+  }
+
+  /**
+   * @param id the {@link Id} to add.
+   * @param entityClass the {@link Id#getEntityClass() entity class} of the collection.
+   * @return the {@link Long} {@link Id#getPk() primary key} of the given {@link Id}.
+   * @throws IllegalArgumentException if the given {@link Id} can not be added.
+   */
+  static long requireLong(Id<?> id, Class<?> entityClass) {
+
+    long pk = toLong(id, entityClass);
+    if (pk == PkIdLong.NULL_PK) {
+      throw incompatible(id, entityClass, "long");
+    }
+    return pk;
+  }
+
+  /**
+   * @param object the potential {@link Id}.
+   * @param entityClass the {@link Id#getEntityClass() entity class} of the collection.
+   * @return the {@link UUID} {@link Id#getPk() primary key} of the given {@link Id} or {@code null} if not an
+   *         {@link Id} with a {@link UUID} {@link Id#getPk() primary key} for the given {@code entityClass}.
+   */
+  static UUID toUuid(Object object, Class<?> entityClass) {
+
+    if ((object instanceof Id<?> id) && isCompatible(id, entityClass) && (id.getPk() instanceof UUID pk)) {
+      return pk;
+    }
+    return null;
+  }
+
+  /**
+   * @param id the {@link Id} to add.
+   * @param entityClass the {@link Id#getEntityClass() entity class} of the collection.
+   * @return the {@link UUID} {@link Id#getPk() primary key} of the given {@link Id}.
+   * @throws IllegalArgumentException if the given {@link Id} can not be added.
+   */
+  static UUID requireUuid(Id<?> id, Class<?> entityClass) {
+
+    UUID pk = toUuid(id, entityClass);
+    if (pk == null) {
+      throw incompatible(id, entityClass, "UUID");
+    }
+    return pk;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to add.
+   */
+  static void verifyLong(long pk) {
+
+    if (pk == PkIdLong.NULL_PK) {
+      throw new IllegalArgumentException("Primary key " + pk + " is reserved for null and can not be added.");
+    }
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key} to add.
+   */
+  static void verifyUuid(UUID pk) {
+
+    if (pk == null) {
+      throw new IllegalArgumentException("The primary key can not be null.");
+    } else if (UuidHashTable.isFree(pk.getMostSignificantBits(), pk.getLeastSignificantBits())) {
+      throw new IllegalArgumentException("The nil UUID is reserved and can not be added.");
+    }
+  }
+
+  private static IllegalArgumentException incompatible(Id<?> id, Class<?> entityClass, String pkType) {
+
+    return new IllegalArgumentException(
+        "Can not add ID " + id + " to collection for " + entityClass.getName() + " with " + pkType + " primary keys.");
+  }
+
+}
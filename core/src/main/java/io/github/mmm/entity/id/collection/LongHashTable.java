@@ -0,0 +1,292 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Open-addressing hash table with linear probing for primitive {@code long} keys and optional values. Removal uses
+ * backward shifting instead of tombstones so lookups never degrade. {@link PkIdLong#NULL_PK} marks a free slot and can
+ * therefore not be used as key (what is fine as it is no valid {@link PkIdLong#getPk() primary key} anyway).
+ *
+ * @since 1.0.0
+ */
+final class LongHashTable {
+
+  static final long FREE = PkIdLong.NULL_PK;
+
+  private final boolean withValues;
+
+  long[] keys;
+
+  Object[] values;
+
+  int size;
+
+  private int mask;
+
+  private int maxFill;
+
+  /**
+   * The constructor.
+   *
+   * @param expectedSize the expected number of entries.
+   * @param withValues {@code true} to also store {@link #values}, {@code false} otherwise (for a set).
+   */
+  LongHashTable(int expectedSize, boolean withValues) {
+
+    super();
+    this.withValues = withValues;
+    allocate(IdHash.capacity(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+
+    this.keys = new long[capacity];
+    Arrays.fill(this.keys, FREE);
+    if (this.withValues) {
+      this.values = new Object[capacity];
+    }
+    this.mask = capacity - 1;
+    this.maxFill = IdHash.maxFill(capacity);
+  }
+
+  /**
+   * @param key the key to find. Must not be {@link #FREE}.
+   * @return the slot of the given {@code key} or the bitwise complement of the slot where to insert it if absent.
+   */
+  int find(long key) {
+
+    int slot = IdHash.hash(key) & this.mask;
+    while (true) {
+      long current = this.keys[slot];
+      if (current == key) {
+        return slot;
+      } else if (current == FREE) {
+        return ~slot;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+  }
+
+  /**
+   * @param key the key to insert. Must not be {@link #FREE}.
+   * @return the slot where the given {@code key} has been inserted or the bitwise complement of its slot if it was
+   *         already present.
+   */
+  int insert(long key) {
+
+    int slot = find(key);
+    if (slot >= 0) {
+      return ~slot;
+    }
+    if (this.size >= this.maxFill) {
+      rehash(IdHash.grow(this.keys.length));
+      slot = find(key);
+    }
+    slot = ~slot;
+    this.keys[slot] = key;
+    this.size++;
+    return slot;
+  }
+
+  /**
+   * @param slot the slot of the entry to remove.
+   * @return the value of the removed entry or {@code null} for a set.
+   */
+  Object removeAt(int slot) {
+
+    return removeAt(slot, null);
+  }
+
+  private Object removeAt(int slot, Cursor cursor) {
+
+    Object old = null;
+    if (this.withValues) {
+      old = this.values[slot];
+    }
+    this.size--;
+    shift(slot, cursor);
+    return old;
+  }
+
+  /**
+   * Closes the gap at the given {@code slot} by moving subsequent entries of the same probe sequence backwards.
+   */
+  private void shift(int slot, Cursor cursor) {
+
+    int last = slot;
+    int pos = slot;
+    while (true) {
+      pos = (pos + 1) & this.mask;
+      long current = this.keys[pos];
+      if (current == FREE) {
+        this.keys[last] = FREE;
+        if (this.withValues) {
+          this.values[last] = null;
+        }
+        return;
+      }
+      int home = IdHash.hash(current) & this.mask;
+      // entry may only move to last if its home slot is not within the cyclic range (last, pos]
+      boolean movable = (last <= pos) ? ((home <= last) || (home > pos)) : ((home <= last) && (home > pos));
+      if (movable) {
+        if ((cursor != null) && (pos < last)) {
+          // entry wraps around from the not yet visited to the already visited part of the table
+          cursor.addWrapped(current);
+        }
+        this.keys[last] = current;
+        if (this.withValues) {
+          this.values[last] = this.values[pos];
+        }
+        last = pos;
+      }
+    }
+  }
+
+  private void rehash(int capacity) {
+
+    long[] oldKeys = this.keys;
+    Object[] oldValues = this.values;
+    allocate(capacity);
+    for (int i = oldKeys.length - 1; i >= 0; i--) {
+      long key = oldKeys[i];
+      if (key != FREE) {
+        int slot = ~find(key);
+        this.keys[slot] = key;
+        if (oldValues != null) {
+          this.values[slot] = oldValues[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  void clear() {
+
+    if (this.size == 0) {
+      return;
+    }
+    Arrays.fill(this.keys, FREE);
+    if (this.withValues) {
+      Arrays.fill(this.values, null);
+    }
+    this.size = 0;
+  }
+
+  /**
+   * @return a new {@link Cursor} to iterate the entries.
+   */
+  Cursor cursor() {
+
+    return new Cursor();
+  }
+
+  /**
+   * Iterates the slots from the end to the start of the table. Supports {@link #remove() removal} of the current entry
+   * by remembering entries that have been moved from the not yet visited into the already visited part.
+   */
+  final class Cursor {
+
+    private static final int NONE = -1;
+
+    private static final int WRAPPED = -2;
+
+    private int pos;
+
+    private int last;
+
+    private long lastKey;
+
+    private int remaining;
+
+    private long[] wrapped;
+
+    private int wrappedCount;
+
+    private int wrappedIndex;
+
+    private Cursor() {
+
+      super();
+      this.pos = LongHashTable.this.keys.length;
+      this.last = NONE;
+      this.remaining = LongHashTable.this.size;
+    }
+
+    /**
+     * @return {@code true} if there is a next entry, {@code false} otherwise.
+     */
+    boolean hasNext() {
+
+      return this.remaining > 0;
+    }
+
+    /**
+     * @return the slot of the next entry.
+     */
+    int next() {
+
+      if (this.remaining <= 0) {
+        throw new NoSuchElementException();
+      }
+      this.remaining--;
+      long[] k = LongHashTable.this.keys;
+      while (this.pos > 0) {
+        this.pos--;
+        long key = k[this.pos];
+        if (key != FREE) {
+          this.last = this.pos;
+          this.lastKey = key;
+          return this.pos;
+        }
+      }
+      if (this.wrappedIndex >= this.wrappedCount) {
+        throw new ConcurrentModificationException();
+      }
+      this.last = WRAPPED;
+      this.lastKey = this.wrapped[this.wrappedIndex++];
+      return find(this.lastKey);
+    }
+
+    /**
+     * @return the key of the entry returned by the last call of {@link #next()}.
+     */
+    long lastKey() {
+
+      return this.lastKey;
+    }
+
+    /**
+     * Removes the entry returned by the last call of {@link #next()}.
+     */
+    void remove() {
+
+      if (this.last == NONE) {
+        throw new IllegalStateException();
+      } else if (this.last == WRAPPED) {
+        removeAt(find(this.lastKey), null);
+      } else {
+        removeAt(this.last, this);
+      }
+      this.last = NONE;
+    }
+
+    private void addWrapped(long key) {
+
+      if (this.wrapped == null) {
+        this.wrapped = new long[4];
+      } else if (this.wrappedCount == this.wrapped.length) {
+        this.wrapped = Arrays.copyOf(this.wrapped, this.wrappedCount * 2);
+      }
+      this.wrapped[this.wrappedCount++] = key;
+    }
+  }
+
+}
@@ -0,0 +1,338 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.link.Link;
+
+/**
+ * Immutable {@link java.util.Set} of {@link Id}s with {@link Long} {@link Id#getPk() primary keys} for a single
+ * {@link #getEntityClass() entity class} stored as sorted array of distinct {@code long} values.
+ * {@link #contains(long)} uses binary search and {@link #intersection(LongIdArray) intersection},
+ * {@link #union(LongIdArray) union} and {@link #difference(LongIdArray) difference} merge the sorted arrays
+ * (galloping through the larger one if the sizes differ a lot). This is much more cache-friendly than building a
+ * {@link java.util.HashSet} of {@link Id}s just to intersect it once, e.g. when joining {@link Link}s between entity
+ * types. Use {@link #ofLinks(Class, Collection)} or a {@link #builder(Class) builder} to create an instance from
+ * unsorted input.<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are
+ * ignored.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see UuidIdArray
+ */
+public final class LongIdArray<E> extends AbstractSet<Id<E>> {
+
+  private final Class<E> entityClass;
+
+  private final long[] pks;
+
+  private LongIdArray(Class<E> entityClass, long[] pks) {
+
+    super();
+    this.entityClass = entityClass;
+    this.pks = pks;
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s in this set.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @param index the index of the requested {@link Id} in ascending order.
+   * @return the {@link PkIdLong#getPkAsLong() primary key} at the given index.
+   */
+  public long getPk(int index) {
+
+    return this.pks[index];
+  }
+
+  /**
+   * @param index the index of the requested {@link Id} in ascending order.
+   * @return the {@link Id} at the given index.
+   */
+  public Id<E> get(int index) {
+
+    return new PkIdLong<>(this.entityClass, this.pks[index]);
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to find.
+   * @return the index of the given {@code pk} or a negative value if not contained.
+   */
+  public int indexOf(long pk) {
+
+    int index = Arrays.binarySearch(this.pks, pk);
+    return (index >= 0) ? index : -1;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to check.
+   * @return {@code true} if contained, {@code false} otherwise.
+   */
+  public boolean contains(long pk) {
+
+    return Arrays.binarySearch(this.pks, pk) >= 0;
+  }
+
+  /**
+   * @param other the {@link LongIdArray} to intersect with.
+   * @return a new {@link LongIdArray} with the {@link Id}s contained in both this and the given {@link LongIdArray}.
+   */
+  public LongIdArray<E> intersection(LongIdArray<E> other) {
+
+    verifyCompatible(other);
+    return new LongIdArray<>(this.entityClass, SortedIdArrays.intersect(this.pks, other.pks));
+  }
+
+  /**
+   * @param other the {@link LongIdArray} to unite with.
+   * @return a new {@link LongIdArray} with the {@link Id}s contained in this or the given {@link LongIdArray}.
+   */
+  public LongIdArray<E> union(LongIdArray<E> other) {
+
+    verifyCompatible(other);
+    return new LongIdArray<>(this.entityClass, SortedIdArrays.union(this.pks, other.pks));
+  }
+
+  /**
+   * @param other the {@link LongIdArray} to subtract.
+   * @return a new {@link LongIdArray} with the {@link Id}s contained in this but not in the given {@link LongIdArray}.
+   */
+  public LongIdArray<E> difference(LongIdArray<E> other) {
+
+    verifyCompatible(other);
+    return new LongIdArray<>(this.entityClass, SortedIdArrays.difference(this.pks, other.pks));
+  }
+
+  private void verifyCompatible(LongIdArray<?> other) {
+
+    if (!this.entityClass.equals(other.entityClass)) {
+      throw new IllegalArgumentException(
+          "Can not combine IDs of " + this.entityClass.getName() + " with " + other.entityClass.getName());
+    }
+  }
+
+  /**
+   * @param action the {@link LongConsumer} called for each contained {@link PkIdLong#getPkAsLong() primary key} in
+   *        ascending order.
+   */
+  public void forEachPk(LongConsumer action) {
+
+    for (long pk : this.pks) {
+      action.accept(pk);
+    }
+  }
+
+  /**
+   * @return a new array with all contained {@link PkIdLong#getPkAsLong() primary keys} in ascending order.
+   */
+  public long[] toPkArray() {
+
+    return this.pks.clone();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+
+    long pk = IdKeys.toLong(o, this.entityClass);
+    return (pk != PkIdLong.NULL_PK) && contains(pk);
+  }
+
+  @Override
+  public int size() {
+
+    return this.pks.length;
+  }
+
+  @Override
+  public Iterator<Id<E>> iterator() {
+
+    return new IdIterator();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+
+    if (o instanceof LongIdArray<?> other) {
+      return this.entityClass.equals(other.entityClass) && Arrays.equals(this.pks, other.pks);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+
+    // same as sum of PkIdLong.hashCode() without creating the IDs
+    int hash = 0;
+    for (long pk : this.pks) {
+      hash += ~Long.hashCode(pk);
+    }
+    return hash;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param pks the {@link PkIdLong#getPkAsLong() primary keys} in any order. May contain duplicates.
+   * @return the according {@link LongIdArray}.
+   */
+  public static <E> LongIdArray<E> of(Class<E> entityClass, long... pks) {
+
+    Builder<E> builder = builder(entityClass, pks.length);
+    for (long pk : pks) {
+      builder.add(pk);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param ids the {@link Id}s in any order. May contain duplicates.
+   * @return the according {@link LongIdArray}.
+   */
+  public static <E> LongIdArray<E> ofIds(Class<E> entityClass, Collection<? extends Id<E>> ids) {
+
+    Builder<E> builder = builder(entityClass, ids.size());
+    for (Id<E> id : ids) {
+      builder.add(id);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param <E> type of the linked entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param links the {@link Link}s in any order. May contain duplicates.
+   * @return the according {@link LongIdArray} with the {@link Link#getId() IDs} of the given {@link Link}s.
+   */
+  public static <E> LongIdArray<E> ofLinks(Class<E> entityClass, Collection<? extends Link<E>> links) {
+
+    Builder<E> builder = builder(entityClass, links.size());
+    for (Link<E> link : links) {
+      builder.add(link);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @return a new {@link Builder}.
+   */
+  public static <E> Builder<E> builder(Class<E> entityClass) {
+
+    return builder(entityClass, 16);
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedSize the expected number of {@link Id}s to add.
+   * @return a new {@link Builder}.
+   */
+  public static <E> Builder<E> builder(Class<E> entityClass, int expectedSize) {
+
+    return new Builder<>(entityClass, expectedSize);
+  }
+
+  private final class IdIterator implements Iterator<Id<E>> {
+
+    private int index;
+
+    @Override
+    public boolean hasNext() {
+
+      return this.index < LongIdArray.this.pks.length;
+    }
+
+    @Override
+    public Id<E> next() {
+
+      if (this.index >= LongIdArray.this.pks.length) {
+        throw new NoSuchElementException();
+      }
+      return get(this.index++);
+    }
+  }
+
+  /**
+   * {@link io.github.mmm.base.lang.Builder} to collect unsorted {@link PkIdLong#getPkAsLong() primary keys} (with
+   * potential duplicates) into a {@link LongIdArray}. Collecting is a plain append so the cost is dominated by a
+   * single primitive sort when {@link #build() building}.
+   *
+   * @param <E> type of the identified entity.
+   */
+  public static final class Builder<E> implements io.github.mmm.base.lang.Builder<LongIdArray<E>> {
+
+    private final Class<E> entityClass;
+
+    private long[] pks;
+
+    private int size;
+
+    private Builder(Class<E> entityClass, int expectedSize) {
+
+      super();
+      Objects.requireNonNull(entityClass, "entityClass");
+      this.entityClass = entityClass;
+      this.pks = new long[expectedSize];
+    }
+
+    /**
+     * @param pk the {@link PkIdLong#getPkAsLong() primary key} to add.
+     * @return this builder for fluent API calls.
+     */
+    public Builder<E> add(long pk) {
+
+      IdKeys.verifyLong(pk);
+      if (this.size == this.pks.length) {
+        this.pks = Arrays.copyOf(this.pks, Math.max(this.size * 2, 16));
+      }
+      this.pks[this.size++] = pk;
+      return this;
+    }
+
+    /**
+     * @param id the {@link Id} to add.
+     * @return this builder for fluent API calls.
+     */
+    public Builder<E> add(Id<E> id) {
+
+      return add(IdKeys.requireLong(id, this.entityClass));
+    }
+
+    /**
+     * @param link the {@link Link} with the {@link Link#getId() ID} to add.
+     * @return this builder for fluent API calls.
+     */
+    public Builder<E> add(Link<E> link) {
+
+      return add(link.getId());
+    }
+
+    @Override
+    public LongIdArray<E> build() {
+
+      long[] sorted = SortedIdArrays.sortUnique(this.pks, this.size);
+      this.pks = new long[0];
+      this.size = 0;
+      return new LongIdArray<>(this.entityClass, sorted);
+    }
+  }
+
+}
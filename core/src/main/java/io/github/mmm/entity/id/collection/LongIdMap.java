@@ -0,0 +1,325 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * {@link java.util.Map} with {@link Id}s with {@link Long} {@link Id#getPk() primary keys} for a single
+ * {@link #getEntityClass() entity class} as keys. Instead of a {@link java.util.HashMap} with a node, an {@link Id}
+ * and a boxed {@link Long} per entry, it only stores the raw {@code long} keys and the values in an open-addressing
+ * hash table. The {@link #entrySet() entry set} and the {@link PkIdLong}s are created lazily so this map can be passed
+ * to any code expecting a {@link java.util.Map}. Performance critical code should use the primitive methods such as
+ * {@link #put(long, Object)} or {@link #get(long)} instead.<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are ignored
+ * and {@link PkIdLong#NULL_PK} can not be used as key. This map is not thread-safe.
+ *
+ * @param <E> type of the identified entity.
+ * @param <V> type of the values.
+ * @since 1.0.0
+ * @see LongIdSet
+ */
+public class LongIdMap<E, V> extends AbstractMap<Id<E>, V> {
+
+  private final Class<E> entityClass;
+
+  private final LongHashTable table;
+
+  private Set<Entry<Id<E>, V>> entrySet;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   */
+  public LongIdMap(Class<E> entityClass) {
+
+    this(entityClass, 0);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedSize the expected number of entries to avoid rehashing.
+   */
+  public LongIdMap(Class<E> entityClass, int expectedSize) {
+
+    super();
+    Objects.requireNonNull(entityClass, "entityClass");
+    this.entityClass = entityClass;
+    this.table = new LongHashTable(expectedSize, true);
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s used as keys in this map.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key}.
+   * @return {@code true} if this map contains the given key, {@code false} otherwise.
+   */
+  public boolean containsKey(long pk) {
+
+    return (pk != LongHashTable.FREE) && (this.table.find(pk) >= 0);
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key}.
+   * @return the value associated with the given key or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long pk) {
+
+    if (pk == LongHashTable.FREE) {
+      return null;
+    }
+    int slot = this.table.find(pk);
+    if (slot < 0) {
+      return null;
+    }
+    return (V) this.table.values[slot];
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key}.
+   * @param value the value to associate with the given key.
+   * @return the value previously associated with the given key or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(long pk, V value) {
+
+    IdKeys.verifyLong(pk);
+    int slot = this.table.insert(pk);
+    V old = null;
+    if (slot < 0) {
+      slot = ~slot;
+      old = (V) this.table.values[slot];
+    }
+    this.table.values[slot] = value;
+    return old;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key}.
+   * @return the value previously associated with the given key or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(long pk) {
+
+    if (pk == LongHashTable.FREE) {
+      return null;
+    }
+    int slot = this.table.find(pk);
+    if (slot < 0) {
+      return null;
+    }
+    return (V) this.table.removeAt(slot);
+  }
+
+  @Override
+  public int size() {
+
+    return this.table.size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.table.size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+
+    return containsKey(IdKeys.toLong(key, this.entityClass));
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+
+    long[] keys = this.table.keys;
+    Object[] values = this.table.values;
+    for (int i = 0; i < keys.length; i++) {
+      if ((keys[i] != LongHashTable.FREE) && Objects.equals(values[i], value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+
+    return get(IdKeys.toLong(key, this.entityClass));
+  }
+
+  @Override
+  public V put(Id<E> key, V value) {
+
+    return put(IdKeys.requireLong(key, this.entityClass), value);
+  }
+
+  @Override
+  public V remove(Object key) {
+
+    return remove(IdKeys.toLong(key, this.entityClass));
+  }
+
+  @Override
+  public void clear() {
+
+    this.table.clear();
+  }
+
+  @Override
+  public Set<Entry<Id<E>, V>> entrySet() {
+
+    if (this.entrySet == null) {
+      this.entrySet = new EntrySet();
+    }
+    return this.entrySet;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<Id<E>, V>> {
+
+    @Override
+    public int size() {
+
+      return LongIdMap.this.table.size;
+    }
+
+    @Override
+    public void clear() {
+
+      LongIdMap.this.table.clear();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+
+      if (o instanceof Entry<?, ?> entry) {
+        long pk = IdKeys.toLong(entry.getKey(), LongIdMap.this.entityClass);
+        return containsKey(pk) && Objects.equals(get(pk), entry.getValue());
+      }
+      return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+      if (contains(o)) {
+        LongIdMap.this.remove(((Entry<?, ?>) o).getKey());
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public Iterator<Entry<Id<E>, V>> iterator() {
+
+      return new EntryIterator();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<Id<E>, V>> {
+
+    private final LongHashTable.Cursor cursor;
+
+    private EntryIterator() {
+
+      super();
+      this.cursor = LongIdMap.this.table.cursor();
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      return this.cursor.hasNext();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Entry<Id<E>, V> next() {
+
+      int slot = this.cursor.next();
+      return new PkEntry(this.cursor.lastKey(), (V) LongIdMap.this.table.values[slot]);
+    }
+
+    @Override
+    public void remove() {
+
+      this.cursor.remove();
+    }
+  }
+
+  private final class PkEntry implements Entry<Id<E>, V> {
+
+    private final long pk;
+
+    private V value;
+
+    private PkEntry(long pk, V value) {
+
+      super();
+      this.pk = pk;
+      this.value = value;
+    }
+
+    @Override
+    public Id<E> getKey() {
+
+      return new PkIdLong<>(LongIdMap.this.entityClass, this.pk);
+    }
+
+    @Override
+    public V getValue() {
+
+      return this.value;
+    }
+
+    @Override
+    public V setValue(V newValue) {
+
+      V old = this.value;
+      this.value = newValue;
+      put(this.pk, newValue);
+      return old;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (obj == this) {
+        return true;
+      } else if (obj instanceof Entry<?, ?> entry) {
+        return getKey().equals(entry.getKey()) && Objects.equals(this.value, entry.getValue());
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+
+      return ~Long.hashCode(this.pk) ^ Objects.hashCode(this.value);
+    }
+
+    @Override
+    public String toString() {
+
+      return getKey() + "=" + this.value;
+    }
+  }
+
+}
@@ -0,0 +1,212 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * {@link java.util.Set} of {@link Id}s with {@link Long} {@link Id#getPk() primary keys} for a single
+ * {@link #getEntityClass() entity class}. Instead of a {@link java.util.HashSet} with a node, an {@link Id} and a boxed
+ * {@link Long} per entry, it only stores the raw {@code long} values in an open-addressing hash table. The
+ * {@link PkIdLong}s are created lazily on {@link #iterator() iteration} so this set can be passed to any code
+ * expecting a {@link java.util.Set}. Performance critical code should use the primitive methods such as
+ * {@link #add(long)}, {@link #contains(long)} or {@link #forEachPk(LongConsumer)} instead.<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are ignored
+ * and {@link PkIdLong#NULL_PK} can not be added. This set is not thread-safe.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ */
+public class LongIdSet<E> extends AbstractSet<Id<E>> {
+
+  private final Class<E> entityClass;
+
+  private final LongHashTable table;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   */
+  public LongIdSet(Class<E> entityClass) {
+
+    this(entityClass, 0);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedSize the expected number of {@link Id}s to avoid rehashing.
+   */
+  public LongIdSet(Class<E> entityClass, int expectedSize) {
+
+    super();
+    Objects.requireNonNull(entityClass, "entityClass");
+    this.entityClass = entityClass;
+    this.table = new LongHashTable(expectedSize, false);
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s in this set.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to add.
+   * @return {@code true} if added, {@code false} if already contained.
+   */
+  public boolean add(long pk) {
+
+    IdKeys.verifyLong(pk);
+    return this.table.insert(pk) >= 0;
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to check.
+   * @return {@code true} if contained, {@code false} otherwise.
+   */
+  public boolean contains(long pk) {
+
+    return (pk != LongHashTable.FREE) && (this.table.find(pk) >= 0);
+  }
+
+  /**
+   * @param pk the {@link PkIdLong#getPkAsLong() primary key} to remove.
+   * @return {@code true} if removed, {@code false} if not contained.
+   */
+  public boolean remove(long pk) {
+
+    if (pk == LongHashTable.FREE) {
+      return false;
+    }
+    int slot = this.table.find(pk);
+    if (slot < 0) {
+      return false;
+    }
+    this.table.removeAt(slot);
+    return true;
+  }
+
+  /**
+   * @param action the {@link LongConsumer} called for each contained {@link PkIdLong#getPkAsLong() primary key}.
+   */
+  public void forEachPk(LongConsumer action) {
+
+    for (long pk : this.table.keys) {
+      if (pk != LongHashTable.FREE) {
+        action.accept(pk);
+      }
+    }
+  }
+
+  /**
+   * @return a new array with all contained {@link PkIdLong#getPkAsLong() primary keys} in no particular order.
+   */
+  public long[] toPkArray() {
+
+    long[] result = new long[this.table.size];
+    int i = 0;
+    for (long pk : this.table.keys) {
+      if (pk != LongHashTable.FREE) {
+        result[i++] = pk;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean add(Id<E> id) {
+
+    return add(IdKeys.requireLong(id, this.entityClass));
+  }
+
+  @Override
+  public boolean contains(Object o) {
+
+    return contains(IdKeys.toLong(o, this.entityClass));
+  }
+
+  @Override
+  public boolean remove(Object o) {
+
+    return remove(IdKeys.toLong(o, this.entityClass));
+  }
+
+  @Override
+  public int size() {
+
+    return this.table.size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.table.size == 0;
+  }
+
+  @Override
+  public void clear() {
+
+    this.table.clear();
+  }
+
+  @Override
+  public Iterator<Id<E>> iterator() {
+
+    return new IdIterator();
+  }
+
+  @Override
+  public int hashCode() {
+
+    // same as sum of PkIdLong.hashCode() without creating the IDs
+    int hash = 0;
+    for (long pk : this.table.keys) {
+      if (pk != LongHashTable.FREE) {
+        hash += ~Long.hashCode(pk);
+      }
+    }
+    return hash;
+  }
+
+  private final class IdIterator implements Iterator<Id<E>> {
+
+    private final LongHashTable.Cursor cursor;
+
+    private IdIterator() {
+
+      super();
+      this.cursor = LongIdSet.this.table.cursor();
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      return this.cursor.hasNext();
+    }
+
+    @Override
+    public Id<E> next() {
+
+      this.cursor.next();
+      return new PkIdLong<>(LongIdSet.this.entityClass, this.cursor.lastKey());
+    }
+
+    @Override
+    public void remove() {
+
+      this.cursor.remove();
+    }
+  }
+
+}
@@ -0,0 +1,418 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.Arrays;
+
+/**
+ * Set algebra on sorted arrays of distinct primary keys. {@code long} keys are sorted in signed order.
+ * {@link java.util.UUID} keys are stored as pairs of {@link java.util.UUID#getMostSignificantBits() most} and
+ * {@link java.util.UUID#getLeastSignificantBits() least} significant bits in a single array and sorted in unsigned
+ * order (what is the same as the order of their {@link java.util.UUID#toString() string representation}). If one array
+ * is much smaller than the other, the operations gallop through the larger array (exponential search) instead of
+ * merging linearly.
+ *
+ * @since 1.0.0
+ */
+final class SortedIdArrays {
+
+  /** If one array is more than this factor larger than the other, galloping is used instead of a linear merge. */
+  private static final int GALLOP_RATIO = 16;
+
+  private static final long[] EMPTY = new long[0];
+
+  private SortedIdArrays() {
+
+  }
+
+  /**
+   * @param values the array to sort. Will be modified.
+   * @param size the number of values in the given array to sort.
+   * @return the sorted distinct values.
+   */
+  static long[] sortUnique(long[] values, int size) {
+
+    if (size == 0) {
+      return EMPTY;
+    }
+    Arrays.sort(values, 0, size);
+    int count = 1;
+    for (int i = 1; i < size; i++) {
+      long value = values[i];
+      if (value != values[count - 1]) {
+        values[count++] = value;
+      }
+    }
+    return trim(values, count);
+  }
+
+  /**
+   * @param values the sorted values.
+   * @param from the index where to start the search.
+   * @param key the key to search.
+   * @return the first index greater or equal to {@code from} where the value is greater or equal to {@code key}.
+   */
+  static int gallop(long[] values, int from, long key) {
+
+    int length = values.length;
+    if ((from >= length) || (values[from] >= key)) {
+      return from;
+    }
+    int low = from;
+    long step = 1;
+    long high = from + 1;
+    while ((high < length) && (values[(int) high] < key)) {
+      low = (int) high;
+      step <<= 1;
+      high = from + step;
+    }
+    int index = Arrays.binarySearch(values, low + 1, (int) Math.min(high, length), key);
+    return (index >= 0) ? index : ~index;
+  }
+
+  /**
+   * @param a the first sorted array.
+   * @param b the second sorted array.
+   * @return the sorted values contained in both arrays.
+   */
+  static long[] intersect(long[] a, long[] b) {
+
+    if (a.length > b.length) {
+      return intersect(b, a);
+    }
+    long[] result = new long[a.length];
+    int count = 0;
+    int j = 0;
+    if (a.length * (long) GALLOP_RATIO < b.length) {
+      for (long value : a) {
+        j = gallop(b, j, value);
+        if (j >= b.length) {
+          break;
+        } else if (b[j] == value) {
+          result[count++] = value;
+          j++;
+        }
+      }
+    } else {
+      int i = 0;
+      while ((i < a.length) && (j < b.length)) {
+        long v1 = a[i];
+        long v2 = b[j];
+        if (v1 < v2) {
+          i++;
+        } else if (v1 > v2) {
+          j++;
+        } else {
+          result[count++] = v1;
+          i++;
+          j++;
+        }
+      }
+    }
+    return trim(result, count);
+  }
+
+  /**
+   * @param a the first sorted array.
+   * @param b the second sorted array.
+   * @return the sorted values contained in any of the arrays.
+   */
+  static long[] union(long[] a, long[] b) {
+
+    if (a.length == 0) {
+      return b;
+    } else if (b.length == 0) {
+      return a;
+    }
+    long[] result = new long[a.length + b.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while ((i < a.length) && (j < b.length)) {
+      long v1 = a[i];
+      long v2 = b[j];
+      if (v1 < v2) {
+        result[count++] = v1;
+        i++;
+      } else if (v1 > v2) {
+        result[count++] = v2;
+        j++;
+      } else {
+        result[count++] = v1;
+        i++;
+        j++;
+      }
+    }
+    int rest = a.length - i;
+    System.arraycopy(a, i, result, count, rest);
+    count += rest;
+    rest = b.length - j;
+    System.arraycopy(b, j, result, count, rest);
+    count += rest;
+    return trim(result, count);
+  }
+
+  /**
+   * @param a the first sorted array.
+   * @param b the second sorted array.
+   * @return the sorted values contained in {@code a} but not in {@code b}.
+   */
+  static long[] difference(long[] a, long[] b) {
+
+    if ((a.length == 0) || (b.length == 0)) {
+      return a;
+    }
+    long[] result = new long[a.length];
+    int count = 0;
+    int j = 0;
+    boolean gallop = a.length * (long) GALLOP_RATIO < b.length;
+    for (long value : a) {
+      if (gallop) {
+        j = gallop(b, j, value);
+      } else {
+        while ((j < b.length) && (b[j] < value)) {
+          j++;
+        }
+      }
+      if ((j >= b.length) || (b[j] != value)) {
+        result[count++] = value;
+      }
+    }
+    return trim(result, count);
+  }
+
+  /**
+   * @param msb1 the most significant bits of the first {@link java.util.UUID}.
+   * @param lsb1 the least significant bits of the first {@link java.util.UUID}.
+   * @param msb2 the most significant bits of the second {@link java.util.UUID}.
+   * @param lsb2 the least significant bits of the second {@link java.util.UUID}.
+   * @return the unsigned comparison of the two {@link java.util.UUID}s.
+   */
+  static int compareUuid(long msb1, long lsb1, long msb2, long lsb2) {
+
+    int result = Long.compareUnsigned(msb1, msb2);
+    if (result == 0) {
+      result = Long.compareUnsigned(lsb1, lsb2);
+    }
+    return result;
+  }
+
+  private static int compareUuid(long[] a, int i, long[] b, int j) {
+
+    return compareUuid(a[i << 1], a[(i << 1) + 1], b[j << 1], b[(j << 1) + 1]);
+  }
+
+  /**
+   * @param pairs the {@link java.util.UUID}s as pairs of {@code long}s. Will be modified.
+   * @param size the number of {@link java.util.UUID}s in the given array to sort.
+   * @return the sorted distinct {@link java.util.UUID}s as pairs of {@code long}s.
+   */
+  static long[] sortUniqueUuids(long[] pairs, int size) {
+
+    if (size == 0) {
+      return EMPTY;
+    }
+    // bottom-up merge sort of pairs
+    long[] source = pairs;
+    long[] target = new long[size * 2];
+    for (int width = 1; width < size; width <<= 1) {
+      for (int start = 0; start < size; start += 2 * width) {
+        int mid = Math.min(start + width, size);
+        int end = Math.min(start + 2 * width, size);
+        int i = start;
+        int j = mid;
+        int k = start;
+        while ((i < mid) && (j < end)) {
+          int from = (compareUuid(source, i, source, j) <= 0) ? i++ : j++;
+          target[k << 1] = source[from << 1];
+          target[(k++ << 1) + 1] = source[(from << 1) + 1];
+        }
+        System.arraycopy(source, i << 1, target, k << 1, (mid - i) << 1);
+        k += mid - i;
+        System.arraycopy(source, j << 1, target, k << 1, (end - j) << 1);
+      }
+      long[] swap = source;
+      source = target;
+      target = swap;
+    }
+    int count = 1;
+    for (int i = 1; i < size; i++) {
+      if (compareUuid(source, i, source, count - 1) != 0) {
+        source[count << 1] = source[i << 1];
+        source[(count << 1) + 1] = source[(i << 1) + 1];
+        count++;
+      }
+    }
+    if ((source == pairs) || (count < size)) {
+      return trim(source, count << 1);
+    }
+    return source;
+  }
+
+  /**
+   * @param pairs the sorted {@link java.util.UUID}s as pairs of {@code long}s.
+   * @param from the index of the {@link java.util.UUID} where to start the search.
+   * @param size the number of {@link java.util.UUID}s in {@code pairs}.
+   * @param msb the most significant bits of the {@link java.util.UUID} to search.
+   * @param lsb the least significant bits of the {@link java.util.UUID} to search.
+   * @return the first index greater or equal to {@code from} where the {@link java.util.UUID} is greater or equal to
+   *         the given one.
+   */
+  static int gallopUuid(long[] pairs, int from, int size, long msb, long lsb) {
+
+    if ((from >= size) || (compareUuid(pairs[from << 1], pairs[(from << 1) + 1], msb, lsb) >= 0)) {
+      return from;
+    }
+    int low = from;
+    long step = 1;
+    long high = from + 1;
+    while ((high < size) && (compareUuid(pairs[(int) high << 1], pairs[((int) high << 1) + 1], msb, lsb) < 0)) {
+      low = (int) high;
+      step <<= 1;
+      high = from + step;
+    }
+    return binarySearchUuid(pairs, low + 1, (int) Math.min(high, size), msb, lsb);
+  }
+
+  /**
+   * @param pairs the sorted {@link java.util.UUID}s as pairs of {@code long}s.
+   * @param from the index of the first {@link java.util.UUID} to search (inclusive).
+   * @param to the index of the last {@link java.util.UUID} to search (exclusive).
+   * @param msb the most significant bits of the {@link java.util.UUID} to search.
+   * @param lsb the least significant bits of the {@link java.util.UUID} to search.
+   * @return the index of the first {@link java.util.UUID} in the given range that is greater or equal to the given one
+   *         or {@code to} if there is none.
+   */
+  static int binarySearchUuid(long[] pairs, int from, int to, long msb, long lsb) {
+
+    int low = from;
+    int high = to;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (compareUuid(pairs[mid << 1], pairs[(mid << 1) + 1], msb, lsb) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @param a the first sorted {@link java.util.UUID} pairs.
+   * @param b the second sorted {@link java.util.UUID} pairs.
+   * @return the sorted {@link java.util.UUID} pairs contained in both arrays.
+   */
+  static long[] intersectUuids(long[] a, long[] b) {
+
+    if (a.length > b.length) {
+      return intersectUuids(b, a);
+    }
+    int sizeA = a.length >> 1;
+    int sizeB = b.length >> 1;
+    long[] result = new long[a.length];
+    int count = 0;
+    int j = 0;
+    boolean gallop = sizeA * (long) GALLOP_RATIO < sizeB;
+    for (int i = 0; (i < sizeA) && (j < sizeB); i++) {
+      long msb = a[i << 1];
+      long lsb = a[(i << 1) + 1];
+      if (gallop) {
+        j = gallopUuid(b, j, sizeB, msb, lsb);
+      } else {
+        while ((j < sizeB) && (compareUuid(b[j << 1], b[(j << 1) + 1], msb, lsb) < 0)) {
+          j++;
+        }
+      }
+      if ((j < sizeB) && (b[j << 1] == msb) && (b[(j << 1) + 1] == lsb)) {
+        result[count << 1] = msb;
+        result[(count++ << 1) + 1] = lsb;
+        j++;
+      }
+    }
+    return trim(result, count << 1);
+  }
+
+  /**
+   * @param a the first sorted {@link java.util.UUID} pairs.
+   * @param b the second sorted {@link java.util.UUID} pairs.
+   * @return the sorted {@link java.util.UUID} pairs contained in any of the arrays.
+   */
+  static long[] unionUuids(long[] a, long[] b) {
+
+    if (a.length == 0) {
+      return b;
+    } else if (b.length == 0) {
+      return a;
+    }
+    int sizeA = a.length >> 1;
+    int sizeB = b.length >> 1;
+    long[] result = new long[a.length + b.length];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while ((i < sizeA) && (j < sizeB)) {
+      int cmp = compareUuid(a, i, b, j);
+      long[] source = (cmp <= 0) ? a : b;
+      int index = (cmp <= 0) ? i : j;
+      result[count << 1] = source[index << 1];
+      result[(count++ << 1) + 1] = source[(index << 1) + 1];
+      if (cmp <= 0) {
+        i++;
+      }
+      if (cmp >= 0) {
+        j++;
+      }
+    }
+    System.arraycopy(a, i << 1, result, count << 1, (sizeA - i) << 1);
+    count += sizeA - i;
+    System.arraycopy(b, j << 1, result, count << 1, (sizeB - j) << 1);
+    count += sizeB - j;
+    return trim(result, count << 1);
+  }
+
+  /**
+   * @param a the first sorted {@link java.util.UUID} pairs.
+   * @param b the second sorted {@link java.util.UUID} pairs.
+   * @return the sorted {@link java.util.UUID} pairs contained in {@code a} but not in {@code b}.
+   */
+  static long[] differenceUuids(long[] a, long[] b) {
+
+    if ((a.length == 0) || (b.length == 0)) {
+      return a;
+    }
+    int sizeA = a.length >> 1;
+    int sizeB = b.length >> 1;
+    long[] result = new long[a.length];
+    int count = 0;
+    int j = 0;
+    boolean gallop = sizeA * (long) GALLOP_RATIO < sizeB;
+    for (int i = 0; i < sizeA; i++) {
+      long msb = a[i << 1];
+      long lsb = a[(i << 1) + 1];
+      if (gallop) {
+        j = gallopUuid(b, j, sizeB, msb, lsb);
+      } else {
+        while ((j < sizeB) && (compareUuid(b[j << 1], b[(j << 1) + 1], msb, lsb) < 0)) {
+          j++;
+        }
+      }
+      if ((j >= sizeB) || (b[j << 1] != msb) || (b[(j << 1) + 1] != lsb)) {
+        result[count << 1] = msb;
+        result[(count++ << 1) + 1] = lsb;
+      }
+    }
+    return trim(result, count << 1);
+  }
+
+  private static long[] trim(long[] values, int length) {
+
+    if (length == values.length) {
+      return values;
+    } else if (length == 0) {
+      return EMPTY;
+    }
+    return Arrays.copyOf(values, length);
+  }
+
+}
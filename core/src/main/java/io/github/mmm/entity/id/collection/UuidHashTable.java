@@ -0,0 +1,317 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash table with linear probing for {@link UUID} keys stored as two primitive {@code long}s per slot
+ * and optional values. Removal uses backward shifting instead of tombstones so lookups never degrade. The nil
+ * {@link UUID} ({@code 00000000-0000-0000-0000-000000000000}) marks a free slot and can therefore not be used as key.
+ *
+ * @since 1.0.0
+ * @see LongHashTable
+ */
+final class UuidHashTable {
+
+  private final boolean withValues;
+
+  /** {@link UUID#getMostSignificantBits() Most} and {@link UUID#getLeastSignificantBits() least} significant bits. */
+  long[] keys;
+
+  Object[] values;
+
+  int size;
+
+  private int mask;
+
+  private int maxFill;
+
+  /**
+   * The constructor.
+   *
+   * @param expectedSize the expected number of entries.
+   * @param withValues {@code true} to also store {@link #values}, {@code false} otherwise (for a set).
+   */
+  UuidHashTable(int expectedSize, boolean withValues) {
+
+    super();
+    this.withValues = withValues;
+    allocate(IdHash.capacity(expectedSize));
+  }
+
+  private void allocate(int capacity) {
+
+    this.keys = new long[capacity * 2];
+    if (this.withValues) {
+      this.values = new Object[capacity];
+    }
+    this.mask = capacity - 1;
+    this.maxFill = IdHash.maxFill(capacity);
+  }
+
+  /**
+   * @param mostSigBits the {@link UUID#getMostSignificantBits() most significant bits}.
+   * @param leastSigBits the {@link UUID#getLeastSignificantBits() least significant bits}.
+   * @return {@code true} if the given bits represent the nil {@link UUID} that marks a free slot.
+   */
+  static boolean isFree(long mostSigBits, long leastSigBits) {
+
+    return (mostSigBits | leastSigBits) == 0;
+  }
+
+  /**
+   * @param msb the {@link UUID#getMostSignificantBits() most significant bits} of the key to find.
+   * @param lsb the {@link UUID#getLeastSignificantBits() least significant bits} of the key to find.
+   * @return the slot of the given key or the bitwise complement of the slot where to insert it if absent.
+   */
+  int find(long msb, long lsb) {
+
+    int slot = IdHash.hash(msb, lsb) & this.mask;
+    while (true) {
+      int i = slot << 1;
+      long currentMsb = this.keys[i];
+      long currentLsb = this.keys[i + 1];
+      if ((currentMsb == msb) && (currentLsb == lsb)) {
+        return slot;
+      } else if (isFree(currentMsb, currentLsb)) {
+        return ~slot;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+  }
+
+  /**
+   * @param msb the {@link UUID#getMostSignificantBits() most significant bits} of the key to insert.
+   * @param lsb the {@link UUID#getLeastSignificantBits() least significant bits} of the key to insert.
+   * @return the slot where the given key has been inserted or the bitwise complement of its slot if it was already
+   *         present.
+   */
+  int insert(long msb, long lsb) {
+
+    int slot = find(msb, lsb);
+    if (slot >= 0) {
+      return ~slot;
+    }
+    if (this.size >= this.maxFill) {
+      rehash(IdHash.grow(this.mask + 1));
+      slot = find(msb, lsb);
+    }
+    slot = ~slot;
+    this.keys[slot << 1] = msb;
+    this.keys[(slot << 1) + 1] = lsb;
+    this.size++;
+    return slot;
+  }
+
+  /**
+   * @param slot the slot of the key.
+   * @return the key at the given {@code slot} as {@link UUID}.
+   */
+  UUID getKey(int slot) {
+
+    return new UUID(this.keys[slot << 1], this.keys[(slot << 1) + 1]);
+  }
+
+  /**
+   * @param slot the slot of the entry to remove.
+   * @return the value of the removed entry or {@code null} for a set.
+   */
+  Object removeAt(int slot) {
+
+    return removeAt(slot, null);
+  }
+
+  private Object removeAt(int slot, Cursor cursor) {
+
+    Object old = null;
+    if (this.withValues) {
+      old = this.values[slot];
+    }
+    this.size--;
+    shift(slot, cursor);
+    return old;
+  }
+
+  /**
+   * Closes the gap at the given {@code slot} by moving subsequent entries of the same probe sequence backwards.
+   */
+  private void shift(int slot, Cursor cursor) {
+
+    int last = slot;
+    int pos = slot;
+    while (true) {
+      pos = (pos + 1) & this.mask;
+      long msb = this.keys[pos << 1];
+      long lsb = this.keys[(pos << 1) + 1];
+      if (isFree(msb, lsb)) {
+        this.keys[last << 1] = 0;
+        this.keys[(last << 1) + 1] = 0;
+        if (this.withValues) {
+          this.values[last] = null;
+        }
+        return;
+      }
+      int home = IdHash.hash(msb, lsb) & this.mask;
+      // entry may only move to last if its home slot is not within the cyclic range (last, pos]
+      boolean movable = (last <= pos) ? ((home <= last) || (home > pos)) : ((home <= last) && (home > pos));
+      if (movable) {
+        if ((cursor != null) && (pos < last)) {
+          // entry wraps around from the not yet visited to the already visited part of the table
+          cursor.addWrapped(msb, lsb);
+        }
+        this.keys[last << 1] = msb;
+        this.keys[(last << 1) + 1] = lsb;
+        if (this.withValues) {
+          this.values[last] = this.values[pos];
+        }
+        last = pos;
+      }
+    }
+  }
+
+  private void rehash(int capacity) {
+
+    long[] oldKeys = this.keys;
+    Object[] oldValues = this.values;
+    allocate(capacity);
+    for (int i = (oldKeys.length >> 1) - 1; i >= 0; i--) {
+      long msb = oldKeys[i << 1];
+      long lsb = oldKeys[(i << 1) + 1];
+      if (!isFree(msb, lsb)) {
+        int slot = ~find(msb, lsb);
+        this.keys[slot << 1] = msb;
+        this.keys[(slot << 1) + 1] = lsb;
+        if (oldValues != null) {
+          this.values[slot] = oldValues[i];
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  void clear() {
+
+    if (this.size == 0) {
+      return;
+    }
+    Arrays.fill(this.keys, 0);
+    if (this.withValues) {
+      Arrays.fill(this.values, null);
+    }
+    this.size = 0;
+  }
+
+  /**
+   * @return a new {@link Cursor} to iterate the entries.
+   */
+  Cursor cursor() {
+
+    return new Cursor();
+  }
+
+  /**
+   * Iterates the slots from the end to the start of the table. Supports {@link #remove() removal} of the current entry
+   * by remembering entries that have been moved from the not yet visited into the already visited part.
+   */
+  final class Cursor {
+
+    private static final int NONE = -1;
+
+    private static final int WRAPPED = -2;
+
+    private int pos;
+
+    private int last;
+
+    private long lastMsb;
+
+    private long lastLsb;
+
+    private int remaining;
+
+    private long[] wrapped;
+
+    private int wrappedCount;
+
+    private int wrappedIndex;
+
+    private Cursor() {
+
+      super();
+      this.pos = UuidHashTable.this.mask + 1;
+      this.last = NONE;
+      this.remaining = UuidHashTable.this.size;
+    }
+
+    /**
+     * @return {@code true} if there is a next entry, {@code false} otherwise.
+     */
+    boolean hasNext() {
+
+      return this.remaining > 0;
+    }
+
+    /**
+     * @return the slot of the next entry.
+     */
+    int next() {
+
+      if (this.remaining <= 0) {
+        throw new NoSuchElementException();
+      }
+      this.remaining--;
+      long[] k = UuidHashTable.this.keys;
+      while (this.pos > 0) {
+        this.pos--;
+        long msb = k[this.pos << 1];
+        long lsb = k[(this.pos << 1) + 1];
+        if (!isFree(msb, lsb)) {
+          this.last = this.pos;
+          this.lastMsb = msb;
+          this.lastLsb = lsb;
+          return this.pos;
+        }
+      }
+      if (this.wrappedIndex >= this.wrappedCount) {
+        throw new ConcurrentModificationException();
+      }
+      this.last = WRAPPED;
+      this.lastMsb = this.wrapped[this.wrappedIndex++];
+      this.lastLsb = this.wrapped[this.wrappedIndex++];
+      return find(this.lastMsb, this.lastLsb);
+    }
+
+    /**
+     * Removes the entry returned by the last call of {@link #next()}.
+     */
+    void remove() {
+
+      if (this.last == NONE) {
+        throw new IllegalStateException();
+      } else if (this.last == WRAPPED) {
+        removeAt(find(this.lastMsb, this.lastLsb), null);
+      } else {
+        removeAt(this.last, this);
+      }
+      this.last = NONE;
+    }
+
+    private void addWrapped(long msb, long lsb) {
+
+      if (this.wrapped == null) {
+        this.wrapped = new long[8];
+      } else if (this.wrappedCount == this.wrapped.length) {
+        this.wrapped = Arrays.copyOf(this.wrapped, this.wrappedCount * 2);
+      }
+      this.wrapped[this.wrappedCount++] = msb;
+      this.wrapped[this.wrappedCount++] = lsb;
+    }
+  }
+
+}
@@ -0,0 +1,315 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+import io.github.mmm.entity.link.Link;
+
+/**
+ * Immutable {@link java.util.Set} of {@link Id}s with {@link UUID} {@link Id#getPk() primary keys} for a single
+ * {@link #getEntityClass() entity class} stored as sorted array of distinct {@link UUID}s with two {@code long} values
+ * per {@link UUID}. The order is the unsigned order of the {@link UUID} bits what is the same as the order of their
+ * {@link UUID#toString() string representation}. {@link #contains(UUID)} uses binary search and
+ * {@link #intersection(UuidIdArray) intersection}, {@link #union(UuidIdArray) union} and
+ * {@link #difference(UuidIdArray) difference} merge the sorted arrays (galloping through the larger one if the sizes
+ * differ a lot).<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are
+ * ignored.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see LongIdArray
+ */
+public final class UuidIdArray<E> extends AbstractSet<Id<E>> {
+
+  private final Class<E> entityClass;
+
+  /** Pairs of most and least significant bits. */
+  private final long[] pks;
+
+  private UuidIdArray(Class<E> entityClass, long[] pks) {
+
+    super();
+    this.entityClass = entityClass;
+    this.pks = pks;
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s in this set.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @param index the index of the requested {@link Id} in ascending order.
+   * @return the {@link PkIdUuid#getPk() primary key} at the given index.
+   */
+  public UUID getPk(int index) {
+
+    Objects.checkIndex(index, size());
+    return new UUID(this.pks[index << 1], this.pks[(index << 1) + 1]);
+  }
+
+  /**
+   * @param index the index of the requested {@link Id} in ascending order.
+   * @return the {@link Id} at the given index.
+   */
+  public Id<E> get(int index) {
+
+    return new PkIdUuid<>(this.entityClass, getPk(index));
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key} to find.
+   * @return the index of the given {@code pk} or a negative value if not contained.
+   */
+  public int indexOf(UUID pk) {
+
+    if (pk == null) {
+      return -1;
+    }
+    long msb = pk.getMostSignificantBits();
+    long lsb = pk.getLeastSignificantBits();
+    int size = size();
+    int index = SortedIdArrays.binarySearchUuid(this.pks, 0, size, msb, lsb);
+    if ((index < size) && (this.pks[index << 1] == msb) && (this.pks[(index << 1) + 1] == lsb)) {
+      return index;
+    }
+    return -1;
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key} to check.
+   * @return {@code true} if contained, {@code false} otherwise.
+   */
+  public boolean contains(UUID pk) {
+
+    return indexOf(pk) >= 0;
+  }
+
+  /**
+   * @param other the {@link UuidIdArray} to intersect with.
+   * @return a new {@link UuidIdArray} with the {@link Id}s contained in both this and the given {@link UuidIdArray}.
+   */
+  public UuidIdArray<E> intersection(UuidIdArray<E> other) {
+
+    verifyCompatible(other);
+    return new UuidIdArray<>(this.entityClass, SortedIdArrays.intersectUuids(this.pks, other.pks));
+  }
+
+  /**
+   * @param other the {@link UuidIdArray} to unite with.
+   * @return a new {@link UuidIdArray} with the {@link Id}s contained in this or the given {@link UuidIdArray}.
+   */
+  public UuidIdArray<E> union(UuidIdArray<E> other) {
+
+    verifyCompatible(other);
+    return new UuidIdArray<>(this.entityClass, SortedIdArrays.unionUuids(this.pks, other.pks));
+  }
+
+  /**
+   * @param other the {@link UuidIdArray} to subtract.
+   * @return a new {@link UuidIdArray} with the {@link Id}s contained in this but not in the given {@link UuidIdArray}.
+   */
+  public UuidIdArray<E> difference(UuidIdArray<E> other) {
+
+    verifyCompatible(other);
+    return new UuidIdArray<>(this.entityClass, SortedIdArrays.differenceUuids(this.pks, other.pks));
+  }
+
+  private void verifyCompatible(UuidIdArray<?> other) {
+
+    if (!this.entityClass.equals(other.entityClass)) {
+      throw new IllegalArgumentException(
+          "Can not combine IDs of " + this.entityClass.getName() + " with " + other.entityClass.getName());
+    }
+  }
+
+  @Override
+  public boolean contains(Object o) {
+
+    return contains(IdKeys.toUuid(o, this.entityClass));
+  }
+
+  @Override
+  public int size() {
+
+    return this.pks.length >> 1;
+  }
+
+  @Override
+  public Iterator<Id<E>> iterator() {
+
+    return new IdIterator();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+
+    if (o instanceof UuidIdArray<?> other) {
+      return this.entityClass.equals(other.entityClass) && Arrays.equals(this.pks, other.pks);
+    }
+    return super.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+
+    // same as sum of PkIdUuid.hashCode() without creating the IDs
+    int hash = 0;
+    for (int i = 0; i < this.pks.length; i += 2) {
+      long bits = this.pks[i] ^ this.pks[i + 1];
+      hash += ~(((int) (bits >> 32)) ^ (int) bits);
+    }
+    return hash;
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param ids the {@link Id}s in any order. May contain duplicates.
+   * @return the according {@link UuidIdArray}.
+   */
+  public static <E> UuidIdArray<E> ofIds(Class<E> entityClass, Collection<? extends Id<E>> ids) {
+
+    Builder<E> builder = builder(entityClass, ids.size());
+    for (Id<E> id : ids) {
+      builder.add(id);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param <E> type of the linked entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param links the {@link Link}s in any order. May contain duplicates.
+   * @return the according {@link UuidIdArray} with the {@link Link#getId() IDs} of the given {@link Link}s.
+   */
+  public static <E> UuidIdArray<E> ofLinks(Class<E> entityClass, Collection<? extends Link<E>> links) {
+
+    Builder<E> builder = builder(entityClass, links.size());
+    for (Link<E> link : links) {
+      builder.add(link);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @return a new {@link Builder}.
+   */
+  public static <E> Builder<E> builder(Class<E> entityClass) {
+
+    return builder(entityClass, 16);
+  }
+
+  /**
+   * @param <E> type of the identified entity.
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedSize the expected number of {@link Id}s to add.
+   * @return a new {@link Builder}.
+   */
+  public static <E> Builder<E> builder(Class<E> entityClass, int expectedSize) {
+
+    return new Builder<>(entityClass, expectedSize);
+  }
+
+  private final class IdIterator implements Iterator<Id<E>> {
+
+    private int index;
+
+    @Override
+    public boolean hasNext() {
+
+      return this.index < size();
+    }
+
+    @Override
+    public Id<E> next() {
+
+      if (this.index >= size()) {
+        throw new NoSuchElementException();
+      }
+      return get(this.index++);
+    }
+  }
+
+  /**
+   * {@link io.github.mmm.base.lang.Builder} to collect unsorted {@link PkIdUuid#getPk() primary keys} (with potential
+   * duplicates) into a {@link UuidIdArray}.
+   *
+   * @param <E> type of the identified entity.
+   */
+  public static final class Builder<E> implements io.github.mmm.base.lang.Builder<UuidIdArray<E>> {
+
+    private final Class<E> entityClass;
+
+    private long[] pks;
+
+    private int size;
+
+    private Builder(Class<E> entityClass, int expectedSize) {
+
+      super();
+      Objects.requireNonNull(entityClass, "entityClass");
+      this.entityClass = entityClass;
+      this.pks = new long[expectedSize * 2];
+    }
+
+    /**
+     * @param pk the {@link PkIdUuid#getPk() primary key} to add.
+     * @return this builder for fluent API calls.
+     */
+    public Builder<E> add(UUID pk) {
+
+      int index = this.size << 1;
+      if (index == this.pks.length) {
+        this.pks = Arrays.copyOf(this.pks, Math.max(index * 2, 32));
+      }
+      this.pks[index] = pk.getMostSignificantBits();
+      this.pks[index + 1] = pk.getLeastSignificantBits();
+      this.size++;
+      return this;
+    }
+
+    /**
+     * @param id the {@link Id} to add.
+     * @return this builder for fluent API calls.
+     */
+    public Builder<E> add(Id<E> id) {
+
+      return add(IdKeys.requireUuid(id, this.entityClass));
+    }
+
+    /**
+     * @param link the {@link Link} with the {@link Link#getId() ID} to add.
+     * @return this builder for fluent API calls.
+     */
+    public Builder<E> add(Link<E> link) {
+
+      return add(link.getId());
+    }
+
+    @Override
+    public UuidIdArray<E> build() {
+
+      long[] sorted = SortedIdArrays.sortUniqueUuids(this.pks, this.size);
+      this.pks = new long[0];
+      this.size = 0;
+      return new UuidIdArray<>(this.entityClass, sorted);
+    }
+  }
+
+}
@@ -0,0 +1,326 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * {@link java.util.Map} with {@link Id}s with {@link UUID} {@link Id#getPk() primary keys} for a single
+ * {@link #getEntityClass() entity class} as keys. Instead of a {@link java.util.HashMap} with a node, an {@link Id}
+ * and a {@link UUID} per entry, it only stores two raw {@code long} values per key and the values in an
+ * open-addressing hash table. The {@link #entrySet() entry set} and the {@link PkIdUuid}s are created lazily so this
+ * map can be passed to any code expecting a {@link java.util.Map}.<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are ignored
+ * and the nil {@link UUID} can not be used as key. This map is not thread-safe.
+ *
+ * @param <E> type of the identified entity.
+ * @param <V> type of the values.
+ * @since 1.0.0
+ * @see UuidIdSet
+ * @see LongIdMap
+ */
+public class UuidIdMap<E, V> extends AbstractMap<Id<E>, V> {
+
+  private final Class<E> entityClass;
+
+  private final UuidHashTable table;
+
+  private Set<Entry<Id<E>, V>> entrySet;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   */
+  public UuidIdMap(Class<E> entityClass) {
+
+    this(entityClass, 0);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedSize the expected number of entries to avoid rehashing.
+   */
+  public UuidIdMap(Class<E> entityClass, int expectedSize) {
+
+    super();
+    Objects.requireNonNull(entityClass, "entityClass");
+    this.entityClass = entityClass;
+    this.table = new UuidHashTable(expectedSize, true);
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s used as keys in this map.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key}.
+   * @return {@code true} if this map contains the given key, {@code false} otherwise.
+   */
+  public boolean containsKey(UUID pk) {
+
+    return (pk != null) && (this.table.find(pk.getMostSignificantBits(), pk.getLeastSignificantBits()) >= 0);
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key}.
+   * @return the value associated with the given key or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V get(UUID pk) {
+
+    if (pk == null) {
+      return null;
+    }
+    int slot = this.table.find(pk.getMostSignificantBits(), pk.getLeastSignificantBits());
+    if (slot < 0) {
+      return null;
+    }
+    return (V) this.table.values[slot];
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key}.
+   * @param value the value to associate with the given key.
+   * @return the value previously associated with the given key or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V put(UUID pk, V value) {
+
+    IdKeys.verifyUuid(pk);
+    int slot = this.table.insert(pk.getMostSignificantBits(), pk.getLeastSignificantBits());
+    V old = null;
+    if (slot < 0) {
+      slot = ~slot;
+      old = (V) this.table.values[slot];
+    }
+    this.table.values[slot] = value;
+    return old;
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key}.
+   * @return the value previously associated with the given key or {@code null} if none.
+   */
+  @SuppressWarnings("unchecked")
+  public V remove(UUID pk) {
+
+    if (pk == null) {
+      return null;
+    }
+    int slot = this.table.find(pk.getMostSignificantBits(), pk.getLeastSignificantBits());
+    if (slot < 0) {
+      return null;
+    }
+    return (V) this.table.removeAt(slot);
+  }
+
+  @Override
+  public int size() {
+
+    return this.table.size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.table.size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+
+    return containsKey(IdKeys.toUuid(key, this.entityClass));
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+
+    long[] keys = this.table.keys;
+    Object[] values = this.table.values;
+    for (int i = 0; i < values.length; i++) {
+      if (!UuidHashTable.isFree(keys[i << 1], keys[(i << 1) + 1]) && Objects.equals(values[i], value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public V get(Object key) {
+
+    return get(IdKeys.toUuid(key, this.entityClass));
+  }
+
+  @Override
+  public V put(Id<E> key, V value) {
+
+    return put(IdKeys.requireUuid(key, this.entityClass), value);
+  }
+
+  @Override
+  public V remove(Object key) {
+
+    return remove(IdKeys.toUuid(key, this.entityClass));
+  }
+
+  @Override
+  public void clear() {
+
+    this.table.clear();
+  }
+
+  @Override
+  public Set<Entry<Id<E>, V>> entrySet() {
+
+    if (this.entrySet == null) {
+      this.entrySet = new EntrySet();
+    }
+    return this.entrySet;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<Id<E>, V>> {
+
+    @Override
+    public int size() {
+
+      return UuidIdMap.this.table.size;
+    }
+
+    @Override
+    public void clear() {
+
+      UuidIdMap.this.table.clear();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+
+      if (o instanceof Entry<?, ?> entry) {
+        UUID pk = IdKeys.toUuid(entry.getKey(), UuidIdMap.this.entityClass);
+        return containsKey(pk) && Objects.equals(get(pk), entry.getValue());
+      }
+      return false;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+
+      if (contains(o)) {
+        UuidIdMap.this.remove(((Entry<?, ?>) o).getKey());
+        return true;
+      }
+      return false;
+    }
+
+    @Override
+    public Iterator<Entry<Id<E>, V>> iterator() {
+
+      return new EntryIterator();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<Id<E>, V>> {
+
+    private final UuidHashTable.Cursor cursor;
+
+    private EntryIterator() {
+
+      super();
+      this.cursor = UuidIdMap.this.table.cursor();
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      return this.cursor.hasNext();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Entry<Id<E>, V> next() {
+
+      int slot = this.cursor.next();
+      return new PkEntry(UuidIdMap.this.table.getKey(slot), (V) UuidIdMap.this.table.values[slot]);
+    }
+
+    @Override
+    public void remove() {
+
+      this.cursor.remove();
+    }
+  }
+
+  private final class PkEntry implements Entry<Id<E>, V> {
+
+    private final UUID pk;
+
+    private V value;
+
+    private PkEntry(UUID pk, V value) {
+
+      super();
+      this.pk = pk;
+      this.value = value;
+    }
+
+    @Override
+    public Id<E> getKey() {
+
+      return new PkIdUuid<>(UuidIdMap.this.entityClass, this.pk);
+    }
+
+    @Override
+    public V getValue() {
+
+      return this.value;
+    }
+
+    @Override
+    public V setValue(V newValue) {
+
+      V old = this.value;
+      this.value = newValue;
+      put(this.pk, newValue);
+      return old;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+      if (obj == this) {
+        return true;
+      } else if (obj instanceof Entry<?, ?> entry) {
+        return getKey().equals(entry.getKey()) && Objects.equals(this.value, entry.getValue());
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+
+      return ~this.pk.hashCode() ^ Objects.hashCode(this.value);
+    }
+
+    @Override
+    public String toString() {
+
+      return getKey() + "=" + this.value;
+    }
+  }
+
+}
@@ -0,0 +1,201 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * {@link java.util.Set} of {@link Id}s with {@link UUID} {@link Id#getPk() primary keys} for a single
+ * {@link #getEntityClass() entity class}. Instead of a {@link java.util.HashSet} with a node, an {@link Id} and a
+ * {@link UUID} per entry, it only stores two raw {@code long} values per entry in an open-addressing hash table. The
+ * {@link PkIdUuid}s are created lazily on {@link #iterator() iteration} so this set can be passed to any code
+ * expecting a {@link java.util.Set}.<br>
+ * <b>ATTENTION:</b> Only the {@link Id#getPk() primary key} is stored so {@link Id#getRevision() revisions} are ignored
+ * and the nil {@link UUID} can not be added. This set is not thread-safe.
+ *
+ * @param <E> type of the identified entity.
+ * @since 1.0.0
+ * @see LongIdSet
+ */
+public class UuidIdSet<E> extends AbstractSet<Id<E>> {
+
+  private final Class<E> entityClass;
+
+  private final UuidHashTable table;
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   */
+  public UuidIdSet(Class<E> entityClass) {
+
+    this(entityClass, 0);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param entityClass the {@link #getEntityClass() entity class}.
+   * @param expectedSize the expected number of {@link Id}s to avoid rehashing.
+   */
+  public UuidIdSet(Class<E> entityClass, int expectedSize) {
+
+    super();
+    Objects.requireNonNull(entityClass, "entityClass");
+    this.entityClass = entityClass;
+    this.table = new UuidHashTable(expectedSize, false);
+  }
+
+  /**
+   * @return the {@link Id#getEntityClass() entity class} of all {@link Id}s in this set.
+   */
+  public Class<E> getEntityClass() {
+
+    return this.entityClass;
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key} to add.
+   * @return {@code true} if added, {@code false} if already contained.
+   */
+  public boolean add(UUID pk) {
+
+    IdKeys.verifyUuid(pk);
+    return this.table.insert(pk.getMostSignificantBits(), pk.getLeastSignificantBits()) >= 0;
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key} to check.
+   * @return {@code true} if contained, {@code false} otherwise.
+   */
+  public boolean contains(UUID pk) {
+
+    return (pk != null) && (this.table.find(pk.getMostSignificantBits(), pk.getLeastSignificantBits()) >= 0);
+  }
+
+  /**
+   * @param pk the {@link PkIdUuid#getPk() primary key} to remove.
+   * @return {@code true} if removed, {@code false} if not contained.
+   */
+  public boolean remove(UUID pk) {
+
+    if (pk == null) {
+      return false;
+    }
+    int slot = this.table.find(pk.getMostSignificantBits(), pk.getLeastSignificantBits());
+    if (slot < 0) {
+      return false;
+    }
+    this.table.removeAt(slot);
+    return true;
+  }
+
+  /**
+   * @param action the {@link Consumer} called for each contained {@link PkIdUuid#getPk() primary key}.
+   */
+  public void forEachPk(Consumer<UUID> action) {
+
+    long[] keys = this.table.keys;
+    for (int i = 0; i < keys.length; i += 2) {
+      if (!UuidHashTable.isFree(keys[i], keys[i + 1])) {
+        action.accept(new UUID(keys[i], keys[i + 1]));
+      }
+    }
+  }
+
+  @Override
+  public boolean add(Id<E> id) {
+
+    return add(IdKeys.requireUuid(id, this.entityClass));
+  }
+
+  @Override
+  public boolean contains(Object o) {
+
+    return contains(IdKeys.toUuid(o, this.entityClass));
+  }
+
+  @Override
+  public boolean remove(Object o) {
+
+    return remove(IdKeys.toUuid(o, this.entityClass));
+  }
+
+  @Override
+  public int size() {
+
+    return this.table.size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+
+    return this.table.size == 0;
+  }
+
+  @Override
+  public void clear() {
+
+    this.table.clear();
+  }
+
+  @Override
+  public Iterator<Id<E>> iterator() {
+
+    return new IdIterator();
+  }
+
+  @Override
+  public int hashCode() {
+
+    // same as sum of PkIdUuid.hashCode() without creating the IDs
+    int hash = 0;
+    long[] keys = this.table.keys;
+    for (int i = 0; i < keys.length; i += 2) {
+      if (!UuidHashTable.isFree(keys[i], keys[i + 1])) {
+        long bits = keys[i] ^ keys[i + 1];
+        hash += ~(((int) (bits >> 32)) ^ (int) bits);
+      }
+    }
+    return hash;
+  }
+
+  private final class IdIterator implements Iterator<Id<E>> {
+
+    private final UuidHashTable.Cursor cursor;
+
+    private IdIterator() {
+
+      super();
+      this.cursor = UuidIdSet.this.table.cursor();
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      return this.cursor.hasNext();
+    }
+
+    @Override
+    public Id<E> next() {
+
+      int slot = this.cursor.next();
+      return new PkIdUuid<>(UuidIdSet.this.entityClass, UuidIdSet.this.table.getKey(slot));
+    }
+
+    @Override
+    public void remove() {
+
+      this.cursor.remove();
+    }
+  }
+
+}
@@ -0,0 +1,57 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import io.github.mmm.entity.id.GenericId;
+import io.github.mmm.entity.id.Id;
+
+/**
+ * Helper for {@link IdGenerator#generate(Id, int)} to create the {@link Id}s of a batch directly with their initial
+ * {@link Id#getRevision() revision} instead of creating an intermediate {@link Id} via
+ * {@link GenericId#updateRevision()} for each {@link Id}.
+ */
+final class IdBatch {
+
+  private IdBatch() {
+
+  }
+
+  /**
+   * @param count the number of {@link Id}s to generate.
+   * @return {@code true} if {@code count} is positive, {@code false} if zero.
+   * @throws IllegalArgumentException if {@code count} is negative.
+   */
+  static boolean verifyCount(int count) {
+
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative but was " + count);
+    }
+    return (count > 0);
+  }
+
+  /**
+   * @param <E> type of the {@link io.github.mmm.entity.Entity}.
+   * @param template the {@link Id#isTransient() transient} {@link Id} of the {@link io.github.mmm.entity.Entity entity}
+   *        to insert.
+   * @param count the number of {@link Id}s to create.
+   * @param pkFactory the {@link IntFunction} providing the {@link Id#getPk() primary key} for the given index.
+   * @return the {@link List} with the new {@link Id}s.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static <E> List<Id<E>> create(Id<E> template, int count, IntFunction<Object> pkFactory) {
+
+    Class<E> entityType = template.getEntityClass();
+    GenericId gid = (GenericId) template;
+    Comparable<?> revision = gid.updateRevision((Comparable) null);
+    Id<E>[] ids = new Id[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = gid.create(entityType, pkFactory.apply(i), revision);
+    }
+    return Arrays.asList(ids);
+  }
+
+}
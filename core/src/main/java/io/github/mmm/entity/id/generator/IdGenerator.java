@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id.generator;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.github.mmm.entity.id.Id;
 
 /**
@@ -19,4 +22,28 @@ public interface IdGenerator {
    */
   <E> Id<E> generate(Id<E> template);
 
+  /**
+   * Generates multiple {@link Id}s at once e.g. for bulk imports. Implementations should override this method to
+   * reserve all primary keys with a single operation and create the {@link Id}s directly. All generated {@link Id}s
+   * get the same initial {@link Id#getRevision() revision}.
+   *
+   * @param <E> type of the {@link io.github.mmm.entity.Entity}.
+   * @param template the {@link Id#isTransient() transient} {@link Id} of the {@link io.github.mmm.entity.Entity entity}
+   *        to insert.
+   * @param count the number of {@link Id}s to generate.
+   * @return the {@link List} with the given {@code count} of new unique {@link Id}s.
+   * @see #generate(Id)
+   */
+  default <E> List<Id<E>> generate(Id<E> template, int count) {
+
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative but was " + count);
+    }
+    List<Id<E>> ids = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      ids.add(generate(template));
+    }
+    return ids;
+  }
+
 }
@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id.generator;
 
+import java.util.List;
+
 import io.github.mmm.entity.id.GenericId;
 import io.github.mmm.entity.id.Id;
 import io.github.mmm.entity.id.PkIdLong;
@@ -37,4 +39,11 @@ public class SequenceIdGenerator implements IdGenerator {
     return gid.create(entityType, pk, null).updateRevision();
   }
 
+  @Override
+  public <E> List<Id<E>> generate(Id<E> template, int count) {
+
+    long[] pks = this.sequence.next(template, count);
+    return IdBatch.create(template, count, i -> Long.valueOf(pks[i]));
+  }
+
 }
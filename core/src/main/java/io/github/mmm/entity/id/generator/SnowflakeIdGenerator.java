@@ -0,0 +1,235 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.GenericId;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * {@link IdGenerator} for {@link PkIdLong} that allows multiple nodes (JVMs) to generate unique IDs without any
+ * coordination. Each generated {@link PkIdLong#getPk() primary key} is a positive {@code long} composed of:
+ * <ul>
+ * <li>41 bits: milliseconds since the {@link #getEpoch() epoch} (about 69 years)</li>
+ * <li>10 bits: the {@link #getNodeId() node ID} that has to be unique per node (0-1023)</li>
+ * <li>12 bits: counter within the same millisecond (0-4095)</li>
+ * </ul>
+ * IDs are generated lock-free and are strictly increasing per instance. If more than 4096 IDs are requested within a
+ * single millisecond or the clock goes backwards (e.g. due to NTP adjustments), the generator continues with its last
+ * timestamp and lets the counter carry over into the timestamp instead of blocking or failing. Hence, uniqueness is
+ * guaranteed as long as each node ID is only used by a single instance at a time and the clock of a restarted node is
+ * not behind the IDs it generated before.
+ *
+ * @since 1.0.0
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+  /** The default {@link #getEpoch() epoch}: {@code 2020-01-01T00:00:00Z}. */
+  public static final Instant DEFAULT_EPOCH = Instant.ofEpochSecond(1577836800L);
+
+  /** The maximum {@link #getNodeId() node ID}. */
+  public static final int MAX_NODE_ID = 1023;
+
+  private static final int COUNTER_BITS = 12;
+
+  private static final int NODE_BITS = 10;
+
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+  private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+  private final int nodeId;
+
+  private final Instant epoch;
+
+  private final long epochMillis;
+
+  private final Clock clock;
+
+  /** Milliseconds since the epoch shifted by {@link #COUNTER_BITS} plus counter of the last generated ID. */
+  private final AtomicLong state;
+
+  /**
+   * The constructor.
+   *
+   * @param nodeId the {@link #getNodeId() node ID}.
+   */
+  public SnowflakeIdGenerator(int nodeId) {
+
+    this(nodeId, DEFAULT_EPOCH, Clock.systemUTC());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param nodeId the {@link #getNodeId() node ID}.
+   * @param epoch the {@link #getEpoch() epoch}.
+   * @param clock the {@link Clock} providing the {@link Clock#millis() current time}.
+   */
+  public SnowflakeIdGenerator(int nodeId, Instant epoch, Clock clock) {
+
+    super();
+    if ((nodeId < 0) || (nodeId > MAX_NODE_ID)) {
+      throw new IllegalArgumentException("Node ID " + nodeId + " has to be in the range from 0 to " + MAX_NODE_ID);
+    }
+    this.nodeId = nodeId;
+    this.epoch = epoch;
+    this.epochMillis = epoch.toEpochMilli();
+    this.clock = clock;
+    this.state = new AtomicLong();
+  }
+
+  /**
+   * @return the node ID that is unique for this generator in the cluster. Will be encoded into every generated ID.
+   */
+  public int getNodeId() {
+
+    return this.nodeId;
+  }
+
+  /**
+   * @return the point in time from where the timestamps of the generated IDs are counted. Must never be changed once
+   *         IDs have been generated.
+   */
+  public Instant getEpoch() {
+
+    return this.epoch;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Override
+  public <E> Id<E> generate(Id<E> template) {
+
+    Class<E> entityType = template.getEntityClass();
+    Long pk = Long.valueOf(generateLong());
+    GenericId gid = (GenericId) template;
+    return gid.create(entityType, pk, null).updateRevision();
+  }
+
+  @Override
+  public <E> List<Id<E>> generate(Id<E> template, int count) {
+
+    if (!IdBatch.verifyCount(count)) {
+      return List.of();
+    }
+    long start = nextTimeAndCounter(count);
+    return IdBatch.create(template, count, i -> Long.valueOf(toLong(start + i)));
+  }
+
+  /**
+   * @return the next unique ID as {@code long}.
+   */
+  public long generateLong() {
+
+    return toLong(nextTimeAndCounter(1));
+  }
+
+  private long toLong(long timeAndCounter) {
+
+    long timestamp = timeAndCounter >>> COUNTER_BITS;
+    if (timestamp > MAX_TIMESTAMP) {
+      throw new IllegalStateException("Timestamp range exhausted for epoch " + this.epoch);
+    }
+    return (timestamp << (NODE_BITS + COUNTER_BITS)) | (((long) this.nodeId) << COUNTER_BITS)
+        | (timeAndCounter & COUNTER_MASK);
+  }
+
+  /**
+   * @param count the number of subsequent values to reserve.
+   * @return the first reserved value.
+   */
+  private long nextTimeAndCounter(int count) {
+
+    long now = this.clock.millis() - this.epochMillis;
+    if (now < 0) {
+      throw new IllegalStateException("Clock " + Instant.ofEpochMilli(this.clock.millis()) + " is before epoch "
+          + this.epoch);
+    }
+    now = now << COUNTER_BITS;
+    while (true) {
+      long last = this.state.get();
+      long next;
+      if (now > last) {
+        next = now;
+      } else {
+        // same millisecond, clock regression or counter overflow (then carries into the timestamp)
+        next = last + 1;
+      }
+      if (this.state.compareAndSet(last, next + count - 1)) {
+        return next;
+      }
+    }
+  }
+
+  /**
+   * @param id the ID generated by this generator.
+   * @return the point in time encoded in the given {@code id}.
+   */
+  public Instant getTimestamp(long id) {
+
+    return Instant.ofEpochMilli(this.epochMillis + (id >>> (NODE_BITS + COUNTER_BITS)));
+  }
+
+  /**
+   * @param id the {@link Id} generated by this generator.
+   * @return the point in time encoded in the given {@link Id}.
+   */
+  public Instant getTimestamp(Id<?> id) {
+
+    return getTimestamp(getPk(id));
+  }
+
+  /**
+   * @param id the ID generated by a {@link SnowflakeIdGenerator}.
+   * @return the {@link #getNodeId() node ID} encoded in the given {@code id}.
+   */
+  public static int getNodeId(long id) {
+
+    return (int) ((id >>> COUNTER_BITS) & MAX_NODE_ID);
+  }
+
+  /**
+   * @param id the {@link Id} generated by a {@link SnowflakeIdGenerator}.
+   * @return the {@link #getNodeId() node ID} encoded in the given {@link Id}.
+   */
+  public static int getNodeId(Id<?> id) {
+
+    return getNodeId(getPk(id));
+  }
+
+  /**
+   * @param id the ID generated by a {@link SnowflakeIdGenerator}.
+   * @return the counter encoded in the given {@code id}.
+   */
+  public static int getCounter(long id) {
+
+    return (int) (id & COUNTER_MASK);
+  }
+
+  /**
+   * @param id the {@link Id} generated by a {@link SnowflakeIdGenerator}.
+   * @return the counter encoded in the given {@link Id}.
+   */
+  public static int getCounter(Id<?> id) {
+
+    return getCounter(getPk(id));
+  }
+
+  private static long getPk(Id<?> id) {
+
+    if (id instanceof PkIdLong<?> pkIdLong) {
+      if (pkIdLong.hasPk()) {
+        return pkIdLong.getPkAsLong();
+      }
+    } else if (id.getPk() instanceof Long pk) {
+      return pk.longValue();
+    }
+    throw new IllegalArgumentException("Not a snowflake ID: " + id);
+  }
+
+}
@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id.generator;
 
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.List;
 import java.util.UUID;
 
 import io.github.mmm.entity.id.GenericId;
@@ -15,6 +18,22 @@ import io.github.mmm.entity.id.PkIdUuid;
  */
 public class UuidIdGenerator implements IdGenerator {
 
+  /** Number of {@link UUID}s to create from a single call of {@link SecureRandom#nextBytes(byte[])}. */
+  private static final int BATCH_SIZE = 256;
+
+  private static final int UUID_BYTES = 16;
+
+  private final SecureRandom random;
+
+  /**
+   * The constructor.
+   */
+  public UuidIdGenerator() {
+
+    super();
+    this.random = new SecureRandom();
+  }
+
   @SuppressWarnings({ "rawtypes", "unchecked" })
   @Override
   public <E> Id<E> generate(Id<E> template) {
@@ -25,4 +44,31 @@ public class UuidIdGenerator implements IdGenerator {
     return gid.create(entityType, pk, null).updateRevision();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * Instead of calling {@link UUID#randomUUID()} per {@link Id}, the random bytes for many {@link UUID}s (of version
+   * 4) are obtained from {@link SecureRandom} at once.
+   */
+  @Override
+  public <E> List<Id<E>> generate(Id<E> template, int count) {
+
+    if (!IdBatch.verifyCount(count)) {
+      return List.of();
+    }
+    byte[] bytes = new byte[Math.min(count, BATCH_SIZE) * UUID_BYTES];
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return IdBatch.create(template, count, i -> {
+      if (!buffer.hasRemaining()) {
+        buffer.clear();
+      }
+      if (buffer.position() == 0) {
+        this.random.nextBytes(bytes);
+      }
+      long mostSigBits = (buffer.getLong() & 0xFFFF_FFFF_FFFF_0FFFL) | 0x4000L; // version 4
+      long leastSigBits = (buffer.getLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L; // IETF variant
+      return new UUID(mostSigBits, leastSigBits);
+    });
+  }
+
 }
@@ -0,0 +1,129 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.GenericId;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * {@link IdGenerator} for {@link PkIdUuid} creating time-ordered {@link UUID}s of version 7 (see RFC 9562). Unlike
+ * {@link UuidIdGenerator} the generated {@link UUID}s are ascending over time so inserts into a B-tree index happen at
+ * the end instead of being scattered across all pages. Layout:
+ * <ul>
+ * <li>48 bits: milliseconds since the Unix epoch</li>
+ * <li>4 bits: version ({@code 7})</li>
+ * <li>12 bits: counter to be monotonic within the same millisecond</li>
+ * <li>2 bits: variant ({@code 0b10})</li>
+ * <li>62 bits: random</li>
+ * </ul>
+ * The {@link UUID}s generated by the same instance are strictly increasing. If more than 4096 {@link UUID}s are
+ * requested within a single millisecond or the clock goes backwards, the timestamp is advanced beyond the clock
+ * instead of blocking. The random bits come from {@link ThreadLocalRandom} that never blocks or contends unlike the
+ * {@link java.security.SecureRandom} used by {@link UUID#randomUUID()}. Therefore the generated {@link UUID}s are
+ * unique but not unpredictable and must not be used as secrets.
+ *
+ * @since 1.0.0
+ * @see PkIdUuid#getTimestamp()
+ */
+public class UuidV7IdGenerator implements IdGenerator {
+
+  private static final int COUNTER_BITS = 12;
+
+  private static final long VERSION_7 = 0x7000L;
+
+  private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+  private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+  private final Clock clock;
+
+  /** Milliseconds shifted by {@link #COUNTER_BITS} plus counter of the last generated {@link UUID}. */
+  private final AtomicLong state;
+
+  /**
+   * The constructor.
+   */
+  public UuidV7IdGenerator() {
+
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param clock the {@link Clock} providing the {@link Clock#millis() current time}.
+   */
+  public UuidV7IdGenerator(Clock clock) {
+
+    super();
+    this.clock = clock;
+    this.state = new AtomicLong();
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Override
+  public <E> Id<E> generate(Id<E> template) {
+
+    Class<E> entityType = template.getEntityClass();
+    UUID pk = generateUuid();
+    GenericId gid = (GenericId) template;
+    return gid.create(entityType, pk, null).updateRevision();
+  }
+
+  @Override
+  public <E> List<Id<E>> generate(Id<E> template, int count) {
+
+    if (!IdBatch.verifyCount(count)) {
+      return List.of();
+    }
+    long start = nextTimeAndCounter(count);
+    return IdBatch.create(template, count, i -> toUuid(start + i));
+  }
+
+  /**
+   * @return the next {@link UUID} of version 7.
+   */
+  public UUID generateUuid() {
+
+    return toUuid(nextTimeAndCounter(1));
+  }
+
+  private static UUID toUuid(long timeAndCounter) {
+
+    long millis = timeAndCounter >>> COUNTER_BITS;
+    long counter = timeAndCounter & ((1L << COUNTER_BITS) - 1);
+    long mostSigBits = (millis << 16) | VERSION_7 | counter;
+    long leastSigBits = (ThreadLocalRandom.current().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  /**
+   * @param count the number of subsequent values to reserve.
+   * @return the first reserved value.
+   */
+  private long nextTimeAndCounter(int count) {
+
+    long now = this.clock.millis() << COUNTER_BITS;
+    while (true) {
+      long last = this.state.get();
+      long next;
+      if (now > last) {
+        next = now;
+      } else {
+        // same millisecond, clock regression or counter overflow (then carries into the millis)
+        next = last + 1;
+      }
+      if (this.state.compareAndSet(last, next + count - 1)) {
+        return next;
+      }
+    }
+  }
+
+}
@@ -21,4 +21,26 @@ public interface IdSequence {
    */
   long next(Id<?> template);
 
+  /**
+   * Generates multiple values at once e.g. for bulk imports. Implementations should override this method to reserve
+   * a contiguous range with a single operation instead of calling {@link #next(Id)} {@code count} times.
+   *
+   * @param template the {@link Id#isTransient() transient} {@link Id} of the {@link io.github.mmm.entity.Entity entity}
+   *        to insert. May happily be ignored by implementations.
+   * @param count the number of values to generate.
+   * @return an array with the given {@code count} of new values guaranteed to be unique for this sequence.
+   * @see #next(Id)
+   */
+  default long[] next(Id<?> template, int count) {
+
+    if (count < 0) {
+      throw new IllegalArgumentException("Count must not be negative but was " + count);
+    }
+    long[] values = new long[count];
+    for (int i = 0; i < count; i++) {
+      values[i] = next(template);
+    }
+    return values;
+  }
+
 }
@@ -0,0 +1,239 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.Id;
+
+/**
+ * {@link IdSequence} implementation that is persistent in a memory-mapped file. The file only contains the high-water
+ * mark as a single {@code long} value: the first value that has not yet been reserved. Values are reserved in blocks of
+ * {@link #getReserveSize() reserve size}: the high-water mark is increased and {@link MappedByteBuffer#force() forced}
+ * to disk before any value of the block is handed out. Values within the block are then handed out at memory speed
+ * without locking. Hence, after a crash or restart no value is ever handed out twice, but unused values of the last
+ * reserved block are lost.<br>
+ * Each reservation is performed under a {@link FileLock} so multiple JVMs on the same host can share the same file.
+ * As a {@link FileLock} is held on behalf of the entire JVM, only one open instance per file is allowed within a single
+ * JVM. This is enforced: opening a file that is already open in this JVM fails with an {@link IllegalStateException}.
+ * Call {@link #close()} to release the file. Java offers no API to explicitly unmap a {@link MappedByteBuffer}, so the
+ * memory mapping itself is released by the garbage collector after {@link #close()} dropped its reference.
+ */
+public final class IdSequenceFile implements IdSequence, AutoCloseable {
+
+  /** The default {@link #getReserveSize() reserve size}. */
+  public static final int DEFAULT_RESERVE_SIZE = 1000;
+
+  private static final int FILE_SIZE = Long.BYTES;
+
+  private static final Block EMPTY = new Block(0, 0);
+
+  private static final Set<Path> OPEN_FILES = ConcurrentHashMap.newKeySet();
+
+  private final Path file;
+
+  private final Path realFile;
+
+  private final int reserveSize;
+
+  private final FileChannel channel;
+
+  private MappedByteBuffer buffer;
+
+  private volatile Block current;
+
+  /**
+   * The constructor.
+   *
+   * @param file the {@link Path} to the file where to persist the sequence. Will be created if it does not exist.
+   * @throws IllegalStateException if the given {@code file} is already opened by another instance in this JVM.
+   */
+  public IdSequenceFile(Path file) {
+
+    this(file, IdSequenceMemory.DEFAULT_START, DEFAULT_RESERVE_SIZE);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param file the {@link Path} to the file where to persist the sequence. Will be created if it does not exist.
+   * @param sequenceStart the start value of the sequence. Only used if the file is created.
+   * @param reserveSize the {@link #getReserveSize() reserve size}.
+   * @throws IllegalStateException if the given {@code file} is already opened by another instance in this JVM.
+   */
+  public IdSequenceFile(Path file, long sequenceStart, int reserveSize) {
+
+    super();
+    if (reserveSize <= 0) {
+      throw new IllegalArgumentException("Reserve size has to be positive but was " + reserveSize);
+    }
+    this.file = file;
+    this.reserveSize = reserveSize;
+    this.current = EMPTY;
+    try {
+      this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to open sequence file " + file, e);
+    }
+    Path real = null;
+    try {
+      real = file.toRealPath();
+      if (!OPEN_FILES.add(real)) {
+        real = null;
+        throw new IllegalStateException("Sequence file " + file + " is already open in this JVM.");
+      }
+      this.buffer = map(sequenceStart);
+    } catch (RuntimeException | IOException e) {
+      if (real != null) {
+        OPEN_FILES.remove(real);
+      }
+      try {
+        this.channel.close();
+      } catch (IOException ce) {
+        e.addSuppressed(ce);
+      }
+      if (e instanceof IOException ioe) {
+        throw new UncheckedIOException("Failed to map sequence file " + file, ioe);
+      }
+      throw (RuntimeException) e;
+    }
+    this.realFile = real;
+  }
+
+  private MappedByteBuffer map(long sequenceStart) throws IOException {
+
+    try (FileLock lock = this.channel.lock()) {
+      long size = this.channel.size();
+      if ((size != 0) && (size != FILE_SIZE)) {
+        throw new IllegalStateException("Invalid sequence file " + this.file + " with size " + size);
+      }
+      MappedByteBuffer mapped = this.channel.map(MapMode.READ_WRITE, 0, FILE_SIZE);
+      if (size == 0) {
+        mapped.putLong(0, sequenceStart);
+        mapped.force();
+      }
+      return mapped;
+    }
+  }
+
+  /**
+   * @return the {@link Path} to the file where the sequence is persisted.
+   */
+  public Path getFile() {
+
+    return this.file;
+  }
+
+  /**
+   * @return the number of values reserved at once when the file is updated.
+   */
+  public int getReserveSize() {
+
+    return this.reserveSize;
+  }
+
+  /**
+   * @return the persistent high-water mark: the first value that has not yet been reserved by any JVM.
+   */
+  public synchronized long getHighWaterMark() {
+
+    verifyOpen();
+    return this.buffer.getLong(0);
+  }
+
+  private void verifyOpen() {
+
+    if (this.buffer == null) {
+      throw new IllegalStateException("Sequence file " + this.file + " has been closed.");
+    }
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    while (true) {
+      Block block = this.current;
+      long value = block.next.getAndIncrement();
+      if (value < block.end) {
+        return value;
+      }
+      reserve(block);
+    }
+  }
+
+  @Override
+  public long[] next(Id<?> template, int count) {
+
+    if (count < this.reserveSize) {
+      return IdSequence.super.next(template, count);
+    }
+    return IdSequenceRange.of(reserve(count), 1, count);
+  }
+
+  private synchronized void reserve(Block exhausted) {
+
+    if (this.current != exhausted) {
+      return; // already reserved by other thread
+    }
+    long start = reserve(this.reserveSize);
+    this.current = new Block(start, start + this.reserveSize);
+  }
+
+  /**
+   * @param count the number of values to reserve.
+   * @return the first reserved value.
+   */
+  private synchronized long reserve(int count) {
+
+    verifyOpen();
+    try (FileLock lock = this.channel.lock()) {
+      long start = this.buffer.getLong(0);
+      this.buffer.putLong(0, Math.addExact(start, count));
+      this.buffer.force();
+      return start;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to update sequence file " + this.file, e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+
+    if (this.buffer == null) {
+      return;
+    }
+    this.buffer = null;
+    OPEN_FILES.remove(this.realFile);
+    try {
+      this.channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to close sequence file " + this.file, e);
+    }
+  }
+
+  private static final class Block {
+
+    private final AtomicLong next;
+
+    private final long end;
+
+    private Block(long start, long end) {
+
+      super();
+      this.next = new AtomicLong(start);
+      this.end = end;
+    }
+  }
+
+}
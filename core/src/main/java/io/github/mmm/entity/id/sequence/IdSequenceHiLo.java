@@ -0,0 +1,142 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.Id;
+
+/**
+ * {@link IdSequence} decorator implementing the hi/lo algorithm. Each value of the (slow) backing {@link IdSequence}
+ * (e.g. a database sequence) is used as "hi" value that reserves a block of {@link #getBlockSize() block size} values
+ * ({@code hi * blockSize} to {@code hi * blockSize + blockSize - 1}). These values are then handed out locally and
+ * without locking. When half of the current block is consumed, the next block is fetched from the backing
+ * {@link IdSequence} in the background so callers typically never wait for the backing {@link IdSequence}.<br>
+ * As a single block is shared for all entity types, the backing {@link IdSequence} should ignore the template (e.g.
+ * a single database sequence). Values of a reserved block that have not been handed out are lost on shutdown.
+ */
+public final class IdSequenceHiLo implements IdSequence {
+
+  private static final Block EMPTY = new Block(0, 0);
+
+  private final IdSequence backingSequence;
+
+  private final int blockSize;
+
+  private final Executor executor;
+
+  private volatile Block current;
+
+  private CompletableFuture<Block> nextBlock;
+
+  /**
+   * The constructor.
+   *
+   * @param backingSequence the backing {@link IdSequence} providing the "hi" values.
+   * @param blockSize the {@link #getBlockSize() block size}.
+   */
+  public IdSequenceHiLo(IdSequence backingSequence, int blockSize) {
+
+    this(backingSequence, blockSize, task -> Thread.ofVirtual().name("IdSequenceHiLo-prefetch").start(task));
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param backingSequence the backing {@link IdSequence} providing the "hi" values.
+   * @param blockSize the {@link #getBlockSize() block size}.
+   * @param executor the {@link Executor} used to prefetch the next block in the background.
+   */
+  public IdSequenceHiLo(IdSequence backingSequence, int blockSize, Executor executor) {
+
+    super();
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size has to be positive but was " + blockSize);
+    }
+    this.backingSequence = backingSequence;
+    this.blockSize = blockSize;
+    this.executor = executor;
+    this.current = EMPTY;
+  }
+
+  /**
+   * @return the number of values reserved per value of the backing {@link IdSequence}.
+   */
+  public int getBlockSize() {
+
+    return this.blockSize;
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    while (true) {
+      Block block = this.current;
+      long value = block.next.getAndIncrement();
+      if (value < block.end) {
+        if (value == block.prefetch) {
+          prefetch(template);
+        }
+        return value;
+      }
+      switchBlock(block, template);
+    }
+  }
+
+  private synchronized void prefetch(Id<?> template) {
+
+    if (this.nextBlock == null) {
+      this.nextBlock = CompletableFuture.supplyAsync(() -> fetch(template), this.executor);
+    }
+  }
+
+  private synchronized void switchBlock(Block exhausted, Id<?> template) {
+
+    if (this.current != exhausted) {
+      return; // already switched by other thread
+    }
+    CompletableFuture<Block> future = this.nextBlock;
+    this.nextBlock = null;
+    if (future == null) {
+      this.current = fetch(template);
+    } else {
+      try {
+        this.current = future.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException re) {
+          throw re;
+        }
+        throw e;
+      }
+    }
+  }
+
+  private Block fetch(Id<?> template) {
+
+    long hi = this.backingSequence.next(template);
+    long start = Math.multiplyExact(hi, this.blockSize);
+    return new Block(start, Math.addExact(start, this.blockSize));
+  }
+
+  private static final class Block {
+
+    private final AtomicLong next;
+
+    private final long end;
+
+    /** The value that triggers the prefetch of the next block. */
+    private final long prefetch;
+
+    private Block(long start, long end) {
+
+      super();
+      this.next = new AtomicLong(start);
+      this.end = end;
+      this.prefetch = start + ((end - start) / 2);
+    }
+  }
+
+}
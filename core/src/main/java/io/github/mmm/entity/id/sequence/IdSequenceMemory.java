@@ -2,23 +2,29 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.entity.id.sequence;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import io.github.mmm.entity.id.Id;
 
 /**
  * {@link IdSequence} implementation using an in-memory counter that is NOT persistent. By design this implementation
  * can not guarantee correctness. Only use this for pragmatic scenarios e.g. for tests or if you are not using a
  * database at all (e.g. also all data is hold in memory for simple apps that persist all data to JSON or the like).
+ * This implementation is thread-safe. For high contention use {@link IdSequenceMemoryStriped} instead.
  */
 public final class IdSequenceMemory implements IdSequence {
 
-  private volatile long sequence;
+  /** The default start value of the sequence leaving enough room for your own master data. */
+  public static final long DEFAULT_START = 10_000_000L;
+
+  private final AtomicLong sequence;
 
   /**
    * The constructor.
    */
   public IdSequenceMemory() {
 
-    this(10_000_000L); // enough room for your own master data
+    this(DEFAULT_START);
   }
 
   /**
@@ -29,7 +35,7 @@ public final class IdSequenceMemory implements IdSequence {
   public IdSequenceMemory(long sequenceStart) {
 
     super();
-    this.sequence = sequenceStart;
+    this.sequence = new AtomicLong(sequenceStart);
   }
 
   /**
@@ -37,7 +43,7 @@ public final class IdSequenceMemory implements IdSequence {
    */
   public long getSequence() {
 
-    return this.sequence;
+    return this.sequence.get();
   }
 
   /**
@@ -45,13 +51,22 @@ public final class IdSequenceMemory implements IdSequence {
    */
   public void setSequence(long sequence) {
 
-    this.sequence = sequence;
+    this.sequence.set(sequence);
   }
 
   @Override
   public long next(Id<?> template) {
 
-    return this.sequence++;
+    return this.sequence.getAndIncrement();
+  }
+
+  @Override
+  public long[] next(Id<?> template, int count) {
+
+    if (count <= 1) {
+      return IdSequence.super.next(template, count);
+    }
+    return IdSequenceRange.of(this.sequence.getAndAdd(count), 1, count);
   }
 
 }
\ No newline at end of file
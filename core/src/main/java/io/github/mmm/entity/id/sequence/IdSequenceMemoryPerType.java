@@ -0,0 +1,168 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.Id;
+
+/**
+ * {@link IdSequence} implementation using an independent in-memory counter per {@link Id#getEntityClass() entity
+ * class} of the given template. Like {@link IdSequenceMemory} it is NOT persistent. Keeping a sequence per entity type
+ * results in dense IDs per type (table) and avoids a single counter contended by all inserts. The counter is resolved
+ * via {@link ClassValue} without locking and without strong references to the entity classes so they can still be
+ * unloaded. {@link Id#getEntityClass() Untyped} templates share a single counter. The start value and increment can be
+ * {@link #configure(Class, long, long) configured} per type before its first usage.
+ */
+public final class IdSequenceMemoryPerType implements IdSequence {
+
+  private final long defaultStart;
+
+  private final long defaultIncrement;
+
+  private final ClassValue<Counter> counters;
+
+  private final Counter untypedCounter;
+
+  /**
+   * The constructor.
+   */
+  public IdSequenceMemoryPerType() {
+
+    this(1L, 1L);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param defaultStart the start value for entity types that have not been {@link #configure(Class, long, long)
+   *        configured}.
+   * @param defaultIncrement the increment for entity types that have not been {@link #configure(Class, long, long)
+   *        configured}.
+   */
+  public IdSequenceMemoryPerType(long defaultStart, long defaultIncrement) {
+
+    super();
+    verifyIncrement(defaultIncrement);
+    this.defaultStart = defaultStart;
+    this.defaultIncrement = defaultIncrement;
+    this.counters = new ClassValue<>() {
+      @Override
+      protected Counter computeValue(Class<?> type) {
+
+        return new Counter(IdSequenceMemoryPerType.this.defaultStart, IdSequenceMemoryPerType.this.defaultIncrement);
+      }
+    };
+    this.untypedCounter = new Counter(defaultStart, defaultIncrement);
+  }
+
+  private static void verifyIncrement(long increment) {
+
+    if (increment <= 0) {
+      throw new IllegalArgumentException("Increment has to be positive but was " + increment);
+    }
+  }
+
+  /**
+   * @param entityClass the {@link Id#getEntityClass() entity class}.
+   * @param start the first value of the sequence for the given {@code entityClass}.
+   * @param increment the difference between two subsequent values of the sequence for the given {@code entityClass}.
+   * @return this instance for fluent API calls.
+   * @throws IllegalStateException if the sequence for the given {@code entityClass} has already been configured or
+   *         used.
+   */
+  public IdSequenceMemoryPerType configure(Class<?> entityClass, long start, long increment) {
+
+    verifyIncrement(increment);
+    if (!this.counters.get(entityClass).configure(start, increment)) {
+      throw new IllegalStateException(
+          "Sequence for " + entityClass.getName() + " has already been configured or used.");
+    }
+    return this;
+  }
+
+  /**
+   * @param entityClass the {@link Id#getEntityClass() entity class} or {@code null} for untyped templates.
+   * @return the next value that will be returned for the given {@code entityClass}.
+   */
+  public long getSequence(Class<?> entityClass) {
+
+    return getCounter(entityClass).value.get();
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    return getCounter(template.getEntityClass()).next();
+  }
+
+  @Override
+  public long[] next(Id<?> template, int count) {
+
+    if (count <= 1) {
+      return IdSequence.super.next(template, count);
+    }
+    Counter counter = getCounter(template.getEntityClass());
+    long increment = counter.use();
+    long start = counter.value.getAndAdd(Math.multiplyExact(count, increment));
+    return IdSequenceRange.of(start, increment, count);
+  }
+
+  private Counter getCounter(Class<?> entityClass) {
+
+    if (entityClass == null) {
+      return this.untypedCounter;
+    }
+    return this.counters.get(entityClass);
+  }
+
+  private static final class Counter {
+
+    private final AtomicLong value;
+
+    /** Only modified by {@link #configure(long, long)} before {@link #used} is set, what makes it visible. */
+    private long increment;
+
+    private boolean configured;
+
+    private volatile boolean used;
+
+    private Counter(long start, long increment) {
+
+      super();
+      this.value = new AtomicLong(start);
+      this.increment = increment;
+    }
+
+    private synchronized boolean configure(long start, long newIncrement) {
+
+      if (this.configured || this.used) {
+        return false;
+      }
+      this.value.set(start);
+      this.increment = newIncrement;
+      this.configured = true;
+      return true;
+    }
+
+    /**
+     * @return the increment. Marks this {@link Counter} as used so it can not be {@link #configure(long, long)
+     *         configured} anymore.
+     */
+    private long use() {
+
+      if (!this.used) {
+        synchronized (this) {
+          this.used = true;
+        }
+      }
+      return this.increment;
+    }
+
+    private long next() {
+
+      return this.value.getAndAdd(use());
+    }
+  }
+
+}
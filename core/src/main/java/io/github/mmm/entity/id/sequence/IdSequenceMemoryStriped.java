@@ -0,0 +1,96 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.Id;
+
+/**
+ * {@link IdSequence} implementation using an in-memory counter that is NOT persistent like {@link IdSequenceMemory} but
+ * scales with the number of cores. Each thread reserves a disjoint block of {@link #getBlockSize() block size} values
+ * from a shared counter and hands them out without any synchronization until the block is exhausted. Hence the values
+ * are unique but only ascending per thread and not globally. Unused values of a block are lost when the thread
+ * terminates. Therefore prefer {@link IdSequenceMemory} when using many short living (e.g. virtual) threads.
+ */
+public final class IdSequenceMemoryStriped implements IdSequence {
+
+  /** The default {@link #getBlockSize() block size}. */
+  public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+  private final AtomicLong sequence;
+
+  private final int blockSize;
+
+  private final ThreadLocal<Block> block;
+
+  /**
+   * The constructor.
+   */
+  public IdSequenceMemoryStriped() {
+
+    this(IdSequenceMemory.DEFAULT_START, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param sequenceStart the start value of the sequence.
+   * @param blockSize the {@link #getBlockSize() block size}.
+   */
+  public IdSequenceMemoryStriped(long sequenceStart, int blockSize) {
+
+    super();
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size has to be positive but was " + blockSize);
+    }
+    this.sequence = new AtomicLong(sequenceStart);
+    this.blockSize = blockSize;
+    this.block = ThreadLocal.withInitial(Block::new);
+  }
+
+  /**
+   * @return the number of values reserved by a thread at once.
+   */
+  public int getBlockSize() {
+
+    return this.blockSize;
+  }
+
+  /**
+   * @return the start of the next block that has not yet been reserved by any thread.
+   */
+  public long getSequence() {
+
+    return this.sequence.get();
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    Block b = this.block.get();
+    if (b.next >= b.limit) {
+      long start = this.sequence.getAndAdd(this.blockSize);
+      b.next = start;
+      b.limit = start + this.blockSize;
+    }
+    return b.next++;
+  }
+
+  @Override
+  public long[] next(Id<?> template, int count) {
+
+    if (count < this.blockSize) {
+      return IdSequence.super.next(template, count);
+    }
+    return IdSequenceRange.of(this.sequence.getAndAdd(count), 1, count);
+  }
+
+  private static final class Block {
+
+    private long next;
+
+    private long limit;
+  }
+
+}
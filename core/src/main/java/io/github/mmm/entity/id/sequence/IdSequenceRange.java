@@ -0,0 +1,32 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+/**
+ * Helper for {@link IdSequence#next(io.github.mmm.entity.id.Id, int)} to create the values of a reserved range.
+ */
+final class IdSequenceRange {
+
+  private IdSequenceRange() {
+
+  }
+
+  /**
+   * @param start the first value.
+   * @param increment the difference between two subsequent values.
+   * @param count the number of values.
+   * @return an array with the given {@code count} of values starting with {@code start} and increasing by
+   *         {@code increment}.
+   */
+  static long[] of(long start, long increment, int count) {
+
+    long[] values = new long[count];
+    long value = start;
+    for (int i = 0; i < count; i++) {
+      values[i] = value;
+      value = value + increment;
+    }
+    return values;
+  }
+
+}
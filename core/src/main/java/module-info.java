@@ -4,6 +4,8 @@
  */
 /**
  * Provides the API for (persistent) entities.
+ *
+ * @uses io.github.mmm.entity.id.PkType
  */
 module io.github.mmm.entity {
 
@@ -17,10 +19,14 @@ module io.github.mmm.entity {
 
   exports io.github.mmm.entity.id;
 
+  exports io.github.mmm.entity.id.collection;
+
   exports io.github.mmm.entity.id.generator;
 
   exports io.github.mmm.entity.id.sequence;
 
   exports io.github.mmm.entity.link;
 
+  uses io.github.mmm.entity.id.PkType;
+
 }
@@ -0,0 +1,149 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link CompactRevisionedId} and its implementations.
+ */
+class CompactRevisionedIdTest extends Assertions {
+
+  private static final Instant TIMESTAMP = Instant.parse("1999-12-31T23:59:59.123456789Z");
+
+  /** Test that {@link PkId#withRevisionGeneric(Comparable)} creates the according {@link CompactRevisionedId}. */
+  @Test
+  void testWithRevisionGeneric() {
+
+    UUID uuid = UUID.randomUUID();
+    assertThat(PkIdLong.of(42L, Entity.class).withRevisionGeneric(5L)).isInstanceOf(RevisionedIdLongVersion.class);
+    assertThat(PkIdLong.of(42L, Entity.class).withRevisionGeneric(TIMESTAMP))
+        .isInstanceOf(RevisionedIdLongInstant.class);
+    assertThat(PkIdUuid.of(uuid, Entity.class).withRevisionGeneric(5L)).isInstanceOf(RevisionedIdUuidVersion.class);
+    assertThat(PkIdUuid.of(uuid, Entity.class).withRevisionGeneric(TIMESTAMP))
+        .isInstanceOf(RevisionedIdUuidInstant.class);
+    assertThat(PkIdString.of("MyId", Entity.class).withRevisionGeneric(5L)).isInstanceOf(RevisionedIdVersion.class);
+    assertThat(Id.of(Entity.class, 42L, 5L)).isInstanceOf(RevisionedIdLongVersion.class);
+    assertThat(Id.ofEmpty(Entity.class, null, null)).isInstanceOf(RevisionedIdLongVersion.class);
+    assertThat(Id.ofEmpty(Entity.class, "uuid", "instant")).isInstanceOf(RevisionedIdUuidInstant.class);
+  }
+
+  /** Test that {@link CompactRevisionedId} behaves exactly like the according {@link RevisionedId}. */
+  @Test
+  void testEqualToRevisionedId() {
+
+    UUID uuid = UUID.randomUUID();
+    check(new RevisionedIdLongVersion<>(Entity.class, 42L, 5L),
+        new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 42L), 5L));
+    check(new RevisionedIdLongInstant<>(Entity.class, 42L, TIMESTAMP),
+        new RevisionedIdInstant<>(new PkIdLong<>(Entity.class, 42L), TIMESTAMP));
+    check(new RevisionedIdUuidVersion<>(Entity.class, uuid, 5L),
+        new RevisionedIdVersion<>(new PkIdUuid<>(Entity.class, uuid), 5L));
+    check(new RevisionedIdUuidInstant<>(Entity.class, uuid, TIMESTAMP),
+        new RevisionedIdInstant<>(new PkIdUuid<>(Entity.class, uuid), TIMESTAMP));
+  }
+
+  private void check(CompactRevisionedId<Entity, ?, ?, ?> compact, RevisionedId<Entity, ?, ?, ?> revisioned) {
+
+    assertThat(compact).isEqualTo(revisioned).hasSameHashCodeAs(revisioned).hasToString(revisioned.toString());
+    assertThat(revisioned).isEqualTo(compact);
+    assertThat(compact.getPk()).isEqualTo(revisioned.getPk());
+    assertThat(compact.getRevision()).isEqualTo(revisioned.getRevision());
+    assertThat(compact.getEntityClass()).isSameAs(Entity.class);
+    assertThat(compact.isTransient()).isFalse();
+    assertThat(compact.withoutRevision()).isEqualTo(revisioned.withoutRevision()).isSameAs(compact.withoutRevision());
+    assertThat(compact.updateRevision()).isNotEqualTo(compact).isInstanceOf(compact.getClass());
+    assertThat(compact.withPkAndRevision(null, null).isEmpty()).isTrue();
+    assertThat(IdMarshallingTest.writeJson(compact)).isEqualTo(IdMarshallingTest.writeJson(revisioned));
+  }
+
+  /** Test of {@link RevisionedIdLongVersion#updateRevision()}. */
+  @Test
+  void testUpdateRevision() {
+
+    RevisionedIdLongVersion<Entity> id = new RevisionedIdLongVersion<>(Entity.class, 42L,
+        CompactRevisionedId.NULL_REVISION);
+    assertThat(id.isTransient()).isTrue();
+    id = id.updateRevision();
+    assertThat(id.getRevision()).isEqualTo(RevisionedIdVersion.INSERT_REVISION);
+    id = id.updateRevision();
+    assertThat(id.getRevisionAsLong()).isEqualTo(2L);
+    assertThat(id).hasToString("42@2");
+  }
+
+  /** Test that a boxed revision equal to {@link CompactRevisionedId#NULL_REVISION} is rejected. */
+  @Test
+  void testReservedRevision() {
+
+    // arrange
+    Long reserved = Long.valueOf(CompactRevisionedId.NULL_REVISION);
+    UUID uuid = UUID.randomUUID();
+    RevisionedIdLongVersion<Entity> longVersion = new RevisionedIdLongVersion<>(Entity.class, 42L, 1L);
+    RevisionedIdUuidVersion<Entity> uuidVersion = new RevisionedIdUuidVersion<>(Entity.class, uuid, 1L);
+    // act + assert
+    assertThatThrownBy(() -> new RevisionedIdLongVersion<>(Entity.class, Long.valueOf(42), reserved))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("reserved");
+    assertThatThrownBy(() -> longVersion.withRevision(reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new RevisionedIdUuidVersion<>(Entity.class, uuid, reserved))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> uuidVersion.withRevision(reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new PkIdLong<>(Entity.class, 42L).withRevisionGeneric(reserved))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Id.of(Entity.class, 42L, reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(longVersion.withRevision(null).isTransient()).isTrue();
+  }
+
+  /**
+   * Compares the memory footprint of {@link CompactRevisionedId} with the one of {@link RevisionedId} wrapping a
+   * {@link PkId} by counting the objects retained per {@link Id}.
+   */
+  @Test
+  void testMemoryFootprint() {
+
+    UUID uuid = UUID.randomUUID();
+    // RevisionedIdVersion + PkIdLong + Long
+    assertThat(countObjects(new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 42L), Long.valueOf(1000))))
+        .isEqualTo(3);
+    assertThat(countObjects(new RevisionedIdLongVersion<>(Entity.class, 42L, 1000L))).isEqualTo(1);
+    // RevisionedIdInstant + PkIdUuid + UUID + Instant
+    assertThat(countObjects(new RevisionedIdInstant<>(new PkIdUuid<>(Entity.class, uuid), TIMESTAMP))).isEqualTo(4);
+    assertThat(countObjects(new RevisionedIdUuidInstant<>(Entity.class, uuid, TIMESTAMP))).isEqualTo(1);
+  }
+
+  /**
+   * @param object the object to measure.
+   * @return the number of objects retained by the given object. {@link Class} references are shared and therefore
+   *         ignored. Objects outside of this package (e.g. {@link Long} or {@link UUID}) count as one object.
+   */
+  private static int countObjects(Object object) {
+
+    if ((object == null) || (object instanceof Class)) {
+      return 0;
+    }
+    int count = 1;
+    Class<?> type = object.getClass();
+    while ((type != null) && type.getPackageName().equals(Id.class.getPackageName())) {
+      for (Field field : type.getDeclaredFields()) {
+        if (!Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+          try {
+            field.setAccessible(true);
+            count += countObjects(field.get(object));
+          } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+          }
+        }
+      }
+      type = type.getSuperclass();
+    }
+    return count;
+  }
+
+}
@@ -0,0 +1,50 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.DummyEntity;
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link EmptyIdCache}.
+ */
+class EmptyIdCacheTest extends Assertions {
+
+  /** Test that {@link GenericId#withEntityType(Class) typed} {@link Id#isEmpty() empty} templates are shared. */
+  @Test
+  void testEmptyTemplatesShared() {
+
+    assertThat(PkIdLong.getEmpty(Entity.class)).isSameAs(PkIdLong.getEmpty(Entity.class))
+        .isNotSameAs(PkIdLong.getEmpty(DummyEntity.class)).isNotSameAs(PkIdLong.getEmpty());
+    assertThat(PkIdUuid.getEmpty(Entity.class)).isSameAs(PkIdUuid.getEmpty(Entity.class));
+    assertThat(PkIdString.getEmpty(Entity.class)).isSameAs(PkIdString.getEmpty(Entity.class));
+    assertThat(PkIdEmpty.getEmpty().withEntityTypeGeneric(Entity.class))
+        .isSameAs(PkIdEmpty.getEmpty().withEntityTypeGeneric(Entity.class));
+    assertThat(IdFactory.get().createEmpty(Entity.class, PkIdUuid.class)).isSameAs(PkIdUuid.getEmpty(Entity.class));
+    assertThat(Id.ofEmpty(Entity.class, "long", "long")).isSameAs(Id.ofEmpty(Entity.class, null, null))
+        .isSameAs(RevisionedIdLongVersion.getEmpty(Entity.class));
+    assertThat(Id.ofEmpty(Entity.class, "uuid", "instant")).isSameAs(Id.ofEmpty(Entity.class, "uuid", "instant"))
+        .isNotSameAs(Id.ofEmpty(Entity.class, "uuid", "long"));
+    Id<Entity> stringRevisioned = Id.ofEmpty(Entity.class, "string", "long");
+    assertThat(stringRevisioned).isInstanceOf(RevisionedIdVersion.class)
+        .isSameAs(Id.ofEmpty(Entity.class, "string", "long"));
+    assertThat(stringRevisioned.withoutRevision()).isSameAs(PkIdString.getEmpty(Entity.class));
+  }
+
+  /** Test that {@link Id}s that are not {@link Id#isEmpty() empty} are not cached. */
+  @Test
+  void testNonEmptyNotShared() {
+
+    PkIdLong<Entity> id = PkIdLong.of(42L, null);
+    assertThat(id.withEntityType(Entity.class)).isNotSameAs(id.withEntityType(Entity.class))
+        .isEqualTo(id.withEntityType(Entity.class));
+    RevisionedIdLongVersion<Entity> transientId = new RevisionedIdLongVersion<>(null, 42L,
+        CompactRevisionedId.NULL_REVISION);
+    assertThat(transientId.withEntityType(Entity.class)).isNotSameAs(transientId.withEntityType(Entity.class));
+    assertThat(transientId.withEntityType(Entity.class).getEntityClass()).isSameAs(Entity.class);
+  }
+
+}
@@ -0,0 +1,139 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.time.Instant;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.base.lang.Builder;
+import io.github.mmm.entity.Entity;
+import io.github.mmm.value.converter.CompositeTypeMapper;
+
+/**
+ * Test of {@link HybridTimestamp} and {@link RevisionedIdHybrid}.
+ */
+class HybridTimestampTest extends Assertions {
+
+  /** Test of {@link HybridTimestamp#now()}. */
+  @Test
+  void testNowStrictlyIncreasing() {
+
+    // arrange
+    HybridTimestamp last = HybridTimestamp.now();
+    // act + assert
+    for (int i = 0; i < 100_000; i++) {
+      HybridTimestamp next = HybridTimestamp.now();
+      assertThat(next).isGreaterThan(last);
+      assertThat(next.getValue()).isGreaterThan(last.getValue());
+      last = next;
+    }
+  }
+
+  /** Test of {@link HybridTimestamp#receive(HybridTimestamp)} with a remote clock ahead of the local clock. */
+  @Test
+  void testReceive() {
+
+    // arrange
+    HybridTimestamp remote = HybridTimestamp.of(System.currentTimeMillis() + 2_000, 42);
+    // act
+    HybridTimestamp received = HybridTimestamp.receive(remote);
+    HybridTimestamp next = HybridTimestamp.now();
+    // assert
+    assertThat(received).isGreaterThan(remote);
+    assertThat(received.getPhysicalTime()).isEqualTo(remote.getPhysicalTime());
+    assertThat(received.getLogicalCounter()).isEqualTo(43);
+    assertThat(next).isGreaterThan(received);
+  }
+
+  /** Test of {@link HybridTimestamp#receive(HybridTimestamp)} with a remote timestamp beyond the maximum offset. */
+  @Test
+  void testReceiveBeyondMaxOffset() {
+
+    // arrange
+    long millis = System.currentTimeMillis();
+    HybridTimestamp remote = HybridTimestamp.of(millis + HybridTimestamp.DEFAULT_MAX_OFFSET + 60_000, 0);
+    // act + assert
+    assertThatThrownBy(() -> HybridTimestamp.receive(remote)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HybridTimestamp.receive(HybridTimestamp.ofValue(Long.MAX_VALUE)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(HybridTimestamp.now().getPhysicalTime()).isLessThan(remote.getPhysicalTime());
+  }
+
+  /** Test of {@link HybridTimestamp#receive(HybridTimestamp, long)} with the maximum timestamp. */
+  @Test
+  void testReceiveOverflow() {
+
+    // arrange
+    HybridTimestamp max = HybridTimestamp.ofValue(Long.MAX_VALUE);
+    // act + assert
+    assertThatThrownBy(() -> HybridTimestamp.receive(max, Long.MAX_VALUE)).isInstanceOf(IllegalStateException.class);
+    assertThat(HybridTimestamp.now()).isLessThan(max);
+  }
+
+  /** Test of {@link HybridTimestamp} conversion from and to {@link Instant}, {@code long} and {@link String}. */
+  @Test
+  void testConversion() {
+
+    // arrange
+    Instant instant = Instant.parse("2024-05-17T12:34:56.789Z");
+    // act
+    HybridTimestamp timestamp = HybridTimestamp.of(instant.toEpochMilli(), 3);
+    // assert
+    assertThat(timestamp.toInstant()).isEqualTo(instant);
+    assertThat(HybridTimestamp.of(instant)).isLessThan(timestamp);
+    assertThat(HybridTimestamp.of(instant).getLogicalCounter()).isZero();
+    assertThat(timestamp.getValue()).isEqualTo((1715949296789L << 16) | 3);
+    assertThat(HybridTimestamp.ofValue(timestamp.getValue())).isEqualTo(timestamp).hasSameHashCodeAs(timestamp);
+    assertThat(timestamp).hasToString("1715949296789.3");
+    assertThat(HybridTimestamp.parse("1715949296789.3")).isEqualTo(timestamp);
+    assertThatThrownBy(() -> HybridTimestamp.parse("1715949296789")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HybridTimestamp.parse("1715949296789.65536"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> HybridTimestamp.ofValue(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link RevisionedIdHybrid}. */
+  @Test
+  void testRevisionedId() {
+
+    // arrange
+    HybridTimestamp revision = HybridTimestamp.parse("1715949296789.3");
+    // act
+    Id<Entity> id = Id.of(Entity.class, 4711L, revision);
+    GenericId<Entity, ?, ?, ?> updated = ((GenericId<Entity, ?, ?, ?>) id).updateRevision();
+    // assert
+    assertThat(id).isInstanceOf(RevisionedIdHybrid.class).hasToString("4711@1715949296789.3");
+    assertThat(id.getRevisionType()).isSameAs(HybridTimestamp.class);
+    assertThat(id.getRevision()).isSameAs(revision);
+    assertThat((HybridTimestamp) updated.getRevision()).isGreaterThan(revision);
+    assertThat(IdFactory.get().create(Entity.class, "4711@1715949296789.3")).isEqualTo(id);
+    assertThat(((GenericId<Entity, ?, ?, ?>) id).create("4711@1715949296789.3")).isEqualTo(id);
+    assertThat(Id.ofEmpty(Entity.class, "long", "hybrid")).isInstanceOf(RevisionedIdHybrid.class)
+        .isSameAs(Id.ofEmpty(Entity.class, "long", "hybrid"));
+    assertThat(GenericId.updateRevision(Id.ofEmpty(Entity.class, "uuid", "hybrid")).getRevision())
+        .isInstanceOf(HybridTimestamp.class);
+  }
+
+  /** Test of {@link PkMapper} for {@link RevisionedIdHybrid} mapping the revision to {@code long}. */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Test
+  void testPkMapper() {
+
+    // arrange
+    HybridTimestamp revision = HybridTimestamp.parse("1715949296789.3");
+    Id<Entity> id = Id.of(Entity.class, 4711L, revision);
+    PkMapper mapper = PkMapper.of(id);
+    CompositeTypeMapper revisionMapper = mapper.next();
+    // act
+    Builder<Id> builder = mapper.sourceBuilder();
+    mapper.with(builder, mapper.toTarget(id));
+    revisionMapper.with(builder, revisionMapper.toTarget(id));
+    // assert
+    assertThat(revisionMapper.getTargetType()).isSameAs(Long.class);
+    assertThat(revisionMapper.toTarget(id)).isEqualTo(revision.getValue());
+    assertThat(builder.build()).isEqualTo(id);
+  }
+
+}
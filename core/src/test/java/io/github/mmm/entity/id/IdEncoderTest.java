@@ -0,0 +1,89 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link IdEncoder} via {@link Id#appendTo(Appendable)}, {@link Id#writeTo(byte[], int)} and
+ * {@link Id#writeTo(ByteBuffer)}.
+ */
+class IdEncoderTest extends Assertions {
+
+  /** Test with special values. */
+  @Test
+  void testSpecialValues() throws IOException {
+
+    for (long value : new long[] { 0, 1, -1, 9, 10, 99, 100, Long.MAX_VALUE, Long.MIN_VALUE + 1 }) {
+      check(PkIdLong.of(value, Entity.class));
+      check(new RevisionedIdLongVersion<>(Entity.class, value, value));
+    }
+    check(new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 42L), Long.MIN_VALUE));
+    check(new RevisionedIdUuidInstant<>(Entity.class, new UUID(0, 0), Instant.MIN));
+    check(new RevisionedIdUuidInstant<>(Entity.class, new UUID(-1, -1), Instant.MAX));
+    check(new RevisionedIdUuidInstant<>(Entity.class, UUID.randomUUID(), Instant.EPOCH));
+    check(new RevisionedIdVersion<>(new PkIdString<>(Entity.class, "häuß€😀"), 3L));
+    check(PkIdLong.getEmpty());
+    check(RevisionedIdUuidInstant.getEmpty());
+    assertThat(new RevisionedIdLongInstant<>(Entity.class, 1, Instant.parse("1999-12-31T23:59:59.123456789Z")))
+        .hasToString("1@1999-12-31T23:59:59.123456789Z");
+  }
+
+  /** Test with random values. */
+  @Test
+  void testRandomValues() throws IOException {
+
+    Random random = new Random(4711);
+    for (int i = 0; i < 10000; i++) {
+      long pk = random.nextLong() >> random.nextInt(64);
+      long seconds = random.nextLong() % 400_000_000_000L;
+      int nanos = switch (i % 4) {
+        case 0 -> 0;
+        case 1 -> random.nextInt(1000) * 1_000_000;
+        case 2 -> random.nextInt(1_000_000) * 1000;
+        default -> random.nextInt(1_000_000_000);
+      };
+      Instant instant = Instant.ofEpochSecond(seconds, nanos);
+      UUID uuid = new UUID(random.nextLong(), random.nextLong());
+      check(new RevisionedIdLongInstant<>(Entity.class, pk, instant));
+      check(new RevisionedIdUuidVersion<>(Entity.class, uuid, pk));
+      check(new RevisionedIdInstant<>(new PkIdUuid<>(Entity.class, uuid), instant));
+    }
+  }
+
+  private static void check(Id<?> id) throws IOException {
+
+    String expected = "";
+    Object pk = id.getPk();
+    if (pk != null) {
+      expected = pk.toString();
+      Object revision = id.getRevision();
+      if (revision != null) {
+        expected = expected + Id.REVISION_SEPARATOR + revision;
+      }
+    }
+    byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+    assertThat(id).hasToString(expected);
+    StringBuilder sb = new StringBuilder("x");
+    id.appendTo(sb);
+    assertThat(sb).hasToString("x" + expected);
+    byte[] bytes = new byte[expectedBytes.length + 3];
+    assertThat(id.writeTo(bytes, 3)).isEqualTo(bytes.length);
+    assertThat(new String(bytes, 3, expectedBytes.length, StandardCharsets.UTF_8)).isEqualTo(expected);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(expectedBytes.length);
+    id.writeTo(buffer);
+    assertThat(buffer.position()).isEqualTo(expectedBytes.length);
+    assertThat(buffer.flip()).isEqualTo(ByteBuffer.wrap(expectedBytes));
+  }
+
+}
@@ -0,0 +1,92 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link IdFactory}.
+ */
+class IdFactoryTest extends Assertions {
+
+  private static final String UUID_STRING = "123e4567-e89b-12d3-a456-426614174000";
+
+  /** Test of {@link IdFactory#create(Class, CharSequence, int, int)} with {@link IdFactory#get() generic factory}. */
+  @Test
+  void testCreateFromRange() {
+
+    // arrange
+    IdFactory<Object, Comparable<?>> factory = IdFactory.get();
+    String csv = "x,4711@2," + UUID_STRING + "@1999-12-31T23:59:59Z,my-id,";
+    // act
+    Id<Entity> longId = factory.create(Entity.class, csv, 2, 8);
+    Id<Entity> uuidId = factory.create(Entity.class, csv, 9, 66);
+    Id<Entity> stringId = factory.create(Entity.class, csv, 67, 72);
+    Id<Entity> noId = factory.create(Entity.class, csv, 73, 73);
+    // assert
+    assertThat(longId).isInstanceOf(RevisionedIdLongVersion.class).isEqualTo(Id.of(Entity.class, 4711L, 2L));
+    assertThat(uuidId.getPk()).isEqualTo(UUID.fromString(UUID_STRING));
+    assertThat(uuidId.getRevision()).isEqualTo(Instant.parse("1999-12-31T23:59:59Z"));
+    assertThat(stringId.getPk()).isEqualTo("my-id");
+    assertThat(stringId.getRevision()).isNull();
+    assertThat(noId).isNull();
+  }
+
+  /** Test of {@link IdFactory#create(Class, String)} with {@link IdFactory#get() generic factory}. */
+  @Test
+  void testCreateFromString() {
+
+    IdFactory<Object, Comparable<?>> factory = IdFactory.get();
+    assertThat(factory.create(Entity.class, "42@1")).isEqualTo(Id.of(Entity.class, 42L, 1L));
+    assertThat(factory.create(Entity.class, "99999999999999999999").getPk()).isEqualTo("99999999999999999999");
+    assertThat(factory.create(Entity.class, "123e4567-e89b-12d3-a456-42661417400g").getPk()).isInstanceOf(String.class);
+    assertThat(factory.create(Entity.class, "@x").getPk()).isEqualTo("@x");
+    assertThat(factory.create(Entity.class, (String) null)).isNull();
+  }
+
+  /**
+   * Test that {@link IdFactory#parseRevision(String)} and {@link IdFactory#parseRevision(CharSequence, int, int)} of
+   * the {@link IdFactory#get() generic factory} agree.
+   */
+  @Test
+  void testParseRevisionConsistent() {
+
+    // arrange
+    IdFactory<Object, Comparable<?>> factory = IdFactory.get();
+    String[] revisions = { "1", "-7", "1999-12-31T23:59:59Z", "1700000000000.42", "9223372036854775807" };
+    for (String revision : revisions) {
+      String csv = "x," + revision + ",y";
+      // act
+      Comparable<?> fromString = factory.parseRevision(revision);
+      Comparable<?> fromRange = factory.parseRevision(csv, 2, 2 + revision.length());
+      // assert
+      assertThat(fromRange).as(revision).isEqualTo(fromString);
+    }
+    assertThat(factory.parseRevision("1")).isEqualTo(1L);
+    assertThat(factory.parseRevision("1999-12-31T23:59:59Z")).isInstanceOf(Instant.class);
+    assertThat(factory.parseRevision("1700000000000.42")).isEqualTo(HybridTimestamp.of(1700000000000L, 42));
+    assertThatThrownBy(() -> factory.parseRevision("x")).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> factory.parseRevision("[x]", 1, 2)).isInstanceOf(NumberFormatException.class);
+  }
+
+  /** Test of {@link GenericId#parsePk(CharSequence, int, int)} for typed factories. */
+  @Test
+  void testTypedParsePk() {
+
+    UUID uuid = UUID.randomUUID();
+    assertThat(RevisionedIdUuidVersion.getEmpty(Entity.class).create(Entity.class, "[" + uuid + "@7]", 1, 39))
+        .isEqualTo(Id.of(Entity.class, uuid, 7L));
+    assertThat(PkIdUuid.getEmpty().parsePk("ABCDEF01-0000-0000-0000-0000000000FF", 0, 36))
+        .isEqualTo(UUID.fromString("abcdef01-0000-0000-0000-0000000000ff"));
+    assertThat(PkIdLong.getEmpty().parsePk("a-42b", 1, 4)).isEqualTo(-42L);
+    assertThatThrownBy(() -> PkIdLong.getEmpty().parsePk("abc", 0, 3)).isInstanceOf(NumberFormatException.class);
+    assertThatThrownBy(() -> PkIdUuid.getEmpty().parsePk("abc", 0, 3)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
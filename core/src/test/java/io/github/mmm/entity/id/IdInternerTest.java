@@ -0,0 +1,73 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link IdInterner}.
+ */
+class IdInternerTest extends Assertions {
+
+  /** Test of {@link IdInterner#intern(Id)}. */
+  @Test
+  void testIntern() {
+
+    // arrange
+    IdInterner interner = new IdInterner(1000);
+    // act
+    Id<Entity> id1 = interner.intern(Id.of(Entity.class, 4711L, 1L));
+    Id<Entity> id2 = interner.intern(Id.of(Entity.class, 4711L, 1L));
+    Id<Entity> id3 = interner.intern(Id.of(Entity.class, 4711L, 2L));
+    Id<Object> untyped = interner.intern(Id.of(Object.class, 4711L, 1L));
+    // assert
+    assertThat(interner.getCapacity()).isEqualTo(1024);
+    assertThat(id2).isSameAs(id1);
+    assertThat(id3).isNotSameAs(id1).isNotEqualTo(id1);
+    assertThat(untyped).isNotSameAs(id1);
+    assertThat(untyped.getEntityClass()).isSameAs(Object.class);
+    assertThat(interner.getHitCount()).isEqualTo(1);
+    assertThat(interner.getMissCount()).isEqualTo(3);
+    assertThat(interner.intern((Id<?>) null)).isNull();
+    interner.clear();
+    assertThat(interner.getHitCount()).isZero();
+    assertThat(interner.getMissCount()).isZero();
+  }
+
+  /** Test of {@link IdInterner#wrap(IdFactory)}. */
+  @Test
+  void testWrap() {
+
+    // arrange
+    IdInterner interner = new IdInterner(16);
+    IdFactory<Object, Comparable<?>> factory = interner.wrap(IdFactory.get());
+    // act
+    GenericId<Entity, Object, Comparable<?>, ?> id1 = factory.create(Entity.class, "4711@1");
+    GenericId<Entity, Object, Comparable<?>, ?> id2 = factory.create(Entity.class, 4711L, 1L);
+    // assert
+    assertThat(id2).isSameAs(id1);
+    assertThat(id1.getRevision()).isEqualTo(1L);
+    assertThat(interner.getHitCount()).isEqualTo(1);
+    assertThat(Id.of(Entity.class, 4711L, 1L)).isNotSameAs(Id.of(Entity.class, 4711L, 1L));
+  }
+
+  /** Test of {@link FkMapper#of(Id, IdInterner)}. */
+  @Test
+  void testFkMapper() {
+
+    // arrange
+    IdInterner interner = new IdInterner(16);
+    FkMapper mapper = FkMapper.of(PkIdLong.getEmpty(Entity.class), interner);
+    FkMapper plain = FkMapper.of(PkIdLong.getEmpty(Entity.class));
+    // act
+    Id<?> id1 = mapper.toSource(42L);
+    Id<?> id2 = mapper.toSource(42L);
+    // assert
+    assertThat(id2).isSameAs(id1);
+    assertThat(plain.toSource(42L)).isEqualTo(id1).isNotSameAs(id1);
+  }
+
+}
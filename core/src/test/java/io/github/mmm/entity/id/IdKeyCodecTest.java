@@ -0,0 +1,212 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link IdKeyCodec}.
+ */
+class IdKeyCodecTest extends Assertions {
+
+  /** Test with {@link Long} primary key and revision. */
+  @Test
+  void testLongVersion() {
+
+    Random random = new Random(42);
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (long pk : new long[] { Long.MIN_VALUE + 1, -1, 0, 1, Long.MAX_VALUE }) {
+      ids.add(new RevisionedIdLongVersion<>(Entity.class, pk, CompactRevisionedId.NULL_REVISION));
+      ids.add(new RevisionedIdLongVersion<>(Entity.class, pk, random.nextLong()));
+      ids.add(new RevisionedIdLongVersion<>(Entity.class, pk, -1));
+    }
+    check(RevisionedIdLongVersion.getEmpty(Entity.class), ids, 16);
+  }
+
+  /** Test with {@link Long} primary key and no revision. */
+  @Test
+  void testLong() {
+
+    Random random = new Random(42);
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      ids.add(PkIdLong.of(random.nextLong() >> random.nextInt(64), Entity.class));
+    }
+    check(PkIdLong.getEmpty(Entity.class), ids, 8);
+  }
+
+  /** Test with {@link Integer} primary key and {@link Long} revision. */
+  @Test
+  void testIntVersion() {
+
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (int pk : new int[] { Integer.MIN_VALUE + 1, -1000, -1, 0, 1, 42, 1024, Integer.MAX_VALUE }) {
+      ids.add(new RevisionedIdVersion<>(PkIdInt.of(pk, Entity.class), null));
+      ids.add(new RevisionedIdVersion<>(PkIdInt.of(pk, Entity.class), 1L));
+      ids.add(new RevisionedIdVersion<>(PkIdInt.of(pk, Entity.class), 99L));
+    }
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    GenericId<Entity, ?, ?, ?> template = (GenericId) Id.ofEmpty(Entity.class, "int", "long");
+    check(template, ids, 12);
+    IdKeyCodec<Entity> codec = IdKeyCodec.of(PkIdInt.getEmpty(Entity.class));
+    assertThat(codec.decode(codec.encode(PkIdInt.of(7, Entity.class)))).isSameAs(PkIdInt.of(7, Entity.class));
+  }
+
+  /** Test with {@link UUID} primary key and {@link Instant} revision. */
+  @Test
+  void testUuidInstant() {
+
+    Random random = new Random(42);
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      UUID pk = new UUID(random.nextLong(), random.nextLong());
+      if (i % 7 == 0) {
+        pk = new UUID(pk.getMostSignificantBits(), i); // same first half to compare second half
+      }
+      Instant revision = null;
+      if (i % 5 != 0) {
+        revision = Instant.ofEpochSecond(random.nextLong() % 100_000_000_000L, random.nextInt(1_000_000_000));
+      }
+      ids.add(new RevisionedIdUuidInstant<>(Entity.class, pk, revision));
+    }
+    IdKeyCodec<Entity> codec = IdKeyCodec.of(PkIdUuid.getEmpty(Entity.class));
+    byte[] key1 = codec.encode(PkIdUuid.of(UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff"), Entity.class));
+    byte[] key2 = codec.encode(PkIdUuid.of(UUID.fromString("80000000-0000-0000-0000-000000000000"), Entity.class));
+    assertThat(IdKeyCodec.compare(key1, key2)).as("unsigned order like string").isNegative();
+    check(RevisionedIdUuidInstant.getEmpty(Entity.class), ids, 28);
+  }
+
+  /** Test with {@link String} primary key and {@link Long} revision. */
+  @Test
+  void testStringVersion() {
+
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (String pk : new String[] { "", "a", "ab", "a\0", "a\0b", "b", "ä", "€", "z" }) {
+      ids.add(new RevisionedIdVersion<>(new PkIdString<>(Entity.class, pk), null));
+      ids.add(new RevisionedIdVersion<>(new PkIdString<>(Entity.class, pk), -5L));
+      ids.add(new RevisionedIdVersion<>(new PkIdString<>(Entity.class, pk), 7L));
+      // revision with first byte 0xFF after flipping the sign bit
+      ids.add(new RevisionedIdVersion<>(new PkIdString<>(Entity.class, pk), Long.MAX_VALUE));
+    }
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    GenericId<Entity, ?, ?, ?> template = (GenericId) Id.ofEmpty(Entity.class, "string", "long");
+    check(template, ids, -1);
+    IdKeyCodec<Entity> codec = IdKeyCodec.of(template);
+    Id<Entity> a = new RevisionedIdVersion<>(new PkIdString<>(Entity.class, "a"), Long.MAX_VALUE);
+    Id<Entity> a0 = new RevisionedIdVersion<>(new PkIdString<>(Entity.class, "a\0"), Long.MIN_VALUE + 1);
+    byte[] keyA = codec.encode(a);
+    assertThat(keyA).startsWith((byte) 0x61, (byte) 0, (byte) 0, (byte) 0xFF);
+    assertThat(codec.decode(keyA)).isEqualTo(a);
+    assertThat(codec.decode(keyA).getRevision()).isEqualTo(Long.MAX_VALUE);
+    assertThat(IdKeyCodec.compare(keyA, codec.encode(a0))).isNegative();
+    // key followed by further bytes (e.g. concatenated with a suffix)
+    byte[] keyWithSuffix = Arrays.copyOf(keyA, keyA.length + 3);
+    Arrays.fill(keyWithSuffix, keyA.length, keyWithSuffix.length, (byte) 0xFF);
+    assertThat(codec.decode(keyWithSuffix)).isEqualTo(a);
+  }
+
+  /** Test with {@link CompositePk} primary key of {@link Long} and {@link UUID} components and no revision. */
+  @Test
+  void testComposite() {
+
+    Random random = new Random(42);
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      long tenant = random.nextInt(5) - 2;
+      UUID uuid = new UUID(random.nextLong(), random.nextLong());
+      ids.add(PkIdComposite.of(Entity.class, tenant, uuid, random.nextLong()));
+      ids.add(PkIdComposite.of(Entity.class, tenant, uuid, -1L));
+    }
+    PkIdComposite<Entity> template = PkIdComposite.getEmpty(Entity.class, Long.class, UUID.class, Long.class);
+    check(template, ids, 32);
+    IdKeyCodec<Entity> codec = IdKeyCodec.of(template);
+    assertThatThrownBy(() -> codec.encode(PkIdComposite.ofLongs(Entity.class, 1, 2)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> IdKeyCodec.of(PkIdComposite.getEmpty())).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test with {@link UUID} primary key and {@link HybridTimestamp} revision. */
+  @Test
+  void testUuidHybrid() {
+
+    Random random = new Random(42);
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      HybridTimestamp revision = null;
+      if (i % 5 != 0) {
+        revision = HybridTimestamp.of(random.nextLong(2_000_000_000_000L), random.nextInt(1000));
+      }
+      UUID pk = new UUID(random.nextLong(), random.nextLong());
+      ids.add(new RevisionedIdHybrid<>(new PkIdUuid<>(Entity.class, pk), revision));
+      ids.add(new RevisionedIdHybrid<>(new PkIdUuid<>(Entity.class, pk), HybridTimestamp.of(0, i)));
+    }
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    GenericId<Entity, ?, ?, ?> template = (GenericId) Id.ofEmpty(Entity.class, "uuid", "hybrid");
+    check(template, ids, 24);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static void check(GenericId<Entity, ?, ?, ?> template, List<Id<Entity>> ids, int keyLength) {
+
+    IdKeyCodec<Entity> codec = IdKeyCodec.of(template);
+    assertThat(codec.getKeyLength()).isEqualTo(keyLength);
+    for (Id<Entity> id : ids) {
+      byte[] key = codec.encode(id);
+      assertThat(key).hasSize(codec.getKeyLength(id));
+      Id<Entity> decoded = codec.decode(key);
+      assertThat(decoded).isEqualTo(id);
+      assertThat(decoded.getRevision()).isEqualTo(id.getRevision());
+      assertThat(decoded.getEntityClass()).isSameAs(Entity.class);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(key.length + 2);
+      buffer.put((byte) 1);
+      codec.encode(id, buffer);
+      buffer.put((byte) 2);
+      buffer.flip().get();
+      assertThat(codec.decode(buffer)).isEqualTo(id);
+      assertThat(buffer.get()).isEqualTo((byte) 2);
+      for (Id<Entity> other : ids) {
+        int expected = Integer.signum(comparePk(id.getPk(), other.getPk()));
+        if (expected == 0) {
+          Comparable revision = (Comparable) id.getRevision();
+          Comparable otherRevision = (Comparable) other.getRevision();
+          if (revision == null) {
+            expected = (otherRevision == null) ? 0 : -1;
+          } else if (otherRevision == null) {
+            expected = 1;
+          } else {
+            expected = Integer.signum(revision.compareTo(otherRevision));
+          }
+        }
+        assertThat(Integer.signum(IdKeyCodec.compare(key, codec.encode(other)))).as("%s <> %s", id, other)
+            .isEqualTo(expected);
+      }
+    }
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private static int comparePk(Object pk1, Object pk2) {
+
+    if (pk1 instanceof UUID uuid1) {
+      // unsigned order like UuidIdArray and the string representation
+      UUID uuid2 = (UUID) pk2;
+      int result = Long.compareUnsigned(uuid1.getMostSignificantBits(), uuid2.getMostSignificantBits());
+      if (result == 0) {
+        result = Long.compareUnsigned(uuid1.getLeastSignificantBits(), uuid2.getLeastSignificantBits());
+      }
+      return result;
+    }
+    return ((Comparable) pk1).compareTo(pk2);
+  }
+
+}
@@ -12,6 +12,7 @@ import io.github.mmm.entity.Entity;
 import io.github.mmm.marshall.MarshallingConfig;
 import io.github.mmm.marshall.StandardFormat;
 import io.github.mmm.marshall.StructuredReader;
+import io.github.mmm.marshall.id.StructuredIdMapping;
 
 /**
  * Test of {@link IdMarshalling}.
@@ -28,6 +29,9 @@ class IdMarshallingTest extends Assertions {
     check(new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 42L), 5L), "{\"l\":42,\"v\":5}");
     check(new RevisionedIdVersion<>(new PkIdString<>(Entity.class, "MyId"), 5L), "{\"s\":\"MyId\",\"v\":5}");
     check(new RevisionedIdVersion<>(new PkIdUuid<>(Entity.class, uuid), 5L), "{\"u\":\"" + uuid + "\",\"v\":5}");
+    check(new RevisionedIdVersion<>(new PkIdInt<>(Entity.class, 42), 5L), "{\"i\":42,\"v\":5}");
+    check(new RevisionedIdVersion<>(PkIdComposite.of(Entity.class, 42L, uuid), 5L),
+        "{\"c\":[42,\"" + uuid + "\"],\"v\":5}");
     // test timestamp IDs
     Instant ts = Instant.parse("1999-12-31T23:59:59.123456789Z");
     check(new RevisionedIdInstant<>(new PkIdLong<>(Entity.class, 42L), ts),
@@ -36,12 +40,28 @@ class IdMarshallingTest extends Assertions {
         "{\"s\":\"MyId\",\"t\":\"1999-12-31T23:59:59.123456789Z\"}");
     check(new RevisionedIdInstant<>(new PkIdUuid<>(Entity.class, uuid), ts),
         "{\"u\":\"" + uuid + "\",\"t\":\"1999-12-31T23:59:59.123456789Z\"}");
+    // test hybrid timestamp IDs
+    HybridTimestamp hts = HybridTimestamp.of(946684799123L, 7);
+    check(new RevisionedIdHybrid<>(new PkIdLong<>(Entity.class, 42L), hts), "{\"l\":42,\"h\":62041934995324935}");
+    check(new RevisionedIdHybrid<>(new PkIdUuid<>(Entity.class, uuid), hts),
+        "{\"u\":\"" + uuid + "\",\"h\":62041934995324935}");
     // test flat IDs
     check(new PkIdLong<>(Entity.class, 42L), "42");
+    check(new PkIdInt<>(Entity.class, 42), "42");
+    check(PkIdComposite.ofLongs(Entity.class, 42L, 4711L), "[42,4711]");
     check(new PkIdString<>(Entity.class, "MyId"), "\"MyId\"");
     check(new PkIdUuid<>(Entity.class, uuid), "\"" + uuid + "\"");
   }
 
+  /** Test of {@link IdMarshalling#readObject(StructuredReader, Class)} without template for an {@link PkIdInt}. */
+  @Test
+  void testReadIntWithoutTemplate() {
+
+    StructuredReader reader = StandardFormat.json().reader("{\"i\":42,\"v\":5}");
+    assertThat(IdMarshalling.get().readObject(reader, Entity.class))
+        .isEqualTo(new RevisionedIdVersion<>(new PkIdInt<>(Entity.class, 42), 5L));
+  }
+
   /**
    * Test of {@link IdMarshalling} to JSON for all {@link AbstractVersionId}s with
    * {@link AbstractVersionId#getRevision() revision} of {@code 0}.
@@ -71,6 +91,27 @@ class IdMarshallingTest extends Assertions {
     assertThat(writeJson(new PkIdUuid<>(Entity.class, uuid))).isEqualTo("\"" + uuid + '"');
   }
 
+  /**
+   * Test that {@link IdMarshallingImpl#getPropertyId(String)} is consistent with {@link GenericId#defineIdMapping()}.
+   */
+  @Test
+  void testPropertyIds() {
+
+    // arrange
+    StructuredIdMapping mapping = PkIdLong.getEmpty().defineIdMapping();
+    String[] properties = { GenericId.PROPERTY_PK_LONG, GenericId.PROPERTY_PK_UUID, GenericId.PROPERTY_PK_STRING,
+        GenericId.PROPERTY_PK_INT, GenericId.PROPERTY_PK_COMPOSITE, GenericId.PROPERTY_REVISION_VERSION,
+        GenericId.PROPERTY_REVISION_INSTANT, GenericId.PROPERTY_REVISION_HYBRID };
+    // act + assert
+    for (String property : properties) {
+      int id = IdMarshallingImpl.getPropertyId(property);
+      assertThat(id).as(property).isGreaterThan(IdMarshallingImpl.ID_UNKNOWN).isEqualTo(mapping.id(property));
+      assertThat(mapping.name(id)).isEqualTo(property);
+    }
+    assertThat(IdMarshallingImpl.getPropertyId("x")).isEqualTo(IdMarshallingImpl.ID_UNKNOWN);
+    assertThat(IdMarshallingImpl.getPropertyId("pk")).isEqualTo(IdMarshallingImpl.ID_UNKNOWN);
+  }
+
   public static void check(GenericId<Entity, ?, ?, ?> id, String json) {
 
     assertThat(id.getEntityClass()).isSameAs(Entity.class);
@@ -0,0 +1,113 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link IdPartitioner}.
+ */
+class IdPartitionerTest extends Assertions {
+
+  /** Test of {@link IdPartitioner#partition(long)} with sequential primary keys. */
+  @Test
+  void testEvenDistribution() {
+
+    // arrange
+    int partitions = 16;
+    int count = 160_000;
+    IdPartitioner partitioner = IdPartitioner.of(partitions);
+    int[] counts = new int[partitions];
+    // act
+    for (long pk = 1_000_000; pk < 1_000_000 + count; pk++) {
+      counts[partitioner.partition(pk)]++;
+    }
+    // assert
+    for (int partitionCount : counts) {
+      assertThat(partitionCount).isBetween(count / partitions * 95 / 100, count / partitions * 105 / 100);
+    }
+  }
+
+  /** Test of {@link IdPartitioner#jumpConsistentHash(long, int)} when the number of partitions grows. */
+  @Test
+  void testMinimalMovement() {
+
+    // arrange
+    IdPartitioner partitioner10 = IdPartitioner.of(10);
+    IdPartitioner partitioner11 = IdPartitioner.of(11);
+    int count = 110_000;
+    int moved = 0;
+    // act
+    for (long pk = 0; pk < count; pk++) {
+      int p10 = partitioner10.partition(pk);
+      int p11 = partitioner11.partition(pk);
+      if (p10 != p11) {
+        moved++;
+        assertThat(p11).isEqualTo(10);
+      }
+    }
+    // assert
+    assertThat(moved).isBetween(count / 11 * 9 / 10, count / 11 * 11 / 10);
+  }
+
+  /** Test of {@link IdPartitioner#partition(Id)} for the different {@link Id} types. */
+  @Test
+  void testPartitionId() {
+
+    // arrange
+    IdPartitioner partitioner = IdPartitioner.of(7);
+    UUID uuid = UUID.randomUUID();
+    // act + assert
+    assertThat(partitioner.partition(new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 42L), 3L)))
+        .isEqualTo(partitioner.partition(42L));
+    assertThat(partitioner.partition(new RevisionedIdLongVersion<>(Entity.class, 42L, 3L)))
+        .isEqualTo(partitioner.partition(42L));
+    assertThat(partitioner.partition(PkIdUuid.of(uuid, Entity.class))).isEqualTo(partitioner.partition(uuid));
+    assertThat(IdPartitioner.hash64(PkIdString.of("MyId", Entity.class))).isEqualTo(IdPartitioner.hash64("MyId"));
+    assertThatThrownBy(() -> partitioner.partition(PkIdLong.getEmpty(Entity.class)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> IdPartitioner.of(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link IdPartitioner#split(long[])} and {@link IdPartitioner#split(java.util.Collection)}. */
+  @Test
+  void testSplit() {
+
+    // arrange
+    IdPartitioner partitioner = IdPartitioner.of(4);
+    long[] pks = new long[1000];
+    List<Id<Entity>> ids = new ArrayList<>();
+    for (int i = 0; i < pks.length; i++) {
+      pks[i] = i * 3;
+      ids.add(PkIdLong.of(pks[i], Entity.class));
+    }
+    // act
+    long[][] pkBuckets = partitioner.split(pks);
+    List<List<Id<Entity>>> idBuckets = partitioner.split(ids);
+    // assert
+    assertThat(pkBuckets.length).isEqualTo(4);
+    assertThat(idBuckets).hasSize(4);
+    int total = 0;
+    for (int p = 0; p < 4; p++) {
+      long[] bucket = pkBuckets[p];
+      assertThat(idBuckets.get(p)).hasSize(bucket.length);
+      for (int i = 0; i < bucket.length; i++) {
+        assertThat(partitioner.partition(bucket[i])).isEqualTo(p);
+        assertThat(idBuckets.get(p).get(i).getPk()).isEqualTo(bucket[i]);
+        if (i > 0) {
+          assertThat(bucket[i]).isGreaterThan(bucket[i - 1]);
+        }
+      }
+      total += bucket.length;
+    }
+    assertThat(total).isEqualTo(pks.length);
+  }
+
+}
@@ -0,0 +1,87 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.base.lang.Builder;
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link PkIdComposite} and {@link CompositePk}.
+ */
+class PkIdCompositeTest extends Assertions {
+
+  /** Test of {@link CompositePk} with {@code long} and {@link UUID} components. */
+  @Test
+  void testCompositePk() {
+
+    // arrange
+    UUID uuid = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    // act
+    CompositePk pk = CompositePk.of(42L, uuid, Integer.valueOf(-7));
+    // assert
+    assertThat(pk.size()).isEqualTo(3);
+    assertThat(pk.getLong(0)).isEqualTo(42L);
+    assertThat(pk.getUuid(1)).isEqualTo(uuid);
+    assertThat(pk.get(2)).isEqualTo(-7L);
+    assertThat(pk.getType(1)).isSameAs(UUID.class);
+    assertThat(pk).hasToString("42,123e4567-e89b-12d3-a456-426614174000,-7");
+    assertThat(CompositePk.parse(pk.toString())).isEqualTo(pk).hasSameHashCodeAs(pk);
+    assertThat(CompositePk.ofLongs(1, 2)).isEqualTo(CompositePk.of(1, 2L)).isLessThan(CompositePk.ofLongs(1, 3))
+        .isGreaterThan(CompositePk.ofLongs(-1, 5)).isNotEqualTo(CompositePk.ofLongs(2, 1));
+    assertThatThrownBy(() -> pk.getLong(1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> CompositePk.ofLongs(1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> CompositePk.parse("1,x")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link PkIdComposite}. */
+  @Test
+  void testPkIdComposite() {
+
+    // arrange
+    PkIdComposite<Entity> template = PkIdComposite.getEmpty(Entity.class, Long.class, Long.class);
+    // act
+    PkIdComposite<Entity> id = template.withPk(CompositePk.ofLongs(1, 4711));
+    // assert
+    assertThat(id).isEqualTo(PkIdComposite.ofLongs(Entity.class, 1, 4711)).hasToString("1,4711")
+        .hasSameHashCodeAs(PkIdComposite.of(Entity.class, 1, 4711));
+    assertThat(id.getComponentCount()).isEqualTo(2);
+    assertThat(id.getEntityClass()).isSameAs(Entity.class);
+    assertThat(template.create("1,4711")).isEqualTo(id);
+    assertThat(PkId.of(Entity.class, id.getPk())).isEqualTo(id);
+    assertThat(PkIdComposite.getEmpty(Entity.class, Long.class, UUID.class)).isNotSameAs(template)
+        .isNotEqualTo(template.withPk(CompositePk.ofLongs(1, 2)));
+    assertThatThrownBy(() -> template.withPk(CompositePk.of(1L, UUID.randomUUID())))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link PkMapper} for {@link PkIdComposite} with one column per component. */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @Test
+  void testMapper() {
+
+    // arrange
+    UUID uuid = UUID.randomUUID();
+    PkIdComposite<Entity> template = PkIdComposite.getEmpty(Entity.class, Long.class, UUID.class);
+    PkIdComposite<Entity> id = PkIdComposite.of(Entity.class, 42L, uuid);
+    PkMapper mapper = PkMapper.of(template);
+    PkMapper second = (PkMapper) mapper.next();
+    // act
+    Builder<Id> builder = mapper.sourceBuilder();
+    mapper.with(builder, Long.valueOf(42));
+    second.with(builder, uuid);
+    Id result = builder.build();
+    // assert
+    assertThat(mapper.getTargetType()).isSameAs(Long.class);
+    assertThat(second.getTargetType()).isSameAs(UUID.class);
+    assertThat(second.next()).isNull();
+    assertThat(mapper.toTarget(id)).isEqualTo(42L);
+    assertThat(second.toTarget(id)).isEqualTo(uuid);
+    assertThat(result).isEqualTo(id);
+  }
+
+}
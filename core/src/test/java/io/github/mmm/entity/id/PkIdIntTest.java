@@ -0,0 +1,90 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link PkIdInt}.
+ */
+class PkIdIntTest extends Assertions {
+
+  /** Test of {@link PkIdInt} with primitive and boxed primary key. */
+  @Test
+  void testPrimitiveAndBoxedPk() {
+
+    // arrange
+    PkIdInt<Entity> primitive = new PkIdInt<>(Entity.class, 4711);
+    PkIdInt<Entity> boxed = new PkIdInt<>(Entity.class, Integer.valueOf(4711));
+    // act + assert
+    assertThat(primitive.getPk()).isEqualTo(4711);
+    assertThat(primitive.getPkAsInt()).isEqualTo(4711);
+    assertThat(primitive.hasPk()).isTrue();
+    assertThat(primitive.isEmpty()).isFalse();
+    assertThat(primitive).isEqualTo(boxed).hasSameHashCodeAs(boxed).hasToString("4711");
+    assertThat(primitive).isNotEqualTo(new PkIdLong<>(Entity.class, 4711L));
+    assertThat(primitive.withPk(4711)).isSameAs(primitive);
+    assertThat(primitive.withPk(42).getPkAsInt()).isEqualTo(42);
+    assertThat(PkId.of(Entity.class, 4711)).isInstanceOf(PkIdLong.class).isNotEqualTo(primitive);
+    assertThat(PkIdInt.getEmpty(Entity.class).create(Entity.class, "4711")).isEqualTo(primitive);
+    assertThat(primitive.parsePk("x-42y", 1, 4)).isEqualTo(-42);
+    assertThat(Id.ofEmpty(Entity.class, "int", null)).isInstanceOf(RevisionedIdVersion.class)
+        .isEqualTo(PkIdInt.getEmpty(Entity.class).withRevisionVersion(null));
+  }
+
+  /** Test of {@link PkIdInt} with {@code null} as primary key. */
+  @Test
+  void testNullPk() {
+
+    // arrange
+    PkIdInt<Entity> empty = PkIdInt.getEmpty(Entity.class);
+    // act + assert
+    assertThat(empty.getPk()).isNull();
+    assertThat(empty.getPkAsInt()).isEqualTo(-1);
+    assertThat(empty.hasPk()).isFalse();
+    assertThat(empty.isTransient()).isTrue();
+    assertThat(empty).isEqualTo(new PkIdInt<>(Entity.class, (Integer) null)).hasToString("");
+    assertThat(empty.withPk((Integer) null)).isSameAs(empty);
+    assertThat(PkIdInt.of(PkIdInt.NULL_PK, Entity.class)).isNull();
+    Integer reserved = Integer.valueOf(PkIdInt.NULL_PK);
+    assertThatThrownBy(() -> new PkIdInt<>(Entity.class, reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PkIdInt.of(reserved, Entity.class)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> empty.withPk(reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(PkIdInt.getEmpty(Entity.class)).isSameAs(empty);
+  }
+
+  /** Test of {@link PkIdInt#of(int, Class)} with cached instances for the low range. */
+  @Test
+  void testCache() {
+
+    // act + assert
+    assertThat(PkIdInt.of(42, Entity.class)).isSameAs(PkIdInt.of(42, Entity.class));
+    assertThat(PkIdInt.of(0, Entity.class)).isSameAs(PkIdInt.of(1, Entity.class).withPk(0));
+    assertThat(PkIdInt.of(42, Entity.class)).isNotSameAs(PkIdInt.of(42, String.class));
+    assertThat(PkIdInt.of(42, String.class).getEntityClass()).isSameAs(String.class);
+    assertThat(PkIdInt.of(PkIdInt.CACHE_SIZE, Entity.class)).isNotSameAs(PkIdInt.of(PkIdInt.CACHE_SIZE, Entity.class))
+        .isEqualTo(PkIdInt.of(PkIdInt.CACHE_SIZE, Entity.class));
+    assertThat(PkIdInt.of(-1, Entity.class)).isNotSameAs(PkIdInt.of(-1, Entity.class));
+  }
+
+  /** Test of {@link PkMapper} and {@link FkMapper} for {@link PkIdInt}. */
+  @Test
+  void testMapper() {
+
+    // arrange
+    PkIdInt<Entity> template = PkIdInt.getEmpty(Entity.class);
+    FkMapper fkMapper = FkMapper.of(template);
+    PkMapper pkMapper = PkMapper.of(template);
+    // act + assert
+    assertThat(fkMapper.getTargetType()).isSameAs(Integer.class);
+    assertThat(fkMapper.toTarget(PkIdInt.of(7, Entity.class))).isEqualTo(7);
+    assertThat(fkMapper.toSource(Integer.valueOf(7))).isSameAs(PkIdInt.of(7, Entity.class));
+    assertThat(fkMapper.toSource(Long.valueOf(7))).isSameAs(PkIdInt.of(7, Entity.class));
+    assertThat(pkMapper.getTargetType()).isSameAs(Integer.class);
+    assertThat(pkMapper.toSource(Long.valueOf(8))).isEqualTo(PkIdInt.of(8, Entity.class));
+  }
+
+}
@@ -0,0 +1,73 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+
+/**
+ * Test of {@link PkIdLong}.
+ */
+class PkIdLongTest extends Assertions {
+
+  /** Test of {@link PkIdLong} with primitive and boxed primary key. */
+  @Test
+  void testPrimitiveAndBoxedPk() {
+
+    // arrange
+    PkIdLong<Entity> primitive = new PkIdLong<>(Entity.class, 4711L);
+    PkIdLong<Entity> boxed = new PkIdLong<>(Entity.class, Long.valueOf(4711L));
+    // act + assert
+    assertThat(primitive.getPk()).isEqualTo(4711L);
+    assertThat(primitive.getPkAsLong()).isEqualTo(4711L);
+    assertThat(primitive.hasPk()).isTrue();
+    assertThat(primitive.isEmpty()).isFalse();
+    assertThat(primitive.isTransient()).isFalse();
+    assertThat(primitive).isEqualTo(boxed).hasSameHashCodeAs(boxed).hasToString("4711");
+    assertThat(primitive.withPk(4711L)).isSameAs(primitive);
+    assertThat(primitive.withPk(Long.valueOf(4711L))).isSameAs(primitive);
+    assertThat(primitive.withPk(42L).getPkAsLong()).isEqualTo(42L);
+    assertThat(PkId.of(Entity.class, 4711L)).isEqualTo(primitive);
+    assertThat(PkId.of(Entity.class, 4711)).isEqualTo(primitive);
+    assertThat(primitive.hashCode()).isEqualTo(~Long.valueOf(4711L).hashCode());
+  }
+
+  /** Test of {@link PkIdLong} with {@code null} as primary key. */
+  @Test
+  void testNullPk() {
+
+    // arrange
+    PkIdLong<Entity> empty = PkIdLong.getEmpty(Entity.class);
+    // act + assert
+    assertThat(empty.getPk()).isNull();
+    assertThat(empty.getPkAsLong()).isEqualTo(-1L);
+    assertThat(empty.hasPk()).isFalse();
+    assertThat(empty.isEmpty()).isTrue();
+    assertThat(empty.isTransient()).isTrue();
+    assertThat(empty).isEqualTo(new PkIdLong<>(Entity.class, (Long) null)).hasToString("");
+    assertThat(empty.withPk((Long) null)).isSameAs(empty);
+    assertThat(PkIdLong.of(PkIdLong.NULL_PK, Entity.class)).isNull();
+    Long reserved = Long.valueOf(PkIdLong.NULL_PK);
+    assertThatThrownBy(() -> new PkIdLong<>(Entity.class, reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PkIdLong.of(reserved, Entity.class)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> empty.withPk(reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PkId.of(Entity.class, reserved)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Id.of(Entity.class, reserved, 1L)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link PkIdLong#equals(Object)} with a {@link RevisionedId}. */
+  @Test
+  void testEqualsWithRevision() {
+
+    // arrange
+    PkIdLong<Entity> pkId = new PkIdLong<>(Entity.class, 4711L);
+    RevisionedIdVersion<Entity, Long> revisioned = new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 4711L), 1L);
+    // act + assert
+    assertThat(pkId).isNotEqualTo(revisioned).hasSameHashCodeAs(revisioned);
+    assertThat(revisioned.withoutRevision()).isEqualTo(pkId);
+    assertThat(revisioned.withRevision(null)).isEqualTo(pkId);
+  }
+
+}
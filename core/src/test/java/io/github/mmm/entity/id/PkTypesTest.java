@@ -0,0 +1,99 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id;
+
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.marshall.StructuredReader;
+
+/**
+ * Test of {@link PkTypes}.
+ */
+class PkTypesTest extends Assertions {
+
+  /** Test of the built-in {@link PkType}s. */
+  @Test
+  void testBuiltInTypes() {
+
+    // arrange
+    UUID uuid = UUID.randomUUID();
+    // act + assert
+    assertThat(PkTypes.get(Long.class)).isSameAs(PkTypes.LONG);
+    assertThat(PkTypes.get(Integer.class)).isSameAs(PkTypes.LONG);
+    assertThat(PkTypes.convert(Integer.class, Long.valueOf(42))).isEqualTo(42);
+    assertThat(PkTypes.get(UUID.class)).isSameAs(PkTypes.UUID);
+    assertThat(PkTypes.get(String.class)).isSameAs(PkTypes.STRING);
+    assertThat(PkTypes.get(Double.class)).isNull();
+    assertThat(PkTypes.getByName("uuid")).isSameAs(PkTypes.UUID);
+    assertThat(PkTypes.getByMarshalProperty(GenericId.PROPERTY_PK_STRING)).isSameAs(PkTypes.STRING);
+    assertThat(PkTypes.getByIdClass(PkIdUuid.class)).isSameAs(PkTypes.UUID);
+    assertThat(PkTypes.getByIdClass(Id.class)).isSameAs(PkTypes.LONG);
+    assertThat(PkTypes.getByIdClass(RevisionedIdVersion.class)).isNull();
+    assertThat(PkTypes.parsePk("x-42", 1, 4)).isEqualTo(-42L);
+    assertThat(PkTypes.parsePk(uuid.toString(), 0, 36)).isEqualTo(uuid);
+    assertThat(PkTypes.parsePk("@x", 0, 2)).isEqualTo("@x");
+    assertThat(PkId.of(Entity.class, uuid)).isEqualTo(PkIdUuid.of(uuid, Entity.class));
+    assertThatThrownBy(() -> PkId.of(Entity.class, Double.valueOf(1))).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link PkTypes#register(PkType, Class...)}. */
+  @Test
+  void testRegister() {
+
+    // arrange
+    PkType<String> conflict = new PkType<>() {
+
+      @Override
+      public String getName() {
+
+        return "long";
+      }
+
+      @Override
+      public PkId<?, String, ?> getEmpty() {
+
+        return PkIdString.getEmpty();
+      }
+
+      @Override
+      public <E> PkId<E, String, ?> create(Class<E> entityClass, String pk) {
+
+        return PkIdString.of(pk, entityClass);
+      }
+
+      @Override
+      public String parsePk(CharSequence chars, int start, int end) {
+
+        return null;
+      }
+
+      @Override
+      public String readPk(StructuredReader reader) {
+
+        return reader.readValueAsString();
+      }
+    };
+    Short pk = Short.valueOf((short) 42);
+    try {
+      // act
+      PkTypes.register(PkTypes.LONG, Short.class);
+      // assert
+      assertThat(PkId.of(Entity.class, pk)).isEqualTo(PkIdLong.of(42L, Entity.class));
+      assertThat(PkTypes.parsePk("42", 0, 2)).isEqualTo(42L);
+      assertThatThrownBy(() -> PkTypes.register(conflict)).isInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> PkTypes.register(PkTypes.INT, Short.class)).isInstanceOf(IllegalStateException.class);
+      assertThat(PkTypes.getByName("long")).isSameAs(PkTypes.LONG);
+      assertThat(PkTypes.getByMarshalProperty(GenericId.PROPERTY_PK_LONG)).isSameAs(PkTypes.LONG);
+    } finally {
+      PkTypes.unregisterAliases(Short.class);
+    }
+    assertThat(PkTypes.get(Short.class)).isNull();
+    assertThatThrownBy(() -> PkId.of(Entity.class, pk)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PkTypes.unregisterAliases(Long.class)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
@@ -0,0 +1,178 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.link.Link;
+import io.github.mmm.marshall.MarshallingConfig;
+import io.github.mmm.marshall.StandardFormat;
+
+/**
+ * Test of {@link IdBitmap}.
+ */
+class IdBitmapTest extends Assertions {
+
+  /** Test of {@link IdBitmap} with random operations compared to {@link TreeSet}. */
+  @Test
+  void testRandomOperations() {
+
+    // arrange
+    Random random = new Random(4711);
+    IdBitmap<Entity> bitmap = new IdBitmap<>(Entity.class);
+    TreeSet<Long> expected = new TreeSet<>();
+    // act + assert
+    for (int i = 0; i < 200_000; i++) {
+      // mix of sparse and dense containers including negative keys
+      long pk = random.nextBoolean() ? random.nextInt(20_000) : random.nextLong() >> 20;
+      if (random.nextInt(4) > 0) {
+        assertThat(bitmap.add(pk)).isEqualTo(expected.add(pk));
+      } else {
+        assertThat(bitmap.remove(pk)).isEqualTo(expected.remove(pk));
+      }
+    }
+    assertThat(bitmap.getCardinality()).isEqualTo((long) expected.size());
+    List<Long> pks = new ArrayList<>();
+    bitmap.forEachPk(pk -> pks.add(pk));
+    assertThat(pks).isEqualTo(new ArrayList<>(expected));
+    Iterator<Id<Entity>> iterator = bitmap.iterator();
+    for (Long pk : expected) {
+      assertThat(iterator.next().getPk()).isEqualTo(pk);
+    }
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(bitmap.equals(bitmap.union(new IdBitmap<>(Entity.class)))).isTrue();
+    assertThat(bitmap.hashCode()).isEqualTo(bitmap.union(new IdBitmap<>(Entity.class)).hashCode());
+  }
+
+  /**
+   * Test of {@link IdBitmap#union(IdBitmap)}, {@link IdBitmap#intersection(IdBitmap)} and
+   * {@link IdBitmap#difference(IdBitmap)}.
+   */
+  @Test
+  void testSetAlgebra() {
+
+    // arrange
+    Random random = new Random(42);
+    IdBitmap<Entity> bitmap1 = new IdBitmap<>(Entity.class);
+    IdBitmap<Entity> bitmap2 = new IdBitmap<>(Entity.class);
+    TreeSet<Long> set1 = new TreeSet<>();
+    TreeSet<Long> set2 = new TreeSet<>();
+    bitmap1.addRange(1000, 70_000);
+    for (long pk = 1000; pk < 70_000; pk++) {
+      set1.add(pk);
+    }
+    for (int i = 0; i < 30_000; i++) {
+      long pk1 = random.nextInt(300_000);
+      bitmap1.add(pk1);
+      set1.add(pk1);
+      long pk2 = random.nextInt(100_000);
+      bitmap2.add(pk2);
+      set2.add(pk2);
+    }
+    // act
+    IdBitmap<Entity> union = bitmap1.union(bitmap2);
+    IdBitmap<Entity> intersection = bitmap1.intersection(bitmap2);
+    IdBitmap<Entity> difference = bitmap1.difference(bitmap2);
+    // assert
+    TreeSet<Long> expected = new TreeSet<>(set1);
+    expected.addAll(set2);
+    assertThat(toList(union)).isEqualTo(new ArrayList<>(expected));
+    expected = new TreeSet<>(set1);
+    expected.retainAll(set2);
+    assertThat(toList(intersection)).isEqualTo(new ArrayList<>(expected));
+    expected = new TreeSet<>(set1);
+    expected.removeAll(set2);
+    assertThat(toList(difference)).isEqualTo(new ArrayList<>(expected));
+    assertThat(toList(bitmap1)).isEqualTo(new ArrayList<>(set1));
+    assertThatThrownBy(() -> bitmap1.union((IdBitmap) new IdBitmap<>(String.class)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link IdBitmap#encode()} and {@link IdBitmap#decode(Class, byte[])} with ten million {@link Id}s. */
+  @Test
+  void testEncodeDenseRange() {
+
+    // arrange
+    IdBitmap<Entity> bitmap = new IdBitmap<>(Entity.class);
+    bitmap.addRange(100_000_000L, 110_000_000L);
+    bitmap.add(-42L);
+    bitmap.add(4711L);
+    // act
+    byte[] data = bitmap.encode();
+    IdBitmap<Entity> decoded = IdBitmap.decode(Entity.class, data);
+    // assert
+    assertThat(bitmap.getCardinality()).isEqualTo(10_000_002L);
+    assertThat(data.length).isLessThan(1_300_000);
+    assertThat(decoded.getCardinality()).isEqualTo(bitmap.getCardinality());
+    assertThat(decoded.intersection(bitmap).getCardinality()).isEqualTo(bitmap.getCardinality());
+    assertThat(decoded.contains((Object) PkIdLong.of(-42L, Entity.class))).isTrue();
+    assertThat(decoded.contains(109_999_999L)).isTrue();
+    assertThat(decoded.contains(110_000_000L)).isFalse();
+    assertThatThrownBy(() -> IdBitmap.decode(Entity.class, new byte[] { 1, 0, 0, 0, 1 }))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link IdBitmap#write} and {@link IdBitmap#readObject} with JSON including {@code null}. */
+  @Test
+  void testJson() {
+
+    // arrange
+    IdBitmap<Entity> bitmap = new IdBitmap<>(Entity.class);
+    bitmap.addRange(1000, 2000);
+    bitmap.add(-42L);
+    bitmap.add(1L << 40);
+    IdBitmap<Entity> template = new IdBitmap<>(Entity.class);
+    // act
+    StringBuilder sb = new StringBuilder();
+    bitmap.write(StandardFormat.json(MarshallingConfig.NO_INDENTATION).writer(sb));
+    String json = sb.toString();
+    IdBitmap<Entity> read = template.readObject(StandardFormat.json().reader(json));
+    // assert
+    assertThat(json).startsWith("\"").endsWith("\"");
+    assertThat(read.getEntityClass()).isSameAs(Entity.class);
+    assertThat(toList(read)).isEqualTo(toList(bitmap));
+    assertThat(template.readObject(StandardFormat.json().reader("null"))).isNull();
+  }
+
+  /** Test of {@link IdBitmap#links()} and {@link Iterator#remove()}. */
+  @Test
+  void testLinksAndIteratorRemove() {
+
+    // arrange
+    IdBitmap<Entity> bitmap = new IdBitmap<>(Entity.class);
+    bitmap.addRange(0, 10);
+    bitmap.add(1L << 40);
+    // act
+    Iterator<Id<Entity>> iterator = bitmap.iterator();
+    while (iterator.hasNext()) {
+      long pk = ((Long) iterator.next().getPk()).longValue();
+      if ((pk % 2) == 0) {
+        iterator.remove();
+      }
+    }
+    List<Link<Entity>> links = new ArrayList<>();
+    bitmap.links().forEach(links::add);
+    // assert
+    assertThat(toList(bitmap)).containsExactly(1L, 3L, 5L, 7L, 9L);
+    assertThat(links).hasSize(5);
+    assertThat(links.get(0).getId()).isEqualTo(PkIdLong.of(1L, Entity.class));
+  }
+
+  private static List<Long> toList(IdBitmap<?> bitmap) {
+
+    List<Long> pks = new ArrayList<>();
+    bitmap.forEachPk(pk -> pks.add(pk));
+    return pks;
+  }
+
+}
@@ -0,0 +1,144 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.id.PkIdUuid;
+import io.github.mmm.entity.id.RevisionedIdVersion;
+import io.github.mmm.entity.link.IdLink;
+
+/**
+ * Test of {@link IdBloomFilter}.
+ */
+class IdBloomFilterTest extends Assertions {
+
+  /** Test of {@link IdBloomFilter#mightContain(Id)} without false negatives and limited false positives. */
+  @Test
+  void testFalsePositiveProbability() {
+
+    // arrange
+    IdBloomFilter<Entity> filter = new IdBloomFilter<>(Entity.class, 10_000, 0.01);
+    // act
+    for (long pk = 0; pk < 10_000; pk++) {
+      filter.add(new PkIdLong<>(Entity.class, pk * 7));
+    }
+    int falsePositives = 0;
+    for (long pk = 0; pk < 100_000; pk++) {
+      if (filter.mightContain(-1 - pk)) {
+        falsePositives++;
+      }
+    }
+    // assert
+    for (long pk = 0; pk < 10_000; pk++) {
+      assertThat(filter.mightContain(new PkIdLong<>(Entity.class, pk * 7))).isTrue();
+    }
+    assertThat(filter.mightContain(new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 14L), 2L))).isTrue();
+    assertThat(filter.mightContain(new PkIdLong<>(String.class, 14L))).isFalse();
+    assertThat(filter.mightContain(PkIdLong.getEmpty(Entity.class))).isFalse();
+    assertThat(filter.getApproximateCount()).isBetween(9_900L, 10_000L);
+    assertThat(falsePositives).isLessThan(1000);
+    assertThatThrownBy(() -> filter.add(PkIdLong.getEmpty(Entity.class)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link IdBloomFilter} growing beyond the expected insertions. */
+  @Test
+  void testGrow() {
+
+    // arrange
+    IdBloomFilter<Entity> filter = new IdBloomFilter<>(Entity.class, 100, 0.01);
+    UUID[] uuids = new UUID[20_000];
+    for (int i = 0; i < uuids.length; i++) {
+      uuids[i] = new UUID(i, ~i);
+    }
+    // act
+    for (UUID uuid : uuids) {
+      filter.add(PkIdUuid.of(uuid, Entity.class));
+    }
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain(new UUID(-1 - i, i))) {
+        falsePositives++;
+      }
+    }
+    // assert
+    for (UUID uuid : uuids) {
+      assertThat(filter.mightContain(uuid)).isTrue();
+    }
+    assertThat(falsePositives).isLessThan(1000);
+  }
+
+  /** Test of {@link IdBloomFilter#add(long)} from multiple threads concurrently. */
+  @Test
+  void testConcurrentAdd() {
+
+    // arrange
+    IdBloomFilter<Entity> filter = new IdBloomFilter<>(Entity.class, 1000, 0.01);
+    // act
+    IntStream.range(0, 50_000).parallel().forEach(i -> filter.add(i));
+    // assert
+    for (long pk = 0; pk < 50_000; pk++) {
+      assertThat(filter.mightContain(pk)).isTrue();
+    }
+  }
+
+  /** Test of {@link IdBloomFilter#writeTo(OutputStream)} and {@link IdBloomFilter#readFrom(Class, InputStream)}. */
+  @Test
+  void testWriteAndRead() {
+
+    // arrange
+    IdBloomFilter<Entity> filter = new IdBloomFilter<>(Entity.class, 100, 0.001);
+    for (long pk = 1; pk <= 1000; pk++) {
+      filter.add(pk * pk);
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // act
+    filter.writeTo(out);
+    IdBloomFilter<Entity> copy = IdBloomFilter.readFrom(Entity.class, new ByteArrayInputStream(out.toByteArray()));
+    // assert
+    assertThat(copy.getFalsePositiveProbability()).isEqualTo(0.001);
+    assertThat(copy.getApproximateCount()).isEqualTo(filter.getApproximateCount());
+    for (long pk = -1000; pk <= 1_000_000; pk++) {
+      assertThat(copy.mightContain(pk)).isEqualTo(filter.mightContain(pk));
+    }
+    assertThatThrownBy(() -> IdBloomFilter.readFrom(Entity.class, new ByteArrayInputStream(new byte[8])))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link IdBloomFilter#guard(Function)} in front of {@link IdLink} resolution. */
+  @Test
+  void testGuard() {
+
+    // arrange
+    IdBloomFilter<Entity> filter = new IdBloomFilter<>(Entity.class);
+    filter.add(42L);
+    AtomicInteger calls = new AtomicInteger();
+    Function<Id<Entity>, Entity> resolver = id -> {
+      calls.incrementAndGet();
+      return null;
+    };
+    Function<Id<Entity>, Entity> guarded = filter.guard(resolver);
+    // act
+    Entity missing = IdLink.of(PkIdLong.of(4711L, Entity.class), guarded).getEntity();
+    Entity existing = IdLink.of(PkIdLong.of(42L, Entity.class), guarded).getEntity();
+    // assert
+    assertThat(missing).isNull();
+    assertThat(existing).isNull();
+    assertThat(calls).hasValue(1);
+  }
+
+}
@@ -0,0 +1,97 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.link.Link;
+
+/**
+ * Test of {@link LongIdArray}.
+ */
+class LongIdArrayTest extends Assertions {
+
+  /** Test of {@link LongIdArray#ofLinks(Class, java.util.Collection)}. */
+  @Test
+  void testOfLinks() {
+
+    // arrange
+    List<Link<Entity>> links = new ArrayList<>();
+    for (long pk : new long[] { 5, -3, 42, 5, 7, -3 }) {
+      links.add(Link.of(PkIdLong.of(pk, Entity.class)));
+    }
+    // act
+    LongIdArray<Entity> array = LongIdArray.ofLinks(Entity.class, links);
+    // assert
+    assertThat(array.toPkArray()).isEqualTo(new long[] { -3, 5, 7, 42 });
+    assertThat(array.get(1)).isEqualTo(PkIdLong.of(5L, Entity.class));
+    assertThat(array.contains((Object) PkIdLong.of(42L, Entity.class))).isTrue();
+    assertThat(array.contains((Object) PkIdLong.of(42L, String.class))).isFalse();
+    assertThat(array.indexOf(7)).isEqualTo(2);
+    assertThat(array.indexOf(8)).isEqualTo(-1);
+    Set<Id<Entity>> expected = Set.of(PkIdLong.of(-3L, Entity.class), PkIdLong.of(5L, Entity.class),
+        PkIdLong.of(7L, Entity.class), PkIdLong.of(42L, Entity.class));
+    assertThat(array.equals(expected)).isTrue();
+    assertThat(array.hashCode()).isEqualTo(expected.hashCode());
+  }
+
+  /** Test of set algebra of {@link LongIdArray} with linear merge and galloping compared to {@link TreeSet}. */
+  @Test
+  void testSetAlgebra() {
+
+    Random random = new Random(4711);
+    for (int sizeA : new int[] { 0, 10, 1000 }) {
+      for (int sizeB : new int[] { 0, 10, 1000, 100_000 }) {
+        // arrange
+        TreeSet<Long> setA = new TreeSet<>();
+        TreeSet<Long> setB = new TreeSet<>();
+        LongIdArray.Builder<Entity> builderA = LongIdArray.builder(Entity.class);
+        LongIdArray.Builder<Entity> builderB = LongIdArray.builder(Entity.class);
+        for (int i = 0; i < sizeA; i++) {
+          long pk = random.nextInt(200_000) - 1000;
+          setA.add(pk);
+          builderA.add(pk);
+        }
+        for (int i = 0; i < sizeB; i++) {
+          long pk = random.nextInt(200_000) - 1000;
+          setB.add(pk);
+          builderB.add(pk);
+        }
+        LongIdArray<Entity> a = builderA.build();
+        LongIdArray<Entity> b = builderB.build();
+        // act + assert
+        TreeSet<Long> expected = new TreeSet<>(setA);
+        expected.retainAll(setB);
+        assertThat(toList(a.intersection(b))).isEqualTo(new ArrayList<>(expected));
+        assertThat(toList(b.intersection(a))).isEqualTo(new ArrayList<>(expected));
+        expected = new TreeSet<>(setA);
+        expected.addAll(setB);
+        assertThat(toList(a.union(b))).isEqualTo(new ArrayList<>(expected));
+        expected = new TreeSet<>(setA);
+        expected.removeAll(setB);
+        assertThat(toList(a.difference(b))).isEqualTo(new ArrayList<>(expected));
+        expected = new TreeSet<>(setB);
+        expected.removeAll(setA);
+        assertThat(toList(b.difference(a))).isEqualTo(new ArrayList<>(expected));
+      }
+    }
+  }
+
+  private static List<Long> toList(LongIdArray<?> array) {
+
+    List<Long> pks = new ArrayList<>();
+    array.forEachPk(pk -> pks.add(pk));
+    return pks;
+  }
+
+}
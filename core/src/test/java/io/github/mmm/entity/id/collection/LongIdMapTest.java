@@ -0,0 +1,87 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Test of {@link LongIdMap}.
+ */
+class LongIdMapTest extends Assertions {
+
+  /** Test of {@link LongIdMap} used as regular {@link Map}. */
+  @Test
+  void testMapView() {
+
+    // arrange
+    LongIdMap<Entity, String> map = new LongIdMap<>(Entity.class);
+    PkIdLong<Entity> id42 = PkIdLong.of(42L, Entity.class);
+    PkIdLong<Entity> id4711 = PkIdLong.of(4711L, Entity.class);
+    // act
+    map.put(id42, "a");
+    map.put(4711L, "b");
+    String old = map.put(id42, "c");
+    // assert
+    assertThat(old).isEqualTo("a");
+    assertThat(map).hasSize(2);
+    assertThat(map.get(id42)).isEqualTo("c");
+    assertThat(map.get(4711L)).isEqualTo("b");
+    assertThat(map.get(new PkIdLong<>(String.class, 42L))).isNull();
+    assertThat(map.containsValue("b")).isTrue();
+    assertThat(map.equals(Map.of(id42, "c", id4711, "b"))).isTrue();
+    assertThat(map.hashCode()).isEqualTo(Map.of(id42, "c", id4711, "b").hashCode());
+    assertThat(map.keySet().contains(id4711)).isTrue();
+    for (Entry<Id<Entity>, String> entry : map.entrySet()) {
+      entry.setValue(entry.getValue() + "!");
+    }
+    assertThat(map.get(42L)).isEqualTo("c!");
+    assertThat(map.remove(id4711)).isEqualTo("b!");
+    assertThat(map).hasSize(1);
+  }
+
+  /** Test of {@link LongIdMap} with random operations compared to {@link HashMap} including iterator removal. */
+  @Test
+  void testRandomOperations() {
+
+    // arrange
+    Random random = new Random(4711);
+    LongIdMap<Entity, Integer> map = new LongIdMap<>(Entity.class, 100);
+    Map<Long, Integer> expected = new HashMap<>();
+    // act + assert
+    for (int i = 0; i < 100_000; i++) {
+      long pk = random.nextInt(3000);
+      Integer value = Integer.valueOf(i);
+      if (random.nextInt(3) > 0) {
+        assertThat(map.put(pk, value)).isEqualTo(expected.put(pk, value));
+      } else {
+        assertThat(map.remove(pk)).isEqualTo(expected.remove(pk));
+      }
+    }
+    Iterator<Entry<Id<Entity>, Integer>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<Id<Entity>, Integer> entry = iterator.next();
+      Long pk = (Long) entry.getKey().getPk();
+      assertThat(entry.getValue()).isEqualTo(expected.get(pk));
+      if ((entry.getValue().intValue() & 1) == 0) {
+        iterator.remove();
+        expected.remove(pk);
+      }
+    }
+    assertThat(map.size()).isEqualTo(expected.size());
+    for (Entry<Long, Integer> entry : expected.entrySet()) {
+      assertThat(map.get(entry.getKey().longValue())).isEqualTo(entry.getValue());
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.id.PkIdString;
+import io.github.mmm.entity.id.RevisionedIdVersion;
+
+/**
+ * Test of {@link LongIdSet}.
+ */
+class LongIdSetTest extends Assertions {
+
+  /** Test of {@link LongIdSet} used as regular {@link Set}. */
+  @Test
+  void testSetView() {
+
+    // arrange
+    LongIdSet<Entity> set = new LongIdSet<>(Entity.class);
+    PkIdLong<Entity> id42 = PkIdLong.of(42L, Entity.class);
+    Set<Id<Entity>> expected = Set.of(id42, PkIdLong.of(4711L, Entity.class));
+    // act
+    set.add(id42);
+    set.add(new RevisionedIdVersion<>(new PkIdLong<>(Entity.class, 4711L), 3L));
+    set.add(new PkIdLong<>(null, 42L));
+    // assert
+    assertThat(set).hasSize(2);
+    assertThat(set.contains(42L)).isTrue();
+    assertThat(set.contains((Object) new PkIdLong<>(Entity.class, 4711L))).isTrue();
+    assertThat(set.contains((Object) new PkIdLong<>(String.class, 42L))).isFalse();
+    assertThat(set.contains((Object) new PkIdString<>(Entity.class, "42"))).isFalse();
+    assertThat(set.contains((Object) PkIdLong.getEmpty(Entity.class))).isFalse();
+    assertThat(set.equals(expected)).isTrue();
+    assertThat(expected.equals(set)).isTrue();
+    assertThat(set.hashCode()).isEqualTo(expected.hashCode());
+    assertThatThrownBy(() -> set.add(PkIdLong.getEmpty(Entity.class))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> set.add(PkIdLong.NULL_PK)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link LongIdSet} with random operations compared to {@link HashSet} including iterator removal. */
+  @Test
+  void testRandomOperations() {
+
+    // arrange
+    Random random = new Random(4711);
+    LongIdSet<Entity> set = new LongIdSet<>(Entity.class);
+    Set<Long> expected = new HashSet<>();
+    // act + assert
+    for (int i = 0; i < 100_000; i++) {
+      long pk = random.nextInt(5000) - 100;
+      if (random.nextBoolean()) {
+        assertThat(set.add(pk)).isEqualTo(expected.add(pk));
+      } else {
+        assertThat(set.remove(pk)).isEqualTo(expected.remove(pk));
+      }
+    }
+    int size = set.size();
+    assertThat(size).isEqualTo(expected.size());
+    Iterator<Id<Entity>> iterator = set.iterator();
+    int count = 0;
+    while (iterator.hasNext()) {
+      Long pk = (Long) iterator.next().getPk();
+      assertThat(expected.contains(pk)).isTrue();
+      if ((count++ % 3) == 0) {
+        iterator.remove();
+        expected.remove(pk);
+      }
+    }
+    assertThat(count).isEqualTo(size);
+    assertThat(set.size()).isEqualTo(expected.size());
+    for (long pk : expected) {
+      assertThat(set.contains(pk)).isTrue();
+    }
+    assertThat(set.toPkArray()).hasSize(expected.size());
+  }
+
+}
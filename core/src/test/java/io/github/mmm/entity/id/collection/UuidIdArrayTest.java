@@ -0,0 +1,80 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * Test of {@link UuidIdArray}.
+ */
+class UuidIdArrayTest extends Assertions {
+
+  private static final Comparator<UUID> UNSIGNED = Comparator.comparing(UUID::toString);
+
+  /** Test of set algebra of {@link UuidIdArray} with linear merge and galloping compared to {@link TreeSet}. */
+  @Test
+  void testSetAlgebra() {
+
+    Random random = new Random(4711);
+    for (int sizeA : new int[] { 0, 1, 10, 1000 }) {
+      for (int sizeB : new int[] { 0, 10, 1000, 50_000 }) {
+        // arrange
+        TreeSet<UUID> setA = new TreeSet<>(UNSIGNED);
+        TreeSet<UUID> setB = new TreeSet<>(UNSIGNED);
+        UuidIdArray.Builder<Entity> builderA = UuidIdArray.builder(Entity.class);
+        UuidIdArray.Builder<Entity> builderB = UuidIdArray.builder(Entity.class);
+        for (int i = 0; i < sizeA; i++) {
+          UUID pk = new UUID(random.nextInt(3) - 1, random.nextInt(100_000) * 0x1_0000_0001L);
+          setA.add(pk);
+          builderA.add(pk);
+          builderA.add(PkIdUuid.of(pk, Entity.class));
+        }
+        for (int i = 0; i < sizeB; i++) {
+          UUID pk = new UUID(random.nextInt(3) - 1, random.nextInt(100_000) * 0x1_0000_0001L);
+          setB.add(pk);
+          builderB.add(pk);
+        }
+        UuidIdArray<Entity> a = builderA.build();
+        UuidIdArray<Entity> b = builderB.build();
+        // act + assert
+        assertThat(toList(a)).isEqualTo(new ArrayList<>(setA));
+        for (UUID pk : setB) {
+          assertThat(b.contains(pk)).isTrue();
+        }
+        TreeSet<UUID> expected = new TreeSet<>(setA);
+        expected.retainAll(setB);
+        assertThat(toList(a.intersection(b))).isEqualTo(new ArrayList<>(expected));
+        assertThat(toList(b.intersection(a))).isEqualTo(new ArrayList<>(expected));
+        expected = new TreeSet<>(UNSIGNED);
+        expected.addAll(setA);
+        expected.addAll(setB);
+        assertThat(toList(a.union(b))).isEqualTo(new ArrayList<>(expected));
+        expected = new TreeSet<>(setA);
+        expected.removeAll(setB);
+        assertThat(toList(a.difference(b))).isEqualTo(new ArrayList<>(expected));
+      }
+    }
+  }
+
+  private static List<UUID> toList(UuidIdArray<?> array) {
+
+    List<UUID> pks = new ArrayList<>();
+    for (Id<?> id : array) {
+      pks.add((UUID) id.getPk());
+    }
+    return pks;
+  }
+
+}
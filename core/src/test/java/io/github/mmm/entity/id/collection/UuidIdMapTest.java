@@ -0,0 +1,85 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * Test of {@link UuidIdMap} and {@link UuidIdSet}.
+ */
+class UuidIdMapTest extends Assertions {
+
+  /** Test of {@link UuidIdMap} and {@link UuidIdSet} used as regular {@link Map} and {@link Set}. */
+  @Test
+  void testViews() {
+
+    // arrange
+    UUID uuid1 = UUID.randomUUID();
+    UUID uuid2 = UUID.randomUUID();
+    PkIdUuid<Entity> id1 = PkIdUuid.of(uuid1, Entity.class);
+    PkIdUuid<Entity> id2 = PkIdUuid.of(uuid2, Entity.class);
+    UuidIdMap<Entity, String> map = new UuidIdMap<>(Entity.class);
+    UuidIdSet<Entity> set = new UuidIdSet<>(Entity.class);
+    // act
+    map.put(id1, "a");
+    map.put(uuid2, "b");
+    set.add(id1);
+    set.add(uuid2);
+    // assert
+    assertThat(map.equals(Map.of(id1, "a", id2, "b"))).isTrue();
+    assertThat(map.hashCode()).isEqualTo(Map.of(id1, "a", id2, "b").hashCode());
+    assertThat(set.equals(Set.of(id1, id2))).isTrue();
+    assertThat(set.hashCode()).isEqualTo(Set.of(id1, id2).hashCode());
+    assertThat(map.get(uuid1)).isEqualTo("a");
+    assertThat(set.contains((Object) new PkIdUuid<>(String.class, uuid1))).isFalse();
+    assertThatThrownBy(() -> set.add(new UUID(0, 0))).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  /** Test of {@link UuidIdMap} with random operations compared to {@link HashMap} including iterator removal. */
+  @Test
+  void testRandomOperations() {
+
+    // arrange
+    Random random = new Random(4711);
+    UuidIdMap<Entity, Integer> map = new UuidIdMap<>(Entity.class);
+    Map<UUID, Integer> expected = new HashMap<>();
+    // act + assert
+    for (int i = 0; i < 100_000; i++) {
+      UUID pk = new UUID(random.nextInt(50), random.nextInt(50) + 1);
+      Integer value = Integer.valueOf(i);
+      if (random.nextInt(3) > 0) {
+        assertThat(map.put(pk, value)).isEqualTo(expected.put(pk, value));
+      } else {
+        assertThat(map.remove(pk)).isEqualTo(expected.remove(pk));
+      }
+    }
+    Iterator<Entry<Id<Entity>, Integer>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Entry<Id<Entity>, Integer> entry = iterator.next();
+      UUID pk = (UUID) entry.getKey().getPk();
+      assertThat(entry.getValue()).isEqualTo(expected.get(pk));
+      if ((entry.getValue().intValue() & 1) == 0) {
+        iterator.remove();
+        expected.remove(pk);
+      }
+    }
+    assertThat(map.size()).isEqualTo(expected.size());
+    for (Entry<UUID, Integer> entry : expected.entrySet()) {
+      assertThat(map.get(entry.getKey())).isEqualTo(entry.getValue());
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.collection;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdString;
+import io.github.mmm.entity.id.PkIdUuid;
+import io.github.mmm.entity.id.RevisionedIdVersion;
+
+/**
+ * Test of {@link UuidIdSet}.
+ */
+class UuidIdSetTest extends Assertions {
+
+  /** Test of {@link UuidIdSet} used as regular {@link Set}. */
+  @Test
+  void testSetView() {
+
+    // arrange
+    UUID uuid1 = UUID.randomUUID();
+    UUID uuid2 = UUID.randomUUID();
+    UuidIdSet<Entity> set = new UuidIdSet<>(Entity.class);
+    PkIdUuid<Entity> id1 = PkIdUuid.of(uuid1, Entity.class);
+    Set<Id<Entity>> expected = Set.of(id1, PkIdUuid.of(uuid2, Entity.class));
+    // act
+    set.add(id1);
+    set.add(new RevisionedIdVersion<>(new PkIdUuid<>(Entity.class, uuid2), 3L));
+    set.add(new PkIdUuid<>(null, uuid1));
+    // assert
+    assertThat(set).hasSize(2);
+    assertThat(set.contains(uuid1)).isTrue();
+    assertThat(set.contains((UUID) null)).isFalse();
+    assertThat(set.contains((Object) new PkIdUuid<>(Entity.class, uuid2))).isTrue();
+    assertThat(set.contains((Object) new PkIdUuid<>(String.class, uuid1))).isFalse();
+    assertThat(set.contains((Object) new PkIdString<>(Entity.class, uuid1.toString()))).isFalse();
+    assertThat(set.contains((Object) PkIdUuid.getEmpty(Entity.class))).isFalse();
+    assertThat(set.equals(expected)).isTrue();
+    assertThat(expected.equals(set)).isTrue();
+    assertThat(set.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(set.remove((UUID) null)).isFalse();
+    assertThatThrownBy(() -> set.add(PkIdUuid.getEmpty(Entity.class))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> set.add((UUID) null)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> set.add(new UUID(0, 0))).isInstanceOf(IllegalArgumentException.class);
+    assertThat(set).hasSize(2);
+  }
+
+  /** Test of {@link UuidIdSet} with random operations compared to {@link HashSet} including iterator removal. */
+  @Test
+  void testRandomOperations() {
+
+    // arrange
+    Random random = new Random(4711);
+    List<UUID> pool = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      // many equal most significant bits to provoke collisions
+      pool.add(new UUID(random.nextInt(16), random.nextLong()));
+    }
+    UuidIdSet<Entity> set = new UuidIdSet<>(Entity.class);
+    Set<UUID> expected = new HashSet<>();
+    // act + assert
+    for (int i = 0; i < 100_000; i++) {
+      UUID pk = pool.get(random.nextInt(pool.size()));
+      if (random.nextBoolean()) {
+        assertThat(set.add(pk)).isEqualTo(expected.add(pk));
+      } else {
+        assertThat(set.remove(pk)).isEqualTo(expected.remove(pk));
+      }
+    }
+    int size = set.size();
+    assertThat(size).isEqualTo(expected.size());
+    Iterator<Id<Entity>> iterator = set.iterator();
+    int count = 0;
+    while (iterator.hasNext()) {
+      UUID pk = (UUID) iterator.next().getPk();
+      assertThat(expected.contains(pk)).isTrue();
+      if ((count++ % 3) == 0) {
+        iterator.remove();
+        expected.remove(pk);
+      }
+    }
+    assertThat(count).isEqualTo(size);
+    assertThat(set.size()).isEqualTo(expected.size());
+    for (UUID pk : expected) {
+      assertThat(set.contains(pk)).isTrue();
+    }
+    Set<UUID> pks = new HashSet<>();
+    set.forEachPk(pks::add);
+    assertThat(pks).isEqualTo(expected);
+    set.clear();
+    assertThat(set.isEmpty()).isTrue();
+  }
+
+}
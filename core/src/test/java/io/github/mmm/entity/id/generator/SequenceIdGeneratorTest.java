@@ -0,0 +1,54 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+import io.github.mmm.entity.id.RevisionedIdLongVersion;
+import io.github.mmm.entity.id.sequence.IdSequenceMemory;
+
+/**
+ * Test of {@link SequenceIdGenerator}.
+ */
+class SequenceIdGeneratorTest extends Assertions {
+
+  /** Test of {@link SequenceIdGenerator#generate(Id)}. */
+  @Test
+  void testGenerate() {
+
+    // arrange
+    SequenceIdGenerator generator = new SequenceIdGenerator(new IdSequenceMemory(100));
+    // act
+    Id<Entity> id = generator.generate(RevisionedIdLongVersion.getEmpty(Entity.class));
+    // assert
+    assertThat(id).isEqualTo(new RevisionedIdLongVersion<>(Entity.class, 100L, 1L));
+  }
+
+  /** Test of {@link SequenceIdGenerator#generate(Id, int)}. */
+  @Test
+  void testGenerateBatch() {
+
+    // arrange
+    IdSequenceMemory sequence = new IdSequenceMemory(100);
+    SequenceIdGenerator generator = new SequenceIdGenerator(sequence);
+    // act
+    List<Id<Entity>> ids = generator.generate(RevisionedIdLongVersion.getEmpty(Entity.class), 3);
+    List<Id<Entity>> pkIds = generator.generate(PkIdLong.getEmpty(Entity.class), 2);
+    // assert
+    assertThat(ids).containsExactly(new RevisionedIdLongVersion<>(Entity.class, 100L, 1L),
+        new RevisionedIdLongVersion<>(Entity.class, 101L, 1L), new RevisionedIdLongVersion<>(Entity.class, 102L, 1L));
+    assertThat(pkIds).containsExactly(new PkIdLong<>(Entity.class, 103L), new PkIdLong<>(Entity.class, 104L));
+    assertThat(sequence.getSequence()).isEqualTo(105);
+    assertThat(generator.generate(PkIdLong.getEmpty(Entity.class), 0)).isEmpty();
+    assertThatThrownBy(() -> generator.generate(PkIdLong.getEmpty(Entity.class), -1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(sequence.getSequence()).isEqualTo(105);
+  }
+
+}
@@ -0,0 +1,126 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Test of {@link SnowflakeIdGenerator}.
+ */
+class SnowflakeIdGeneratorTest extends Assertions {
+
+  private static final Instant NOW = Instant.parse("2024-05-17T12:34:56.789Z");
+
+  /** Test of {@link SnowflakeIdGenerator#generate(Id)} and decoding of the generated {@link Id}. */
+  @Test
+  void testGenerateAndDecode() {
+
+    // arrange
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, SnowflakeIdGenerator.DEFAULT_EPOCH,
+        Clock.fixed(NOW, ZoneOffset.UTC));
+    // act
+    Id<Entity> id1 = generator.generate(PkIdLong.getEmpty(Entity.class));
+    Id<Entity> id2 = generator.generate(PkIdLong.getEmpty(Entity.class));
+    // assert
+    assertThat(id1).isInstanceOf(PkIdLong.class);
+    assertThat(id1.getEntityClass()).isSameAs(Entity.class);
+    assertThat((Long) id1.getPk()).isPositive();
+    assertThat((Long) id2.getPk()).isGreaterThan((Long) id1.getPk());
+    assertThat(generator.getTimestamp(id1)).isEqualTo(NOW);
+    assertThat(SnowflakeIdGenerator.getNodeId(id1)).isEqualTo(42);
+    assertThat(SnowflakeIdGenerator.getCounter(id1)).isEqualTo(0);
+    assertThat(SnowflakeIdGenerator.getCounter(id2)).isEqualTo(1);
+  }
+
+  /** Test of {@link SnowflakeIdGenerator} with a clock going backwards. */
+  @Test
+  void testClockRegression() {
+
+    // arrange
+    MutableClock clock = new MutableClock(NOW);
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, SnowflakeIdGenerator.DEFAULT_EPOCH, clock);
+    long id1 = generator.generateLong();
+    // act
+    clock.now = NOW.minusSeconds(5);
+    long id2 = generator.generateLong();
+    clock.now = NOW.plusMillis(1);
+    long id3 = generator.generateLong();
+    // assert
+    assertThat(id2).isGreaterThan(id1);
+    assertThat(generator.getTimestamp(id2)).isEqualTo(NOW);
+    assertThat(SnowflakeIdGenerator.getNodeId(id2)).isEqualTo(7);
+    assertThat(id3).isGreaterThan(id2);
+    assertThat(generator.getTimestamp(id3)).isEqualTo(NOW.plusMillis(1));
+    assertThat(SnowflakeIdGenerator.getCounter(id3)).isEqualTo(0);
+  }
+
+  /** Test of counter overflow within the same millisecond. */
+  @Test
+  void testCounterOverflow() {
+
+    // arrange
+    SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID,
+        SnowflakeIdGenerator.DEFAULT_EPOCH, Clock.fixed(NOW, ZoneOffset.UTC));
+    long last = generator.generateLong();
+    // act
+    for (int i = 1; i < 4096; i++) {
+      long next = generator.generateLong();
+      assertThat(next).isGreaterThan(last);
+      last = next;
+    }
+    long overflow = generator.generateLong();
+    // assert
+    assertThat(SnowflakeIdGenerator.getCounter(last)).isEqualTo(4095);
+    assertThat(SnowflakeIdGenerator.getCounter(overflow)).isEqualTo(0);
+    assertThat(SnowflakeIdGenerator.getNodeId(overflow)).isEqualTo(SnowflakeIdGenerator.MAX_NODE_ID);
+    assertThat(generator.getTimestamp(overflow)).isEqualTo(NOW.plusMillis(1));
+  }
+
+  /** Test of {@link SnowflakeIdGenerator#SnowflakeIdGenerator(int)} with invalid node ID. */
+  @Test
+  void testInvalidNodeId() {
+
+    assertThatThrownBy(() -> new SnowflakeIdGenerator(-1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SnowflakeIdGenerator(1024)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static class MutableClock extends Clock {
+
+    private Instant now;
+
+    private MutableClock(Instant now) {
+
+      super();
+      this.now = now;
+    }
+
+    @Override
+    public ZoneId getZone() {
+
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+
+      return this.now;
+    }
+  }
+
+}
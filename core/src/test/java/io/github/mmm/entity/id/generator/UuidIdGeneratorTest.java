@@ -0,0 +1,48 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+import io.github.mmm.entity.id.RevisionedIdUuidVersion;
+
+/**
+ * Test of {@link UuidIdGenerator}.
+ */
+class UuidIdGeneratorTest extends Assertions {
+
+  /** Test of {@link UuidIdGenerator#generate(Id, int)}. */
+  @Test
+  void testGenerateBatch() {
+
+    // arrange
+    UuidIdGenerator generator = new UuidIdGenerator();
+    int count = 1000;
+    // act
+    List<Id<Entity>> ids = generator.generate(RevisionedIdUuidVersion.getEmpty(Entity.class), count);
+    // assert
+    assertThat(ids).hasSize(count);
+    Set<UUID> uuids = new HashSet<>();
+    for (Id<Entity> id : ids) {
+      assertThat(id).isInstanceOf(RevisionedIdUuidVersion.class);
+      assertThat(id.getEntityClass()).isSameAs(Entity.class);
+      assertThat(id.getRevision()).isEqualTo(1L);
+      UUID uuid = (UUID) id.getPk();
+      assertThat(uuid.version()).isEqualTo(4);
+      assertThat(uuid.variant()).isEqualTo(2);
+      uuids.add(uuid);
+    }
+    assertThat(uuids).hasSize(count);
+    assertThat(generator.generate(PkIdUuid.getEmpty(Entity.class), 1).get(0)).isInstanceOf(PkIdUuid.class);
+  }
+
+}
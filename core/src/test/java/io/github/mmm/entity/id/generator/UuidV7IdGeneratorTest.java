@@ -0,0 +1,72 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.generator;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdUuid;
+
+/**
+ * Test of {@link UuidV7IdGenerator}.
+ */
+class UuidV7IdGeneratorTest extends Assertions {
+
+  /** Test of {@link UuidV7IdGenerator#generate(Id)}. */
+  @Test
+  void testGenerate() {
+
+    // arrange
+    Instant now = Instant.parse("2024-05-17T12:34:56.789Z");
+    UuidV7IdGenerator generator = new UuidV7IdGenerator(Clock.fixed(now, ZoneOffset.UTC));
+    // act
+    Id<Entity> id = generator.generate(PkIdUuid.getEmpty(Entity.class));
+    // assert
+    assertThat(id).isInstanceOf(PkIdUuid.class);
+    assertThat(id.getEntityClass()).isSameAs(Entity.class);
+    UUID uuid = (UUID) id.getPk();
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(((PkIdUuid<Entity>) id).getTimestamp()).isEqualTo(now);
+  }
+
+  /** Test that {@link UuidV7IdGenerator#generateUuid()} is monotonic within the same millisecond. */
+  @Test
+  void testMonotonic() {
+
+    // arrange
+    Instant now = Instant.parse("2024-05-17T12:34:56.789Z");
+    UuidV7IdGenerator generator = new UuidV7IdGenerator(Clock.fixed(now, ZoneOffset.UTC));
+    UUID last = generator.generateUuid();
+    // act + assert
+    for (int i = 0; i < 10000; i++) {
+      UUID next = generator.generateUuid();
+      // UUID.compareTo uses signed comparison, but the leading timestamp bits of version 7 are positive
+      assertThat(next.getMostSignificantBits()).isGreaterThan(last.getMostSignificantBits());
+      assertThat(next.version()).isEqualTo(7);
+      last = next;
+    }
+    // counter overflow after 4096 UUIDs per millisecond carries into the timestamp
+    assertThat(PkIdUuid.getTimestamp(last)).isAfter(now);
+  }
+
+  /** Test of {@link PkIdUuid#getTimestamp(UUID)}. */
+  @Test
+  void testTimestamp() {
+
+    assertThat(PkIdUuid.getTimestamp(null)).isNull();
+    assertThat(PkIdUuid.getTimestamp(UUID.randomUUID())).isNull();
+    assertThat(PkIdUuid.getTimestamp(UUID.fromString("017f22e2-79b0-7cc3-98c4-dc0c0c07398f")))
+        .isEqualTo(Instant.parse("2022-02-22T19:22:22Z"));
+    assertThat(PkIdUuid.getTimestamp(UUID.fromString("c232ab00-9414-11ec-b3c8-9f6bdeced846")))
+        .isEqualTo(Instant.parse("2022-02-22T19:22:22Z"));
+  }
+
+}
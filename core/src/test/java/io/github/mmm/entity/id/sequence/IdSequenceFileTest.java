@@ -0,0 +1,91 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Test of {@link IdSequenceFile}.
+ */
+class IdSequenceFileTest extends Assertions {
+
+  private static final Id<Entity> TEMPLATE = PkIdLong.getEmpty(Entity.class);
+
+  /** Test of {@link IdSequenceFile#next(Id)} with restart. */
+  @Test
+  void testRestart(@TempDir Path dir) {
+
+    // arrange
+    Path file = dir.resolve("entity.seq");
+    long last;
+    // act
+    try (IdSequenceFile sequence = new IdSequenceFile(file, 100, 10)) {
+      assertThat(sequence.next(TEMPLATE)).isEqualTo(100);
+      assertThat(sequence.getHighWaterMark()).isEqualTo(110);
+      for (int i = 101; i < 115; i++) {
+        assertThat(sequence.next(TEMPLATE)).isEqualTo(i);
+      }
+      last = 114;
+      assertThat(sequence.getHighWaterMark()).isEqualTo(120);
+    }
+    // assert
+    try (IdSequenceFile sequence = new IdSequenceFile(file, 0, 10)) {
+      assertThat(sequence.next(TEMPLATE)).isGreaterThan(last).isEqualTo(120);
+    }
+  }
+
+  /** Test of {@link IdSequenceFile} with the same file opened twice in the same JVM. */
+  @Test
+  void testAlreadyOpen(@TempDir Path dir) {
+
+    // arrange
+    Path file = dir.resolve("shared.seq");
+    try (IdSequenceFile sequence = new IdSequenceFile(file, 1, 5)) {
+      assertThat(sequence.next(TEMPLATE)).isEqualTo(1);
+      // act + assert
+      assertThatThrownBy(() -> new IdSequenceFile(dir.resolve(".").resolve("shared.seq"), 1, 5))
+          .isInstanceOf(IllegalStateException.class).hasMessageContaining("already open");
+      assertThat(sequence.next(TEMPLATE)).isEqualTo(2);
+    }
+    try (IdSequenceFile sequence = new IdSequenceFile(file, 1, 5)) {
+      assertThat(sequence.next(TEMPLATE)).isEqualTo(6);
+    }
+  }
+
+  /** Test of {@link IdSequenceFile#close()}. */
+  @Test
+  void testClose(@TempDir Path dir) {
+
+    // arrange
+    IdSequenceFile sequence = new IdSequenceFile(dir.resolve("closed.seq"), 1, 5);
+    // act
+    sequence.close();
+    sequence.close();
+    // assert
+    assertThatThrownBy(() -> sequence.getHighWaterMark()).isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("has been closed");
+    assertThatThrownBy(() -> sequence.next(TEMPLATE)).isInstanceOf(IllegalStateException.class);
+  }
+
+  /** Test of {@link IdSequenceFile} with an invalid file. */
+  @Test
+  void testInvalidFile(@TempDir Path dir) throws Exception {
+
+    // arrange
+    Path file = dir.resolve("invalid.seq");
+    Files.writeString(file, "invalid");
+    // act + assert
+    assertThatThrownBy(() -> new IdSequenceFile(file)).isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Invalid sequence file");
+  }
+
+}
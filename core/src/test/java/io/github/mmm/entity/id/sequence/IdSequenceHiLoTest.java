@@ -0,0 +1,81 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Test of {@link IdSequenceHiLo}.
+ */
+class IdSequenceHiLoTest extends Assertions {
+
+  private static final Id<Entity> TEMPLATE = PkIdLong.getEmpty(Entity.class);
+
+  /** Test of {@link IdSequenceHiLo#next(Id)} in a single thread. */
+  @Test
+  void testNext() {
+
+    // arrange
+    IdSequenceLatency backing = new IdSequenceLatency(1, 1_000_000L);
+    IdSequenceHiLo sequence = new IdSequenceHiLo(backing, 10, Runnable::run);
+    // act + assert
+    for (int i = 10; i < 40; i++) {
+      assertThat(sequence.next(TEMPLATE)).isEqualTo(i);
+    }
+    // blocks 1-3 consumed and block 4 prefetched
+    assertThat(backing.getCalls()).isEqualTo(4);
+  }
+
+  /** Test of {@link IdSequenceHiLo#next(Id)} from concurrent threads with background prefetch. */
+  @Test
+  void testConcurrentUniqueness() throws Exception {
+
+    // arrange
+    int threads = 8;
+    int idsPerThread = 10_000;
+    IdSequenceLatency backing = new IdSequenceLatency(0, 1_000_000L);
+    IdSequenceHiLo sequence = new IdSequenceHiLo(backing, 1000);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    long[] all = new long[threads * idsPerThread];
+    // act
+    try {
+      @SuppressWarnings("unchecked")
+      Future<long[]>[] futures = new Future[threads];
+      for (int t = 0; t < threads; t++) {
+        futures[t] = executor.submit(() -> {
+          long[] ids = new long[idsPerThread];
+          for (int i = 0; i < idsPerThread; i++) {
+            ids[i] = sequence.next(TEMPLATE);
+          }
+          return ids;
+        });
+      }
+      for (int t = 0; t < threads; t++) {
+        System.arraycopy(futures[t].get(), 0, all, t * idsPerThread, idsPerThread);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    // assert
+    assertThat(all).doesNotHaveDuplicates();
+    assertThat(backing.getCalls()).isBetween(80, 81);
+  }
+
+  /** Test of {@link IdSequenceHiLo#IdSequenceHiLo(IdSequence, int)} with invalid block size. */
+  @Test
+  void testInvalidBlockSize() {
+
+    assertThatThrownBy(() -> new IdSequenceHiLo(new IdSequenceMemory(), 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
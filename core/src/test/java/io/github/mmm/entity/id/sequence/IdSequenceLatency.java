@@ -0,0 +1,52 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import io.github.mmm.entity.id.Id;
+
+/**
+ * Stand-in for a database sequence that delegates to {@link IdSequenceMemory} but simulates the latency of a remote
+ * round trip.
+ */
+class IdSequenceLatency implements IdSequence {
+
+  private final IdSequenceMemory delegate;
+
+  private final long latencyNanos;
+
+  private final AtomicInteger calls;
+
+  /**
+   * The constructor.
+   *
+   * @param start the start value of the sequence.
+   * @param latencyNanos the simulated latency per call in nanoseconds.
+   */
+  IdSequenceLatency(long start, long latencyNanos) {
+
+    super();
+    this.delegate = new IdSequenceMemory(start);
+    this.latencyNanos = latencyNanos;
+    this.calls = new AtomicInteger();
+  }
+
+  /**
+   * @return the number of calls of {@link #next(Id)}.
+   */
+  int getCalls() {
+
+    return this.calls.get();
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    this.calls.incrementAndGet();
+    LockSupport.parkNanos(this.latencyNanos);
+    return this.delegate.next(template);
+  }
+
+}
@@ -0,0 +1,52 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Test of {@link IdSequenceMemoryPerType}.
+ */
+class IdSequenceMemoryPerTypeTest extends Assertions {
+
+  /** Test of {@link IdSequenceMemoryPerType#next(io.github.mmm.entity.id.Id)} with independent types. */
+  @Test
+  void testNextPerType() {
+
+    // arrange
+    IdSequenceMemoryPerType sequence = new IdSequenceMemoryPerType(1, 1).configure(String.class, 100, 10);
+    // act + assert
+    assertThat(sequence.next(PkIdLong.getEmpty(Entity.class))).isEqualTo(1);
+    assertThat(sequence.next(PkIdLong.getEmpty(Entity.class))).isEqualTo(2);
+    assertThat(sequence.next(PkIdLong.getEmpty(String.class))).isEqualTo(100);
+    assertThat(sequence.next(PkIdLong.getEmpty(String.class))).isEqualTo(110);
+    assertThat(sequence.next(PkIdLong.getEmpty(Entity.class))).isEqualTo(3);
+    assertThat(sequence.next(PkIdLong.getEmpty())).isEqualTo(1);
+    assertThat(sequence.getSequence(Entity.class)).isEqualTo(4);
+    assertThat(sequence.getSequence(String.class)).isEqualTo(120);
+    assertThat(sequence.getSequence(null)).isEqualTo(2);
+  }
+
+  /** Test of {@link IdSequenceMemoryPerType#configure(Class, long, long)} after usage. */
+  @Test
+  void testConfigureAfterUsage() {
+
+    // arrange
+    IdSequenceMemoryPerType sequence = new IdSequenceMemoryPerType();
+    sequence.next(PkIdLong.getEmpty(Entity.class));
+    // act + assert
+    assertThatThrownBy(() -> sequence.configure(Entity.class, 1000, 1)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> sequence.configure(String.class, 1000, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(sequence.getSequence(String.class)).isEqualTo(1);
+    assertThat(sequence.configure(String.class, 1000, 5).getSequence(String.class)).isEqualTo(1000);
+    assertThatThrownBy(() -> sequence.configure(String.class, 1, 1)).isInstanceOf(IllegalStateException.class);
+    assertThat(sequence.next(PkIdLong.getEmpty(Integer.class), 2)).containsExactly(1, 2);
+    assertThatThrownBy(() -> sequence.configure(Integer.class, 1, 1)).isInstanceOf(IllegalStateException.class);
+  }
+
+}
@@ -0,0 +1,106 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.entity.id.sequence;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.Entity;
+import io.github.mmm.entity.id.PkIdLong;
+
+/**
+ * Test of {@link IdSequenceMemory} and {@link IdSequenceMemoryStriped}.
+ */
+class IdSequenceMemoryTest extends Assertions {
+
+  private static final int THREADS = 8;
+
+  private static final int IDS_PER_THREAD = 100_000;
+
+  /** Test of {@link IdSequenceMemory#next(io.github.mmm.entity.id.Id)}. */
+  @Test
+  void testSequential() {
+
+    // arrange
+    IdSequenceMemory sequence = new IdSequenceMemory(42);
+    // act + assert
+    assertThat(sequence.next(PkIdLong.getEmpty(Entity.class))).isEqualTo(42);
+    assertThat(sequence.next(PkIdLong.getEmpty(Entity.class))).isEqualTo(43);
+    assertThat(sequence.getSequence()).isEqualTo(44);
+  }
+
+  /** Stress test of {@link IdSequenceMemory} from concurrent threads. */
+  @Test
+  void testConcurrentUniqueness() throws Exception {
+
+    // arrange
+    IdSequenceMemory sequence = new IdSequenceMemory(0);
+    // act
+    long[][] ids = generateConcurrently(sequence);
+    // assert
+    assertUnique(ids);
+    assertThat(sequence.getSequence()).isEqualTo(THREADS * IDS_PER_THREAD);
+  }
+
+  /** Stress test of {@link IdSequenceMemoryStriped} from concurrent threads. */
+  @Test
+  void testStripedConcurrentUniqueness() throws Exception {
+
+    // arrange
+    IdSequenceMemoryStriped sequence = new IdSequenceMemoryStriped(0, 100);
+    // act
+    long[][] ids = generateConcurrently(sequence);
+    // assert
+    assertUnique(ids);
+    for (long[] threadIds : ids) {
+      for (int i = 1; i < threadIds.length; i++) {
+        assertThat(threadIds[i]).isGreaterThan(threadIds[i - 1]);
+      }
+    }
+  }
+
+  private static long[][] generateConcurrently(IdSequence sequence) throws Exception {
+
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      @SuppressWarnings("unchecked")
+      Future<long[]>[] futures = new Future[THREADS];
+      for (int t = 0; t < THREADS; t++) {
+        futures[t] = executor.submit(() -> {
+          long[] ids = new long[IDS_PER_THREAD];
+          start.await();
+          for (int i = 0; i < IDS_PER_THREAD; i++) {
+            ids[i] = sequence.next(PkIdLong.getEmpty(Entity.class));
+          }
+          return ids;
+        });
+      }
+      start.countDown();
+      long[][] result = new long[THREADS][];
+      for (int t = 0; t < THREADS; t++) {
+        result[t] = futures[t].get();
+      }
+      return result;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static void assertUnique(long[][] ids) {
+
+    long[] all = new long[THREADS * IDS_PER_THREAD];
+    int i = 0;
+    for (long[] threadIds : ids) {
+      System.arraycopy(threadIds, 0, all, i, threadIds.length);
+      i += threadIds.length;
+    }
+    assertThat(all).doesNotHaveDuplicates();
+  }
+
+}